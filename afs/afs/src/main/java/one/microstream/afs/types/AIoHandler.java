@@ -126,6 +126,21 @@ public interface AIoHandler extends WriteController
 	public long readBytes(AReadableFile sourceFile, BufferProvider bufferProvider, long position);
 	
 	public long readBytes(AReadableFile sourceFile, BufferProvider bufferProvider, long position, long length);
+	
+	/**
+	 * Returns a read-only memory mapping of the passed file, starting at the file's beginning and covering
+	 * at least the passed length, or {@literal null} if the implementation does not support or enable
+	 * memory mapped reading or the file cannot be mapped. In the latter case, the file has to be read
+	 * via one of the readBytes methods.
+	 * <p>
+	 * The returned buffer becomes invalid as soon as the file is closed, truncated, moved or deleted.
+	 * 
+	 * @param sourceFile the file to be mapped.
+	 * @param requiredLength the length (from the file's start) that the mapping must cover at least.
+	 * 
+	 * @return a read-only mapping of the file or {@literal null}.
+	 */
+	public ByteBuffer mappedBytes(AReadableFile sourceFile, long requiredLength);
 		
 	
 	public long copyTo(AReadableFile sourceSubject, AWritableFile target);
@@ -180,6 +195,15 @@ public interface AIoHandler extends WriteController
 	>
 	implements AIoHandler
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// generic copying moves data in chunks of this length to keep the memory footprint independent of file sizes.
+		static final int GENERIC_COPY_CHUNK_LENGTH = 1 << 20;
+		
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
@@ -279,6 +303,12 @@ public interface AIoHandler extends WriteController
 		protected abstract long specificReadBytes(R sourceFile, BufferProvider bufferProvider, long position);
 		
 		protected abstract long specificReadBytes(R sourceFile, BufferProvider bufferProvider, long position, long length);
+		
+		protected ByteBuffer specificMappedBytes(final R sourceFile, final long requiredLength)
+		{
+			// memory mapped reading is an optional capability, so implementations must opt in.
+			return null;
+		}
 			
 		
 		protected abstract long specificCopyTo(R sourceSubject, AWritableFile target);
@@ -322,20 +352,7 @@ public interface AIoHandler extends WriteController
 		{
 			final long sourceSize = source.size(); // explicit variable for debugging purposes
 			
-			final ByteBuffer dbb  = XMemory.allocateDirectNative(sourceSize);
-			
-			try
-			{
-				source.readBytes(dbb);
-				dbb.flip();
-				target.writeBytes(dbb);
-			}
-			finally
-			{
-				XMemory.deallocateDirectByteBuffer(dbb);
-			}
-			
-			return sourceSize;
+			return this.copyGeneric(source, 0, target, sourceSize);
 		}
 		
 		protected long copyGeneric(
@@ -346,22 +363,8 @@ public interface AIoHandler extends WriteController
 		{
 			final long sourceSize = source.size(); // explicit variable for debugging purposes
 			final long length     = sourceSize - sourcePosition;
-			X.validateRange(sourceSize, sourcePosition, length);
 			
-			final ByteBuffer dbb  = XMemory.allocateDirectNative(length);
-			
-			try
-			{
-				source.readBytes(dbb, sourcePosition);
-				dbb.flip();
-				target.writeBytes(dbb);
-			}
-			finally
-			{
-				XMemory.deallocateDirectByteBuffer(dbb);
-			}
-			
-			return length;
+			return this.copyGeneric(source, sourcePosition, target, length);
 		}
 		
 		protected long copyGeneric(
@@ -374,13 +377,18 @@ public interface AIoHandler extends WriteController
 			final long sourceSize = source.size(); // explicit variable for debugging purposes
 			X.validateRange(sourceSize, sourcePosition, length);
 			
-			final ByteBuffer dbb = XMemory.allocateDirectNative(length);
+			final ByteBuffer dbb = XMemory.allocateDirectNative(Math.min(length, GENERIC_COPY_CHUNK_LENGTH));
 			
 			try
 			{
-				source.readBytes(dbb, sourcePosition);
-				dbb.flip();
-				target.writeBytes(dbb);
+				// every chunk is read completely before it is written, so memory is bounded by the chunk length.
+				for(long copied = 0; copied < length;)
+				{
+					dbb.clear().limit((int)Math.min(length - copied, dbb.capacity()));
+					source.readBytes(dbb, sourcePosition + copied);
+					dbb.flip();
+					copied += target.writeBytes(dbb);
+				}
 			}
 			finally
 			{
@@ -846,6 +854,17 @@ public interface AIoHandler extends WriteController
 			return this.specificReadBytes(this.typeReadableFile.cast(sourceFile), bufferProvider, position, length);
 		}
 
+		@Override
+		public ByteBuffer mappedBytes(
+			final AReadableFile sourceFile    ,
+			final long          requiredLength
+		)
+		{
+			this.validateHandledReadableFile(sourceFile);
+
+			return this.specificMappedBytes(this.typeReadableFile.cast(sourceFile), requiredLength);
+		}
+
 		@Override
 		public long copyTo(
 			final AReadableFile sourceSubject,
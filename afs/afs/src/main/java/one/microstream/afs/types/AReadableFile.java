@@ -128,6 +128,12 @@ public interface AReadableFile extends AFile.Wrapper
 		// synchronization handled by IoHandler.
 		return this.actual().fileSystem().ioHandler().readBytes(this, bufferProvider, position, length);
 	}
+	
+	public default ByteBuffer mappedBytes(final long requiredLength)
+	{
+		// synchronization handled by IoHandler.
+		return this.actual().fileSystem().ioHandler().mappedBytes(this, requiredLength);
+	}
 
 	
 	
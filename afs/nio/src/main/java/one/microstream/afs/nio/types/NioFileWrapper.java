@@ -24,6 +24,7 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
@@ -33,6 +34,7 @@ import one.microstream.afs.types.AFile;
 import one.microstream.chars.XChars;
 import one.microstream.exceptions.IORuntimeException;
 import one.microstream.io.XIO;
+import one.microstream.memory.XMemory;
 
 public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 {
@@ -58,6 +60,27 @@ public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 	
 	public boolean closeChannel() throws IORuntimeException;
 	
+	/**
+	 * Returns a read-only memory mapping of the file, starting at the file's beginning and covering at least
+	 * the passed length. The current mapping is reused if it is sufficiently large, otherwise the file
+	 * is remapped up to its current size. Since every remapping maps the whole file again, mapping is meant
+	 * for files that do not grow any more.<br>
+	 * If the file cannot be mapped (e.g. because it exceeds the maximum mapping size), {@literal null}
+	 * is returned and the caller has to fall back to channel-based reading.
+	 * <p>
+	 * Note that the returned buffer and any address derived from it become invalid as soon as the mapping
+	 * is released by {@link #unmap()}, by closing the channel or by truncating, moving or deleting the file.
+	 * 
+	 * @param requiredLength the length (from the file's start) that the mapping must cover at least.
+	 * 
+	 * @return a read-only mapping of the file or {@literal null}.
+	 * 
+	 * @throws IORuntimeException if mapping the file fails.
+	 */
+	public MappedByteBuffer ensureMappedBuffer(long requiredLength) throws IORuntimeException;
+	
+	public boolean unmap();
+	
 	
 	
 	
@@ -67,8 +90,9 @@ public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 		// instance fields //
 		////////////////////
 
-        Path        path       ;
-        FileChannel fileChannel;
+        Path             path        ;
+        FileChannel      fileChannel ;
+        MappedByteBuffer mappedBuffer;
         
         
         
@@ -316,11 +340,65 @@ public interface NioFileWrapper extends AFile.Wrapper, NioItemWrapper
 		
 		private void ensureClearedFileChannelField(final Throwable cause)
 		{
+			// a mapping does not strictly depend on its channel, but it must not outlive the opened state.
+			this.unmap();
+			
 			final FileChannel fc = this.fileChannel;
 			this.fileChannel = null;
 			XIO.unchecked.close(fc, cause);
 		}
 				
+		@Override
+		public MappedByteBuffer ensureMappedBuffer(final long requiredLength) throws IORuntimeException
+		{
+			synchronized(this.mutex())
+			{
+				if(this.mappedBuffer != null && this.mappedBuffer.capacity() >= requiredLength)
+				{
+					return this.mappedBuffer;
+				}
+				
+				final FileChannel fileChannel = this.ensureOpenChannel();
+				try
+				{
+					final long fileSize = fileChannel.size();
+					if(fileSize < requiredLength || fileSize > Integer.MAX_VALUE)
+					{
+						// a single mapping can not exceed int range, so such files are not mappable.
+						return null;
+					}
+					
+					this.unmap();
+					
+					return this.mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+				}
+				catch(final IOException e)
+				{
+					throw new IORuntimeException(e);
+				}
+			}
+		}
+		
+		@Override
+		public boolean unmap()
+		{
+			synchronized(this.mutex())
+			{
+				if(this.mappedBuffer == null)
+				{
+					return false;
+				}
+				
+				final MappedByteBuffer mappedBuffer = this.mappedBuffer;
+				this.mappedBuffer = null;
+				
+				// deallocating a mapped buffer means unmapping it instead of waiting for the GC to do it (or not).
+				XMemory.deallocateDirectByteBuffer(mappedBuffer);
+				
+				return true;
+			}
+		}
+		
 		@Override
 		public boolean reopenChannel(final OpenOption... options) throws IORuntimeException
 		{
@@ -52,6 +52,16 @@ public interface NioIoHandler extends AIoHandler
 	
 	public Path toPath(final String... pathElements);
 	
+	/**
+	 * Defines whether this handler provides read-only memory mappings of its files via
+	 * {@link #mappedBytes(AReadableFile, long)}
+	 * (see {@link NioFileWrapper#ensureMappedBuffer(long)}). If disabled, no mappings are provided and readers
+	 * fall back to channel-based reading.
+	 * 
+	 * @return whether memory mapped reading is enabled.
+	 */
+	public boolean isMemoryMappedReading();
+	
 	public static NioIoHandler New()
 	{
 		return New(WriteController.Enabled());
@@ -61,7 +71,8 @@ public interface NioIoHandler extends AIoHandler
 	{
 		return new NioIoHandler.Default(
 			notNull(writeController),
-			NioPathResolver.New()
+			NioPathResolver.New()   ,
+			false
 		);
 	}
 	
@@ -69,7 +80,8 @@ public interface NioIoHandler extends AIoHandler
 	{
 		return new NioIoHandler.Default(
 			WriteController.Enabled(),
-			pathResolver
+			pathResolver             ,
+			false
 		);
 	}
 	
@@ -77,10 +89,20 @@ public interface NioIoHandler extends AIoHandler
 		final WriteController writeController,
 		final NioPathResolver pathResolver
 	)
+	{
+		return New(writeController, pathResolver, false);
+	}
+	
+	public static NioIoHandler New(
+		final WriteController writeController    ,
+		final NioPathResolver pathResolver       ,
+		final boolean         memoryMappedReading
+	)
 	{
 		return new NioIoHandler.Default(
 			notNull(writeController),
-			notNull(pathResolver)
+			notNull(pathResolver)   ,
+			memoryMappedReading
 		);
 	}
 	
@@ -92,7 +114,8 @@ public interface NioIoHandler extends AIoHandler
 		// instance fields //
 		////////////////////
 		
-		private final NioPathResolver pathResolver;
+		private final NioPathResolver pathResolver       ;
+		private final boolean         memoryMappedReading;
 
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -100,8 +123,10 @@ public interface NioIoHandler extends AIoHandler
 		/////////////////
 		
 		Default(
-			final WriteController writeController,
-			final NioPathResolver pathResolver)
+			final WriteController writeController    ,
+			final NioPathResolver pathResolver       ,
+			final boolean         memoryMappedReading
+		)
 		{
 			super(
 				writeController,
@@ -112,7 +137,8 @@ public interface NioIoHandler extends AIoHandler
 				NioWritableFile.class
 			);
 			
-			this.pathResolver = pathResolver;
+			this.pathResolver        = pathResolver       ;
+			this.memoryMappedReading = memoryMappedReading;
 		}
 		
 		
@@ -121,6 +147,12 @@ public interface NioIoHandler extends AIoHandler
 		// methods //
 		////////////
 		
+		@Override
+		public boolean isMemoryMappedReading()
+		{
+			return this.memoryMappedReading;
+		}
+		
 		@Override
 		public Path toPath(final AItem item)
 		{
@@ -328,6 +360,8 @@ public interface NioIoHandler extends AIoHandler
 		@Override
 		protected void specificTruncateFile(final NioWritableFile file, final long newSize)
 		{
+			// a mapping of the truncated range would cause access errors and prevents truncation on some platforms
+			file.unmap();
 			try
 			{
 				XIO.truncate(file.path(), newSize);
@@ -341,6 +375,7 @@ public interface NioIoHandler extends AIoHandler
 		@Override
 		protected boolean specificDeleteFile(final NioWritableFile file)
 		{
+			file.unmap();
 			try
 			{
 				return XIO.delete(file.path());
@@ -502,6 +537,18 @@ public interface NioIoHandler extends AIoHandler
 			}
 		}
 
+		@Override
+		protected ByteBuffer specificMappedBytes(
+			final NioReadableFile sourceFile    ,
+			final long            requiredLength
+		)
+		{
+			return this.memoryMappedReading
+				? sourceFile.ensureMappedBuffer(requiredLength)
+				: null
+			;
+		}
+
 		@Override
 		protected long specificCopyTo(
 			final NioReadableFile sourceSubject,
@@ -781,6 +828,7 @@ public interface NioIoHandler extends AIoHandler
 			final NioWritableFile targetFile
 		)
 		{
+			sourceFile.unmap();
 			try
 			{
 				XIO.move(
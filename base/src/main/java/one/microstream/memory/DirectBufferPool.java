@@ -0,0 +1,522 @@
+package one.microstream.memory;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import one.microstream.typing.Stateless;
+
+/**
+ * Source of native-ordered direct {@link ByteBuffer}s that can recycle released buffers instead of
+ * deallocating them, avoiding the cost of repeated direct memory reservation for short-lived buffers.
+ * <p>
+ * Implementations must be thread-safe, since buffers are typically acquired by one thread and released
+ * by another one (e.g. a storer's buffers are released by the storage channel that wrote them).
+ */
+public interface DirectBufferPool
+{
+	/**
+	 * Provides a cleared, native-ordered direct buffer with a capacity of at least the passed capacity.
+	 *
+	 * @param capacity the minimum required capacity.
+	 *
+	 * @return a direct buffer.
+	 */
+	public ByteBuffer acquire(long capacity);
+
+	/**
+	 * Hands back a buffer that is not used anymore. The buffer is either recycled or deallocated,
+	 * so it may not be used by the caller afterwards.
+	 *
+	 * @param buffer the buffer to be released.
+	 */
+	public void release(ByteBuffer buffer);
+
+	/**
+	 * Deallocates all buffers currently held for recycling.
+	 */
+	public void clear();
+
+	public Statistics createStatistics();
+
+
+
+	public static DirectBufferPool Unpooled()
+	{
+		return new DirectBufferPool.Unpooled();
+	}
+
+	public static DirectBufferPool New()
+	{
+		return New(
+			Defaults.defaultMaximumBufferSize()         ,
+			Defaults.defaultMaximumBuffersPerSizeClass(),
+			Defaults.defaultMaximumPooledLength()
+		);
+	}
+
+	/**
+	 * Creates a pool that rounds requested capacities up to powers of two, starting at
+	 * {@link Default#MINIMUM_SIZE_CLASS_LENGTH}, and keeps released buffers per such size class.
+	 *
+	 * @param maximumBufferSize the largest capacity to be recycled. Larger requests are served without pooling.
+	 * @param maximumBuffersPerSizeClass the maximum number of buffers held per size class.
+	 * @param maximumPooledLength the maximum total capacity of all held buffers.
+	 *
+	 * @return a new pool instance.
+	 */
+	public static DirectBufferPool New(
+		final long maximumBufferSize         ,
+		final int  maximumBuffersPerSizeClass,
+		final long maximumPooledLength
+	)
+	{
+		return new DirectBufferPool.Default(
+			Default.sizeClassShift(positive(maximumBufferSize)),
+			notNegative(maximumBuffersPerSizeClass)            ,
+			notNegative(maximumPooledLength)
+		);
+	}
+
+
+
+	public interface Defaults
+	{
+		public static long defaultMaximumBufferSize()
+		{
+			return 1L << 24; // 16 MiB
+		}
+
+		public static int defaultMaximumBuffersPerSizeClass()
+		{
+			return 8;
+		}
+
+		public static long defaultMaximumPooledLength()
+		{
+			return 1L << 26; // 64 MiB
+		}
+	}
+
+
+
+	public final class Unpooled implements DirectBufferPool, Stateless
+	{
+		Unpooled()
+		{
+			super();
+		}
+
+		@Override
+		public final ByteBuffer acquire(final long capacity)
+		{
+			return XMemory.allocateDirectNative(capacity);
+		}
+
+		@Override
+		public final void release(final ByteBuffer buffer)
+		{
+			XMemory.deallocateDirectByteBuffer(buffer);
+		}
+
+		@Override
+		public final void clear()
+		{
+			// nothing to clear
+		}
+
+		@Override
+		public final Statistics createStatistics()
+		{
+			return Statistics.New(0, 0, 0, 0, 0, 0);
+		}
+
+	}
+
+
+
+	public final class Default implements DirectBufferPool
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final int MINIMUM_SIZE_CLASS_SHIFT = 12;
+
+		public static final int MINIMUM_SIZE_CLASS_LENGTH = 1 << MINIMUM_SIZE_CLASS_SHIFT;
+
+		// buffers are array-addressed, so larger size classes are not possible.
+		static final int MAXIMUM_SIZE_CLASS_SHIFT = 30;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		static int sizeClassShift(final long capacity)
+		{
+			final int shift = 64 - Long.numberOfLeadingZeros(capacity - 1);
+
+			return Math.min(Math.max(shift, MINIMUM_SIZE_CLASS_SHIFT), MAXIMUM_SIZE_CLASS_SHIFT);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int            maximumSizeClassShift;
+		private final long           maximumPooledLength  ;
+		private final ByteBuffer[][] sizeClasses          ;
+		private final int[]          sizeClassCounts      ;
+
+		private long pooledLength;
+		private long hitCount    ;
+		private long missCount   ;
+		private long releaseCount;
+		private long discardCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final int  maximumSizeClassShift     ,
+			final int  maximumBuffersPerSizeClass,
+			final long maximumPooledLength
+		)
+		{
+			super();
+			this.maximumSizeClassShift = maximumSizeClassShift;
+			this.maximumPooledLength   = maximumPooledLength  ;
+
+			final int sizeClassCount = maximumSizeClassShift - MINIMUM_SIZE_CLASS_SHIFT + 1;
+			this.sizeClasses     = new ByteBuffer[sizeClassCount][maximumBuffersPerSizeClass];
+			this.sizeClassCounts = new int[sizeClassCount];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private int sizeClassIndex(final long capacity)
+		{
+			if(capacity > 1L << this.maximumSizeClassShift)
+			{
+				return -1;
+			}
+
+			return sizeClassShift(capacity) - MINIMUM_SIZE_CLASS_SHIFT;
+		}
+
+		private int exactSizeClassIndex(final int capacity)
+		{
+			// only buffers of exactly a size class length can be recycled without wasting memory on later requests
+			if(Integer.bitCount(capacity) != 1
+				|| capacity < MINIMUM_SIZE_CLASS_LENGTH
+				|| capacity > 1L << this.maximumSizeClassShift
+			)
+			{
+				return -1;
+			}
+
+			return Integer.numberOfTrailingZeros(capacity) - MINIMUM_SIZE_CLASS_SHIFT;
+		}
+
+		@Override
+		public final ByteBuffer acquire(final long capacity)
+		{
+			final int index = this.sizeClassIndex(capacity);
+			if(index < 0)
+			{
+				// oversized requests are served exactly, they will be discarded on release anyway.
+				this.registerMiss();
+				return XMemory.allocateDirectNative(capacity);
+			}
+
+			final ByteBuffer pooled = this.poll(index);
+			if(pooled != null)
+			{
+				pooled.clear();
+				return pooled.order(ByteOrder.nativeOrder());
+			}
+
+			// allocation is deliberately done outside the lock, it is the expensive part.
+			return XMemory.allocateDirectNative(1 << (index + MINIMUM_SIZE_CLASS_SHIFT));
+		}
+
+		private synchronized void registerMiss()
+		{
+			this.missCount++;
+		}
+
+		private synchronized ByteBuffer poll(final int index)
+		{
+			final int count = this.sizeClassCounts[index];
+			if(count == 0)
+			{
+				this.missCount++;
+				return null;
+			}
+
+			final ByteBuffer[] buffers = this.sizeClasses[index];
+			final ByteBuffer   buffer  = buffers[count - 1];
+			buffers[count - 1] = null;
+			this.sizeClassCounts[index] = count - 1;
+			this.pooledLength -= buffer.capacity();
+			this.hitCount++;
+
+			return buffer;
+		}
+
+		@Override
+		public final void release(final ByteBuffer buffer)
+		{
+			if(!this.offer(buffer))
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private synchronized boolean offer(final ByteBuffer buffer)
+		{
+			final int capacity = buffer.capacity();
+			final int index    = buffer.isDirect()
+				? this.exactSizeClassIndex(capacity)
+				: -1
+			;
+
+			if(index < 0
+				|| this.sizeClassCounts[index] == this.sizeClasses[index].length
+				|| this.pooledLength + capacity > this.maximumPooledLength
+			)
+			{
+				this.discardCount++;
+				return false;
+			}
+
+			this.sizeClasses[index][this.sizeClassCounts[index]++] = buffer;
+			this.pooledLength += capacity;
+			this.releaseCount++;
+
+			return true;
+		}
+
+		@Override
+		public final void clear()
+		{
+			for(final ByteBuffer buffer : this.removeAll())
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private synchronized ByteBuffer[] removeAll()
+		{
+			int total = 0;
+			for(final int count : this.sizeClassCounts)
+			{
+				total += count;
+			}
+
+			final ByteBuffer[] removed = new ByteBuffer[total];
+			for(int i = 0, r = 0; i < this.sizeClasses.length; i++)
+			{
+				final ByteBuffer[] buffers = this.sizeClasses[i];
+				for(int c = this.sizeClassCounts[i]; c-- > 0;)
+				{
+					removed[r++] = buffers[c];
+					buffers[c] = null;
+				}
+				this.sizeClassCounts[i] = 0;
+			}
+			this.pooledLength = 0;
+
+			return removed;
+		}
+
+		@Override
+		public final synchronized Statistics createStatistics()
+		{
+			long pooledBufferCount = 0;
+			for(final int count : this.sizeClassCounts)
+			{
+				pooledBufferCount += count;
+			}
+
+			return Statistics.New(
+				this.hitCount    ,
+				this.missCount   ,
+				this.releaseCount,
+				this.discardCount,
+				pooledBufferCount,
+				this.pooledLength
+			);
+		}
+
+	}
+
+
+
+	public interface Statistics
+	{
+		/**
+		 * @return the number of acquisitions that were served with a recycled buffer.
+		 */
+		public long hitCount();
+
+		/**
+		 * @return the number of acquisitions that required a new allocation.
+		 */
+		public long missCount();
+
+		/**
+		 * @return the number of released buffers that were kept for recycling.
+		 */
+		public long releaseCount();
+
+		/**
+		 * @return the number of released buffers that were deallocated instead of being kept.
+		 */
+		public long discardCount();
+
+		public long pooledBufferCount();
+
+		/**
+		 * @return the total capacity of all buffers currently held for recycling.
+		 */
+		public long pooledLength();
+
+
+
+		public static Statistics New(
+			final long hitCount         ,
+			final long missCount        ,
+			final long releaseCount     ,
+			final long discardCount     ,
+			final long pooledBufferCount,
+			final long pooledLength
+		)
+		{
+			return new Statistics.Default(
+				notNegative(hitCount)         ,
+				notNegative(missCount)        ,
+				notNegative(releaseCount)     ,
+				notNegative(discardCount)     ,
+				notNegative(pooledBufferCount),
+				notNegative(pooledLength)
+			);
+		}
+
+		public final class Default implements Statistics
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final long hitCount         ;
+			final long missCount        ;
+			final long releaseCount     ;
+			final long discardCount     ;
+			final long pooledBufferCount;
+			final long pooledLength     ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(
+				final long hitCount         ,
+				final long missCount        ,
+				final long releaseCount     ,
+				final long discardCount     ,
+				final long pooledBufferCount,
+				final long pooledLength
+			)
+			{
+				super();
+				this.hitCount          = hitCount         ;
+				this.missCount         = missCount        ;
+				this.releaseCount      = releaseCount     ;
+				this.discardCount      = discardCount     ;
+				this.pooledBufferCount = pooledBufferCount;
+				this.pooledLength      = pooledLength     ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final long hitCount()
+			{
+				return this.hitCount;
+			}
+
+			@Override
+			public final long missCount()
+			{
+				return this.missCount;
+			}
+
+			@Override
+			public final long releaseCount()
+			{
+				return this.releaseCount;
+			}
+
+			@Override
+			public final long discardCount()
+			{
+				return this.discardCount;
+			}
+
+			@Override
+			public final long pooledBufferCount()
+			{
+				return this.pooledBufferCount;
+			}
+
+			@Override
+			public final long pooledLength()
+			{
+				return this.pooledLength;
+			}
+
+		}
+
+	}
+
+}
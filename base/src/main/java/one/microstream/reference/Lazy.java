@@ -22,6 +22,17 @@ package one.microstream.reference;
 
 import static one.microstream.X.mayNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 import one.microstream.chars.VarString;
 import one.microstream.chars.XChars;
 import one.microstream.memory.MemoryStatistics;
@@ -84,7 +95,90 @@ public interface Lazy<T> extends Referencing<T>
 	
 	public boolean clear(Lazy.ClearingEvaluator clearingEvaluator);
 	
+	/**
+	 * Returns a future of the referenced object, without blocking the calling thread.
+	 * If the referenced object is already present, the returned future is already completed.
+	 * Otherwise, the reference is queued for the next batch load, which loads all queued references sharing the same
+	 * loader in one go, e.g. in a single request to the storage instead of one per reference.
+	 * The next batch load is executed by the next call of {@link #loadAll(Collection)}, {@link #loadPending()},
+	 * {@link #loadAllAsync(Collection, Executor)} or {@link #getAsync(Executor)}.
+	 * No thread is used implicitly, as loading blocks the thread executing it.
+	 * 
+	 * @return a future of the lazily loaded referenced object.
+	 * 
+	 * @see #getAsync(Executor)
+	 */
+	public default CompletableFuture<T> getAsync()
+	{
+		return Default.loadLater(this);
+	}
 	
+	/**
+	 * Like {@link #getAsync()}, but executes the next batch load with the passed executor if the referenced object
+	 * is not present. References queued by concurrent calls are loaded in the same batch.
+	 * 
+	 * @param executor the executor to execute the batch load with.
+	 * @return a future of the lazily loaded referenced object.
+	 */
+	public default CompletableFuture<T> getAsync(final Executor executor)
+	{
+		final CompletableFuture<T> future = this.getAsync();
+		if(!future.isDone())
+		{
+			executor.execute(Lazy::loadPending);
+		}
+		
+		return future;
+	}
+	
+	
+
+	/**
+	 * Loads all passed lazy references that are not loaded yet. In contrast to calling {@link #get()} on each one,
+	 * the object ids of all references sharing the same loader are loaded in one go, e.g. in a single request
+	 * to the storage instead of one per reference.
+	 * All references queued by {@link #getAsync()} are loaded along in the same batch.
+	 * 
+	 * @param references the lazy references to be loaded.
+	 */
+	public static void loadAll(final Collection<? extends Lazy<?>> references)
+	{
+		Default.loadAll(references);
+	}
+	
+	/**
+	 * Loads all references queued by {@link #getAsync()} in one batch and completes their futures.
+	 * A failed load completes the futures of the affected references exceptionally instead of being thrown.
+	 */
+	public static void loadPending()
+	{
+		Default.loadAll(Collections.emptyList());
+	}
+	
+	/**
+	 * Asynchronous variant of {@link #loadAll(Collection)}: queues all passed references like {@link #getAsync()}
+	 * and executes the batch load with the passed executor.
+	 * 
+	 * @param <T> the common type of the referenced objects
+	 * @param references the lazy references to be loaded.
+	 * @param executor the executor to execute the batch load with.
+	 * @return a future for each passed reference, in the order of the passed collection.
+	 */
+	public static <T> List<CompletableFuture<T>> loadAllAsync(
+		final Collection<? extends Lazy<? extends T>> references,
+		final Executor                                executor
+	)
+	{
+		final List<CompletableFuture<T>> futures = new ArrayList<>(references.size());
+		for(final Lazy<? extends T> reference : references)
+		{
+			futures.add(Default.loadLater(reference));
+		}
+		executor.execute(Lazy::loadPending);
+		
+		return futures;
+	}
+
 
 	public static <T> T get(final Lazy<T> reference)
 	{
@@ -174,6 +268,17 @@ public interface Lazy<T> extends Referencing<T>
 
 
 
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		/**
+		 * The references queued by {@link Lazy#getAsync()} until the next batch load.
+		 */
+		static final ConcurrentLinkedQueue<PendingLoad> PENDING_LOADS = new ConcurrentLinkedQueue<>();
+
+
+
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
@@ -414,6 +519,230 @@ public interface Lazy<T> extends Referencing<T>
 			// this context doesn't have to do anything on an exception inside the get(), just pass it along
 			this.subject = (T)this.loader.getObject(this.objectId);
 		}
+		
+		final synchronized ObjectSwizzling pendingLoader()
+		{
+			// same condition as in get(): only a proper object id of an absent subject has to be loaded.
+			return this.subject == null && Swizzling.isProperId(this.objectId)
+				? this.loader
+				: null
+			;
+		}
+		
+		@SuppressWarnings("unchecked") // safety of cast guaranteed by logic
+		final synchronized void setLoaded(final Object subject)
+		{
+			// the subject might have been loaded by another thread in the mean time, which is just as well.
+			if(this.subject == null)
+			{
+				this.subject = (T)subject;
+			}
+			this.touch();
+		}
+		
+		@SuppressWarnings("unchecked") // the future is only completed with the reference's subject
+		static <T> CompletableFuture<T> loadLater(final Lazy<? extends T> reference)
+		{
+			if(reference instanceof Lazy.Default)
+			{
+				synchronized(reference)
+				{
+					// nothing to load, so get() does not block
+					if(((Lazy.Default<?>)reference).pendingLoader() == null)
+					{
+						return CompletableFuture.completedFuture(reference.get());
+					}
+				}
+			}
+			else if(reference.isLoaded())
+			{
+				return CompletableFuture.completedFuture(reference.get());
+			}
+			
+			final CompletableFuture<T> future = new CompletableFuture<>();
+			PENDING_LOADS.add(new PendingLoad(reference, (CompletableFuture<Object>)(CompletableFuture<?>)future));
+			
+			return future;
+		}
+		
+		static void loadAll(final Collection<? extends Lazy<?>> references)
+		{
+			/*
+			 * No lock on any reference is held while loading, as one lock after the other would have to be acquired
+			 * for the whole batch, inviting deadlocks. So a subject might be loaded twice concurrently, which
+			 * yields the same instance anyway, as the loader's object registry guarantees uniqueness.
+			 */
+			final IdentityHashMap<ObjectSwizzling, Batch> batches = new IdentityHashMap<>();
+			for(final Lazy<?> reference : references)
+			{
+				addToBatch(batches, reference, null);
+			}
+			
+			// references queued by getAsync() are loaded along, in the same request per loader.
+			for(PendingLoad pendingLoad; (pendingLoad = PENDING_LOADS.poll()) != null;)
+			{
+				addToBatch(batches, pendingLoad.reference, pendingLoad.future);
+			}
+			
+			RuntimeException failure = null;
+			for(final Map.Entry<ObjectSwizzling, Batch> entry : batches.entrySet())
+			{
+				try
+				{
+					loadBatch(entry.getKey(), entry.getValue());
+				}
+				catch(final RuntimeException e)
+				{
+					// queued references are notified via their futures, only failures of passed ones are thrown.
+					if(!entry.getValue().synchronous)
+					{
+						continue;
+					}
+					if(failure == null)
+					{
+						failure = e;
+					}
+					else
+					{
+						failure.addSuppressed(e);
+					}
+				}
+			}
+			
+			if(failure != null)
+			{
+				throw failure;
+			}
+		}
+		
+		private static void addToBatch(
+			final IdentityHashMap<ObjectSwizzling, Batch> batches  ,
+			final Lazy<?>                                 reference,
+			final CompletableFuture<Object>               future
+		)
+		{
+			if(!(reference instanceof Lazy.Default))
+			{
+				// unknown implementations can only be loaded one by one.
+				if(future == null)
+				{
+					Lazy.get(reference);
+				}
+				else
+				{
+					complete(future, reference);
+				}
+				return;
+			}
+			
+			final Lazy.Default<?> lazy   = (Lazy.Default<?>)reference;
+			final ObjectSwizzling loader = lazy.pendingLoader();
+			if(loader != null)
+			{
+				batches.computeIfAbsent(loader, l -> new Batch()).add(lazy, future);
+			}
+			else if(future != null)
+			{
+				// loaded in the mean time
+				complete(future, lazy);
+			}
+		}
+		
+		private static void complete(final CompletableFuture<Object> future, final Lazy<?> reference)
+		{
+			try
+			{
+				future.complete(reference.get());
+			}
+			catch(final RuntimeException e)
+			{
+				future.completeExceptionally(e);
+			}
+		}
+		
+		private static void loadBatch(final ObjectSwizzling loader, final Batch batch)
+		{
+			final int    size      = batch.references.size();
+			final long[] objectIds = new long[size];
+			for(int i = 0; i < size; i++)
+			{
+				// the object id never changes once it is a proper one, so no lock is required to read it.
+				objectIds[i] = batch.references.get(i).objectId;
+			}
+			
+			// instances are collected in the order of the object ids
+			final Object[] subjects = new Object[size];
+			try
+			{
+				loader.collect(new Consumer<Object>()
+				{
+					int i;
+					
+					@Override
+					public void accept(final Object subject)
+					{
+						subjects[this.i++] = subject;
+					}
+				}, objectIds);
+			}
+			catch(final Throwable t)
+			{
+				for(final CompletableFuture<Object> future : batch.futures)
+				{
+					if(future != null)
+					{
+						future.completeExceptionally(t);
+					}
+				}
+				throw t;
+			}
+			
+			for(int i = 0; i < size; i++)
+			{
+				batch.references.get(i).setLoaded(subjects[i]);
+				
+				final CompletableFuture<Object> future = batch.futures.get(i);
+				if(future != null)
+				{
+					future.complete(subjects[i]);
+				}
+			}
+		}
+		
+		
+		static final class PendingLoad
+		{
+			final Lazy<?>                   reference;
+			final CompletableFuture<Object> future   ;
+			
+			PendingLoad(final Lazy<?> reference, final CompletableFuture<Object> future)
+			{
+				super();
+				
+				this.reference = reference;
+				this.future    = future   ;
+			}
+			
+		}
+		
+		/*
+		 * The references of one loader, with the future of each one queued by getAsync(),
+		 * or null for the ones passed to loadAll(), whose failure is thrown instead.
+		 */
+		static final class Batch
+		{
+			final ArrayList<Lazy.Default<?>>           references = new ArrayList<>();
+			final ArrayList<CompletableFuture<Object>> futures    = new ArrayList<>();
+			      boolean                              synchronous;
+			
+			final void add(final Lazy.Default<?> reference, final CompletableFuture<Object> future)
+			{
+				this.references.add(reference);
+				this.futures.add(future);
+				this.synchronous |= future == null;
+			}
+			
+		}
 
 		final synchronized boolean clearIfTimedout(final long millisecondThreshold)
 		{
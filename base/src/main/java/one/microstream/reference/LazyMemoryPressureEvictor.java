@@ -0,0 +1,618 @@
+package one.microstream.reference;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.mayNull;
+import static one.microstream.X.notNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+
+/**
+ * Clears loaded lazy references of a {@link LazyReferenceManager} when the heap runs full, instead of waiting for
+ * the next regular cleanup cycle to notice it.
+ * <p>
+ * When started, a usage threshold is set on every heap memory pool that supports one and the evictor subscribes
+ * to the JVM's threshold notifications. So there is no polling at all as long as the heap usage stays below
+ * the threshold quota. When a threshold is exceeded, a dedicated thread clears stored, loaded lazy references
+ * in the order of their priority until the heap usage is estimated to fall below the target quota:
+ * the least recently touched ones first or, if a {@link SizeEstimator} is given, the ones with the highest
+ * product of age and estimated size first. As long as the usage after a garbage collection still exceeds the
+ * threshold, further notifications cause further eviction.
+ * <p>
+ * Note that the memory pool thresholds are JVM-wide settings. The previous thresholds are restored on
+ * {@link #stop()}. Only one evictor should be started at the same time.
+ */
+public interface LazyMemoryPressureEvictor
+{
+	/**
+	 * Sets the memory pool thresholds and starts listening to their notifications.
+	 *
+	 * @return this instance.
+	 */
+	public LazyMemoryPressureEvictor start();
+
+	/**
+	 * Stops listening to notifications and restores the previous memory pool thresholds.
+	 *
+	 * @return this instance.
+	 */
+	public LazyMemoryPressureEvictor stop();
+
+	public boolean isRunning();
+
+	/**
+	 * Immediately clears lazy references until the current heap usage is estimated to be below the target quota.
+	 *
+	 * @return the number of cleared lazy references.
+	 */
+	public long evict();
+
+	/**
+	 * @return the total number of lazy references cleared by this instance.
+	 */
+	public long evictionCount();
+
+
+
+	@FunctionalInterface
+	public interface SizeEstimator
+	{
+		/**
+		 * @param lazyReference a loaded lazy reference.
+		 *
+		 * @return the estimated number of heap bytes freed by clearing the passed lazy reference.
+		 */
+		public long estimateSize(Lazy<?> lazyReference);
+	}
+
+
+
+	public interface Defaults
+	{
+		public static double defaultThresholdQuota()
+		{
+			return 0.9;
+		}
+
+		public static double defaultTargetQuota()
+		{
+			return 0.75;
+		}
+
+		public static int defaultBatchSize()
+		{
+			return 4096;
+		}
+	}
+
+
+
+	public static LazyMemoryPressureEvictor New()
+	{
+		return New(LazyReferenceManager.get());
+	}
+
+	public static LazyMemoryPressureEvictor New(final LazyReferenceManager lazyReferenceManager)
+	{
+		return New(
+			lazyReferenceManager,
+			Defaults.defaultThresholdQuota(),
+			Defaults.defaultTargetQuota()
+		);
+	}
+
+	public static LazyMemoryPressureEvictor New(
+		final LazyReferenceManager lazyReferenceManager,
+		final double               thresholdQuota      ,
+		final double               targetQuota
+	)
+	{
+		return New(lazyReferenceManager, thresholdQuota, targetQuota, null);
+	}
+
+	/**
+	 * @param lazyReferenceManager the manager whose lazy references shall be cleared.
+	 * @param thresholdQuota the quota of a heap memory pool's maximum size that triggers eviction when exceeded.
+	 * @param targetQuota the quota of a heap memory pool's maximum size eviction shall reduce the usage to.
+	 * @param sizeEstimator the optional estimator for the size of a lazy reference's subject graph. If it is
+	 *        {@code null}, all loaded lazy references are assumed to take an equal share of the used heap.
+	 *
+	 * @return a new, not yet started {@link LazyMemoryPressureEvictor}.
+	 */
+	public static LazyMemoryPressureEvictor New(
+		final LazyReferenceManager lazyReferenceManager,
+		final double               thresholdQuota      ,
+		final double               targetQuota         ,
+		final SizeEstimator        sizeEstimator
+	)
+	{
+		if(!(thresholdQuota > 0.0 && thresholdQuota < 1.0))
+		{
+			throw new IllegalArgumentException("Invalid threshold quota: " + thresholdQuota + " (0.0 - 1.0)");
+		}
+		if(!(targetQuota > 0.0 && targetQuota <= thresholdQuota))
+		{
+			throw new IllegalArgumentException(
+				"Invalid target quota: " + targetQuota + " (0.0 - threshold quota " + thresholdQuota + ")"
+			);
+		}
+
+		return new Default(
+			notNull(lazyReferenceManager),
+			thresholdQuota,
+			targetQuota,
+			mayNull(sizeEstimator),
+			Defaults.defaultBatchSize()
+		);
+	}
+
+	public final class Default implements LazyMemoryPressureEvictor, NotificationListener
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final LazyReferenceManager lazyReferenceManager;
+		private final double               thresholdQuota      ;
+		private final double               targetQuota         ;
+		private final SizeEstimator        sizeEstimator       ;
+		private final int                  batchSize           ;
+
+		private final ArrayList<PoolThreshold> pools = new ArrayList<>();
+
+		private final AtomicLong evictionCount = new AtomicLong();
+
+		private EvictionThread thread         ;
+		private boolean        evictionPending;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final LazyReferenceManager lazyReferenceManager,
+			final double               thresholdQuota      ,
+			final double               targetQuota         ,
+			final SizeEstimator        sizeEstimator       ,
+			final int                  batchSize
+		)
+		{
+			super();
+			this.lazyReferenceManager = lazyReferenceManager;
+			this.thresholdQuota       = thresholdQuota      ;
+			this.targetQuota          = targetQuota         ;
+			this.sizeEstimator        = sizeEstimator       ;
+			this.batchSize            = batchSize           ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized boolean isRunning()
+		{
+			return this.thread != null;
+		}
+
+		@Override
+		public final long evictionCount()
+		{
+			return this.evictionCount.get();
+		}
+
+		@Override
+		public final synchronized LazyMemoryPressureEvictor start()
+		{
+			if(this.thread != null)
+			{
+				return this;
+			}
+
+			for(final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			{
+				// pools without a defined maximum (e.g. eden spaces) cannot have a meaningful threshold.
+				final long max;
+				if(pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported()
+					|| (max = pool.getUsage().getMax()) <= 0
+				)
+				{
+					continue;
+				}
+				this.pools.add(PoolThreshold.set(pool, (long)(max * this.thresholdQuota)));
+			}
+
+			((NotificationEmitter)ManagementFactory.getMemoryMXBean()).addNotificationListener(this, null, null);
+
+			this.thread = new EvictionThread(this);
+			this.thread.start();
+
+			return this;
+		}
+
+		@Override
+		public final synchronized LazyMemoryPressureEvictor stop()
+		{
+			if(this.thread == null)
+			{
+				return this;
+			}
+
+			try
+			{
+				((NotificationEmitter)ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+			}
+			catch(final ListenerNotFoundException e)
+			{
+				// not registered anymore, so nothing to remove.
+			}
+
+			for(final PoolThreshold pool : this.pools)
+			{
+				pool.restore();
+			}
+			this.pools.clear();
+
+			this.thread = null;
+			this.notifyAll();
+
+			return this;
+		}
+
+		@Override
+		public final void handleNotification(final Notification notification, final Object handback)
+		{
+			// only hand over to the eviction thread, the JVM's notification thread may not be blocked.
+			if(MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(notification.getType())
+				|| MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())
+			)
+			{
+				this.signalEviction();
+			}
+		}
+
+		final synchronized void signalEviction()
+		{
+			this.evictionPending = true;
+			this.notifyAll();
+		}
+
+		final synchronized boolean awaitEviction(final EvictionThread thread) throws InterruptedException
+		{
+			while(this.thread == thread && !this.evictionPending)
+			{
+				this.wait();
+			}
+			this.evictionPending = false;
+
+			return this.thread == thread;
+		}
+
+		private synchronized long calculateExcessMemory()
+		{
+			// only the monitored pools count, young generation pools are emptied by the next collection anyway.
+			long excess = 0;
+			for(final PoolThreshold pool : this.pools)
+			{
+				final MemoryUsage usage = pool.pool.getUsage();
+				excess += Math.max(0, usage.getUsed() - (long)(usage.getMax() * this.targetQuota));
+			}
+
+			return excess;
+		}
+
+		@Override
+		public final long evict()
+		{
+			/*
+			 * Cleared memory only becomes free with the next garbage collection, so the usage cannot be measured
+			 * while evicting. Instead, the sizes of the cleared references are estimated until the excess is covered.
+			 * If that turns out to be not enough, the next collection threshold notification continues the eviction.
+			 */
+			long excess = this.calculateExcessMemory();
+			long cleared = 0;
+
+			while(excess > 0)
+			{
+				final CandidateSelector selector = this.lazyReferenceManager.iterate(
+					new CandidateSelector(this.batchSize, this.sizeEstimator, System.currentTimeMillis())
+				);
+				if(selector.size == 0)
+				{
+					break;
+				}
+
+				// without estimator, every loaded reference is assumed to hold an equal share of the used heap.
+				final long averageSize = Math.max(1, usedHeapMemory() / selector.loadedCount);
+
+				final Lazy<?>[] references   = selector.references;
+				final long[]    lastTouched  = selector.lastTouched;
+				final long[]    sizes        = selector.sizes;
+				final long      clearedBatch = cleared;
+				for(int i = selector.drainDescending(); i < references.length && excess > 0; i++)
+				{
+					final long touched = lastTouched[i];
+
+					// references touched since their selection are not least recently used anymore.
+					if(references[i].clear(lazy -> lazy.lastTouched() == touched))
+					{
+						excess -= this.sizeEstimator == null ? averageSize : sizes[i];
+						cleared++;
+					}
+				}
+
+				// all candidates are in active use, so there is nothing sensible left to evict.
+				if(cleared == clearedBatch)
+				{
+					break;
+				}
+			}
+			this.evictionCount.addAndGet(cleared);
+
+			return cleared;
+		}
+
+		private static long usedHeapMemory()
+		{
+			return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		}
+
+	}
+
+
+
+	static final class PoolThreshold
+	{
+		static PoolThreshold set(final MemoryPoolMXBean pool, final long threshold)
+		{
+			final PoolThreshold previous = new PoolThreshold(
+				pool,
+				pool.getUsageThreshold(),
+				pool.isCollectionUsageThresholdSupported() ? pool.getCollectionUsageThreshold() : -1
+			);
+
+			pool.setUsageThreshold(threshold);
+			if(pool.isCollectionUsageThresholdSupported())
+			{
+				// notifies after every collection that could not get below the threshold, so eviction continues.
+				pool.setCollectionUsageThreshold(threshold);
+			}
+
+			return previous;
+		}
+
+		private final MemoryPoolMXBean pool                    ;
+		private final long             usageThreshold          ;
+		private final long             collectionUsageThreshold;
+
+		PoolThreshold(final MemoryPoolMXBean pool, final long usageThreshold, final long collectionUsageThreshold)
+		{
+			super();
+			this.pool                     = pool                    ;
+			this.usageThreshold           = usageThreshold          ;
+			this.collectionUsageThreshold = collectionUsageThreshold;
+		}
+
+		final void restore()
+		{
+			this.pool.setUsageThreshold(this.usageThreshold);
+			if(this.collectionUsageThreshold >= 0)
+			{
+				this.pool.setCollectionUsageThreshold(this.collectionUsageThreshold);
+			}
+		}
+
+	}
+
+
+
+	/*
+	 * Selects the batchSize stored, loaded lazy references with the highest eviction priority in one iteration,
+	 * using a min-heap of the priorities, so a huge number of registered references requires no sorting.
+	 */
+	static final class CandidateSelector implements Consumer<Lazy<?>>
+	{
+		final SizeEstimator sizeEstimator;
+		final long          now          ;
+		final Lazy<?>[]     references   ;
+		final long[]        priorities   ;
+		final long[]        lastTouched  ;
+		final long[]        sizes        ;
+		      int           size         ;
+		      long          loadedCount  ;
+
+		CandidateSelector(final int batchSize, final SizeEstimator sizeEstimator, final long now)
+		{
+			super();
+			this.sizeEstimator = sizeEstimator;
+			this.now           = now;
+			this.references    = new Lazy<?>[batchSize];
+			this.priorities    = new long[batchSize];
+			this.lastTouched   = new long[batchSize];
+			this.sizes         = new long[batchSize];
+		}
+
+		@Override
+		public final void accept(final Lazy<?> lazyReference)
+		{
+			if(!lazyReference.isStored() || lazyReference.peek() == null)
+			{
+				return;
+			}
+			this.loadedCount++;
+
+			final long touched  = lazyReference.lastTouched();
+			final long age      = Math.max(1, this.now - touched);
+			final long size     = this.sizeEstimator == null
+				? 1
+				: Math.max(1, this.sizeEstimator.estimateSize(lazyReference))
+			;
+			final long priority = age > Long.MAX_VALUE / size
+				? Long.MAX_VALUE
+				: age * size
+			;
+
+			if(this.size < this.references.length)
+			{
+				this.set(this.size, lazyReference, priority, touched, size);
+				this.siftUp(this.size++);
+			}
+			else if(priority > this.priorities[0])
+			{
+				this.set(0, lazyReference, priority, touched, size);
+				this.siftDown(0, this.size);
+			}
+		}
+
+		private void set(
+			final int     index    ,
+			final Lazy<?> reference,
+			final long    priority ,
+			final long    touched  ,
+			final long    size
+		)
+		{
+			this.references [index] = reference;
+			this.priorities [index] = priority ;
+			this.lastTouched[index] = touched  ;
+			this.sizes      [index] = size     ;
+		}
+
+		private void swap(final int i, final int j)
+		{
+			final Lazy<?> r = this.references[i];
+			final long    p = this.priorities[i], t = this.lastTouched[i], s = this.sizes[i];
+			this.set(i, this.references[j], this.priorities[j], this.lastTouched[j], this.sizes[j]);
+			this.set(j, r, p, t, s);
+		}
+
+		private void siftUp(final int index)
+		{
+			for(int i = index, parent; i > 0 && this.priorities[parent = i - 1 >>> 1] > this.priorities[i]; i = parent)
+			{
+				this.swap(i, parent);
+			}
+		}
+
+		private void siftDown(final int index, final int size)
+		{
+			for(int i = index, child; (child = (i << 1) + 1) < size; i = child)
+			{
+				if(child + 1 < size && this.priorities[child + 1] < this.priorities[child])
+				{
+					child++;
+				}
+				if(this.priorities[i] <= this.priorities[child])
+				{
+					return;
+				}
+				this.swap(i, child);
+			}
+		}
+
+		/**
+		 * Sorts the selected references in descending priority order towards the end of the arrays.
+		 *
+		 * @return the index of the first (highest priority) selected reference.
+		 */
+		final int drainDescending()
+		{
+			// in-place heap sort of a min-heap: the lowest priority is moved to the end first.
+			final int first = this.references.length - this.size;
+			for(int n = this.size; n > 1; n--)
+			{
+				this.swap(0, n - 1);
+				this.siftDown(0, n - 1);
+			}
+
+			// shift the descending sequence to the end, so unused leading slots are skipped by the caller.
+			if(first > 0)
+			{
+				System.arraycopy(this.references , 0, this.references , first, this.size);
+				System.arraycopy(this.priorities , 0, this.priorities , first, this.size);
+				System.arraycopy(this.lastTouched, 0, this.lastTouched, first, this.size);
+				System.arraycopy(this.sizes      , 0, this.sizes      , first, this.size);
+			}
+
+			return first;
+		}
+
+	}
+
+
+
+	static final class EvictionThread extends Thread
+	{
+		private final LazyMemoryPressureEvictor.Default parent;
+
+		EvictionThread(final LazyMemoryPressureEvictor.Default parent)
+		{
+			super(LazyMemoryPressureEvictor.class.getSimpleName() + '@' + System.identityHashCode(parent));
+			this.parent = parent;
+			this.setDaemon(true);
+		}
+
+		@Override
+		public void run()
+		{
+			try
+			{
+				while(this.parent.awaitEviction(this))
+				{
+					try
+					{
+						this.parent.evict();
+					}
+					catch(final Exception e)
+					{
+						/*
+						 * Thread may not die on any exception, just continue waiting
+						 * for the next notification as long as it is running.
+						 */
+					}
+				}
+			}
+			catch(final InterruptedException e)
+			{
+				// interrupted while waiting, so terminate.
+			}
+		}
+
+	}
+
+}
@@ -21,8 +21,19 @@ package one.microstream.reference;
  */
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
+import one.microstream.math.XMath;
 import one.microstream.memory.MemoryStatistics;
 import one.microstream.meta.XDebug;
 import one.microstream.reference.Lazy.Check;
@@ -64,6 +75,11 @@ public interface LazyReferenceManager
 	public <P extends Consumer<? super Lazy<?>>> P iterate(P iterator);
 
 	public <P extends Consumer<? super LazyReferenceManager.Controller>> P iterateControllers(P iterator);
+	
+	/**
+	 * @return the statistics of the last completed cleanup cycle.
+	 */
+	public LazyReferenceManager.CycleStatistics lastCycleStatistics();
 
 	
 
@@ -80,7 +96,8 @@ public interface LazyReferenceManager
 
 	public final class Static
 	{
-		static LazyReferenceManager globalReferenceManager = LazyReferenceManager.New();
+		// volatile instead of synchronized reading, as every lazy reference creation queries the global instance.
+		static volatile LazyReferenceManager globalReferenceManager = LazyReferenceManager.New();
 
 		static synchronized LazyReferenceManager set(final LazyReferenceManager referenceManager)
 		{
@@ -91,7 +108,7 @@ public interface LazyReferenceManager
 			return old;
 		}
 
-		static synchronized LazyReferenceManager get()
+		static LazyReferenceManager get()
 		{
 			return globalReferenceManager;
 		}
@@ -166,7 +183,74 @@ public interface LazyReferenceManager
 		final _longReference    nanoTimeBudgetProvider
 	)
 	{
-		return new Default(checker, milliTimeCheckIntervalProvider, nanoTimeBudgetProvider);
+		return New(
+			checker                       ,
+			milliTimeCheckIntervalProvider,
+			nanoTimeBudgetProvider        ,
+			Default.defaultStripeCount()  ,
+			Default.DEFAULT_WORKER_COUNT
+		);
+	}
+	
+	public static LazyReferenceManager New(
+		final Checker checker               ,
+		final long    milliTimeCheckInterval,
+		final long    nanoTimeBudget        ,
+		final int     stripeCount           ,
+		final int     workerCount
+	)
+	{
+		return New(
+			checker,
+			_longReference.New(milliTimeCheckInterval),
+			_longReference.New(nanoTimeBudget),
+			stripeCount,
+			workerCount
+		);
+	}
+	
+	/**
+	 * Creates a new {@link LazyReferenceManager} that registers lazy references without locking in
+	 * {@code stripeCount} independent registration stripes and checks them with {@code workerCount}
+	 * threads in parallel, each limited by the nano time budget of a cleanup cycle.
+	 * <p>
+	 * Note that with more than one worker, the checker's {@link Checker#check(Lazy)} is called concurrently.
+	 * The default checker tolerates that, its clearing count only being approximate in that case.
+	 * 
+	 * @param checker the checker deciding which lazy references to clear.
+	 * @param milliTimeCheckIntervalProvider the interval between two cleanup cycles in milliseconds.
+	 * @param nanoTimeBudgetProvider the time budget of a cleanup cycle in nanoseconds.
+	 * @param stripeCount the number of registration stripes, rounded up to the next power of 2.
+	 * @param workerCount the number of threads checking stripes in parallel during a cleanup cycle.
+	 * 
+	 * @return a new {@link LazyReferenceManager} instance.
+	 */
+	public static LazyReferenceManager New(
+		final Checker           checker                       ,
+		final _longReference    milliTimeCheckIntervalProvider,
+		final _longReference    nanoTimeBudgetProvider        ,
+		final int               stripeCount                   ,
+		final int               workerCount
+	)
+	{
+		if(stripeCount < 1 || stripeCount > Default.MAXIMUM_STRIPE_COUNT)
+		{
+			throw new IllegalArgumentException(
+				"Invalid stripe count: " + stripeCount + " (1 - " + Default.MAXIMUM_STRIPE_COUNT + ")"
+			);
+		}
+		if(workerCount < 1)
+		{
+			throw new IllegalArgumentException("Invalid worker count: " + workerCount);
+		}
+		
+		return new Default(
+			checker                            ,
+			milliTimeCheckIntervalProvider     ,
+			nanoTimeBudgetProvider             ,
+			XMath.pow2BoundCapped(stripeCount) ,
+			Math.min(workerCount, XMath.pow2BoundCapped(stripeCount))
+		);
 	}
 
 	public final class Default implements LazyReferenceManager
@@ -180,6 +264,25 @@ public interface LazyReferenceManager
 		// defaults mean to check every second with a budget of 1 MS (0.1% thread activity)
 		        static final long    DEFAULT_CHECK_INTERVAL_MS = 1_000        ;
 		        static final long    DEFAULT_TIME_BUDGET_NS    =     1_000_000;
+		        
+		// a single worker keeps the default thread activity as low as before, stripes only remove contention.
+		        static final int     DEFAULT_WORKER_COUNT      =             1;
+		        static final int     MAXIMUM_STRIPE_COUNT      =          1024;
+		
+		// idle parallel workers terminate on their own, so an abandoned manager leaves no threads behind.
+		private static final long    WORKER_KEEP_ALIVE_MS      =        60_000;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+		
+		static int defaultStripeCount()
+		{
+			// registering threads are distributed over the stripes, so there is no use in more than that.
+			return XMath.pow2BoundCapped(Math.min(Runtime.getRuntime().availableProcessors(), MAXIMUM_STRIPE_COUNT));
+		}
 
 
 
@@ -190,9 +293,12 @@ public interface LazyReferenceManager
 		private final    Checker        checker                       ;
 		private final    _longReference millitimeCheckIntervalProvider;
 		private final    _longReference nanoTimeBudgetProvider        ;
-		private final    Entry          head   = new Entry(null)      ;
-		private          Entry          tail   = this.head            ;
-		private          Entry          cursor = this.head            ; // current "last" entry for checking
+		private final    Stripe[]       stripes                       ;
+		private final    int            workerCount                   ;
+		private final    AtomicInteger  cycleStripeOffset             ;
+		
+		private volatile CycleStatistics    lastCycleStatistics = CycleStatistics.New(0, 0, 0, 0);
+		private          ThreadPoolExecutor workers            ;
 
         private boolean         running        ;
 		private ControllerEntry headController ;
@@ -207,13 +313,23 @@ public interface LazyReferenceManager
 		Default(
 			final Checker        checker               ,
 			final _longReference checkIntervalProvider ,
-			final _longReference nanoTimeBudgetProvider
+			final _longReference nanoTimeBudgetProvider,
+			final int            stripeCount           ,
+			final int            workerCount
 		)
 		{
 			super();
 			this.checker                        = checker               ;
 			this.millitimeCheckIntervalProvider = checkIntervalProvider ;
 			this.nanoTimeBudgetProvider         = nanoTimeBudgetProvider;
+			this.stripes                        = new Stripe[stripeCount];
+			this.workerCount                    = workerCount           ;
+			this.cycleStripeOffset              = new AtomicInteger()   ;
+			
+			for(int i = 0; i < stripeCount; i++)
+			{
+				this.stripes[i] = new Stripe();
+			}
 		}
 		
 		private synchronized boolean mayRun()
@@ -346,87 +462,125 @@ public interface LazyReferenceManager
 			 * So the age old note might still be relevant.
 			 */
 			
+			final long startNanoTime   = System.nanoTime();
 			final long timeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
-
-			final Entry currentTail;
-
+			
 			/*
-			 * This local synchronized block is crucial to prevent deadlocks!
-			 * The reference manager thread may never keep a lock on the manager instance and then require
-			 * a lock on a lazy reference in order to complete its cleanup cycle.
-			 * Consider the following szenario:
-			 * - application thread locks lazy instance #1 to load its content.
-			 * - manager thread locks the manager instance for the whole check cycle, starts checking.
-			 * - loading of the LI#1 content causes LI#2 to be created and registered at the manager
-			 * - manager thread wants to check LI#1 for timeout.
-			 * - So app.thread holds LI#1 lock, requires mgr.lock, mgr.thread holds mgr.lock, requires LI#1 lock
-			 * => deadlock (happened in productive use, although very rare)
-			 * The solution to prevent this is:
-			 * The lock on the manager instance is only held for a very short time without requiring any additional lock
-			 * internally to leave the lock again, only to consistently query the current tail entry.
-			 * The rest of the algorithm does not interfere with any other thread, so it can be done without lock.
-			 *
-			 * Of course it is important that no other method calling this method keeps the mgr.lock for the whole
-			 * check cycle, otherwise the deadlock can still occur (i.e. no synchronized method!).
-			 * Happened in productive use after fixing this method :(.
+			 * Every cycle starts at the next stripe, so a time budget that does not suffice
+			 * for all stripes does not always check the same ones.
 			 */
-			synchronized(this)
-			{
-				currentTail = this.tail;
-			}
-
-			Entry last, e = (last = this.cursor).nextLazyManagerEntry;
-
-			// special case check initially, there is only the head with no next entry
-			if(e == null)
-			{
-				return;
-			}
+			final StripeCursor stripeCursor = new StripeCursor(
+				this.stripes,
+				this.cycleStripeOffset.getAndIncrement(),
+				timeBudgetBound,
+				checker,
+				nanoTimeBudget == Long.MAX_VALUE
+			);
 
 //			this.DEBUG_printLoadCount("Before cycle:");
 			checker.beginCheckCycle();
 
-			cleanUp:
-			do // do at least one check, no matter what
+			final ArrayList<Future<CycleCounter>> helpers = this.startHelpers(stripeCursor);
+			final CycleCounter counter = stripeCursor.call();
+			for(final Future<CycleCounter> helper : helpers)
 			{
-				// keep strong reference to avoid intermediate garbage collection
-				final Lazy<?> ref = e.get();
+				counter.add(awaitHelper(helper));
+			}
 
-				// check for orphan entry
-				if(ref != null)
-				{
-					// leave checking logic completely to checker (also for lock atomicity reasons)
-					checker.check(ref);
-				}
-				else if(e != currentTail)
+//			this.DEBUG_printLoadCount("After cycle:");
+			checker.endCheckCycle();
+			
+			this.lastCycleStatistics = CycleStatistics.New(
+				counter.scannedCount,
+				counter.clearedCount,
+				counter.orphanCount ,
+				System.nanoTime() - startNanoTime
+			);
+		}
+		
+		private ArrayList<Future<CycleCounter>> startHelpers(final StripeCursor stripeCursor)
+		{
+			final ArrayList<Future<CycleCounter>> helpers = new ArrayList<>(this.workerCount - 1);
+			if(this.workerCount == 1)
+			{
+				return helpers;
+			}
+			
+			final ThreadPoolExecutor workers = this.workers();
+			for(int i = 1; i < this.workerCount; i++)
+			{
+				helpers.add(workers.submit(stripeCursor));
+			}
+			
+			return helpers;
+		}
+		
+		private synchronized ThreadPoolExecutor workers()
+		{
+			// lock only held for the lazy creation, never during a cleanup cycle (see Stripe#cleanUp).
+			if(this.workers == null)
+			{
+				final String             name    = LazyReferenceManager.class.getSimpleName() + '@'
+					+ System.identityHashCode(this) + "-worker-"
+				;
+				final AtomicInteger      number  = new AtomicInteger();
+				final ThreadPoolExecutor workers = new ThreadPoolExecutor(
+					this.workerCount - 1,
+					this.workerCount - 1,
+					WORKER_KEEP_ALIVE_MS,
+					TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable ->
+					{
+						final Thread thread = new Thread(runnable, name + number.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				);
+				workers.allowCoreThreadTimeOut(true);
+				this.workers = workers;
+			}
+			
+			return this.workers;
+		}
+		
+		private static CycleCounter awaitHelper(final Future<CycleCounter> helper)
+		{
+			boolean interrupted = false;
+			try
+			{
+				while(true)
 				{
-					// remove orphan entry (never remove current tail entry for list consistency reasons)
-					e = last.nextLazyManagerEntry = e.nextLazyManagerEntry;
-					continue;
+					try
+					{
+						// the cycle may not end before all helpers are done, the checker's cycle state is shared.
+						return helper.get();
+					}
+					catch(final InterruptedException e)
+					{
+						interrupted = true;
+					}
+					catch(final ExecutionException e)
+					{
+						if(e.getCause() instanceof RuntimeException)
+						{
+							throw (RuntimeException)e.getCause();
+						}
+						if(e.getCause() instanceof Error)
+						{
+							throw (Error)e.getCause();
+						}
+						throw new RuntimeException(e.getCause());
+					}
 				}
-
-				if(e == currentTail)
+			}
+			finally
+			{
+				if(interrupted)
 				{
-					/*
-					 * if the iteration reached the current tail entry, the cursor gets reset (outside the loop)
-					 * and the iteration gets aborted. Rationale behind that:
-					 * It might be that there have been added new entry to the chain while the iteration was
-					 * executed. However these entries are newly created, hence will hardly timeout right away.
-					 * The oldest entries near the head are much more likely for that, so it is efficient to restart.
-					 */
-					last = this.head;
-					break cleanUp;
+					Thread.currentThread().interrupt();
 				}
-
-				e = (last = e).nextLazyManagerEntry;
 			}
-			while(System.nanoTime() < timeBudgetBound);
-
-			// remember last checked entry for next cleanup run. Cursor field is strictly only used by one thread.
-			this.cursor = last;
-
-//			this.DEBUG_printLoadCount("After cycle:");
-			checker.endCheckCycle();
 		}
 
 		final void cleanUpBudgeted()
@@ -444,16 +598,22 @@ public interface LazyReferenceManager
 		////////////
 
 		@Override
-		public synchronized void register(final Lazy<?> lazyReference)
+		public void register(final Lazy<?> lazyReference)
 		{
 //			XDebug.debugln(this + " registering " + lazyReference.peek());
-			// uniqueness of references is guaranteed by calling this method only exactely once per reference instance
-			this.tail = this.tail.nextLazyManagerEntry = new Entry(lazyReference);
+			/*
+			 * uniqueness of references is guaranteed by calling this method only exactely once per reference instance.
+			 * Registering threads are spread over the stripes by their id, so concurrently loading threads
+			 * hardly ever compete for the same stripe and never block each other.
+			 */
+			this.stripes[(int)Thread.currentThread().getId() & this.stripes.length - 1]
+				.register(new Entry(lazyReference))
+			;
 		}
 		
 
 		@Override
-		public synchronized LazyReferenceManager registerAll(final LazyReferenceManager other)
+		public LazyReferenceManager registerAll(final LazyReferenceManager other)
 		{
 			if(other == this)
 			{
@@ -609,18 +769,20 @@ public interface LazyReferenceManager
 		}
 
 		@Override
-		public synchronized <P extends Consumer<? super Lazy<?>>> P iterate(final P iterator)
+		public <P extends Consumer<? super Lazy<?>>> P iterate(final P iterator)
 		{
-			for(Entry e = this.head; (e = e.nextLazyManagerEntry) != null;)
+			for(final Stripe stripe : this.stripes)
 			{
-				final Lazy<?> ref = e.get();
-				if(ref != null)
-				{
-					iterator.accept(ref);
-				}
+				stripe.iterate(iterator);
 			}
 			return iterator;
 		}
+		
+		@Override
+		public final CycleStatistics lastCycleStatistics()
+		{
+			return this.lastCycleStatistics;
+		}
 
 
 		static final class LazyReferenceCleanupThread extends Thread
@@ -696,6 +858,264 @@ public interface LazyReferenceManager
 			}
 
 		}
+		
+		
+		/*
+		 * One of several independent entry chains. Registering threads only push entries onto a lock-free stack
+		 * that gets appended to the chain by the next cleanup or iteration. The chain's inner entries are only
+		 * ever modified by the one thread currently holding the cleanup lock.
+		 */
+		static final class Stripe
+		{
+			final AtomicReference<Entry> registered  = new AtomicReference<>();
+			final ReentrantLock          cleanUpLock = new ReentrantLock();
+			final Entry                  head        = new Entry(null);
+			      Entry                  tail        = this.head;
+			      Entry                  cursor      = this.head; // current "last" entry for checking
+			
+			Stripe()
+			{
+				super();
+			}
+			
+			final void register(final Entry entry)
+			{
+				// the stack link is the chain link, the entry becomes part of the chain only after reversion.
+				Entry top;
+				do
+				{
+					entry.nextLazyManagerEntry = top = this.registered.get();
+				}
+				while(!this.registered.compareAndSet(top, entry));
+			}
+			
+			/*
+			 * Short local lock without requiring any other lock (see comment in #cleanUp), only to consistently
+			 * append the registered entries in registration order and query the resulting tail entry.
+			 */
+			final synchronized Entry appendRegistered()
+			{
+				Entry e = this.registered.getAndSet(null);
+				if(e == null)
+				{
+					return this.tail;
+				}
+				
+				// the stack's top is the newest entry, so it becomes the new tail.
+				final Entry newTail = e;
+				Entry chain = null, next;
+				for(; e != null; e = next)
+				{
+					next = e.nextLazyManagerEntry;
+					e.nextLazyManagerEntry = chain;
+					chain = e;
+				}
+				this.tail.nextLazyManagerEntry = chain;
+				
+				return this.tail = newTail;
+			}
+			
+			final synchronized void iterate(final Consumer<? super Lazy<?>> iterator)
+			{
+				this.appendRegistered();
+				for(Entry e = this.head; (e = e.nextLazyManagerEntry) != null;)
+				{
+					final Lazy<?> ref = e.get();
+					if(ref != null)
+					{
+						iterator.accept(ref);
+					}
+				}
+			}
+			
+			final void cleanUp(
+				final long         timeBudgetBound,
+				final Checker      checker        ,
+				final boolean      waitForLock    ,
+				final CycleCounter counter
+			)
+			{
+				/*
+				 * A stripe that is currently cleaned up by another thread is skipped by budgeted cleanups.
+				 * Only unbudgeted cleanups (e.g. clearing) wait for it to complete.
+				 */
+				if(waitForLock)
+				{
+					this.cleanUpLock.lock();
+				}
+				else if(!this.cleanUpLock.tryLock())
+				{
+					return;
+				}
+				
+				try
+				{
+					this.cleanUpLocked(timeBudgetBound, checker, counter);
+				}
+				finally
+				{
+					this.cleanUpLock.unlock();
+				}
+			}
+			
+			private void cleanUpLocked(
+				final long         timeBudgetBound,
+				final Checker      checker        ,
+				final CycleCounter counter
+			)
+			{
+				/*
+				 * The local synchronized block in #appendRegistered is crucial to prevent deadlocks!
+				 * The reference manager thread may never keep a lock on the manager instance and then require
+				 * a lock on a lazy reference in order to complete its cleanup cycle.
+				 * Consider the following szenario:
+				 * - application thread locks lazy instance #1 to load its content.
+				 * - manager thread locks the manager instance for the whole check cycle, starts checking.
+				 * - loading of the LI#1 content causes LI#2 to be created and registered at the manager
+				 * - manager thread wants to check LI#1 for timeout.
+				 * - So app.thread holds LI#1 lock, requires mgr.lock, mgr.thread holds mgr.lock, requires LI#1 lock
+				 * => deadlock (happened in productive use, although very rare)
+				 * The solution to prevent this is:
+				 * The lock on the stripe instance is only held for a very short time without requiring any additional
+				 * lock internally to leave the lock again, only to consistently query the current tail entry.
+				 * Registering does not require any lock at all and the cleanup lock is never required by
+				 * application threads, so the rest of the algorithm does not interfere with any other thread.
+				 *
+				 * Of course it is important that no other method calling this method keeps the stripe lock for the
+				 * whole check cycle, otherwise the deadlock can still occur (i.e. no synchronized method!).
+				 * Happened in productive use after fixing this method :(.
+				 */
+				final Entry currentTail = this.appendRegistered();
+
+				Entry last, e = (last = this.cursor).nextLazyManagerEntry;
+
+				// special case check initially, there is only the head with no next entry
+				if(e == null)
+				{
+					return;
+				}
+
+				cleanUp:
+				do // do at least one check, no matter what
+				{
+					// keep strong reference to avoid intermediate garbage collection
+					final Lazy<?> ref = e.get();
+					counter.scannedCount++;
+
+					// check for orphan entry
+					if(ref != null)
+					{
+						// leave checking logic completely to checker (also for lock atomicity reasons)
+						if(checker.check(ref))
+						{
+							counter.clearedCount++;
+						}
+					}
+					else if(e != currentTail)
+					{
+						// remove orphan entry (never remove current tail entry for list consistency reasons)
+						e = last.nextLazyManagerEntry = e.nextLazyManagerEntry;
+						counter.orphanCount++;
+						continue;
+					}
+
+					if(e == currentTail)
+					{
+						/*
+						 * if the iteration reached the current tail entry, the cursor gets reset (outside the loop)
+						 * and the iteration gets aborted. Rationale behind that:
+						 * It might be that there have been added new entry to the chain while the iteration was
+						 * executed. However these entries are newly created, hence will hardly timeout right away.
+						 * The oldest entries near the head are much more likely for that, so it is efficient to restart.
+						 */
+						last = this.head;
+						break cleanUp;
+					}
+
+					e = (last = e).nextLazyManagerEntry;
+				}
+				while(System.nanoTime() < timeBudgetBound);
+
+				// remember last checked entry for next cleanup run. Only accessed while holding the cleanup lock.
+				this.cursor = last;
+			}
+			
+		}
+		
+		
+		/*
+		 * Hands out the stripes of one cleanup cycle to the calling thread and all helping worker threads,
+		 * so every stripe is cleaned up by exactely one thread and uneven stripes do not leave workers idle.
+		 */
+		static final class StripeCursor implements Callable<CycleCounter>
+		{
+			private final Stripe[]      stripes        ;
+			private final int           offset         ;
+			private final long          timeBudgetBound;
+			private final Checker       checker        ;
+			private final boolean       waitForLock    ;
+			private final AtomicInteger claimCount     = new AtomicInteger();
+			
+			StripeCursor(
+				final Stripe[] stripes        ,
+				final int      offset         ,
+				final long     timeBudgetBound,
+				final Checker  checker        ,
+				final boolean  waitForLock
+			)
+			{
+				super();
+				this.stripes         = stripes        ;
+				this.offset          = offset         ;
+				this.timeBudgetBound = timeBudgetBound;
+				this.checker         = checker        ;
+				this.waitForLock     = waitForLock    ;
+			}
+			
+			@Override
+			public final CycleCounter call()
+			{
+				final CycleCounter counter = new CycleCounter();
+				for(int i; (i = this.claimCount.getAndIncrement()) < this.stripes.length;)
+				{
+					if(i > 0 && System.nanoTime() >= this.timeBudgetBound)
+					{
+						break;
+					}
+					this.stripes[this.offset + i & this.stripes.length - 1].cleanUp(
+						this.timeBudgetBound,
+						this.checker        ,
+						this.waitForLock    ,
+						counter
+					);
+				}
+				
+				return counter;
+			}
+			
+		}
+		
+		
+		// NOT threadsafe! Every cleaning thread counts on its own, the counts are summed up after the cycle.
+		static final class CycleCounter
+		{
+			long scannedCount;
+			long clearedCount;
+			long orphanCount ;
+			
+			CycleCounter()
+			{
+				super();
+			}
+			
+			final void add(final CycleCounter other)
+			{
+				this.scannedCount += other.scannedCount;
+				this.clearedCount += other.clearedCount;
+				this.orphanCount  += other.orphanCount ;
+			}
+			
+		}
 
 	}
 
@@ -707,6 +1127,117 @@ public interface LazyReferenceManager
 	}
 	
 	
+	/**
+	 * Statistics of one cleanup cycle over all registered lazy references, e.g. to tune the time budget
+	 * and the number of workers of a {@link LazyReferenceManager}.
+	 */
+	public interface CycleStatistics
+	{
+		/**
+		 * @return the number of registration entries scanned during the cycle, including orphans.
+		 */
+		public long scannedCount();
+		
+		/**
+		 * @return the number of lazy references the checker cleared during the cycle.
+		 */
+		public long clearedCount();
+		
+		/**
+		 * @return the number of orphaned registration entries of collected lazy references that have been removed.
+		 */
+		public long orphanCount();
+		
+		/**
+		 * @return the wall clock duration of the cycle in nanoseconds.
+		 */
+		public long nanoTime();
+		
+		
+		public static CycleStatistics New(
+			final long scannedCount,
+			final long clearedCount,
+			final long orphanCount ,
+			final long nanoTime
+		)
+		{
+			return new CycleStatistics.Default(scannedCount, clearedCount, orphanCount, nanoTime);
+		}
+		
+		public final class Default implements CycleStatistics
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final long scannedCount;
+			private final long clearedCount;
+			private final long orphanCount ;
+			private final long nanoTime    ;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Default(
+				final long scannedCount,
+				final long clearedCount,
+				final long orphanCount ,
+				final long nanoTime
+			)
+			{
+				super();
+				this.scannedCount = scannedCount;
+				this.clearedCount = clearedCount;
+				this.orphanCount  = orphanCount ;
+				this.nanoTime     = nanoTime    ;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public final long scannedCount()
+			{
+				return this.scannedCount;
+			}
+			
+			@Override
+			public final long clearedCount()
+			{
+				return this.clearedCount;
+			}
+			
+			@Override
+			public final long orphanCount()
+			{
+				return this.orphanCount;
+			}
+			
+			@Override
+			public final long nanoTime()
+			{
+				return this.nanoTime;
+			}
+			
+			@Override
+			public final String toString()
+			{
+				return "scanned " + this.scannedCount + ", cleared " + this.clearedCount
+					+ ", orphans removed " + this.orphanCount + " in " + this.nanoTime + " ns"
+				;
+			}
+			
+		}
+		
+	}
+	
+	
 	@FunctionalInterface
 	public interface CycleEvaluator
 	{
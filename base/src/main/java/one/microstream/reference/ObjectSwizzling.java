@@ -20,6 +20,8 @@ package one.microstream.reference;
  * #L%
  */
 
+import java.util.function.Consumer;
+
 public interface ObjectSwizzling
 {
 	/**
@@ -32,4 +34,25 @@ public interface ObjectSwizzling
 	 * @return the instance associated with the passed {@literal objectId}.
 	 */
 	public Object getObject(long objectId);
+	
+	/**
+	 * Retrieves the instances associated with the passed {@literal objectIds} in the passed order and passes them
+	 * to the passed collector. Implementations should load all instances that do not yet exist in one go,
+	 * the default implementation simply retrieves one instance after the other via {@link #getObject(long)}.
+	 * 
+	 * @param <C> the type of the collector
+	 * @param collector the collector to pass the retrieved instances to.
+	 * @param objectIds the {@literal objectIds} defining which instances to retrieve.
+	 * 
+	 * @return the passed collector.
+	 */
+	public default <C extends Consumer<Object>> C collect(final C collector, final long... objectIds)
+	{
+		for(final long objectId : objectIds)
+		{
+			collector.accept(this.getObject(objectId));
+		}
+		
+		return collector;
+	}
 }
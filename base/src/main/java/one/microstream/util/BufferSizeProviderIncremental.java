@@ -20,7 +20,11 @@ package one.microstream.util;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+
 import one.microstream.math.XMath;
+import one.microstream.memory.DirectBufferPool;
+import one.microstream.memory.XMemory;
 import one.microstream.typing.Immutable;
 import one.microstream.typing.Stateless;
 
@@ -31,6 +35,14 @@ public interface BufferSizeProviderIncremental extends BufferSizeProvider
 	{
 		return this.provideBufferSize();
 	}
+	
+	/**
+	 * @return the pool to acquire the provided buffers from and to release them to once they are not used anymore.
+	 */
+	public default DirectBufferPool bufferPool()
+	{
+		return DirectBufferPool.Unpooled();
+	}
 
 
 
@@ -51,10 +63,30 @@ public interface BufferSizeProviderIncremental extends BufferSizeProvider
 	}
 	
 	public static BufferSizeProviderIncremental New(final long initialBufferSize, final long incrementalBufferSize)
+	{
+		return New(initialBufferSize, incrementalBufferSize, DirectBufferPool.Unpooled());
+	}
+	
+	public static BufferSizeProviderIncremental New(final DirectBufferPool bufferPool)
+	{
+		return New(XMemory.defaultBufferSize(), bufferPool);
+	}
+	
+	public static BufferSizeProviderIncremental New(final long bufferSize, final DirectBufferPool bufferPool)
+	{
+		return New(bufferSize, bufferSize, bufferPool);
+	}
+	
+	public static BufferSizeProviderIncremental New(
+		final long             initialBufferSize    ,
+		final long             incrementalBufferSize,
+		final DirectBufferPool bufferPool
+	)
 	{
 		return new BufferSizeProviderIncremental.Sized(
-			XMath.positive(initialBufferSize),
-			XMath.positive(incrementalBufferSize)
+			XMath.positive(initialBufferSize)    ,
+			XMath.positive(incrementalBufferSize),
+			notNull(bufferPool)
 		);
 	}
 	
@@ -64,8 +96,9 @@ public interface BufferSizeProviderIncremental extends BufferSizeProvider
 		// instance fields //
 		////////////////////
 
-		private final long initialBufferSize    ;
-		private final long incrementalBufferSize;
+		private final long             initialBufferSize    ;
+		private final long             incrementalBufferSize;
+		private final DirectBufferPool bufferPool           ;
 
 
 
@@ -73,11 +106,16 @@ public interface BufferSizeProviderIncremental extends BufferSizeProvider
 		// constructors //
 		/////////////////
 
-		Sized(final long initialBufferSize, final long incrementalBufferSize)
+		Sized(
+			final long             initialBufferSize    ,
+			final long             incrementalBufferSize,
+			final DirectBufferPool bufferPool
+		)
 		{
 			super();
 			this.initialBufferSize     = initialBufferSize    ;
 			this.incrementalBufferSize = incrementalBufferSize;
+			this.bufferPool            = bufferPool           ;
 		}
 
 
@@ -97,6 +135,12 @@ public interface BufferSizeProviderIncremental extends BufferSizeProvider
 			return this.incrementalBufferSize;
 		}
 
+		@Override
+		public final DirectBufferPool bufferPool()
+		{
+			return this.bufferPool;
+		}
+
 	}
 
 }
@@ -0,0 +1,116 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.Cache;
+import javax.cache.Caching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.cache.types.CacheConfiguration;
+import one.microstream.cache.types.CachingProvider;
+import one.microstream.cache.types.EvictionManager;
+import one.microstream.cache.types.EvictionPolicy;
+
+/**
+ * Puts into a full cache, so every put evicts exactly one entry.
+ * Compares the sampling policy, which searches the cache table for its victim, with the tracking policies,
+ * which maintain their eviction order as the entries change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CacheEvictionBenchmark
+{
+	@Param({"200000"})
+	int cacheSize;
+	
+	@Param({"LeastRecentlyUsed", "LeastRecentlyUsedList", "WindowTinyLfu", "BiggestObjectsHeap"})
+	String policy;
+	
+	private CachingProvider     provider;
+	private Cache<Long, String> cache   ;
+	private long                nextKey ;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		final EvictionPolicy evictionPolicy = this.createPolicy();
+		
+		this.provider = (CachingProvider)Caching.getCachingProvider(CachingProvider.class.getName());
+		this.cache    = this.provider.getCacheManager().createCache(
+			"eviction",
+			CacheConfiguration.Builder(Long.class, String.class)
+				.evictionManagerFactory(() -> EvictionManager.OnEntryCreation(evictionPolicy))
+				.build()
+		);
+		
+		for(this.nextKey = 0; this.nextKey < this.cacheSize; this.nextKey++)
+		{
+			this.cache.put(this.nextKey, "value" + this.nextKey);
+		}
+	}
+	
+	private EvictionPolicy createPolicy()
+	{
+		// one entry per eviction run, so every put of a new key evicts exactly one entry.
+		switch(this.policy)
+		{
+			case "LeastRecentlyUsed"    : return EvictionPolicy.LeastRecentlyUsed    (1, this.cacheSize);
+			case "LeastRecentlyUsedList": return EvictionPolicy.LeastRecentlyUsedList(1, this.cacheSize);
+			case "WindowTinyLfu"        : return EvictionPolicy.WindowTinyLfu        (1, this.cacheSize);
+			case "BiggestObjectsHeap"   : return EvictionPolicy.BiggestObjectsHeap   (1, this.cacheSize);
+			default:
+				throw new IllegalArgumentException("Unknown policy: " + this.policy);
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.provider.close();
+	}
+	
+	@Benchmark
+	public void put()
+	{
+		this.cache.put(this.nextKey, "value" + this.nextKey);
+		this.nextKey++;
+	}
+	
+}
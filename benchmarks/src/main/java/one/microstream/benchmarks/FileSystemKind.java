@@ -0,0 +1,97 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+
+/**
+ * The file system backends the storage benchmarks can run on.
+ */
+public enum FileSystemKind
+{
+	/**
+	 * The default NIO file system in a temporary directory of the local disk.
+	 */
+	NIO
+	{
+		@Override
+		public Path createDirectory() throws IOException
+		{
+			return Files.createTempDirectory("microstream-benchmark");
+		}
+
+		@Override
+		public void deleteDirectory(final Path directory) throws IOException
+		{
+			Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+			{
+				@Override
+				public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes)
+					throws IOException
+				{
+					Files.delete(file);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(final Path dir, final IOException e) throws IOException
+				{
+					Files.delete(dir);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+	},
+	
+	/**
+	 * An in-memory NIO file system (jimfs), excluding disk latencies from the measurement.
+	 */
+	MEMORY
+	{
+		@Override
+		public Path createDirectory() throws IOException
+		{
+			return Files.createDirectories(Jimfs.newFileSystem(Configuration.unix()).getPath("/storage"));
+		}
+
+		@Override
+		public void deleteDirectory(final Path directory) throws IOException
+		{
+			// the whole in-memory file system is discarded
+			directory.getFileSystem().close();
+		}
+	};
+	
+	
+	
+	public abstract Path createDirectory() throws IOException;
+	
+	public abstract void deleteDirectory(Path directory) throws IOException;
+	
+}
@@ -0,0 +1,97 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * The shapes of entity graphs used by the benchmarks. All shapes consist of exactly the requested number of
+ * {@link Node}s, so results of different shapes are comparable per entity.
+ */
+public enum GraphShape
+{
+	/**
+	 * One root node directly referencing all other nodes.
+	 */
+	FLAT
+	{
+		@Override
+		public Node create(final int entityCount, final int entitySize)
+		{
+			final Node root = new Node(entitySize, entityCount - 1);
+			for(int i = 0; i < root.references.length; i++)
+			{
+				root.references[i] = new Node(entitySize, 0);
+			}
+			
+			return root;
+		}
+	},
+	
+	/**
+	 * A linked chain of nodes, each referencing the next one.
+	 */
+	CHAIN
+	{
+		@Override
+		public Node create(final int entityCount, final int entitySize)
+		{
+			final Node root = new Node(entitySize, 1);
+			
+			Node last = root;
+			for(int i = 1; i < entityCount; i++)
+			{
+				last = last.references[0] = new Node(entitySize, i < entityCount - 1 ? 1 : 0);
+			}
+			
+			return root;
+		}
+	},
+	
+	/**
+	 * A balanced tree with a fan-out of {@value #TREE_FAN_OUT}, filled level by level.
+	 */
+	TREE
+	{
+		@Override
+		public Node create(final int entityCount, final int entitySize)
+		{
+			final Node[] nodes = new Node[entityCount];
+			for(int i = 0; i < entityCount; i++)
+			{
+				final long firstChild = (long)i * TREE_FAN_OUT + 1;
+				final int  childCount = (int)Math.max(0, Math.min(TREE_FAN_OUT, entityCount - firstChild));
+				nodes[i] = new Node(entitySize, childCount);
+			}
+			for(int i = 1; i < entityCount; i++)
+			{
+				nodes[(i - 1) / TREE_FAN_OUT].references[(i - 1) % TREE_FAN_OUT] = nodes[i];
+			}
+			
+			return nodes[0];
+		}
+	};
+	
+	static final int TREE_FAN_OUT = 8;
+	
+	
+	
+	public abstract Node create(int entityCount, int entitySize);
+	
+}
@@ -0,0 +1,96 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.reference.Lazy;
+import one.microstream.reference.LazyReferenceManager;
+
+/**
+ * Registration of lazy references and full cleanup cycles of the {@link LazyReferenceManager}.
+ * The references are never stored, so the cleanup only measures the iteration and checking, not any clearing.
+ * Registering threads are spread over 16 stripes that are checked by the given number of workers in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class LazyReferenceManagerBenchmark
+{
+	@Param({"10000", "1000000"})
+	int referenceCount;
+	
+	@Param({"1", "4"})
+	int workerCount;
+	
+	private LazyReferenceManager manager   ;
+	private Lazy.Checker         checker   ;
+	private Lazy<?>[]            references;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		// a timeout that never expires during the benchmark
+		this.checker = Lazy.Checker(TimeUnit.HOURS.toMillis(1));
+		this.manager = LazyReferenceManager.New(this.checker, 1_000, 1_000_000, 16, this.workerCount);
+		
+		// not started, so cleanups only happen when called by the benchmark.
+		LazyReferenceManager.set(this.manager);
+		
+		this.references = new Lazy<?>[this.referenceCount];
+		for(int i = 0; i < this.referenceCount; i++)
+		{
+			this.references[i] = Lazy.Reference(new Object());
+		}
+	}
+	
+	@Benchmark
+	public void cleanUp()
+	{
+		this.manager.cleanUp(Long.MAX_VALUE, this.checker);
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public Lazy<Object> register()
+	{
+		// the references are not kept, so their entries become orphans to be removed by cleanups.
+		return Lazy.Reference(new Object());
+	}
+	
+}
@@ -0,0 +1,116 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.reference.Lazy;
+
+/**
+ * Loading of a whole entity graph through a {@link Lazy} reference, covering
+ * {@code BinaryLoader.Default#readBinaryEntities} and the building of the instances.
+ * <p>
+ * With {@code coldCache}, the storage's entity cache is cleared before every invocation, so the entity data
+ * has to be read from the files again. Otherwise, it is served from the entity cache.
+ * Note that the instances themselves stay in the object registry as long as they are not garbage collected,
+ * so the loader mostly updates existing instances instead of creating new ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class LoaderBenchmark
+{
+	public static final class Root
+	{
+		Lazy<Node> graph;
+	}
+	
+	@Param({"FLAT", "CHAIN", "TREE"})
+	GraphShape shape;
+	
+	@Param({"10000"})
+	int entityCount;
+	
+	@Param({"16", "1024"})
+	int entitySize;
+	
+	@Param({"1", "4"})
+	int channelCount;
+	
+	@Param({"NIO", "MEMORY"})
+	FileSystemKind fileSystem;
+	
+	@Param({"false", "true"})
+	boolean coldCache;
+	
+	private Root           root   ;
+	private StorageFixture fixture;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.root = new Root();
+		this.root.graph = Lazy.Reference(this.shape.create(this.entityCount, this.entitySize));
+		
+		this.fixture = StorageFixture.start(this.fileSystem, this.channelCount, this.root);
+		this.fixture.storage().storeRoot();
+	}
+	
+	@Setup(Level.Invocation)
+	public void clear()
+	{
+		this.root.graph.clear();
+		if(this.coldCache)
+		{
+			this.fixture.storage().issueFullCacheCheck((totalCacheSize, evaluationTime, entity) -> true);
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.fixture.stop();
+	}
+	
+	@Benchmark
+	public Node load()
+	{
+		return this.root.graph.get();
+	}
+	
+}
@@ -0,0 +1,54 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Simple entity type for benchmark graphs: a payload of configurable size and references to other nodes.
+ */
+public final class Node
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	byte[] payload   ;
+	Node[] references;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	Node(final int payloadSize, final int referenceCount)
+	{
+		super();
+		this.payload    = new byte[payloadSize];
+		this.references = new Node[referenceCount];
+		
+		// deterministic, non-zero content
+		for(int i = 0; i < payloadSize; i++)
+		{
+			this.payload[i] = (byte)i;
+		}
+	}
+
+}
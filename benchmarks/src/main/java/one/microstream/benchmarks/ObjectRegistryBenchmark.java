@@ -0,0 +1,121 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.internal.ConcurrentObjectRegistry;
+import one.microstream.persistence.internal.DefaultObjectRegistry;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+
+/**
+ * Lookups in an object registry in both directions, single threaded and with concurrent readers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ObjectRegistryBenchmark
+{
+	public enum RegistryKind
+	{
+		DEFAULT,
+		CONCURRENT;
+		
+		final PersistenceObjectRegistry create()
+		{
+			return this == DEFAULT
+				? DefaultObjectRegistry.New()
+				: ConcurrentObjectRegistry.New()
+			;
+		}
+	}
+	
+	@State(Scope.Thread)
+	public static class Cursor
+	{
+		int index;
+		
+		final int next(final int bound)
+		{
+			return this.index = (this.index + 1) % bound;
+		}
+	}
+	
+	// arbitrary, but realistic object id range start
+	static final long FIRST_OBJECT_ID = 1_000_000_000_000_000_000L;
+	
+	@Param({"DEFAULT", "CONCURRENT"})
+	RegistryKind registry;
+	
+	@Param({"1000", "1000000"})
+	int size;
+	
+	private PersistenceObjectRegistry instance;
+	private Object[]                  objects ;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.instance = this.registry.create();
+		this.objects  = new Object[this.size];
+		for(int i = 0; i < this.size; i++)
+		{
+			this.instance.registerObject(FIRST_OBJECT_ID + i, this.objects[i] = new Object());
+		}
+	}
+	
+	@Benchmark
+	public long lookupObjectId(final Cursor cursor)
+	{
+		return this.instance.lookupObjectId(this.objects[cursor.next(this.size)]);
+	}
+	
+	@Benchmark
+	public Object lookupObject(final Cursor cursor)
+	{
+		return this.instance.lookupObject(FIRST_OBJECT_ID + cursor.next(this.size));
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public Object lookupObjectConcurrently(final Cursor cursor)
+	{
+		return this.instance.lookupObject(FIRST_OBJECT_ID + cursor.next(this.size));
+	}
+	
+}
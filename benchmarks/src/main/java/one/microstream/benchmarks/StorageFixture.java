@@ -0,0 +1,121 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.Storage;
+
+/**
+ * A started storage in a fresh directory of a {@link FileSystemKind}, removed completely on {@link #stop()}.
+ */
+public final class StorageFixture
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static StorageFixture start(
+		final FileSystemKind fileSystemKind,
+		final int            channelCount  ,
+		final Object         root
+	)
+	{
+		try
+		{
+			final Path directory = fileSystemKind.createDirectory();
+			
+			final EmbeddedStorageManager storage = EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(
+						Storage.FileProvider(NioFileSystem.New(directory.getFileSystem()).ensureDirectory(directory))
+					)
+					.setChannelCountProvider(Storage.ChannelCountProvider(channelCount))
+			)
+			.start(root);
+			
+			return new StorageFixture(fileSystemKind, directory, storage);
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final FileSystemKind         fileSystemKind;
+	private final Path                   directory     ;
+	private final EmbeddedStorageManager storage       ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	StorageFixture(
+		final FileSystemKind         fileSystemKind,
+		final Path                   directory     ,
+		final EmbeddedStorageManager storage
+	)
+	{
+		super();
+		this.fileSystemKind = fileSystemKind;
+		this.directory      = directory     ;
+		this.storage        = storage       ;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public final EmbeddedStorageManager storage()
+	{
+		return this.storage;
+	}
+	
+	public final void stop()
+	{
+		this.storage.shutdown();
+		
+		try
+		{
+			this.fileSystemKind.deleteDirectory(this.directory);
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+}
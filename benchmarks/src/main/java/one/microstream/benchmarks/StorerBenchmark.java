@@ -0,0 +1,109 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.types.Storer;
+
+/**
+ * Storing of a whole entity graph with an eager storer, i.e. every entity is serialized again on every call.
+ * <p>
+ * {@link #serialize()} only covers {@code BinaryStorer.Default#store}, i.e. the graph traversal and the
+ * serialization into chunks, while {@link #storeAndCommit()} additionally covers the channel side up to
+ * {@code StorageFileManager#storeChunks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StorerBenchmark
+{
+	@Param({"FLAT", "CHAIN", "TREE"})
+	GraphShape shape;
+	
+	@Param({"10000"})
+	int entityCount;
+	
+	@Param({"16", "1024"})
+	int entitySize;
+	
+	@Param({"1", "4"})
+	int channelCount;
+	
+	@Param({"NIO", "MEMORY"})
+	FileSystemKind fileSystem;
+	
+	private Node           graph  ;
+	private StorageFixture fixture;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.graph   = this.shape.create(this.entityCount, this.entitySize);
+		this.fixture = StorageFixture.start(this.fileSystem, this.channelCount, this.graph);
+		this.fixture.storage().storeRoot();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.fixture.stop();
+	}
+	
+	@Benchmark
+	public long serialize()
+	{
+		final Storer storer   = this.fixture.storage().createEagerStorer();
+		final long   objectId = storer.store(this.graph);
+		
+		// discard the serialized data instead of committing it
+		storer.clear();
+		
+		return objectId;
+	}
+	
+	@Benchmark
+	public Object storeAndCommit()
+	{
+		final Storer storer = this.fixture.storage().createEagerStorer();
+		storer.store(this.graph);
+		
+		return storer.commit();
+	}
+	
+}
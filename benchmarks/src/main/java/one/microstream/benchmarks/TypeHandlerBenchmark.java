@@ -0,0 +1,229 @@
+package one.microstream.benchmarks;
+
+/*-
+ * #%L
+ * microstream-benchmarks
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.X;
+import one.microstream.collections.types.XGettingCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryPersistence;
+import one.microstream.persistence.binary.types.BinaryPersistenceFoundation;
+import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
+import one.microstream.persistence.types.PersistenceContextDispatcher;
+import one.microstream.persistence.types.PersistenceIdSet;
+import one.microstream.persistence.types.PersistenceManager;
+import one.microstream.persistence.types.PersistenceSource;
+import one.microstream.persistence.types.PersistenceTarget;
+import one.microstream.persistence.types.PersistenceTypeDictionaryManager;
+import one.microstream.persistence.types.PersistenceTypeHandlerManager;
+
+/**
+ * Serializing and deserializing entities of a wide type without a storage, comparing the reflective
+ * generic type handlers with the generated ones (see {@code BinaryTypeHandlerCreator#Generating}).
+ * Both produce the same binary format, so the difference is the per-field value translation only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TypeHandlerBenchmark
+{
+	public enum HandlerKind
+	{
+		REFLECTIVE,
+		GENERATED;
+	}
+	
+	@Param({"REFLECTIVE", "GENERATED"})
+	HandlerKind handlerKind;
+	
+	@Param({"10000"})
+	int entityCount;
+	
+	private Object[]                   graph             ;
+	private PersistenceManager<Binary> persistenceManager;
+	private Binary                     input             ;
+	private Binary                     output            ;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.graph = new Object[this.entityCount];
+		for(int i = 0; i < this.entityCount; i++)
+		{
+			this.graph[i] = new WideEntity(i);
+		}
+		
+		final BinaryPersistenceFoundation<?> foundation = BinaryPersistence.Foundation()
+			.setPersistenceSource((PersistenceSourceBinary)() -> X.Constant(this.input))
+			.setPersistenceTarget((PersistenceTargetBinary)data -> this.output = data)
+			.setContextDispatcher(PersistenceContextDispatcher.LocalObjectRegistration())
+			.setTypeHandlerGenerationEnabled(this.handlerKind == HandlerKind.GENERATED)
+		;
+		foundation.setTypeDictionaryManager(
+			PersistenceTypeDictionaryManager.Transient(foundation.getTypeDictionaryCreator())
+		);
+		
+		final PersistenceTypeHandlerManager<Binary> typeHandlerManager = foundation.getTypeHandlerManager();
+		typeHandlerManager.initialize();
+		typeHandlerManager.ensureTypeHandler(WideEntity.class);
+		typeHandlerManager.ensureTypeHandler(Object[].class);
+		
+		this.persistenceManager = foundation.createPersistenceManager();
+		
+		// one serialized graph as the input for the loading benchmark
+		this.persistenceManager.store(this.graph);
+		this.input = this.output;
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.persistenceManager.objectRegistry().truncateAll();
+		this.persistenceManager.close();
+	}
+	
+	@Benchmark
+	public Binary store()
+	{
+		this.persistenceManager.objectRegistry().clearAll();
+		this.persistenceManager.store(this.graph);
+		
+		return this.output;
+	}
+	
+	@Benchmark
+	public Object load()
+	{
+		this.persistenceManager.objectRegistry().clearAll();
+		
+		return this.persistenceManager.get();
+	}
+	
+	
+	static interface PersistenceSourceBinary extends PersistenceSource<Binary>
+	{
+		@Override
+		default XGettingCollection<? extends Binary> readByObjectIds(final PersistenceIdSet[] oids)
+			throws PersistenceExceptionTransfer
+		{
+			return null;
+		}
+	}
+	
+	static interface PersistenceTargetBinary extends PersistenceTarget<Binary>
+	{
+		@Override
+		default boolean isWritable()
+		{
+			return true;
+		}
+	}
+	
+	
+	static final class WideEntity
+	{
+		String  name     ;
+		String  category ;
+		Object  parent   ;
+		boolean active   ;
+		boolean visible  ;
+		boolean locked   ;
+		byte    flags    ;
+		byte    level    ;
+		short   rank     ;
+		short   priority ;
+		char    code     ;
+		char    grade    ;
+		int     id       ;
+		int     count    ;
+		int     version  ;
+		int     revision ;
+		int     width    ;
+		int     height   ;
+		long    created  ;
+		long    modified ;
+		long    size     ;
+		long    checksum ;
+		long    sequence ;
+		float   ratio    ;
+		float   weight   ;
+		float   scale    ;
+		double  amount   ;
+		double  latitude ;
+		double  longitude;
+		double  score    ;
+		
+		WideEntity(final int i)
+		{
+			super();
+			this.name      = "Entity" + i;
+			this.category  = "Category" + (i & 15);
+			this.parent    = null;
+			this.active    = (i & 1) != 0;
+			this.visible   = (i & 2) != 0;
+			this.locked    = (i & 4) != 0;
+			this.flags     = (byte)i;
+			this.level     = (byte)(i >>> 8);
+			this.rank      = (short)i;
+			this.priority  = (short)(i >>> 4);
+			this.code      = (char)('A' + i % 26);
+			this.grade     = (char)('a' + i % 26);
+			this.id        = i;
+			this.count     = i * 3;
+			this.version   = i % 7;
+			this.revision  = i % 11;
+			this.width     = i % 1920;
+			this.height    = i % 1080;
+			this.created   = 1_600_000_000_000L + i;
+			this.modified  = 1_600_000_000_000L + i * 2L;
+			this.size      = i * 1024L;
+			this.checksum  = i * 0x9E3779B97F4A7C15L;
+			this.sequence  = -i;
+			this.ratio     = i / 3f;
+			this.weight    = i * 0.5f;
+			this.scale     = 1f / (i + 1);
+			this.amount    = i * 100.25;
+			this.latitude  = i % 180 - 90.0;
+			this.longitude = i % 360 - 180.0;
+			this.score     = Math.sqrt(i);
+		}
+		
+	}
+	
+}
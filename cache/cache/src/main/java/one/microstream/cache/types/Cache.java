@@ -38,6 +38,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 
 import javax.cache.CacheException;
@@ -205,11 +206,13 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			this.configuration         = configuration;
 
 			this.objectConverter = configuration.isStoreByValue()
-				? ObjectConverter.ByValue(
+				? this.createByValueConverter(
 					Serializer.get(
 						Thread.currentThread().getContextClassLoader(),
 						configuration.getSerializerFieldPredicate()
-					)
+					),
+					configuration.isStoreOffHeap(),
+					configuration.getSegmentCount()
 				)
 				: ObjectConverter.ByReference()
 			;
@@ -247,7 +250,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			this.keyValidator   = CacheValueValidator.New("key",   configuration.getKeyType()  );
 			this.valueValidator = CacheValueValidator.New("value", configuration.getValueType());
 
-			this.cacheTable               = CacheTable.New();
+			this.cacheTable               = this.createCacheTable(configuration.getSegmentCount());
 			this.listenerRegistrations    = X.synchronize(BulkList.New());
 			this.executorService          = Executors.newFixedThreadPool(1);
 			this.cacheConfigurationMXBean = new CacheConfigurationMXBean.Default(this.configuration);
@@ -404,15 +407,22 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 
 			this.cacheTable.clear();
+			this.closeIfCloseable(this.objectConverter);
 		}
 
 		@Override
 		public long size()
 		{
-			synchronized(this.cacheTable)
+			final Lock tableLock = this.cacheTable.tableLock();
+			tableLock.lock();
+			try
 			{
 				return this.cacheTable.size();
 			}
+			finally
+			{
+				tableLock.unlock();
+			}
 		}
 
 		@Override
@@ -480,11 +490,17 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object internalKey = this.objectConverter.internalize(key);
 			final long   now         = System.currentTimeMillis();
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				return cachedValue != null && !cachedValue.isExpiredAt(now);
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 		}
 
 		@Override
@@ -586,9 +602,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final long                       now                 = System.currentTimeMillis();
 			final ObjectConverter            objectConverter     = this.objectConverter;
 			final Object                     internalKey         = objectConverter.internalize(key);
-			final Object                     internalValue       = objectConverter.internalize(value);
+			final Object                     internalValue       = objectConverter.internalizeValue(value);
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -642,7 +660,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(internalValue, now);
+					this.replaceValue(cachedValue, internalValue, now);
 					this.writeCacheEntry(entry);
 					putCount++;
 
@@ -655,6 +673,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -691,9 +713,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			int                              putCount            = 0;
 			final long                       now                 = System.currentTimeMillis();
 			final Object                     internalKey         = this.objectConverter.internalize(key);
-			final Object                     internalValue       = this.objectConverter.internalize(value);
+			final Object                     internalValue       = this.objectConverter.internalizeValue(value);
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -748,7 +772,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(internalValue, now);
+					this.replaceValue(cachedValue, internalValue, now);
 					this.writeCacheEntry(entry);
 					putCount++;
 
@@ -761,6 +785,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -814,7 +842,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				: null;
 			CacheWriterException             exception           = null;
 
-			synchronized(this.cacheTable)
+			final Lock tableLock = this.cacheTable.tableLock();
+			tableLock.lock();
+			try
 			{
 				final boolean isWriteThrough = this.cacheWriter != null
 					&& this.configuration.isWriteThrough() && useWriteThrough;
@@ -859,82 +889,95 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					final V       value         = map.get(key);
 					final Object  internalKey   = this.objectConverter.internalize(key);
-					final Object  internalValue = this.objectConverter.internalize(value);
-					CachedValue   cachedValue   = this.cacheTable.get(internalKey);
-
-					final boolean isExpired     = cachedValue != null && cachedValue.isExpiredAt(now);
-					if(cachedValue == null || isExpired)
+					final Object  internalValue = this.objectConverter.internalizeValue(value);
+					final Lock entryLock = this.cacheTable.lock(internalKey);
+					entryLock.lock();
+					try
 					{
-						if(isExpired)
-						{
-							this.processExpiries(
-								key,
-								internalKey,
-								eventDispatcher,
-								this.objectConverter.externalize(cachedValue.value())
-							);
-						}
+						CachedValue   cachedValue   = this.cacheTable.get(internalKey);
 
-						cachedValue = CachedValue.New(
-							internalValue,
-							now,
-							this.expiryForCreation().getAdjustedTime(now)
-						);
-						if(cachedValue.isExpiredAt(now))
+						final boolean isExpired     = cachedValue != null && cachedValue.isExpiredAt(now);
+						if(cachedValue == null || isExpired)
 						{
-							this.processExpiries(
-								key,
-								internalKey,
-								eventDispatcher,
-								value
+							if(isExpired)
+							{
+								this.processExpiries(
+									key,
+									internalKey,
+									eventDispatcher,
+									this.objectConverter.externalize(cachedValue.value())
+								);
+							}
+
+							cachedValue = CachedValue.New(
+								internalValue,
+								now,
+								this.expiryForCreation().getAdjustedTime(now)
 							);
+							if(cachedValue.isExpiredAt(now))
+							{
+								this.processExpiries(
+									key,
+									internalKey,
+									eventDispatcher,
+									value
+								);
+							}
+							else
+							{
+								this.putValue(
+									key,
+									value,
+									internalKey,
+									cachedValue,
+									eventDispatcher
+								);
+
+								/*
+								 * This method called from loadAll when useWriteThrough is false. Do not count loads as puts
+								 * per statistics table in specification.
+								 */
+								if(useWriteThrough)
+								{
+									putCount++;
+								}
+							}
 						}
-						else
+						else if(replaceExistingValues)
 						{
-							this.putValue(
-								key,
-								value,
-								internalKey,
-								cachedValue,
-								eventDispatcher
-							);
+							final V oldValue = this.objectConverter.externalize(cachedValue.value());
+
+							this.updateExpiryForUpdate(cachedValue, now);
+
+							this.replaceValue(cachedValue, internalValue, now);
 
 							/*
-							 * This method called from loadAll when useWriteThrough is false. Do not count loads as puts
-							 * per statistics table in specification.
+							 * Do not count loadAll calls as puts. useWriteThrough is false when called from loadAll.
 							 */
 							if(useWriteThrough)
 							{
 								putCount++;
 							}
+
+							if(eventDispatcher != null)
+							{
+								eventDispatcher.addEvent(
+									CacheEntryUpdatedListener.class,
+									new CacheEvent<>(this, EventType.UPDATED, key, value, oldValue)
+								);
+							}
 						}
 					}
-					else if(replaceExistingValues)
+					finally
 					{
-						final V oldValue = this.objectConverter.externalize(cachedValue.value());
-
-						this.updateExpiryForUpdate(cachedValue, now);
-
-						cachedValue.value(internalValue, now);
-
-						/*
-						 * Do not count loadAll calls as puts. useWriteThrough is false when called from loadAll.
-						 */
-						if(useWriteThrough)
-						{
-							putCount++;
-						}
-
-						if(eventDispatcher != null)
-						{
-							eventDispatcher.addEvent(
-								CacheEntryUpdatedListener.class,
-								new CacheEvent<>(this, EventType.UPDATED, key, value, oldValue)
-							);
-						}
+						entryLock.unlock();
 					}
 				}
 			}
+			finally
+			{
+				tableLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -973,10 +1016,12 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				? CacheEventDispatcher.New()
 				: null;
 			final Object                     internalKey         = this.objectConverter.internalize(key);
-			final Object                     internalValue       = this.objectConverter.internalize(value);
+			final Object                     internalValue       = this.objectConverter.internalizeValue(value);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 
@@ -1031,6 +1076,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					result = false;
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1075,7 +1124,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				this.deleteCacheEntry(key);
 
@@ -1093,6 +1144,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					this.cacheTable.remove(internalKey);
 					final V value = this.objectConverter.externalize(cachedValue.value());
+					this.releaseValue(cachedValue);
 
 					if(eventDispatcher != null)
 					{
@@ -1105,6 +1157,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					result = true;
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1144,7 +1200,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			boolean                          hit                 = false;
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1163,6 +1221,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 						this.deleteCacheEntry(key);
 
 						this.cacheTable.remove(internalKey);
+						this.releaseValue(cachedValue);
 
 						if(eventDispatcher != null)
 						{
@@ -1182,6 +1241,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1231,7 +1294,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			V                                result;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				this.deleteCacheEntry(key);
 
@@ -1244,6 +1309,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					this.cacheTable.remove(internalKey);
 					result = this.objectConverter.externalize(cachedValue.value(now));
+					this.releaseValue(cachedValue);
 
 					if(eventDispatcher != null)
 					{
@@ -1254,6 +1320,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1305,7 +1375,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			long                             hitCount            = 0;
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1325,8 +1397,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 						this.updateExpiryForUpdate(cachedValue, now);
 
-						cachedValue.value(
-							this.objectConverter.internalize(newValue),
+						this.replaceValue(
+							cachedValue,
+							this.objectConverter.internalizeValue(newValue),
 							now
 						);
 
@@ -1348,6 +1421,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1399,7 +1476,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1415,8 +1494,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					final Object newInternalValue = this.objectConverter.internalize(value);
-					cachedValue.value(newInternalValue, now);
+					final Object newInternalValue = this.objectConverter.internalizeValue(value);
+					this.replaceValue(cachedValue, newInternalValue, now);
 
 					if(eventDispatcher != null)
 					{
@@ -1429,6 +1508,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					result = true;
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1477,7 +1560,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			V                                result;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1493,8 +1578,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(
-						this.objectConverter.internalize(value),
+					this.replaceValue(
+						cachedValue,
+						this.objectConverter.internalizeValue(value),
 						now
 					);
 
@@ -1509,6 +1595,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					result = oldValue;
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1553,7 +1643,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			cacheWriterKeys.addAll(keys);
 			CacheException exception = null;
 
-			synchronized(this.cacheTable)
+			final Lock tableLock = this.cacheTable.tableLock();
+			tableLock.lock();
+			try
 			{
 				if(this.cacheWriter != null && this.configuration.isWriteThrough())
 				{
@@ -1578,12 +1670,60 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 						if(!cacheWriterKeys.contains(key))
 						{
 							final Object      internalKey = this.objectConverter.internalize(key);
+							final Lock entryLock = this.cacheTable.lock(internalKey);
+							entryLock.lock();
+							try
+							{
+								final CachedValue cachedValue = this.cacheTable.remove(internalKey);
+								if(cachedValue != null)
+								{
+									deletedKeys.add(key);
+
+									final V value = this.objectConverter.externalize(cachedValue.value());
+									this.releaseValue(cachedValue);
+
+									if(cachedValue.isExpiredAt(now))
+									{
+										this.processExpiries(
+											key,
+											internalKey,
+											eventDispatcher,
+											value
+										);
+									}
+									else if(eventDispatcher != null)
+									{
+										eventDispatcher.addEvent(
+											CacheEntryRemovedListener.class,
+											new CacheEvent<>(this, EventType.REMOVED, key, value, value)
+										);
+									}
+								}
+							}
+							finally
+							{
+								entryLock.unlock();
+							}
+						}
+					}
+				}
+				else
+				{
+					for(final K key : keys)
+					{
+						// only delete those keys that the writer deleted. per CacheWriter spec.
+						final Object      internalKey = this.objectConverter.internalize(key);
+						final Lock entryLock = this.cacheTable.lock(internalKey);
+						entryLock.lock();
+						try
+						{
 							final CachedValue cachedValue = this.cacheTable.remove(internalKey);
 							if(cachedValue != null)
 							{
 								deletedKeys.add(key);
 
 								final V value = this.objectConverter.externalize(cachedValue.value());
+								this.releaseValue(cachedValue);
 
 								if(cachedValue.isExpiredAt(now))
 								{
@@ -1603,41 +1743,17 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 								}
 							}
 						}
-					}
-				}
-				else
-				{
-					for(final K key : keys)
-					{
-						// only delete those keys that the writer deleted. per CacheWriter spec.
-						final Object      internalKey = this.objectConverter.internalize(key);
-						final CachedValue cachedValue = this.cacheTable.remove(internalKey);
-						if(cachedValue != null)
+						finally
 						{
-							deletedKeys.add(key);
-
-							final V value = this.objectConverter.externalize(cachedValue.value());
-
-							if(cachedValue.isExpiredAt(now))
-							{
-								this.processExpiries(
-									key,
-									internalKey,
-									eventDispatcher,
-									value
-								);
-							}
-							else if(eventDispatcher != null)
-							{
-								eventDispatcher.addEvent(
-									CacheEntryRemovedListener.class,
-									new CacheEvent<>(this, EventType.REMOVED, key, value, value)
-								);
-							}
+							entryLock.unlock();
 						}
 					}
 				}
 			}
+			finally
+			{
+				tableLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1667,7 +1783,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				: null;
 			CacheException                   exception           = null;
 
-			synchronized(this.cacheTable)
+			final Lock tableLock = this.cacheTable.tableLock();
+			tableLock.lock();
+			try
 			{
 				final HashSet<K> keys = new HashSet<>();
 				this.cacheTable.keys().forEach(key -> keys.add(this.objectConverter.externalize(key)));
@@ -1705,32 +1823,52 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					if(!keysToDelete.contains(key))
 					{
 						final Object      internalKey = this.objectConverter.internalize(key);
-						final CachedValue cachedValue = this.cacheTable.remove(internalKey);
-						final V           value       = this.objectConverter.externalize(cachedValue.value());
-
-						if(cachedValue.isExpiredAt(now))
-						{
-							this.processExpiries(
-								key,
-								internalKey,
-								eventDispatcher,
-								value
-							);
-						}
-						else
+						final Lock entryLock = this.cacheTable.lock(internalKey);
+						entryLock.lock();
+						try
 						{
-							if(eventDispatcher != null)
+							final CachedValue cachedValue = this.cacheTable.remove(internalKey);
+							if(cachedValue == null)
 							{
-								eventDispatcher.addEvent(
-									CacheEntryRemovedListener.class,
-									new CacheEvent<>(this, EventType.REMOVED, key, value, value)
+								// removed in the meantime by a concurrent single-key operation
+								continue;
+							}
+
+							final V           value       = this.objectConverter.externalize(cachedValue.value());
+							this.releaseValue(cachedValue);
+
+							if(cachedValue.isExpiredAt(now))
+							{
+								this.processExpiries(
+									key,
+									internalKey,
+									eventDispatcher,
+									value
 								);
 							}
-							removed++;
+							else
+							{
+								if(eventDispatcher != null)
+								{
+									eventDispatcher.addEvent(
+										CacheEntryRemovedListener.class,
+										new CacheEvent<>(this, EventType.REMOVED, key, value, value)
+									);
+								}
+								removed++;
+							}
+						}
+						finally
+						{
+							entryLock.unlock();
 						}
 					}
 				}
 			}
+			finally
+			{
+				tableLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1752,10 +1890,17 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 		{
 			this.ensureOpen();
 
-			synchronized(this.cacheTable)
+			final Lock tableLock = this.cacheTable.tableLock();
+			tableLock.lock();
+			try
 			{
+				this.cacheTable.iterate(entry -> this.releaseValue(entry.value()));
 				this.cacheTable.clear();
 			}
+			finally
+			{
+				tableLock.unlock();
+			}
 		}
 
 		@Override
@@ -1875,7 +2020,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey     = this.objectConverter.internalize(key);
 			T                                result          = null;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				final boolean     isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -1938,6 +2085,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					isStatisticsEnabled
 				);
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -1964,6 +2115,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				case ACCESS:
 
 					this.updateExpiryForAccess(cachedValue, now);
+					this.cacheTable.touch(internalKey, cachedValue);
 
 					break;
 
@@ -2030,7 +2182,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 
 			cachedValue = CachedValue.New(
-				this.objectConverter.internalize(entry.getValue()),
+				this.objectConverter.internalizeValue(entry.getValue()),
 				now,
 				this.expiryForCreation().getAdjustedTime(now)
 			);
@@ -2082,8 +2234,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			this.updateExpiryForUpdate(cachedValue, now);
 
-			cachedValue.value(
-				this.objectConverter.internalize(entry.getValue()),
+			this.replaceValue(
+				cachedValue,
+				this.objectConverter.internalizeValue(entry.getValue()),
 				now
 			);
 
@@ -2116,7 +2269,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final V oldValue = cachedValue == null
 				? null
 				: this.objectConverter.externalize(cachedValue.value());
-			this.cacheTable.remove(internalKey);
+			if(this.cacheTable.remove(internalKey) != null)
+			{
+				this.releaseValue(cachedValue);
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -2133,6 +2289,30 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 		}
 
+		private ObjectConverter createByValueConverter(
+			final Serializer serializer  ,
+			final boolean    storeOffHeap,
+			final int        segmentCount
+		)
+		{
+			return storeOffHeap
+				? ObjectConverter.ByValueOffHeap(serializer, segmentCount)
+				: ObjectConverter.ByValue(serializer);
+		}
+
+		private CacheTable createCacheTable(final int segmentCount)
+		{
+			final CacheTable     cacheTable     = CacheTable.New(segmentCount);
+			final EvictionPolicy evictionPolicy = this.evictionManager != null
+				? this.evictionManager.evictionPolicy()
+				: null;
+
+			// tracking policies maintain their own eviction order, so they have to see every change of the table
+			return evictionPolicy instanceof EvictionPolicy.Tracking
+				? CacheTable.Tracked(cacheTable, (EvictionPolicy.Tracking)evictionPolicy)
+				: cacheTable;
+		}
+
 		private void ensureOpen()
 		{
 			if(this.isClosed)
@@ -2155,7 +2335,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object  internalKey         = this.objectConverter.internalize(key);
 			V             value               = null;
 
-			synchronized(this.cacheTable)
+			final Lock entryLock = this.cacheTable.lock(internalKey);
+			entryLock.lock();
+			try
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -2182,7 +2364,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					if(value != null)
 					{
 						cachedValue = CachedValue.New(
-							this.objectConverter.internalize(value),
+							this.objectConverter.internalizeValue(value),
 							now,
 							this.expiryForCreation().getAdjustedTime(now)
 						);
@@ -2207,6 +2389,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					value = this.objectConverter.externalize(cachedValue.value(now));
 					this.updateExpiryForAccess(cachedValue, now);
+					this.cacheTable.touch(internalKey, cachedValue);
 
 					if(isStatisticsEnabled)
 					{
@@ -2214,6 +2397,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 				}
 			}
+			finally
+			{
+				entryLock.unlock();
+			}
 
 			if(isStatisticsEnabled)
 			{
@@ -2253,28 +2440,52 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				? CacheEventDispatcher.New()
 				: null;
 
-			synchronized(this.cacheTable)
+			final Lock tableLock = this.cacheTable.tableLock();
+			tableLock.lock();
+			try
 			{
 				for(final KeyValue<Object, CachedValue> entryToEvict : entriesToEvict)
 				{
-					this.cacheTable.remove(entryToEvict.key());
+					final Lock entryLock = this.cacheTable.lock(entryToEvict.key());
+					entryLock.lock();
+					try
+					{
+						/*
+						 * The entries have been picked without holding the entries' locks,
+						 * so skip the ones which have been removed or replaced in the meantime.
+						 */
+						if(this.cacheTable.get(entryToEvict.key()) != entryToEvict.value())
+						{
+							continue;
+						}
+						this.cacheTable.remove(entryToEvict.key());
 
-					final K evictedKey   = this.objectConverter.externalize(entryToEvict.key());
-					final V evictedValue = this.objectConverter.externalize(entryToEvict.value().value());
+						final K evictedKey   = this.objectConverter.externalize(entryToEvict.key());
+						final V evictedValue = this.objectConverter.externalize(entryToEvict.value().value());
+						this.releaseValue(entryToEvict.value());
 
-					this.deleteCacheEntry(evictedKey);
+						this.deleteCacheEntry(evictedKey);
 
-					if(eventDispatcher != null)
+						if(eventDispatcher != null)
+						{
+							eventDispatcher.addEvent(
+								CacheEntryRemovedListener.class,
+								new CacheEvent<>(this, EventType.REMOVED, evictedKey, evictedValue, evictedValue)
+							);
+						}
+
+						evictionCount++;
+					}
+					finally
 					{
-						eventDispatcher.addEvent(
-							CacheEntryRemovedListener.class,
-							new CacheEvent<>(this, EventType.REMOVED, evictedKey, evictedValue, evictedValue)
-						);
+						entryLock.unlock();
 					}
-
-					evictionCount++;
 				}
 			}
+			finally
+			{
+				tableLock.unlock();
+			}
 
 			if(this.isStatisticsEnabled && evictionCount > 0)
 			{
@@ -2331,7 +2542,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final V expiredValue
 		)
 		{
-			this.cacheTable.remove(internalKey);
+			final CachedValue cachedValue = this.cacheTable.remove(internalKey);
+			if(cachedValue != null)
+			{
+				this.releaseValue(cachedValue);
+			}
 
 			if(eventDispatcher != null)
 			{
@@ -2342,6 +2557,27 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 		}
 
+		/*
+		 * The old value is released right away, which is safe since it is only read under the entry's lock.
+		 */
+		private void replaceValue(
+			final CachedValue cachedValue,
+			final Object      internalValue,
+			final long        now
+		)
+		{
+			final Object oldInternalValue = cachedValue.value();
+			cachedValue.value(internalValue, now);
+			this.objectConverter.release(oldInternalValue);
+		}
+
+		private void releaseValue(
+			final CachedValue cachedValue
+		)
+		{
+			this.objectConverter.release(cachedValue.value());
+		}
+
 		private Duration expiryForCreation()
 		{
 			// Spec says if exception happens, a default duration should be used.
@@ -2450,6 +2686,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			private final Iterator<KeyValue<Object, CachedValue>> iterator;
 			private CacheEntry<K, V>                              nextEntry;
 			private CacheEntry<K, V>                              lastEntry;
+			private Object                                        nextInternalKey;
+			private Object                                        lastInternalKey;
 			private final long                                    now;
 			private final boolean                                 isStatisticsEnabled;
 
@@ -2478,12 +2716,18 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					final KeyValue<Object, CachedValue> entry       = this.iterator.next();
 					final CachedValue                   cachedValue = entry.value();
 					final K                             key         = objectConverter.externalize(entry.key());
+					final Lock                          entryLock   = Cache.Default.this.cacheTable.lock(entry.key());
+					entryLock.lock();
 					try
 					{
-						if(!cachedValue.isExpiredAt(this.now))
+						// the value of a meanwhile removed entry may have been released already
+						if(Cache.Default.this.cacheTable.get(entry.key()) == cachedValue
+							&& !cachedValue.isExpiredAt(this.now)
+						)
 						{
-							final V value  = objectConverter.externalize(cachedValue.value(this.now));
-							this.nextEntry = CacheEntry.New(key, value);
+							final V value        = objectConverter.externalize(cachedValue.value(this.now));
+							this.nextEntry       = CacheEntry.New(key, value);
+							this.nextInternalKey = entry.key();
 
 							try
 							{
@@ -2497,6 +2741,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 					finally
 					{
+						entryLock.unlock();
 						if(this.isStatisticsEnabled && this.nextEntry != null)
 						{
 							final CacheStatisticsMXBean cacheStatisticsMXBean = Cache.Default.this.cacheStatisticsMXBean;
@@ -2523,7 +2768,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				if(this.hasNext())
 				{
 					// remember the lastEntry (so that we call allow for removal)
-					this.lastEntry = this.nextEntry;
+					this.lastEntry       = this.nextEntry;
+					this.lastInternalKey = this.nextInternalKey;
 
 					// reset nextEntry to force fetching the next available entry
 					this.nextEntry = null;
@@ -2555,7 +2801,20 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					 * replaced / expired or already removed since it retrieved it. We simply don't care here as
 					 * multiple-threads are ok to remove and see such side-effects.
 					 */
-					this.iterator.remove();
+					final Lock entryLock = Cache.Default.this.cacheTable.lock(this.lastInternalKey);
+					entryLock.lock();
+					try
+					{
+						final CachedValue cachedValue = Cache.Default.this.cacheTable.remove(this.lastInternalKey);
+						if(cachedValue != null)
+						{
+							Cache.Default.this.releaseValue(cachedValue);
+						}
+					}
+					finally
+					{
+						entryLock.unlock();
+					}
 					cacheRemovals++;
 
 					// raise "remove" event
@@ -2578,7 +2837,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				finally
 				{
 					// reset lastEntry (we can't attempt to remove it again)
-					this.lastEntry = null;
+					this.lastEntry       = null;
+					this.lastInternalKey = null;
 					if(this.isStatisticsEnabled && cacheRemovals > 0)
 					{
 						final CacheStatisticsMXBean cacheStatisticsMXBean = Cache.Default.this.cacheStatisticsMXBean;
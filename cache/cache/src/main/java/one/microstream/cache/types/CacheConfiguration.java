@@ -61,7 +61,9 @@ import one.microstream.storage.embedded.types.EmbeddedStorageManager;
  * <p>
  * Added features:<br>
  * - {@link #getEvictionManagerFactory()}<br>
- * - {@link #getSerializerFieldPredicate()}
+ * - {@link #getSerializerFieldPredicate()}<br>
+ * - {@link #getSegmentCount()}<br>
+ * - {@link #isStoreOffHeap()}
  * </p>
  * <p>
  * Can be adapted to MicroStream's generic {@link Configuration} layer.
@@ -1048,6 +1050,24 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 	 */
 	public Predicate<? super Field> getSerializerFieldPredicate();
 
+	/**
+	 * Gets the number of segments the cache's entries are distributed over.
+	 * Operations on keys of different segments don't contend for the same lock,
+	 * so more segments let concurrent accesses scale across cores.
+	 *
+	 * @return the number of segments, 1 if all entries share a single lock
+	 */
+	public int getSegmentCount();
+
+	/**
+	 * Whether values stored by value are kept in native memory instead of the Java heap.
+	 * Has no effect if values are stored by reference.
+	 *
+	 * @return true if serialized values are held off-heap
+	 * @see OffHeapValueStore
+	 */
+	public boolean isStoreOffHeap();
+
 	/**
 	 * Creates a new {@link Builder} for a {@link CacheConfiguration}.
 	 *
@@ -1363,6 +1383,28 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 	     */
 		public Builder<K, V> serializerFieldPredicate(Predicate<? super Field> serializerFieldPredicate);
 
+		/**
+		 * Sets the number of segments the cache's entries are distributed over,
+		 * which is rounded up to the next power of 2.
+		 * A single segment guards all entries with one lock, more segments allow
+		 * operations on different keys to run in parallel.
+		 *
+		 * @param segmentCount the number of segments, at least 1
+		 *
+		 * @see CacheConfiguration#DefaultSegmentCount()
+		 */
+		public Builder<K, V> segmentCount(int segmentCount);
+
+		/**
+		 * Sets whether values stored by value are kept in native memory instead of the Java heap,
+		 * which keeps the heap small for big caches. Has no effect if values are stored by reference.
+		 *
+		 * @param storeOffHeap true to hold serialized values off-heap
+		 *
+		 * @see OffHeapValueStore
+		 */
+		public Builder<K, V> storeOffHeap(boolean storeOffHeap);
+
 		/**
 		 * Builds a {@link CacheConfiguration} based on the values of this {@link Builder}.
 		 */
@@ -1383,6 +1425,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			private boolean                                        statisticsEnabled;
 			private boolean                                        managementEnabled;
 			private Predicate<? super Field>                       serializerFieldPredicate;
+			private int                                            segmentCount = DefaultSegmentCount();
+			private boolean                                        storeOffHeap;
 
 			Default(final Class<K> keyType, final Class<V> valueType)
 			{
@@ -1470,6 +1514,24 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				return this;
 			}
 
+			@Override
+			public Builder<K, V> segmentCount(final int segmentCount)
+			{
+				if(segmentCount < 1)
+				{
+					throw new IllegalArgumentException("Invalid segment count: " + segmentCount);
+				}
+				this.segmentCount = segmentCount;
+				return this;
+			}
+
+			@Override
+			public Builder<K, V> storeOffHeap(final boolean storeOffHeap)
+			{
+				this.storeOffHeap = storeOffHeap;
+				return this;
+			}
+
 			@Override
 			public CacheConfiguration<K, V> build()
 			{
@@ -1500,7 +1562,9 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 					this.storeByValue,
 					this.statisticsEnabled,
 					this.managementEnabled,
-					serializerFieldPredicate
+					serializerFieldPredicate,
+					this.segmentCount,
+					this.storeOffHeap
 				);
 			}
 
@@ -1532,6 +1596,14 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 		return XReflect::isNotTransient;
 	}
 
+	/**
+	 * Returns the default segment count, which is 1: all entries are guarded by a single lock.
+	 */
+	public static int DefaultSegmentCount()
+	{
+		return 1;
+	}
+
 	/**
 	 * Creates a new {@link CacheConfiguration} based on a {@link javax.cache.configuration.Configuration}.
 	 */
@@ -1556,16 +1628,22 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 
 			final Factory<EvictionManager<K, V>> evictionManagerFactory;
 			final Predicate<? super Field>       serializerFieldPredicate;
+			final int                            segmentCount;
+			final boolean                        storeOffHeap;
 			if(other instanceof CacheConfiguration)
 			{
 				final CacheConfiguration<K, V> msCacheConfig = (CacheConfiguration<K, V>)other;
 				evictionManagerFactory   = msCacheConfig.getEvictionManagerFactory();
 				serializerFieldPredicate = msCacheConfig.getSerializerFieldPredicate();
+				segmentCount             = msCacheConfig.getSegmentCount();
+				storeOffHeap             = msCacheConfig.isStoreOffHeap();
 			}
 			else
 			{
 				evictionManagerFactory   = DefaultEvictionManagerFactory();
 				serializerFieldPredicate = DefaultSerializerFieldPredicate();
+				segmentCount             = DefaultSegmentCount();
+				storeOffHeap             = false;
 			}
 
 			return new Default<>(
@@ -1581,7 +1659,9 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				complete.isStoreByValue(),
 				complete.isStatisticsEnabled(),
 				complete.isManagementEnabled(),
-				serializerFieldPredicate
+				serializerFieldPredicate,
+				segmentCount,
+				storeOffHeap
 			);
 		}
 
@@ -1598,13 +1678,17 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			other.isStoreByValue(),
 			false,
 			false,
-			DefaultSerializerFieldPredicate());
+			DefaultSerializerFieldPredicate(),
+			DefaultSegmentCount(),
+			false);
 	}
 
 	public static class Default<K, V> extends MutableConfiguration<K, V> implements CacheConfiguration<K, V>
 	{
 		private final Factory<EvictionManager<K, V>>                 evictionManagerFactory;
 		private final Predicate<? super Field>                       serializerFieldPredicate;
+		private final int                                            segmentCount;
+		private final boolean                                        storeOffHeap;
 
 		Default(
 			final Class<K>                                       keyType,
@@ -1619,7 +1703,9 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			final boolean                                        isStoreByValue,
 			final boolean                                        isStatisticsEnabled,
 			final boolean                                        isManagementEnabled,
-			final Predicate<? super Field>                       serializerFieldPredicate
+			final Predicate<? super Field>                       serializerFieldPredicate,
+			final int                                            segmentCount,
+			final boolean                                        storeOffHeap
 		)
 		{
 			super();
@@ -1640,6 +1726,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			this.isStoreByValue           = isStoreByValue;
 			this.isManagementEnabled      = isManagementEnabled;
 			this.serializerFieldPredicate = serializerFieldPredicate;
+			this.segmentCount             = segmentCount;
+			this.storeOffHeap             = storeOffHeap;
 		}
 
 		@Override
@@ -1674,6 +1762,18 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			return this.serializerFieldPredicate;
 		}
 
+		@Override
+		public int getSegmentCount()
+		{
+			return this.segmentCount;
+		}
+
+		@Override
+		public boolean isStoreOffHeap()
+		{
+			return this.storeOffHeap;
+		}
+
 		@Override
 		public int hashCode()
 		{
@@ -1692,6 +1792,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			result = prime * result + (this.valueType == null ? 0 : this.valueType.hashCode());
 			result = prime * result + (this.evictionManagerFactory == null ? 0 : this.evictionManagerFactory.hashCode());
 			result = prime * result + (this.serializerFieldPredicate == null ? 0 : this.serializerFieldPredicate.hashCode());
+			result = prime * result + this.segmentCount;
+			result = prime * result + (this.storeOffHeap ? 1231 : 1237);
 			return result;
 		}
 
@@ -1815,6 +1917,14 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			{
 				return false;
 			}
+			if(this.segmentCount != other.getSegmentCount())
+			{
+				return false;
+			}
+			if(this.storeOffHeap != other.isStoreOffHeap())
+			{
+				return false;
+			}
 			return true;
 		}
 
@@ -122,6 +122,12 @@ public interface CacheConfigurationBuilderConfigurationBased
 			configuration.optBoolean(MANAGEMENT_ENABLED).ifPresent(value ->
 				builder.enableManagement(value)
 			);
+			configuration.optInteger(SEGMENT_COUNT).ifPresent(value ->
+				builder.segmentCount(value)
+			);
+			configuration.optBoolean(STORE_OFF_HEAP).ifPresent(value ->
+				builder.storeOffHeap(value)
+			);
 
 			final CacheStore<K, V> cacheStore = this.buildCacheStore(configuration);
 			if(cacheStore != null)
@@ -99,4 +99,14 @@ public interface CacheConfigurationPropertyNames
 	 */
 	public static final String MANAGEMENT_ENABLED                  = "management-enabled";
 	
+	/**
+	 * @see CacheConfiguration#getSegmentCount()
+	 */
+	public static final String SEGMENT_COUNT                       = "segment-count";
+	
+	/**
+	 * @see CacheConfiguration#isStoreOffHeap()
+	 */
+	public static final String STORE_OFF_HEAP                      = "store-off-heap";
+	
 }
@@ -172,6 +172,14 @@ public interface CacheConfigurationPropertyParser
 						builder.enableManagement();
 					}
 				break;
+
+				case SEGMENT_COUNT:
+					builder.segmentCount(Integer.parseInt(value));
+				break;
+
+				case STORE_OFF_HEAP:
+					builder.storeOffHeap(Boolean.valueOf(value));
+				break;
 			}
 		}
 
@@ -21,19 +21,49 @@ package one.microstream.cache.types;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import one.microstream.X;
 import one.microstream.collections.EqHashTable;
 import one.microstream.functional.Aggregator;
+import one.microstream.math.XMath;
 import one.microstream.typing.KeyValue;
 
 
 public interface CacheTable
 {
+	/**
+	 * Returns the lock which guards compound operations on the entry of the given key.
+	 * All keys of a table share the same lock, unless the table is segmented.
+	 * 
+	 * @param key the key of the entry
+	 * @return the lock of the key's entry
+	 */
+	public Lock lock(
+		Object key
+	);
+	
+	/**
+	 * Returns the lock which guards operations on the whole table, like bulk updates or clearing it.
+	 * Holding it excludes all operations which hold the lock of a single key, see {@link #lock(Object)}.
+	 * The lock is reentrant and includes the locks of all keys, so entry locks can be acquired while holding it.
+	 * 
+	 * @return the lock of the whole table
+	 */
+	public Lock tableLock();
+	
 	public CachedValue get(
 		Object key
 	);
@@ -47,6 +77,18 @@ public interface CacheTable
 		Object key
 	);
 	
+	/**
+	 * Records a read access of an entry's value, which is relevant for tables tracking their entries' usage.
+	 * 
+	 * @param key the key of the entry
+	 * @param value the value which has been read
+	 * @see EvictionPolicy.Tracking
+	 */
+	public void touch(
+		Object key,
+		CachedValue value
+	);
+	
 	public Iterable<Object> keys();
 	
 	public Iterator<KeyValue<Object, CachedValue>> iterator();
@@ -79,15 +121,65 @@ public interface CacheTable
 		return new Default();
 	}
 	
+	/**
+	 * Creates a new table, which is split into the given number of segments,
+	 * each of them guarded by its own lock.
+	 * 
+	 * @param segmentCount the number of segments, rounded up to the next power of 2
+	 * @return a new cache table
+	 */
+	public static CacheTable New(final int segmentCount)
+	{
+		if(segmentCount < 1)
+		{
+			throw new IllegalArgumentException("Invalid segment count: " + segmentCount);
+		}
+		
+		return segmentCount == 1
+			? new Default()
+			: new Segmented(XMath.pow2BoundCapped(segmentCount))
+		;
+	}
+	
+	/**
+	 * Creates a table which notifies the given tracking policy about every
+	 * addition, read access and removal of the given table's entries.
+	 * 
+	 * @param table the table to track
+	 * @param tracking the policy to notify
+	 * @return a new tracked table
+	 */
+	public static CacheTable Tracked(final CacheTable table, final EvictionPolicy.Tracking tracking)
+	{
+		return new Tracked(
+			notNull(table),
+			notNull(tracking)
+		);
+	}
+	
 	public static class Default implements CacheTable
 	{
 		private final EqHashTable<Object, CachedValue> table;
+		private final ReentrantLock                    lock ;
 		
 		Default()
 		{
 			super();
 			
 			this.table          = EqHashTable.New();
+			this.lock           = new ReentrantLock();
+		}
+		
+		@Override
+		public Lock lock(final Object key)
+		{
+			return this.lock;
+		}
+		
+		@Override
+		public Lock tableLock()
+		{
+			return this.lock;
 		}
 		
 		@Override
@@ -108,6 +200,12 @@ public interface CacheTable
 			return this.table.removeFor(key);
 		}
 		
+		@Override
+		public void touch(final Object key, final CachedValue value)
+		{
+			// no usage tracking
+		}
+		
 		@Override
 		public Iterable<Object> keys()
 		{
@@ -215,6 +313,11 @@ public interface CacheTable
 				return this;
 			}
 
+			final boolean isComplete()
+			{
+				return this.iterationLength <= 0;
+			}
+			
 			@Override
 			public final void accept(final E element)
 			{
@@ -251,4 +354,603 @@ public interface CacheTable
 		
 	}
 	
+	
+	/**
+	 * Table which distributes its entries over several segments, each guarded by its own lock,
+	 * so operations on different keys don't contend with each other.
+	 * The lock returned by {@link #lock(Object)} is the one of the key's segment, which every
+	 * single-key operation acquires as well.
+	 * The lock returned by {@link #tableLock()} acquires the locks of all segments in the order of their indices,
+	 * so whole-table operations executed under it are atomic with regard to single-key operations.
+	 * Whole-table operations called without it lock one segment after the other, so they are not atomic.
+	 */
+	public static class Segmented implements CacheTable
+	{
+		private final EqHashTable<Object, CachedValue>[] segments ;
+		private final ReentrantLock[]                    locks    ;
+		private final Lock                               tableLock;
+		private final int                                shift    ;
+		
+		@SuppressWarnings("unchecked")
+		Segmented(final int segmentCount)
+		{
+			super();
+			
+			this.segments = new EqHashTable[segmentCount];
+			this.locks    = new ReentrantLock[segmentCount];
+			for(int i = 0; i < segmentCount; i++)
+			{
+				this.segments[i] = EqHashTable.New();
+				this.locks[i]    = new ReentrantLock();
+			}
+			this.tableLock = new AllSegmentsLock(this.locks);
+			this.shift     = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+		}
+		
+		private int index(final Object key)
+		{
+			/*
+			 * The high bits of the scrambled hash select the segment,
+			 * the hash table inside of it uses the low bits.
+			 */
+			return (key == null ? 0 : key.hashCode()) * 0x9E3779B9 >>> this.shift;
+		}
+		
+		@Override
+		public Lock lock(final Object key)
+		{
+			return this.locks[this.index(key)];
+		}
+		
+		@Override
+		public Lock tableLock()
+		{
+			return this.tableLock;
+		}
+		
+		@Override
+		public CachedValue get(final Object key)
+		{
+			final int index = this.index(key);
+			this.locks[index].lock();
+			try
+			{
+				return this.segments[index].get(key);
+			}
+			finally
+			{
+				this.locks[index].unlock();
+			}
+		}
+		
+		@Override
+		public boolean put(final Object key, final CachedValue value)
+		{
+			final int index = this.index(key);
+			this.locks[index].lock();
+			try
+			{
+				return this.segments[index].put(key, value);
+			}
+			finally
+			{
+				this.locks[index].unlock();
+			}
+		}
+		
+		@Override
+		public CachedValue remove(final Object key)
+		{
+			final int index = this.index(key);
+			this.locks[index].lock();
+			try
+			{
+				return this.segments[index].removeFor(key);
+			}
+			finally
+			{
+				this.locks[index].unlock();
+			}
+		}
+		
+		@Override
+		public void touch(final Object key, final CachedValue value)
+		{
+			// no usage tracking
+		}
+		
+		@Override
+		public Iterable<Object> keys()
+		{
+			final List<Object> keys = new ArrayList<>();
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				this.locks[i].lock();
+				try
+				{
+					this.segments[i].keys().iterate(keys::add);
+				}
+				finally
+				{
+					this.locks[i].unlock();
+				}
+			}
+			return keys;
+		}
+		
+		@Override
+		public Iterator<KeyValue<Object, CachedValue>> iterator()
+		{
+			/*
+			 * Iterates over a snapshot of one segment at a time,
+			 * so no lock has to be held between the calls of the iterator.
+			 */
+			return new Iterator<KeyValue<Object, CachedValue>>()
+			{
+				int                                     segmentIndex;
+				Iterator<KeyValue<Object, CachedValue>> current     ;
+				KeyValue<Object, CachedValue>           next        ;
+				
+				@Override
+				public boolean hasNext()
+				{
+					while(this.current == null || !this.current.hasNext())
+					{
+						if(this.segmentIndex >= Segmented.this.segments.length)
+						{
+							return false;
+						}
+						
+						final int                                 index    = this.segmentIndex++;
+						final List<KeyValue<Object, CachedValue>> snapshot = new ArrayList<>();
+						Segmented.this.locks[index].lock();
+						try
+						{
+							Segmented.this.segments[index].iterate(snapshot::add);
+						}
+						finally
+						{
+							Segmented.this.locks[index].unlock();
+						}
+						this.current = snapshot.iterator();
+					}
+					return true;
+				}
+
+				@Override
+				public KeyValue<Object, CachedValue> next()
+				{
+					if(!this.hasNext())
+					{
+						throw new NoSuchElementException();
+					}
+					return this.next = this.current.next();
+				}
+				
+				@Override
+				public void remove()
+				{
+					Segmented.this.remove(this.next.key());
+				}
+			};
+		}
+		
+		@Override
+		public void iterate(final Consumer<KeyValue<Object, CachedValue>> procedure)
+		{
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				this.locks[i].lock();
+				try
+				{
+					this.segments[i].iterate(procedure);
+				}
+				finally
+				{
+					this.locks[i].unlock();
+				}
+			}
+		}
+
+		@Override
+		public KeyValue<Object, CachedValue> search(final Predicate<? super KeyValue<Object, CachedValue>> predicate)
+		{
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				this.locks[i].lock();
+				try
+				{
+					final KeyValue<Object, CachedValue> result = this.segments[i].search(predicate);
+					if(result != null)
+					{
+						return result;
+					}
+				}
+				finally
+				{
+					this.locks[i].unlock();
+				}
+			}
+			return null;
+		}
+		
+		@Override
+		public long size()
+		{
+			long size = 0;
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				this.locks[i].lock();
+				try
+				{
+					size += this.segments[i].size();
+				}
+				finally
+				{
+					this.locks[i].unlock();
+				}
+			}
+			return size;
+		}
+		
+		@Override
+		public void clear()
+		{
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				this.locks[i].lock();
+				try
+				{
+					this.segments[i].clear();
+				}
+				finally
+				{
+					this.locks[i].unlock();
+				}
+			}
+		}
+		
+		@Override
+		public KeyValue<Object, CachedValue> min(final Comparator<? super KeyValue<Object, CachedValue>> comparator)
+		{
+			KeyValue<Object, CachedValue> min = null;
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				this.locks[i].lock();
+				try
+				{
+					if(this.segments[i].isEmpty())
+					{
+						continue;
+					}
+					final KeyValue<Object, CachedValue> segmentMin = this.segments[i].min(comparator);
+					if(min == null || comparator.compare(segmentMin, min) < 0)
+					{
+						min = segmentMin;
+					}
+				}
+				finally
+				{
+					this.locks[i].unlock();
+				}
+			}
+			return min;
+		}
+				
+		@Override
+		public KeyValue<Object, CachedValue> rangeMin(
+			final long offset,
+			final long length,
+			final Comparator<? super KeyValue<Object, CachedValue>> comparator
+		)
+		{
+			// the range spans all segments in their order, as if they were one table
+			final Default.RangeMin<KeyValue<Object, CachedValue>> rangeMin =
+				new Default.RangeMin<>(offset, length, comparator)
+			;
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				if(rangeMin.isComplete())
+				{
+					break;
+				}
+				this.locks[i].lock();
+				try
+				{
+					this.segments[i].iterate(rangeMin);
+				}
+				finally
+				{
+					this.locks[i].unlock();
+				}
+			}
+			return rangeMin.yield();
+		}
+		
+		
+		/**
+		 * Lock which consists of the locks of all segments.
+		 * They are always acquired in the order of their indices and released in reverse order,
+		 * so concurrent table lockers can't deadlock each other.
+		 */
+		static final class AllSegmentsLock implements Lock
+		{
+			private final ReentrantLock[] locks;
+			
+			AllSegmentsLock(final ReentrantLock[] locks)
+			{
+				super();
+				
+				this.locks = locks;
+			}
+			
+			@Override
+			public void lock()
+			{
+				for(final ReentrantLock lock : this.locks)
+				{
+					lock.lock();
+				}
+			}
+			
+			@Override
+			public void lockInterruptibly() throws InterruptedException
+			{
+				int locked = 0;
+				try
+				{
+					for(; locked < this.locks.length; locked++)
+					{
+						this.locks[locked].lockInterruptibly();
+					}
+				}
+				finally
+				{
+					if(locked < this.locks.length)
+					{
+						this.unlock(locked);
+					}
+				}
+			}
+			
+			@Override
+			public boolean tryLock()
+			{
+				for(int i = 0; i < this.locks.length; i++)
+				{
+					if(!this.locks[i].tryLock())
+					{
+						this.unlock(i);
+						return false;
+					}
+				}
+				return true;
+			}
+			
+			@Override
+			public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException
+			{
+				final long deadline = System.nanoTime() + unit.toNanos(time);
+				int        locked   = 0;
+				try
+				{
+					for(; locked < this.locks.length; locked++)
+					{
+						if(!this.locks[locked].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+						{
+							return false;
+						}
+					}
+					return true;
+				}
+				finally
+				{
+					if(locked < this.locks.length)
+					{
+						this.unlock(locked);
+					}
+				}
+			}
+			
+			@Override
+			public void unlock()
+			{
+				this.unlock(this.locks.length);
+			}
+			
+			private void unlock(final int count)
+			{
+				for(int i = count - 1; i >= 0; i--)
+				{
+					this.locks[i].unlock();
+				}
+			}
+			
+			@Override
+			public Condition newCondition()
+			{
+				throw new UnsupportedOperationException();
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * Decorator which keeps an {@link EvictionPolicy.Tracking} in sync with the table's content.
+	 * Modifications and their notifications are done under the lock of the affected key,
+	 * so the policy sees them in the same order as the table.
+	 */
+	public static class Tracked implements CacheTable
+	{
+		private final CacheTable              table   ;
+		private final EvictionPolicy.Tracking tracking;
+		
+		Tracked(final CacheTable table, final EvictionPolicy.Tracking tracking)
+		{
+			super();
+			
+			this.table    = table   ;
+			this.tracking = tracking;
+		}
+		
+		@Override
+		public Lock lock(final Object key)
+		{
+			return this.table.lock(key);
+		}
+		
+		@Override
+		public Lock tableLock()
+		{
+			return this.table.tableLock();
+		}
+		
+		@Override
+		public CachedValue get(final Object key)
+		{
+			return this.table.get(key);
+		}
+		
+		@Override
+		public boolean put(final Object key, final CachedValue value)
+		{
+			final Lock entryLock = this.table.lock(key);
+			entryLock.lock();
+			try
+			{
+				final boolean added = this.table.put(key, value);
+				this.tracking.entryAdded(key, value);
+				return added;
+			}
+			finally
+			{
+				entryLock.unlock();
+			}
+		}
+		
+		@Override
+		public CachedValue remove(final Object key)
+		{
+			final Lock entryLock = this.table.lock(key);
+			entryLock.lock();
+			try
+			{
+				final CachedValue value = this.table.remove(key);
+				if(value != null)
+				{
+					this.tracking.entryRemoved(key, value);
+				}
+				return value;
+			}
+			finally
+			{
+				entryLock.unlock();
+			}
+		}
+		
+		@Override
+		public void touch(final Object key, final CachedValue value)
+		{
+			this.table.touch(key, value);
+			this.tracking.entryAccessed(key, value);
+		}
+		
+		@Override
+		public Iterable<Object> keys()
+		{
+			return this.table.keys();
+		}
+		
+		@Override
+		public Iterator<KeyValue<Object, CachedValue>> iterator()
+		{
+			final Iterator<KeyValue<Object, CachedValue>> it = this.table.iterator();
+			return new Iterator<KeyValue<Object, CachedValue>>()
+			{
+				KeyValue<Object, CachedValue> next;
+				
+				@Override
+				public boolean hasNext()
+				{
+					return it.hasNext();
+				}
+
+				@Override
+				public KeyValue<Object, CachedValue> next()
+				{
+					return this.next = it.next();
+				}
+				
+				@Override
+				public void remove()
+				{
+					final Lock entryLock = Tracked.this.table.lock(this.next.key());
+					entryLock.lock();
+					try
+					{
+						it.remove();
+						Tracked.this.tracking.entryRemoved(this.next.key(), this.next.value());
+					}
+					finally
+					{
+						entryLock.unlock();
+					}
+				}
+			};
+		}
+		
+		@Override
+		public void iterate(final Consumer<KeyValue<Object, CachedValue>> procedure)
+		{
+			this.table.iterate(procedure);
+		}
+
+		@Override
+		public KeyValue<Object, CachedValue> search(final Predicate<? super KeyValue<Object, CachedValue>> predicate)
+		{
+			return this.table.search(predicate);
+		}
+		
+		@Override
+		public long size()
+		{
+			return this.table.size();
+		}
+		
+		@Override
+		public void clear()
+		{
+			// the table lock excludes all single-key operations, so no addition can slip in between
+			final Lock tableLock = this.table.tableLock();
+			tableLock.lock();
+			try
+			{
+				this.table.clear();
+				this.tracking.entriesCleared();
+			}
+			finally
+			{
+				tableLock.unlock();
+			}
+		}
+		
+		@Override
+		public KeyValue<Object, CachedValue> min(final Comparator<? super KeyValue<Object, CachedValue>> comparator)
+		{
+			return this.table.min(comparator);
+		}
+		
+		@Override
+		public KeyValue<Object, CachedValue> rangeMin(
+			final long offset,
+			final long length,
+			final Comparator<? super KeyValue<Object, CachedValue>> comparator
+		)
+		{
+			return this.table.rangeMin(offset, length, comparator);
+		}
+		
+	}
+	
 }
@@ -39,6 +39,17 @@ public interface EvictionManager<K, V>
 	
 	public void uninstall(Cache<K, V> cache, CacheTable cacheTable);
 	
+	/**
+	 * Returns the policy which picks the entries to evict, or <code>null</code> if unknown.
+	 * Tracking policies are attached to the cache's table, so they get notified about the entries' usage.
+	 * 
+	 * @see EvictionPolicy.Tracking
+	 */
+	public default EvictionPolicy evictionPolicy()
+	{
+		return null;
+	}
+	
 	
 	public static <K, V> EvictionManager<K, V> OnEntryCreation(final EvictionPolicy evictionPolicy)
 	{
@@ -73,6 +84,12 @@ public interface EvictionManager<K, V>
 			this.evictionPolicy = notNull(evictionPolicy);
 		}
 		
+		@Override
+		public EvictionPolicy evictionPolicy()
+		{
+			return this.evictionPolicy;
+		}
+		
 		void evict(
 			final Cache<K, V> cache,
 			final CacheTable  cacheTable
@@ -23,13 +23,21 @@ package one.microstream.cache.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
 import one.microstream.X;
 import one.microstream.collections.EqHashEnum;
 import one.microstream.collections.types.XEnum;
+import one.microstream.math.XMath;
 import one.microstream.reference._intReference;
 import one.microstream.typing.KeyValue;
 
@@ -165,6 +173,127 @@ public interface EvictionPolicy
 		);
 	}
 	
+	/**
+	 * Least recently used eviction backed by an access ordered linked list,
+	 * which picks the entries to evict in constant time.
+	 * 
+	 * @see Tracking
+	 */
+	public static EvictionPolicy LeastRecentlyUsedList(final long maxCacheSize)
+	{
+		return LeastRecentlyUsedList(
+			DefaultElementCount(),
+			maxCacheSize
+		);
+	}
+	
+	public static EvictionPolicy LeastRecentlyUsedList(
+		final int  elementCount,
+		final long maxCacheSize
+	)
+	{
+		return LeastRecentlyUsedList(
+			() -> elementCount,
+			MaxCacheSizePredicate(maxCacheSize),
+			null
+		);
+	}
+	
+	public static EvictionPolicy LeastRecentlyUsedList(
+		final _intReference                             elementCount,
+		final Predicate<CacheTable>                     evictionNecessity,
+		final Predicate<KeyValue<Object, CachedValue>>  evictionPermission
+	)
+	{
+		return new LeastRecentlyUsedList(
+			elementCount,
+			evictionNecessity,
+			evictionPermission
+		);
+	}
+	
+	/**
+	 * Frequency based eviction in the manner of W-TinyLFU: new entries pass a small LRU window,
+	 * afterwards a compact frequency sketch decides whether they are admitted to the segmented LRU
+	 * main space or evicted instead of its least recently used entry.
+	 * 
+	 * @see Tracking
+	 */
+	public static EvictionPolicy WindowTinyLfu(final long maxCacheSize)
+	{
+		return WindowTinyLfu(
+			DefaultElementCount(),
+			maxCacheSize
+		);
+	}
+	
+	public static EvictionPolicy WindowTinyLfu(
+		final int  elementCount,
+		final long maxCacheSize
+	)
+	{
+		return WindowTinyLfu(
+			() -> elementCount,
+			maxCacheSize,
+			MaxCacheSizePredicate(maxCacheSize),
+			null
+		);
+	}
+	
+	/**
+	 * @param maximumSize the expected maximum entry count, used to size the window and the frequency sketch
+	 */
+	public static EvictionPolicy WindowTinyLfu(
+		final _intReference                             elementCount,
+		final long                                      maximumSize,
+		final Predicate<CacheTable>                     evictionNecessity,
+		final Predicate<KeyValue<Object, CachedValue>>  evictionPermission
+	)
+	{
+		if(maximumSize <= 0)
+		{
+			throw new IllegalArgumentException("Illegal maximum size: " + maximumSize + " <= 0");
+		}
+		
+		return new WindowTinyLfu(
+			elementCount,
+			maximumSize,
+			evictionNecessity,
+			evictionPermission
+		);
+	}
+	
+	/**
+	 * Biggest objects eviction backed by a heap ordered by the entries' byte size estimate.
+	 * 
+	 * @see Tracking
+	 */
+	public static EvictionPolicy BiggestObjectsHeap(
+		final int  elementCount,
+		final long maxCacheSize
+	)
+	{
+		return BiggestObjectsHeap(
+			() -> elementCount,
+			MaxCacheSizePredicate(maxCacheSize),
+			null
+		);
+	}
+	
+	public static EvictionPolicy BiggestObjectsHeap(
+		final _intReference                             elementCount,
+		final Predicate<CacheTable>                     evictionNecessity,
+		final Predicate<KeyValue<Object, CachedValue>>  evictionPermission
+	)
+	{
+		return new BiggestObjectsHeap(
+			elementCount,
+			evictionNecessity,
+			evictionPermission
+		);
+	}
+
+	
 	public static EvictionPolicy FirstInFirstOut(
 		final int  elementCount,
 		final long maxCacheSize
@@ -383,4 +512,881 @@ public interface EvictionPolicy
 		
 	}
 	
+	
+	/**
+	 * Policy which maintains its own eviction order instead of searching the cache table.
+	 * The cache attaches it to its table, which then reports every addition, read access and removal
+	 * of an entry.
+	 * <p>
+	 * Since it tracks the entries of one table, an instance must not be shared by multiple caches.
+	 * 
+	 * @see CacheTable#Tracked(CacheTable, Tracking)
+	 */
+	public static interface Tracking extends EvictionPolicy
+	{
+		/**
+		 * An entry has been added to the table, or its value has been replaced.
+		 */
+		public void entryAdded(Object key, CachedValue value);
+		
+		/**
+		 * The value of an entry has been read.
+		 */
+		public void entryAccessed(Object key, CachedValue value);
+		
+		public void entryRemoved(Object key, CachedValue value);
+		
+		public void entriesCleared();
+	}
+	
+	
+	/*
+	 * Tracked entries are mapped to nodes of the subclass' ordering structure.
+	 * Additions and removals are buffered in a lock-free queue, which is drained by whichever thread
+	 * gets hold of the lock, so writers of different table segments don't serialize on it.
+	 * The queue keeps the order of the events, which the table reports under the lock of the affected key.
+	 * Only if too many events are pending, writers wait for the lock to drain them.
+	 * Read accesses are only recorded if the lock is free:
+	 * under contention, losing some accesses is cheaper than serializing all readers.
+	 */
+	public static abstract class AbstractTracking<N extends AbstractTracking.Node> implements Tracking
+	{
+		final static int MAX_REJECTIONS     = 16  ;
+		final static int MAX_PENDING_EVENTS = 1024;
+		
+		static final class Event
+		{
+			final Object      key  ;
+			final CachedValue value;
+			final boolean     added;
+			
+			Event(final Object key, final CachedValue value, final boolean added)
+			{
+				super();
+				
+				this.key   = key  ;
+				this.value = value;
+				this.added = added;
+			}
+			
+		}
+		
+		static class Node implements KeyValue<Object, CachedValue>
+		{
+			final Object key  ;
+			CachedValue  value;
+			
+			Node(final Object key, final CachedValue value)
+			{
+				super();
+				
+				this.key   = key  ;
+				this.value = value;
+			}
+			
+			@Override
+			public Object key()
+			{
+				return this.key;
+			}
+			
+			@Override
+			public CachedValue value()
+			{
+				return this.value;
+			}
+			
+		}
+		
+		private final _intReference                            elementCount;
+		private final Predicate<CacheTable>                    evictionNecessity;
+		private final Predicate<KeyValue<Object, CachedValue>> evictionPermission;
+		private final HashMap<Object, N>                       nodes;
+		private final ReentrantLock                            lock;
+		private final ConcurrentLinkedQueue<Event>             events;
+		private final AtomicInteger                            pendingEvents;
+		
+		AbstractTracking(
+			final _intReference                            elementCount,
+			final Predicate<CacheTable>                    evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>> evictionPermission
+		)
+		{
+			super();
+			
+			this.elementCount       = notNull(elementCount);
+			this.evictionNecessity  = evictionNecessity;
+			this.evictionPermission = evictionPermission != null
+				? evictionPermission
+				: kv -> true;
+			this.nodes              = new HashMap<>();
+			this.lock               = new ReentrantLock();
+			this.events             = new ConcurrentLinkedQueue<>();
+			this.pendingEvents      = new AtomicInteger();
+		}
+		
+		abstract N createNode(Object key, CachedValue value);
+		
+		abstract void added(N node);
+		
+		abstract void accessed(N node);
+		
+		abstract void removed(N node);
+		
+		abstract void cleared();
+		
+		/**
+		 * Detaches and returns the next entry to evict, or <code>null</code> if there is none.
+		 */
+		abstract N detachVictim();
+		
+		/**
+		 * Re-attaches a detached entry whose eviction has not been permitted.
+		 */
+		abstract void restore(N node);
+		
+		@Override
+		public void entryAdded(final Object key, final CachedValue value)
+		{
+			this.record(new Event(key, value, true));
+		}
+		
+		@Override
+		public void entryAccessed(final Object key, final CachedValue value)
+		{
+			if(!this.lock.tryLock())
+			{
+				return;
+			}
+			try
+			{
+				this.drainEvents();
+				final N node = this.nodes.get(key);
+				if(node != null && node.value == value)
+				{
+					this.accessed(node);
+				}
+			}
+			finally
+			{
+				this.unlock();
+			}
+		}
+		
+		@Override
+		public void entryRemoved(final Object key, final CachedValue value)
+		{
+			this.record(new Event(key, value, false));
+		}
+		
+		@Override
+		public void entriesCleared()
+		{
+			this.lock.lock();
+			try
+			{
+				// buffered events precede the clearing
+				this.drainEvents();
+				this.nodes.clear();
+				this.cleared();
+			}
+			finally
+			{
+				this.unlock();
+			}
+		}
+		
+		private void record(final Event event)
+		{
+			this.events.add(event);
+			if(this.pendingEvents.incrementAndGet() <= MAX_PENDING_EVENTS)
+			{
+				this.drainIfUncontended();
+				return;
+			}
+			
+			// too many pending events, wait for the lock instead of letting the queue grow
+			this.lock.lock();
+			try
+			{
+				this.drainEvents();
+			}
+			finally
+			{
+				this.unlock();
+			}
+		}
+		
+		private void drainIfUncontended()
+		{
+			/*
+			 * The holder of the lock drains the events after releasing it,
+			 * so events which have been added meanwhile are not left behind.
+			 */
+			while(!this.events.isEmpty() && this.lock.tryLock())
+			{
+				try
+				{
+					this.drainEvents();
+				}
+				finally
+				{
+					this.lock.unlock();
+				}
+			}
+		}
+		
+		private void unlock()
+		{
+			this.lock.unlock();
+			this.drainIfUncontended();
+		}
+		
+		private void drainEvents()
+		{
+			for(Event event; (event = this.events.poll()) != null;)
+			{
+				this.pendingEvents.decrementAndGet();
+				if(event.added)
+				{
+					this.applyAdded(event.key, event.value);
+				}
+				else
+				{
+					this.applyRemoved(event.key);
+				}
+			}
+		}
+		
+		private void applyAdded(final Object key, final CachedValue value)
+		{
+			final N node = this.nodes.get(key);
+			if(node != null)
+			{
+				node.value = value;
+				this.accessed(node);
+			}
+			else
+			{
+				final N newNode = this.createNode(key, value);
+				this.nodes.put(key, newNode);
+				this.added(newNode);
+			}
+		}
+		
+		private void applyRemoved(final Object key)
+		{
+			final N node = this.nodes.remove(key);
+			if(node != null)
+			{
+				this.removed(node);
+			}
+		}
+		
+		@Override
+		public Iterable<KeyValue<Object, CachedValue>> pickEntriesToEvict(final CacheTable cacheTable)
+		{
+			if(this.evictionNecessity != null && !this.evictionNecessity.test(cacheTable))
+			{
+				return null;
+			}
+			
+			final int elementCount = this.elementCount.get();
+			if(elementCount <= 0)
+			{
+				throw new RuntimeException("Illegal element count for eviction: " + elementCount + " <= 0");
+			}
+			
+			final List<KeyValue<Object, CachedValue>> entriesToEvict = new ArrayList<>(elementCount);
+			final List<N>                             rejected       = new ArrayList<>();
+			
+			this.lock.lock();
+			try
+			{
+				this.drainEvents();
+				
+				/*
+				 * Picked entries are detached right away, so they are not picked again
+				 * until the cache has removed them from the table.
+				 */
+				N node;
+				while(entriesToEvict.size() < elementCount
+					&& rejected.size() < MAX_REJECTIONS
+					&& (node = this.detachVictim()) != null
+				)
+				{
+					if(this.evictionPermission.test(node))
+					{
+						this.nodes.remove(node.key);
+						entriesToEvict.add(node);
+					}
+					else
+					{
+						rejected.add(node);
+					}
+				}
+				rejected.forEach(this::restore);
+			}
+			finally
+			{
+				this.unlock();
+			}
+			
+			return entriesToEvict.isEmpty()
+				? null
+				: entriesToEvict;
+		}
+		
+	}
+	
+	
+	/*
+	 * Doubly linked list of nodes with a sentinel, first is the eldest node.
+	 */
+	static final class LinkedNodes
+	{
+		static class Node extends AbstractTracking.Node
+		{
+			Node prev, next;
+			int  queue;
+			
+			Node(final Object key, final CachedValue value)
+			{
+				super(key, value);
+			}
+			
+		}
+		
+		private final Node head = new Node(null, null);
+		private       int  size;
+		
+		LinkedNodes()
+		{
+			super();
+			
+			this.head.prev = this.head.next = this.head;
+		}
+		
+		int size()
+		{
+			return this.size;
+		}
+		
+		Node first()
+		{
+			return this.size == 0 ? null : this.head.next;
+		}
+		
+		Node last()
+		{
+			return this.size == 0 ? null : this.head.prev;
+		}
+		
+		void addLast(final Node node)
+		{
+			node.prev = this.head.prev;
+			node.next = this.head;
+			this.head.prev.next = node;
+			this.head.prev = node;
+			this.size++;
+		}
+		
+		void remove(final Node node)
+		{
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = node.next = null;
+			this.size--;
+		}
+		
+		Node removeFirst()
+		{
+			final Node first = this.first();
+			if(first != null)
+			{
+				this.remove(first);
+			}
+			return first;
+		}
+		
+		void moveToLast(final Node node)
+		{
+			if(node != this.head.prev)
+			{
+				this.remove(node);
+				this.addLast(node);
+			}
+		}
+		
+		void clear()
+		{
+			this.head.prev = this.head.next = this.head;
+			this.size = 0;
+		}
+		
+	}
+	
+	
+	public static class LeastRecentlyUsedList extends AbstractTracking<LinkedNodes.Node>
+	{
+		private final LinkedNodes order = new LinkedNodes();
+		
+		LeastRecentlyUsedList(
+			final _intReference                            elementCount,
+			final Predicate<CacheTable>                    evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>> evictionPermission
+		)
+		{
+			super(elementCount, evictionNecessity, evictionPermission);
+		}
+		
+		@Override
+		LinkedNodes.Node createNode(final Object key, final CachedValue value)
+		{
+			return new LinkedNodes.Node(key, value);
+		}
+		
+		@Override
+		void added(final LinkedNodes.Node node)
+		{
+			this.order.addLast(node);
+		}
+		
+		@Override
+		void accessed(final LinkedNodes.Node node)
+		{
+			this.order.moveToLast(node);
+		}
+		
+		@Override
+		void removed(final LinkedNodes.Node node)
+		{
+			this.order.remove(node);
+		}
+		
+		@Override
+		void cleared()
+		{
+			this.order.clear();
+		}
+		
+		@Override
+		LinkedNodes.Node detachVictim()
+		{
+			return this.order.removeFirst();
+		}
+		
+		@Override
+		void restore(final LinkedNodes.Node node)
+		{
+			this.order.addLast(node);
+		}
+		
+	}
+	
+	
+	/*
+	 * New entries are added to the window, which holds about 1% of the maximum size.
+	 * Entries leaving the window are put at the end of the probation space. A hit in probation
+	 * promotes an entry to the protected space, which holds about 80% of the main space.
+	 * On eviction, the latest arrival in probation competes with the eldest one:
+	 * the one with the lower estimated frequency is evicted.
+	 */
+	public static class WindowTinyLfu extends AbstractTracking<LinkedNodes.Node>
+	{
+		final static int WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+		
+		private final LinkedNodes      window, probation, protectedSpace;
+		private final long             windowMaximum, protectedMaximum;
+		private final FrequencySketch sketch;
+		
+		WindowTinyLfu(
+			final _intReference                            elementCount,
+			final long                                     maximumSize,
+			final Predicate<CacheTable>                    evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>> evictionPermission
+		)
+		{
+			super(elementCount, evictionNecessity, evictionPermission);
+			
+			this.window           = new LinkedNodes();
+			this.probation        = new LinkedNodes();
+			this.protectedSpace   = new LinkedNodes();
+			this.windowMaximum    = Math.max(1, maximumSize / 100);
+			this.protectedMaximum = (maximumSize - this.windowMaximum) * 8 / 10;
+			this.sketch           = new FrequencySketch(maximumSize);
+		}
+		
+		private LinkedNodes queue(final LinkedNodes.Node node)
+		{
+			switch(node.queue)
+			{
+				case WINDOW   : return this.window;
+				case PROBATION: return this.probation;
+				default       : return this.protectedSpace;
+			}
+		}
+		
+		@Override
+		LinkedNodes.Node createNode(final Object key, final CachedValue value)
+		{
+			return new LinkedNodes.Node(key, value);
+		}
+		
+		@Override
+		void added(final LinkedNodes.Node node)
+		{
+			this.sketch.increment(node.key);
+			
+			node.queue = WINDOW;
+			this.window.addLast(node);
+			while(this.window.size() > this.windowMaximum)
+			{
+				final LinkedNodes.Node candidate = this.window.removeFirst();
+				candidate.queue = PROBATION;
+				this.probation.addLast(candidate);
+			}
+		}
+		
+		@Override
+		void accessed(final LinkedNodes.Node node)
+		{
+			this.sketch.increment(node.key);
+			
+			switch(node.queue)
+			{
+				case WINDOW:
+					this.window.moveToLast(node);
+				break;
+				
+				case PROBATION:
+					this.probation.remove(node);
+					node.queue = PROTECTED;
+					this.protectedSpace.addLast(node);
+					while(this.protectedSpace.size() > this.protectedMaximum)
+					{
+						final LinkedNodes.Node demoted = this.protectedSpace.removeFirst();
+						demoted.queue = PROBATION;
+						this.probation.addLast(demoted);
+					}
+				break;
+				
+				default:
+					this.protectedSpace.moveToLast(node);
+				break;
+			}
+		}
+		
+		@Override
+		void removed(final LinkedNodes.Node node)
+		{
+			this.queue(node).remove(node);
+		}
+		
+		@Override
+		void cleared()
+		{
+			this.window.clear();
+			this.probation.clear();
+			this.protectedSpace.clear();
+		}
+		
+		@Override
+		LinkedNodes.Node detachVictim()
+		{
+			if(this.probation.size() >= 2)
+			{
+				final LinkedNodes.Node victim    = this.probation.first();
+				final LinkedNodes.Node candidate = this.probation.last();
+				final LinkedNodes.Node evicted   =
+					this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key)
+					? victim
+					: candidate
+				;
+				this.probation.remove(evicted);
+				return evicted;
+			}
+			
+			final LinkedNodes.Node victim;
+			if((victim = this.probation.removeFirst()) != null)
+			{
+				return victim;
+			}
+			final LinkedNodes.Node protectedVictim;
+			if((protectedVictim = this.protectedSpace.removeFirst()) != null)
+			{
+				return protectedVictim;
+			}
+			return this.window.removeFirst();
+		}
+		
+		@Override
+		void restore(final LinkedNodes.Node node)
+		{
+			node.queue = PROBATION;
+			this.probation.addLast(node);
+		}
+		
+	}
+	
+	
+	/*
+	 * Count-min sketch with four 4 bit counters per key, packed 16 to a long.
+	 * When the number of increments reaches ten times the maximum size, all counters are halved,
+	 * so the frequencies adapt to a changing workload.
+	 */
+	static final class FrequencySketch
+	{
+		static final long[] SEEDS =
+		{
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+		};
+		
+		static final long RESET_MASK = 0x7777777777777777L;
+		
+		private final long[] table;
+		private final int    tableMask;
+		private final long   sampleSize;
+		private       long   size;
+		
+		FrequencySketch(final long maximumSize)
+		{
+			super();
+			
+			final int capacity = (int)Math.min(Math.max(maximumSize, 1), 1 << 30);
+			this.table      = new long[XMath.pow2BoundCapped(capacity)];
+			this.tableMask  = this.table.length - 1;
+			this.sampleSize = 10L * Math.max(maximumSize, 1);
+		}
+		
+		private static int spread(final Object key)
+		{
+			int hash = key == null ? 0 : key.hashCode();
+			hash *= 0x31848bab;
+			return hash ^ hash >>> 14;
+		}
+		
+		private int indexOf(final int hash, final int depth)
+		{
+			long h = (hash + SEEDS[depth]) * SEEDS[depth];
+			h += h >>> 32;
+			return (int)h & this.tableMask;
+		}
+		
+		int frequency(final Object key)
+		{
+			final int hash  = spread(key);
+			final int start = (hash & 3) << 2;
+			int frequency = Integer.MAX_VALUE;
+			for(int i = 0; i < 4; i++)
+			{
+				final int offset = (start + i) << 2;
+				final int count  = (int)(this.table[this.indexOf(hash, i)] >>> offset & 0xFL);
+				frequency = Math.min(frequency, count);
+			}
+			return frequency;
+		}
+		
+		void increment(final Object key)
+		{
+			final int hash  = spread(key);
+			final int start = (hash & 3) << 2;
+			boolean incremented = false;
+			for(int i = 0; i < 4; i++)
+			{
+				final int  index  = this.indexOf(hash, i);
+				final int  offset = (start + i) << 2;
+				final long mask   = 0xFL << offset;
+				if((this.table[index] & mask) != mask)
+				{
+					this.table[index] += 1L << offset;
+					incremented = true;
+				}
+			}
+			if(incremented && ++this.size >= this.sampleSize)
+			{
+				this.reset();
+			}
+		}
+		
+		private void reset()
+		{
+			for(int i = 0; i < this.table.length; i++)
+			{
+				this.table[i] = this.table[i] >>> 1 & RESET_MASK;
+			}
+			this.size >>>= 1;
+		}
+		
+	}
+	
+	
+	/*
+	 * Binary max heap ordered by the entries' byte size estimate at the time they have been added or read.
+	 * Values can grow or shrink without the table noticing, so the top's size is verified before eviction.
+	 */
+	public static class BiggestObjectsHeap extends AbstractTracking<BiggestObjectsHeap.HeapNode>
+	{
+		final static int MAX_REORDERINGS = 8;
+		
+		static final class HeapNode extends AbstractTracking.Node
+		{
+			long size ;
+			int  index;
+			
+			HeapNode(final Object key, final CachedValue value)
+			{
+				super(key, value);
+				
+				this.size = value.byteSizeEstimate();
+			}
+			
+		}
+		
+		private HeapNode[] heap = new HeapNode[16];
+		private int        size;
+		
+		BiggestObjectsHeap(
+			final _intReference                            elementCount,
+			final Predicate<CacheTable>                    evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>> evictionPermission
+		)
+		{
+			super(elementCount, evictionNecessity, evictionPermission);
+		}
+		
+		private void place(final HeapNode node, final int index)
+		{
+			this.heap[index] = node;
+			node.index = index;
+		}
+		
+		private void siftUp(final HeapNode node, int index)
+		{
+			while(index > 0)
+			{
+				final int      parentIndex = (index - 1) >>> 1;
+				final HeapNode parent      = this.heap[parentIndex];
+				if(parent.size >= node.size)
+				{
+					break;
+				}
+				this.place(parent, index);
+				index = parentIndex;
+			}
+			this.place(node, index);
+		}
+		
+		private void siftDown(final HeapNode node, int index)
+		{
+			final int half = this.size >>> 1;
+			while(index < half)
+			{
+				int      childIndex = (index << 1) + 1;
+				HeapNode child      = this.heap[childIndex];
+				final int rightIndex = childIndex + 1;
+				if(rightIndex < this.size && this.heap[rightIndex].size > child.size)
+				{
+					child = this.heap[childIndex = rightIndex];
+				}
+				if(node.size >= child.size)
+				{
+					break;
+				}
+				this.place(child, index);
+				index = childIndex;
+			}
+			this.place(node, index);
+		}
+		
+		private void reorder(final HeapNode node)
+		{
+			final int index = node.index;
+			this.siftUp(node, index);
+			if(node.index == index)
+			{
+				this.siftDown(node, index);
+			}
+		}
+		
+		@Override
+		HeapNode createNode(final Object key, final CachedValue value)
+		{
+			return new HeapNode(key, value);
+		}
+		
+		@Override
+		void added(final HeapNode node)
+		{
+			if(this.size == this.heap.length)
+			{
+				this.heap = Arrays.copyOf(this.heap, this.size << 1);
+			}
+			this.siftUp(node, this.size++);
+		}
+		
+		@Override
+		void accessed(final HeapNode node)
+		{
+			final long size = node.value.byteSizeEstimate();
+			if(size != node.size)
+			{
+				node.size = size;
+				this.reorder(node);
+			}
+		}
+		
+		@Override
+		void removed(final HeapNode node)
+		{
+			final int      index = node.index;
+			final HeapNode last  = this.heap[--this.size];
+			this.heap[this.size] = null;
+			if(last != node)
+			{
+				this.place(last, index);
+				this.reorder(last);
+			}
+		}
+		
+		@Override
+		void cleared()
+		{
+			Arrays.fill(this.heap, 0, this.size, null);
+			this.size = 0;
+		}
+		
+		@Override
+		HeapNode detachVictim()
+		{
+			if(this.size == 0)
+			{
+				return null;
+			}
+			
+			for(int i = 0; i < MAX_REORDERINGS; i++)
+			{
+				final HeapNode top  = this.heap[0];
+				final long     size = top.value.byteSizeEstimate();
+				if(size == top.size)
+				{
+					break;
+				}
+				top.size = size;
+				this.siftDown(top, 0);
+			}
+			
+			final HeapNode top = this.heap[0];
+			this.removed(top);
+			return top;
+		}
+		
+		@Override
+		void restore(final HeapNode node)
+		{
+			this.added(node);
+		}
+		
+	}
+	
 }
@@ -21,12 +21,41 @@ package one.microstream.cache.types;
  * #L%
  */
 
+import java.io.Closeable;
+
+import one.microstream.persistence.binary.types.Binary;
+
+
 public interface ObjectConverter
 {
 	public <T> Object internalize(T value);
 	
 	public <T> T externalize(Object internal);
 	
+	/**
+	 * Internalizes a value which is going to be held by the cache.
+	 * Keys and values only used for comparison are internalized via {@link #internalize(Object)} instead.
+	 * 
+	 * @param <T> the value type
+	 * @param value the value to hold
+	 * @return the internal representation of the value
+	 */
+	public default <T> Object internalizeValue(final T value)
+	{
+		return this.internalize(value);
+	}
+	
+	/**
+	 * Releases the resources of an internalized value, which is not held by the cache anymore.
+	 * It may not be externalized afterwards.
+	 * 
+	 * @param internal the internal representation of the value
+	 */
+	public default void release(final Object internal)
+	{
+		// nothing to release by default
+	}
+	
 	
 	public static ObjectConverter ByReference()
 	{
@@ -38,6 +67,11 @@ public interface ObjectConverter
 		return new ByValue(serializer);
 	}
 	
+	public static ObjectConverter ByValueOffHeap(final Serializer serializer, final int stripeCount)
+	{
+		return new ByValueOffHeap(serializer, OffHeapValueStore.New(stripeCount));
+	}
+	
 	
 	public static class ByReference implements ObjectConverter
 	{
@@ -92,4 +126,80 @@ public interface ObjectConverter
 		
 	}
 	
+	/**
+	 * Converter which keeps the serialized values in native memory, see {@link OffHeapValueStore}.
+	 * Keys stay on the heap, as they are internalized for every lookup.
+	 * Closing it frees all of its values.
+	 */
+	public static class ByValueOffHeap extends ByValue implements Closeable
+	{
+		private final Serializer        serializer;
+		private final OffHeapValueStore store     ;
+		
+		ByValueOffHeap(final Serializer serializer, final OffHeapValueStore store)
+		{
+			super(serializer);
+			
+			this.serializer = serializer;
+			this.store      = store     ;
+		}
+		
+		public OffHeapValueStore store()
+		{
+			return this.store;
+		}
+		
+		@Override
+		public <T> Object internalizeValue(final T value)
+		{
+			final Binary serializedData = this.serializer.write(value);
+			try
+			{
+				return this.store.store(value.hashCode(), serializedData);
+			}
+			finally
+			{
+				// the data has been copied, so the serializer's buffers can be reused right away
+				serializedData.releaseBuffers();
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T externalize(final Object internal)
+		{
+			if(!(internal instanceof OffHeapValueStore.OffHeapObject))
+			{
+				return super.externalize(internal);
+			}
+			
+			// every read uses its own buffer, so concurrent reads do not have to wait for each other
+			final Binary serializedData = ((SerializedObject)internal).serializedData();
+			try
+			{
+				return (T)this.serializer.read(serializedData);
+			}
+			finally
+			{
+				serializedData.releaseBuffers();
+			}
+		}
+		
+		@Override
+		public void release(final Object internal)
+		{
+			if(internal instanceof OffHeapValueStore.OffHeapObject)
+			{
+				this.store.free((SerializedObject)internal);
+			}
+		}
+		
+		@Override
+		public void close()
+		{
+			this.store.close();
+		}
+		
+	}
+	
 }
@@ -0,0 +1,421 @@
+
+package one.microstream.cache.types;
+
+/*-
+ * #%L
+ * microstream-cache
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+
+import one.microstream.math.XMath;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.ChunksWrapper;
+
+
+/**
+ * Keeps serialized objects in native memory, allocated via {@link XMemory}.
+ * The Java heap only holds a small handle per object, which knows its slot's address and length.
+ * <p>
+ * The cache frees a slot via {@link #free(SerializedObject)} as soon as its value is removed, replaced or evicted,
+ * while holding the lock of the entry, which all reads of the value hold as well.
+ * Slots which have not been freed explicitly are freed once their handle has been garbage collected,
+ * whenever a new object is stored in the same stripe.
+ * Slots are distributed over several stripes by the objects' hash codes, each guarded by its own lock,
+ * so concurrent stores and reads of different objects rarely wait for each other.
+ * <p>
+ * The amount of native memory in use is reported by {@link #byteSize()}.
+ */
+public interface OffHeapValueStore extends ByteSized
+{
+	/**
+	 * Copies the serialized data into a new native memory slot.
+	 * 
+	 * @param hashCode the hash code of the original object
+	 * @param serializedData the serialized object
+	 * @return the handle of the stored object
+	 */
+	public SerializedObject store(int hashCode, Binary serializedData);
+	
+	/**
+	 * Copies the data of a stored object into the given direct buffer, which must be big enough.
+	 * 
+	 * @param object a handle returned by {@link #store(int, Binary)}
+	 * @param target the direct buffer to fill, its limit is set to the object's length
+	 * @return the given buffer
+	 */
+	public ByteBuffer copy(SerializedObject object, ByteBuffer target);
+	
+	/**
+	 * Frees the native memory of a stored object right away, instead of waiting for its handle to be collected.
+	 * The handle may not be read afterwards, freeing it again has no effect.
+	 * 
+	 * @param object a handle returned by {@link #store(int, Binary)}
+	 */
+	public void free(SerializedObject object);
+	
+	/**
+	 * @return the number of objects currently held in native memory
+	 */
+	public long slotCount();
+	
+	/**
+	 * Frees the memory of all stored objects. Their handles may not be used afterwards.
+	 */
+	public void close();
+	
+	
+	/**
+	 * Creates a new store, which distributes its slots over the given number of stripes,
+	 * each guarded by its own lock.
+	 * 
+	 * @param stripeCount the number of stripes, rounded up to the next power of 2
+	 * @return the new store
+	 */
+	public static OffHeapValueStore New(final int stripeCount)
+	{
+		if(stripeCount < 1)
+		{
+			throw new IllegalArgumentException("Invalid stripe count: " + stripeCount);
+		}
+		
+		return new Default(XMath.pow2BoundCapped(stripeCount));
+	}
+	
+	public static class Default implements OffHeapValueStore
+	{
+		private final Stripe[] stripes;
+		private final int      shift  ;
+		
+		Default(final int stripeCount)
+		{
+			super();
+			
+			this.stripes = new Stripe[stripeCount];
+			for(int i = 0; i < stripeCount; i++)
+			{
+				this.stripes[i] = new Stripe();
+			}
+			this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+		}
+		
+		private Stripe stripe(final int hashCode)
+		{
+			if(this.shift == Integer.SIZE)
+			{
+				return this.stripes[0];
+			}
+			
+			// same scrambling as in CacheTable.Segmented, so equal values are spread the same way.
+			return this.stripes[hashCode * 0x9E3779B9 >>> this.shift];
+		}
+		
+		@Override
+		public SerializedObject store(final int hashCode, final Binary serializedData)
+		{
+			final long length  = serializedData.totalLength();
+			final long address = XMemory.allocate(Math.max(length, 1));
+			
+			long offset = 0;
+			for(final ByteBuffer buffer : serializedData.buffers())
+			{
+				final int bufferLength = buffer.limit() - buffer.position();
+				XMemory.copyRange(
+					XMemory.getDirectByteBufferAddress(buffer) + buffer.position(),
+					address + offset,
+					bufferLength
+				);
+				offset += bufferLength;
+			}
+			
+			final Stripe        stripe = this.stripe(hashCode);
+			final OffHeapObject object = new OffHeapObject(this, stripe, hashCode, address, length);
+			synchronized(stripe)
+			{
+				if(stripe.closed)
+				{
+					XMemory.free(address);
+					throw new IllegalStateException("Off-heap value store is closed");
+				}
+				stripe.expunge();
+				stripe.slots.add(object.slot = new Slot(object, stripe.queue));
+				stripe.byteSize += length;
+			}
+			
+			return object;
+		}
+		
+		@Override
+		public ByteBuffer copy(final SerializedObject object, final ByteBuffer target)
+		{
+			final OffHeapObject offHeapObject = (OffHeapObject)object;
+			final Stripe        stripe        = offHeapObject.stripe;
+			
+			/*
+			 * Holding the handle's monitor keeps it reachable, so its slot cannot be freed while being copied.
+			 * Closing the store frees the slots under their stripe's monitor, which is checked afterwards.
+			 */
+			synchronized(offHeapObject)
+			{
+				synchronized(stripe)
+				{
+					if(stripe.closed)
+					{
+						throw new IllegalStateException("Off-heap value store is closed");
+					}
+					if(offHeapObject.slot == null)
+					{
+						throw new IllegalStateException("Off-heap object has been freed");
+					}
+					target.clear().limit((int)offHeapObject.length);
+					XMemory.copyRange(
+						offHeapObject.address,
+						XMemory.getDirectByteBufferAddress(target),
+						offHeapObject.length
+					);
+				}
+			}
+			
+			return target;
+		}
+		
+		@Override
+		public void free(final SerializedObject object)
+		{
+			final OffHeapObject offHeapObject = (OffHeapObject)object;
+			final Stripe        stripe        = offHeapObject.stripe;
+			synchronized(stripe)
+			{
+				final Slot slot = offHeapObject.slot;
+				if(slot == null || stripe.closed)
+				{
+					return;
+				}
+				
+				// a cleared reference is not enqueued anymore, so the slot can't be freed twice
+				offHeapObject.slot = null;
+				slot.clear();
+				stripe.slots.remove(slot);
+				XMemory.free(slot.address);
+				stripe.byteSize -= slot.length;
+			}
+		}
+		
+		@Override
+		public long byteSize()
+		{
+			long byteSize = 0;
+			for(final Stripe stripe : this.stripes)
+			{
+				synchronized(stripe)
+				{
+					stripe.expunge();
+					byteSize += stripe.byteSize;
+				}
+			}
+			
+			return byteSize;
+		}
+		
+		@Override
+		public long slotCount()
+		{
+			long slotCount = 0;
+			for(final Stripe stripe : this.stripes)
+			{
+				synchronized(stripe)
+				{
+					stripe.expunge();
+					slotCount += stripe.slots.size();
+				}
+			}
+			
+			return slotCount;
+		}
+		
+		@Override
+		public void close()
+		{
+			for(final Stripe stripe : this.stripes)
+			{
+				synchronized(stripe)
+				{
+					stripe.close();
+				}
+			}
+		}
+		
+		
+		/**
+		 * Part of the slots, guarded by its own monitor.
+		 */
+		static final class Stripe
+		{
+			/*
+			 * The phantom references have to be strongly reachable themselves until they have been enqueued.
+			 */
+			final HashSet<Slot>                 slots    = new HashSet<>();
+			final ReferenceQueue<OffHeapObject> queue    = new ReferenceQueue<>();
+			      long                          byteSize ;
+			      boolean                       closed   ;
+			
+			void expunge()
+			{
+				for(Reference<? extends OffHeapObject> reference; (reference = this.queue.poll()) != null;)
+				{
+					final Slot slot = (Slot)reference;
+					if(this.slots.remove(slot))
+					{
+						XMemory.free(slot.address);
+						this.byteSize -= slot.length;
+					}
+				}
+			}
+			
+			void close()
+			{
+				if(this.closed)
+				{
+					return;
+				}
+				
+				this.closed = true;
+				for(final Slot slot : this.slots)
+				{
+					slot.clear();
+					XMemory.free(slot.address);
+				}
+				this.slots.clear();
+				this.byteSize = 0;
+			}
+			
+		}
+		
+		static final class Slot extends PhantomReference<OffHeapObject>
+		{
+			final long address;
+			final long length ;
+			
+			Slot(final OffHeapObject object, final ReferenceQueue<OffHeapObject> queue)
+			{
+				super(object, queue);
+				
+				this.address = object.address;
+				this.length  = object.length ;
+			}
+			
+		}
+		
+	}
+	
+	
+	/**
+	 * Handle of an object in native memory, equal to every {@link SerializedObject} with the same hash code.
+	 */
+	public static final class OffHeapObject implements SerializedObject
+	{
+		private final OffHeapValueStore                   store   ;
+		final         OffHeapValueStore.Default.Stripe    stripe  ;
+		private final int                                 hashCode;
+		final         long                                address ;
+		final         long                                length  ;
+		              OffHeapValueStore.Default.Slot      slot    ; // guarded by the stripe, null once freed
+		
+		OffHeapObject(
+			final OffHeapValueStore                store   ,
+			final OffHeapValueStore.Default.Stripe stripe  ,
+			final int                              hashCode,
+			final long                             address ,
+			final long                             length
+		)
+		{
+			super();
+			
+			this.store    = store   ;
+			this.stripe   = stripe  ;
+			this.hashCode = hashCode;
+			this.address  = address ;
+			this.length   = length  ;
+		}
+		
+		/**
+		 * Copies the object's data into a new direct buffer, which is deallocated by {@link Binary#releaseBuffers()}.
+		 */
+		@Override
+		public Binary serializedData()
+		{
+			final ByteBuffer buffer = XMemory.allocateDirectNative(Math.max(this.length, 1));
+			try
+			{
+				return new Copy(this.store.copy(this, buffer));
+			}
+			catch(final RuntimeException e)
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+				throw e;
+			}
+		}
+		
+		@Override
+		public long byteSize()
+		{
+			return this.length;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return this.hashCode;
+		}
+		
+		@Override
+		public boolean equals(final Object obj)
+		{
+			return obj == this
+				|| (   obj instanceof SerializedObject
+				    && obj.hashCode() == this.hashCode
+				   );
+		}
+		
+		
+		static final class Copy extends ChunksWrapper
+		{
+			Copy(final ByteBuffer buffer)
+			{
+				super(new ByteBuffer[]{buffer});
+			}
+			
+			@Override
+			public void releaseBuffers()
+			{
+				for(final ByteBuffer buffer : this.buffers())
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+				}
+			}
+			
+		}
+		
+	}
+	
+}
@@ -544,7 +544,7 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 		this.setPersister(instance, handler);
 	}
 	
-	private void setPersister(final T instance, final PersistenceLoadHandler handler)
+	protected final void setPersister(final T instance, final PersistenceLoadHandler handler)
 	{
 		if(this.persisterFields == null)
 		{
@@ -0,0 +1,172 @@
+package one.microstream.persistence.binary.internal;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.lang.reflect.Field;
+
+import one.microstream.collections.types.XGettingEnum;
+import one.microstream.exceptions.TypeCastException;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryFieldsTranslator;
+import one.microstream.persistence.binary.types.BinaryFieldsTranslatorGenerator;
+import one.microstream.persistence.types.PersistenceEagerStoringFieldEvaluator;
+import one.microstream.persistence.types.PersistenceFieldLengthResolver;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMemberFieldReflective;
+import one.microstream.persistence.types.PersistenceTypeInstantiator;
+
+/**
+ * Variant of {@link BinaryHandlerGenericType} that stores and updates instances with a
+ * {@link BinaryFieldsTranslator} generated specifically for its type instead of iterating
+ * per-field storers and setters. The binary format is identical.
+ * Only applicable for the native byte order.
+ */
+public final class BinaryHandlerGeneratedType<T> extends AbstractBinaryHandlerReflective<T>
+{
+	public static <T> BinaryHandlerGeneratedType<T> New(
+		final Class<T>                               type                      ,
+		final String                                 typeName                  ,
+		final XGettingEnum<Field>                    persistableFields         ,
+		final XGettingEnum<Field>                    persisterFields           ,
+		final PersistenceFieldLengthResolver         lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator  eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiator<Binary, T> instantiator              ,
+		final BinaryFieldsTranslatorGenerator        translatorGenerator
+	)
+	{
+		return new BinaryHandlerGeneratedType<>(
+			type                      ,
+			typeName                  ,
+			persistableFields         ,
+			persisterFields           ,
+			lengthResolver            ,
+			eagerStoringFieldEvaluator,
+			notNull(instantiator)     ,
+			notNull(translatorGenerator)
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final PersistenceTypeInstantiator<Binary, T> instantiator;
+	private final BinaryFieldsTranslator                 translator  ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	protected BinaryHandlerGeneratedType(
+		final Class<T>                               type                      ,
+		final String                                 typeName                  ,
+		final XGettingEnum<Field>                    persistableFields         ,
+		final XGettingEnum<Field>                    persisterFields           ,
+		final PersistenceFieldLengthResolver         lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator  eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiator<Binary, T> instantiator              ,
+		final BinaryFieldsTranslatorGenerator        translatorGenerator
+	)
+	{
+		super(type, typeName, persistableFields, persisterFields, lengthResolver, eagerStoringFieldEvaluator, false);
+		this.instantiator = instantiator;
+		this.translator   = this.generateTranslator(eagerStoringFieldEvaluator, translatorGenerator);
+	}
+	
+	private BinaryFieldsTranslator generateTranslator(
+		final PersistenceEagerStoringFieldEvaluator eagerEvaluator,
+		final BinaryFieldsTranslatorGenerator       generator
+	)
+	{
+		final XGettingEnum<? extends PersistenceTypeDefinitionMemberFieldReflective> members = this.storingMembers();
+		
+		final Class<?>[] valueTypes      = new Class<?>[members.intSize()];
+		final boolean[]  eagerReferences = new boolean[members.intSize()];
+		
+		int i = 0;
+		for(final PersistenceTypeDefinitionMemberFieldReflective member : members)
+		{
+			valueTypes[i]      = member.type();
+			eagerReferences[i] = eagerEvaluator.isEagerStoring(this.type(), member.field());
+			i++;
+		}
+		
+		// same offsets in the same order as the reflective storers and setters use.
+		return generator.generateTranslator(
+			this.type(),
+			valueTypes,
+			objectFieldOffsets(this.type(), members),
+			eagerReferences
+		);
+	}
+
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	public final T create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return this.instantiator.instantiate(data);
+	}
+	
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final T                               instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		data.storeFixedSize(
+			handler                             ,
+			this.membersPersistedLengthMinimum(),
+			this.typeId()                       ,
+			objectId                            ,
+			instance                            ,
+			this.translator
+		);
+	}
+	
+	@Override
+	public final void updateState(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		// see super class: the generated code writes to raw memory offsets, so the type must be checked.
+		if(!this.type().isInstance(instance))
+		{
+			throw new TypeCastException(this.type(), instance);
+		}
+
+		data.updateFixedSize(instance, this.translator, handler);
+		
+		this.setPersister(instance, handler);
+	}
+
+}
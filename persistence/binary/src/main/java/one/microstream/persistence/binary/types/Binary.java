@@ -477,6 +477,16 @@ public abstract class Binary implements Chunk
 	public abstract void iterateChannelChunks(Consumer<? super Binary> logic);
 	
 	public abstract void iterateEntityData(BinaryEntityDataReader reader);
+	
+	/**
+	 * Returns the memory holding this instance's data to where it was acquired from, e.g. a buffer pool,
+	 * once the data is not needed anymore. The instance may not be used afterwards.
+	 * Does nothing by default, leaving the memory to be reclaimed by the garbage collector.
+	 */
+	public void releaseBuffers()
+	{
+		// no-op by default
+	}
 		
 	public final void storeKeyValuesAsEntries(
 		final long                               typeId      ,
@@ -1226,6 +1236,19 @@ public abstract class Binary implements Chunk
 		}
 	}
 
+	public final void storeFixedSize(
+		final PersistenceStoreHandler<Binary> handler      ,
+		final long                            contentLength,
+		final long                            typeId       ,
+		final long                            objectId     ,
+		final Object                          instance     ,
+		final BinaryFieldsTranslator          translator
+	)
+	{
+		this.storeEntityHeader(contentLength, typeId, objectId);
+		translator.storeValues(instance, this.address, handler);
+	}
+
 	public final String[] buildStrings(final long stringsListOffset)
 	{
 		// validation is done on each single string
@@ -2075,6 +2098,15 @@ public abstract class Binary implements Chunk
 		}
 	}
 
+	public final void updateFixedSize(
+		final Object                 instance  ,
+		final BinaryFieldsTranslator translator,
+		final PersistenceLoadHandler handler
+	)
+	{
+		translator.setValues(this.loadItemEntityContentAddress(), instance, handler);
+	}
+
 		
 	/**
 	 * Updates the passed array up to the size defined by the binary data, returns the size.
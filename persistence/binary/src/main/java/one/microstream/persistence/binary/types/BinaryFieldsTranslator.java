@@ -0,0 +1,46 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+/**
+ * Type-specific counterpart to a sequence of {@link BinaryValueStorer}s and {@link BinaryValueSetter}s:
+ * copies all persistent field values of an instance at once between its memory and its binary form.
+ * 
+ * @see BinaryFieldsTranslatorGenerator
+ */
+public interface BinaryFieldsTranslator
+{
+	public void storeValues(
+		Object                          source       ,
+		long                            targetAddress,
+		PersistenceStoreHandler<Binary> handler
+	);
+	
+	public void setValues(
+		long                   sourceAddress,
+		Object                 target       ,
+		PersistenceLoadHandler handler
+	);
+	
+}
@@ -0,0 +1,657 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+/**
+ * Generates a {@link BinaryFieldsTranslator} class per entity type at runtime that performs exactely the same
+ * {@link XMemory} calls as the {@link BinaryValueFunctions} storers and setters would, but unrolled into
+ * straight-line code with constant offsets instead of one megamorphic call per field.
+ * <p>
+ * The generated class is defined as a hidden class if the running JVM supports it (Java 15 and higher)
+ * or otherwise by a dedicated class loader. Only the native byte order is supported.
+ */
+public interface BinaryFieldsTranslatorGenerator
+{
+	/**
+	 * @param entityType the type whose instances shall be translated.
+	 * @param valueTypes the field types in persistent order.
+	 * @param memoryOffsets the fields' memory offsets in persistent order.
+	 * @param eagerReferences per field whether a reference has to be stored eagerly.
+	 * 
+	 * @return a new translator instance for the passed fields.
+	 * 
+	 * @throws BinaryPersistenceException if the translator class could not be defined.
+	 */
+	public BinaryFieldsTranslator generateTranslator(
+		Class<?>   entityType     ,
+		Class<?>[] valueTypes     ,
+		long[]     memoryOffsets  ,
+		boolean[]  eagerReferences
+	)
+		throws BinaryPersistenceException;
+	
+	
+	
+	public static BinaryFieldsTranslatorGenerator New()
+	{
+		return new BinaryFieldsTranslatorGenerator.Default();
+	}
+	
+	public final class Default implements BinaryFieldsTranslatorGenerator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		static final String
+			CLASS_NAME_PREFIX = BinaryFieldsTranslator.class.getName().replace('.', '/') + "$Generated",
+			TYPE_OBJECT       = "java/lang/Object",
+			TYPE_MEMORY       = XMemory.class.getName().replace('.', '/'),
+			TYPE_STORER       = PersistenceStoreHandler.class.getName().replace('.', '/'),
+			TYPE_LOADER       = PersistenceLoadHandler.class.getName().replace('.', '/'),
+			DESC_OBJECT       = "L" + TYPE_OBJECT + ";"
+		;
+		
+		static final int
+			MAGIC                     = 0xCAFEBABE,
+			VERSION_JAVA_8            =         52,
+			ACC_PUBLIC                =     0x0001,
+			ACC_FINAL                 =     0x0010,
+			ACC_SUPER                 =     0x0020,
+			CONSTANT_UTF8             =          1,
+			CONSTANT_LONG             =          5,
+			CONSTANT_CLASS            =          7,
+			CONSTANT_METHODREF        =         10,
+			CONSTANT_INTERFACE_METHOD =         11,
+			CONSTANT_NAME_AND_TYPE    =         12,
+			ALOAD                     =       0x19,
+			ALOAD_0                   =       0x2A,
+			ALOAD_1                   =       0x2B,
+			ALOAD_3                   =       0x2D,
+			LLOAD_1                   =       0x1F,
+			LLOAD_2                   =       0x20,
+			LDC2_W                    =       0x14,
+			LADD                      =       0x61,
+			RETURN                    =       0xB1,
+			INVOKESPECIAL             =       0xB7,
+			INVOKESTATIC              =       0xB8,
+			INVOKEINTERFACE           =       0xB9,
+			// straight-line code without branches, so no stack map frames are required.
+			MAX_STACK                 =         10,
+			MAX_LOCALS                =          5
+		;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+		
+		static String descriptor(final Class<?> primitiveType)
+		{
+			if(primitiveType == byte.class)    return "B";
+			if(primitiveType == boolean.class) return "Z";
+			if(primitiveType == short.class)   return "S";
+			if(primitiveType == char.class)    return "C";
+			if(primitiveType == int.class)     return "I";
+			if(primitiveType == float.class)   return "F";
+			if(primitiveType == long.class)    return "J";
+			if(primitiveType == double.class)  return "D";
+			
+			// unknown / unhandled primitive (e.g. void)
+			throw new IllegalArgumentException(String.valueOf(primitiveType));
+		}
+		
+		static long binaryLength(final Class<?> valueType)
+		{
+			return valueType.isPrimitive()
+				? XMemory.byteSizePrimitive(valueType)
+				: Binary.objectIdByteLength()
+			;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final AtomicLong classNumber = new AtomicLong();
+		
+		// lazily initialized, see #defineClass.
+		private ClassDefiner definer;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default()
+		{
+			super();
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final BinaryFieldsTranslator generateTranslator(
+			final Class<?>   entityType     ,
+			final Class<?>[] valueTypes     ,
+			final long[]     memoryOffsets  ,
+			final boolean[]  eagerReferences
+		)
+			throws BinaryPersistenceException
+		{
+			if(valueTypes.length != memoryOffsets.length || valueTypes.length != eagerReferences.length)
+			{
+				throw new IllegalArgumentException(
+					"Inconsistent field information: "
+					+ valueTypes.length + " / " + memoryOffsets.length + " / " + eagerReferences.length
+				);
+			}
+			
+			final String className = CLASS_NAME_PREFIX + this.classNumber.incrementAndGet();
+			try
+			{
+				final byte[]   bytes = new ClassAssembler(className).assemble(valueTypes, memoryOffsets, eagerReferences);
+				final Class<?> type  = this.definer().defineClass(className.replace('/', '.'), bytes);
+				
+				return (BinaryFieldsTranslator)type.getDeclaredConstructor().newInstance();
+			}
+			catch(final ReflectiveOperationException | IOException | LinkageError e)
+			{
+				throw new BinaryPersistenceException(
+					"Could not generate a " + BinaryFieldsTranslator.class.getSimpleName()
+					+ " for " + entityType.getName(),
+					e
+				);
+			}
+		}
+		
+		private synchronized ClassDefiner definer()
+		{
+			if(this.definer == null)
+			{
+				this.definer = ClassDefiner.New();
+			}
+			
+			return this.definer;
+		}
+		
+	}
+	
+	
+	
+	/**
+	 * Minimal class file writer for a final class implementing {@link BinaryFieldsTranslator}.
+	 */
+	final class ClassAssembler
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final String                   className     ;
+		private final HashMap<String, Integer> constantIndices = new HashMap<>();
+		private final ByteArrayOutputStream    constantBytes   = new ByteArrayOutputStream();
+		private final DataOutputStream         constants       = new DataOutputStream(this.constantBytes);
+		private       int                      constantCount   = 1;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		ClassAssembler(final String className)
+		{
+			super();
+			this.className = className;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		final byte[] assemble(
+			final Class<?>[] valueTypes     ,
+			final long[]     memoryOffsets  ,
+			final boolean[]  eagerReferences
+		)
+			throws IOException
+		{
+			final int thisClass  = this.classConstant(this.className);
+			final int superClass = this.classConstant(Default.TYPE_OBJECT);
+			final int iface      = this.classConstant(BinaryFieldsTranslator.class.getName().replace('.', '/'));
+			
+			final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+			final DataOutputStream      methods     = new DataOutputStream(methodBytes);
+			
+			this.writeMethod(methods, "<init>", "()V", this.assembleConstructor());
+			this.writeMethod(
+				methods,
+				"storeValues",
+				"(" + Default.DESC_OBJECT + "JL" + Default.TYPE_STORER + ";)V",
+				this.assembleStoreValues(valueTypes, memoryOffsets, eagerReferences)
+			);
+			this.writeMethod(
+				methods,
+				"setValues",
+				"(J" + Default.DESC_OBJECT + "L" + Default.TYPE_LOADER + ";)V",
+				this.assembleSetValues(valueTypes, memoryOffsets)
+			);
+			
+			final ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+			final DataOutputStream      out        = new DataOutputStream(classBytes);
+			out.writeInt(Default.MAGIC);
+			out.writeShort(0);
+			out.writeShort(Default.VERSION_JAVA_8);
+			out.writeShort(this.constantCount);
+			this.constants.flush();
+			this.constantBytes.writeTo(out);
+			out.writeShort(Default.ACC_PUBLIC | Default.ACC_FINAL | Default.ACC_SUPER);
+			out.writeShort(thisClass);
+			out.writeShort(superClass);
+			out.writeShort(1); // interfaces
+			out.writeShort(iface);
+			out.writeShort(0); // fields
+			out.writeShort(3); // methods
+			methods.flush();
+			methodBytes.writeTo(out);
+			out.writeShort(0); // attributes
+			out.flush();
+			
+			return classBytes.toByteArray();
+		}
+		
+		private byte[] assembleConstructor() throws IOException
+		{
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final DataOutputStream      code  = new DataOutputStream(bytes);
+			
+			code.writeByte(Default.ALOAD_0);
+			code.writeByte(Default.INVOKESPECIAL);
+			code.writeShort(this.methodConstant(Default.TYPE_OBJECT, "<init>", "()V", false));
+			code.writeByte(Default.RETURN);
+			code.flush();
+			
+			return bytes.toByteArray();
+		}
+		
+		/*
+		 * locals: 0 this, 1 source, 2-3 targetAddress, 4 handler.
+		 * Per field: XMemory.set_X(targetAddress + binaryOffset, XMemory.get_X(source, memoryOffset)),
+		 * with handler.apply(~) or handler.applyEager(~) in between for references.
+		 */
+		private byte[] assembleStoreValues(
+			final Class<?>[] valueTypes     ,
+			final long[]     memoryOffsets  ,
+			final boolean[]  eagerReferences
+		)
+			throws IOException
+		{
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final DataOutputStream      code  = new DataOutputStream(bytes);
+			
+			long binaryOffset = 0;
+			for(int i = 0; i < valueTypes.length; i++)
+			{
+				this.writeAddress(code, Default.LLOAD_2, binaryOffset);
+				if(valueTypes[i].isPrimitive())
+				{
+					final String d = Default.descriptor(valueTypes[i]);
+					code.writeByte(Default.ALOAD_1);
+					this.writeLong(code, memoryOffsets[i]);
+					this.writeInvokeMemory(code, "get_" + valueTypes[i].getName(), "(" + Default.DESC_OBJECT + "J)" + d);
+					this.writeInvokeMemory(code, "set_" + valueTypes[i].getName(), "(J" + d + ")V");
+				}
+				else
+				{
+					code.writeByte(Default.ALOAD);
+					code.writeByte(4);
+					code.writeByte(Default.ALOAD_1);
+					this.writeLong(code, memoryOffsets[i]);
+					this.writeInvokeMemory(code, "getObject", "(" + Default.DESC_OBJECT + "J)" + Default.DESC_OBJECT);
+					code.writeByte(Default.INVOKEINTERFACE);
+					code.writeShort(this.methodConstant(
+						Default.TYPE_STORER,
+						eagerReferences[i] ? "applyEager" : "apply",
+						"(" + Default.DESC_OBJECT + ")J",
+						true
+					));
+					code.writeByte(2);
+					code.writeByte(0);
+					this.writeInvokeMemory(code, "set_long", "(JJ)V");
+				}
+				binaryOffset += Default.binaryLength(valueTypes[i]);
+			}
+			code.writeByte(Default.RETURN);
+			code.flush();
+			
+			return bytes.toByteArray();
+		}
+		
+		/*
+		 * locals: 0 this, 1-2 sourceAddress, 3 target, 4 handler.
+		 * Per field: XMemory.set_X(target, memoryOffset, XMemory.get_X(sourceAddress + binaryOffset)),
+		 * with handler.lookupObject(~) in between for references.
+		 */
+		private byte[] assembleSetValues(
+			final Class<?>[] valueTypes   ,
+			final long[]     memoryOffsets
+		)
+			throws IOException
+		{
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final DataOutputStream      code  = new DataOutputStream(bytes);
+			
+			long binaryOffset = 0;
+			for(int i = 0; i < valueTypes.length; i++)
+			{
+				code.writeByte(Default.ALOAD_3);
+				this.writeLong(code, memoryOffsets[i]);
+				if(valueTypes[i].isPrimitive())
+				{
+					final String d = Default.descriptor(valueTypes[i]);
+					this.writeAddress(code, Default.LLOAD_1, binaryOffset);
+					this.writeInvokeMemory(code, "get_" + valueTypes[i].getName(), "(J)" + d);
+					this.writeInvokeMemory(code, "set_" + valueTypes[i].getName(), "(" + Default.DESC_OBJECT + "J" + d + ")V");
+				}
+				else
+				{
+					code.writeByte(Default.ALOAD);
+					code.writeByte(4);
+					this.writeAddress(code, Default.LLOAD_1, binaryOffset);
+					this.writeInvokeMemory(code, "get_long", "(J)J");
+					code.writeByte(Default.INVOKEINTERFACE);
+					code.writeShort(this.methodConstant(Default.TYPE_LOADER, "lookupObject", "(J)" + Default.DESC_OBJECT, true));
+					code.writeByte(3);
+					code.writeByte(0);
+					this.writeInvokeMemory(code, "setObject", "(" + Default.DESC_OBJECT + "J" + Default.DESC_OBJECT + ")V");
+				}
+				binaryOffset += Default.binaryLength(valueTypes[i]);
+			}
+			code.writeByte(Default.RETURN);
+			code.flush();
+			
+			return bytes.toByteArray();
+		}
+		
+		private void writeAddress(final DataOutputStream code, final int loadAddressOpcode, final long offset)
+			throws IOException
+		{
+			code.writeByte(loadAddressOpcode);
+			if(offset != 0)
+			{
+				this.writeLong(code, offset);
+				code.writeByte(Default.LADD);
+			}
+		}
+		
+		private void writeLong(final DataOutputStream code, final long value) throws IOException
+		{
+			code.writeByte(Default.LDC2_W);
+			code.writeShort(this.longConstant(value));
+		}
+		
+		private void writeInvokeMemory(final DataOutputStream code, final String name, final String descriptor)
+			throws IOException
+		{
+			code.writeByte(Default.INVOKESTATIC);
+			code.writeShort(this.methodConstant(Default.TYPE_MEMORY, name, descriptor, false));
+		}
+		
+		private void writeMethod(
+			final DataOutputStream out       ,
+			final String           name      ,
+			final String           descriptor,
+			final byte[]           code
+		)
+			throws IOException
+		{
+			out.writeShort(Default.ACC_PUBLIC);
+			out.writeShort(this.utf8Constant(name));
+			out.writeShort(this.utf8Constant(descriptor));
+			out.writeShort(1); // attributes
+			out.writeShort(this.utf8Constant("Code"));
+			out.writeInt(2 + 2 + 4 + code.length + 2 + 2);
+			out.writeShort(Default.MAX_STACK);
+			out.writeShort(Default.MAX_LOCALS);
+			out.writeInt(code.length);
+			out.write(code);
+			out.writeShort(0); // exception table
+			out.writeShort(0); // attributes
+		}
+		
+		private Integer lookupConstant(final String key)
+		{
+			return this.constantIndices.get(key);
+		}
+		
+		private int registerConstant(final String key, final int slots)
+		{
+			final int index = this.constantCount;
+			this.constantCount += slots;
+			if(this.constantCount > 0xFFFF)
+			{
+				throw new IllegalStateException("Constant pool overflow");
+			}
+			this.constantIndices.put(key, index);
+			
+			return index;
+		}
+		
+		private int utf8Constant(final String value) throws IOException
+		{
+			final String  key   = "U" + value;
+			final Integer index = this.lookupConstant(key);
+			if(index != null)
+			{
+				return index;
+			}
+			this.constants.writeByte(Default.CONSTANT_UTF8);
+			this.constants.writeUTF(value);
+			
+			return this.registerConstant(key, 1);
+		}
+		
+		private int longConstant(final long value) throws IOException
+		{
+			final String  key   = "J" + value;
+			final Integer index = this.lookupConstant(key);
+			if(index != null)
+			{
+				return index;
+			}
+			this.constants.writeByte(Default.CONSTANT_LONG);
+			this.constants.writeLong(value);
+			
+			// long constants occupy two entries.
+			return this.registerConstant(key, 2);
+		}
+		
+		private int classConstant(final String internalName) throws IOException
+		{
+			final String  key   = "C" + internalName;
+			final Integer index = this.lookupConstant(key);
+			if(index != null)
+			{
+				return index;
+			}
+			final int nameIndex = this.utf8Constant(internalName);
+			this.constants.writeByte(Default.CONSTANT_CLASS);
+			this.constants.writeShort(nameIndex);
+			
+			return this.registerConstant(key, 1);
+		}
+		
+		private int nameAndTypeConstant(final String name, final String descriptor) throws IOException
+		{
+			final String  key   = "N" + name + ' ' + descriptor;
+			final Integer index = this.lookupConstant(key);
+			if(index != null)
+			{
+				return index;
+			}
+			final int nameIndex       = this.utf8Constant(name);
+			final int descriptorIndex = this.utf8Constant(descriptor);
+			this.constants.writeByte(Default.CONSTANT_NAME_AND_TYPE);
+			this.constants.writeShort(nameIndex);
+			this.constants.writeShort(descriptorIndex);
+			
+			return this.registerConstant(key, 1);
+		}
+		
+		private int methodConstant(
+			final String  owner      ,
+			final String  name       ,
+			final String  descriptor ,
+			final boolean isInterface
+		)
+			throws IOException
+		{
+			final String  key   = "M" + owner + '.' + name + descriptor;
+			final Integer index = this.lookupConstant(key);
+			if(index != null)
+			{
+				return index;
+			}
+			final int classIndex       = this.classConstant(owner);
+			final int nameAndTypeIndex = this.nameAndTypeConstant(name, descriptor);
+			this.constants.writeByte(isInterface ? Default.CONSTANT_INTERFACE_METHOD : Default.CONSTANT_METHODREF);
+			this.constants.writeShort(classIndex);
+			this.constants.writeShort(nameAndTypeIndex);
+			
+			return this.registerConstant(key, 1);
+		}
+		
+	}
+	
+	
+	
+	/**
+	 * Defines generated classes as hidden classes where available (Java 15 and higher) and via a dedicated
+	 * class loader otherwise. The hidden class API is accessed reflectively to stay compatible with Java 8.
+	 */
+	abstract class ClassDefiner
+	{
+		static ClassDefiner New()
+		{
+			try
+			{
+				final Class<?> optionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+				final Method   define     = MethodHandles.Lookup.class.getMethod(
+					"defineHiddenClass",
+					byte[].class,
+					boolean.class,
+					Array.newInstance(optionType, 0).getClass()
+				);
+				
+				return new Hidden(MethodHandles.lookup(), define, Array.newInstance(optionType, 0));
+			}
+			catch(final ReflectiveOperationException e)
+			{
+				// no hidden classes before Java 15
+				return new Loading(BinaryFieldsTranslator.class.getClassLoader());
+			}
+		}
+		
+		abstract Class<?> defineClass(String name, byte[] bytes) throws ReflectiveOperationException;
+		
+		
+		static final class Hidden extends ClassDefiner
+		{
+			private final MethodHandles.Lookup lookup ;
+			private final Method               define ;
+			private final Object               options;
+			
+			Hidden(final MethodHandles.Lookup lookup, final Method define, final Object options)
+			{
+				super();
+				this.lookup  = lookup ;
+				this.define  = define ;
+				this.options = options;
+			}
+			
+			@Override
+			final Class<?> defineClass(final String name, final byte[] bytes) throws ReflectiveOperationException
+			{
+				return ((MethodHandles.Lookup)this.define.invoke(this.lookup, bytes, true, this.options)).lookupClass();
+			}
+			
+		}
+		
+		static final class Loading extends ClassDefiner
+		{
+			private final Loader loader;
+			
+			Loading(final ClassLoader parent)
+			{
+				super();
+				this.loader = new Loader(parent);
+			}
+			
+			@Override
+			final Class<?> defineClass(final String name, final byte[] bytes)
+			{
+				return this.loader.define(name, bytes);
+			}
+			
+		}
+		
+		static final class Loader extends ClassLoader
+		{
+			Loader(final ClassLoader parent)
+			{
+				super(parent);
+			}
+			
+			final synchronized Class<?> define(final String name, final byte[] bytes)
+			{
+				return this.defineClass(name, bytes, 0, bytes.length);
+			}
+			
+		}
+		
+	}
+	
+}
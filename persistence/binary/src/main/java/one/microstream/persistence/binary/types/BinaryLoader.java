@@ -712,6 +712,13 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			}
 			
 			this.buildItemsSize = 0;
+			
+			// all instances are built, so the chunks' memory is not referenced anymore and can be recycled.
+			final PersistenceSource<Binary> source = this.sourceSupplier.source();
+			for(final XGettingCollection<? extends Binary> chunks : this.anchor)
+			{
+				source.releaseData(chunks);
+			}
 			this.anchor.clear(); // release helper anchor to allow the chunks to be collected
 		}
 
@@ -117,6 +117,8 @@ import one.microstream.persistence.binary.one.microstream.collections.BinaryHand
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerSingleton;
 import one.microstream.persistence.binary.one.microstream.reference.BinaryHandlerLazyDefault;
 import one.microstream.persistence.binary.one.microstream.util.BinaryHandlerSubstituterDefault;
+import one.microstream.persistence.binary.util.BinaryHandlerSegmentedList;
+import one.microstream.persistence.binary.util.BinaryHandlerShardedMap;
 import one.microstream.persistence.internal.PersistenceTypeDictionaryFileHandler;
 import one.microstream.persistence.types.Persistence;
 import one.microstream.persistence.types.PersistenceCustomTypeHandlerRegistry;
@@ -378,7 +380,9 @@ public final class BinaryPersistence extends Persistence
 			BinaryHandlerEqHashTable.New()          ,
 			BinaryHandlerEqConstHashTable.New()     ,
 			BinaryHandlerSingleton.New()            ,
-			BinaryHandlerSubstituterDefault.New()
+			BinaryHandlerSubstituterDefault.New()   ,
+			BinaryHandlerShardedMap.New()           ,
+			BinaryHandlerSegmentedList.New()
 			/* (29.10.2013 TM)TODO: more MicroStream default custom handlers
 			 * - VarString
 			 * - VarByte
@@ -54,6 +54,8 @@ extends PersistenceFoundation<Binary, F>
 	public BinaryValueTranslatorMappingProvider getValueTranslatorMappingProvider();
 	
 	public BinaryValueTranslatorProvider getValueTranslatorProvider();
+	
+	public boolean isTypeHandlerGenerationEnabled();
 			
 	
 	
@@ -73,6 +75,18 @@ extends PersistenceFoundation<Binary, F>
 		BinaryValueTranslatorMappingProvider valueTranslatorMappingProvider
 	);
 	
+	/**
+	 * Enables or disables the runtime generation of specialized value translation code for generic entity
+	 * types (see {@link BinaryTypeHandlerCreator#Generating}). Disabled by default.
+	 * Must be set before the type handler creator is created.
+	 * 
+	 * @param typeHandlerGenerationEnabled whether to generate type specific handler code.
+	 * @return this
+	 */
+	public F setTypeHandlerGenerationEnabled(
+		boolean typeHandlerGenerationEnabled
+	);
+	
 	@Override
 	public PersistenceManager<Binary> createPersistenceManager();
 
@@ -95,6 +109,7 @@ extends PersistenceFoundation<Binary, F>
 		private XEnum<BinaryValueTranslatorKeyBuilder> translatorKeyBuilders  ;
 		private BinaryValueTranslatorMappingProvider   valueTranslatorMapping ;
 		private BinaryValueTranslatorProvider          valueTranslatorProvider;
+		private boolean                                typeHandlerGenerationEnabled;
 		
 		
 		
@@ -169,6 +184,12 @@ extends PersistenceFoundation<Binary, F>
 			return this.valueTranslatorProvider;
 		}
 		
+		@Override
+		public boolean isTypeHandlerGenerationEnabled()
+		{
+			return this.typeHandlerGenerationEnabled;
+		}
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -203,6 +224,13 @@ extends PersistenceFoundation<Binary, F>
 			return this.$();
 		}
 		
+		@Override
+		public F setTypeHandlerGenerationEnabled(final boolean typeHandlerGenerationEnabled)
+		{
+			this.typeHandlerGenerationEnabled = typeHandlerGenerationEnabled;
+			return this.$();
+		}
+		
 	
 
 		///////////////////////////////////////////////////////////////////////////
@@ -229,6 +257,19 @@ extends PersistenceFoundation<Binary, F>
 		@Override
 		protected PersistenceTypeHandlerCreator<Binary> ensureTypeHandlerCreator()
 		{
+			if(this.isTypeHandlerGenerationEnabled())
+			{
+				return BinaryTypeHandlerCreator.Generating(
+					this.getTypeAnalyzer(),
+					this.getTypeResolver(),
+					this.getFieldFixedLengthResolver(),
+					this.getReferenceFieldEagerEvaluator(),
+					this.getInstantiatorProvider(),
+					this.referenceTypeHandlerManager(),
+					this.isByteOrderMismatch()
+				);
+			}
+			
 			return new BinaryTypeHandlerCreator.Default(
 				this.getTypeAnalyzer(),
 				this.getTypeResolver(),
@@ -36,6 +36,7 @@ import one.microstream.exceptions.NoSuchMethodRuntimeException;
 import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
 import one.microstream.persistence.binary.exceptions.BinaryPersistenceExceptionUnhandledCollectionType;
 import one.microstream.persistence.binary.internal.BinaryHandlerAbstractType;
+import one.microstream.persistence.binary.internal.BinaryHandlerGeneratedType;
 import one.microstream.persistence.binary.internal.BinaryHandlerGenericEnum;
 import one.microstream.persistence.binary.internal.BinaryHandlerGenericType;
 import one.microstream.persistence.binary.internal.BinaryHandlerStateless;
@@ -114,6 +115,35 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 		);
 	}
 
+	/**
+	 * Creates a {@link BinaryTypeHandlerCreator} that handles generic entity types with handlers using
+	 * a {@link BinaryFieldsTranslator} generated per type (see {@link BinaryFieldsTranslatorGenerator})
+	 * instead of reflectively iterating per-field storers and setters.
+	 * If no translator can be generated for a type (or for a switched byte order), the reflective handler
+	 * is used. The binary format is the same in both cases.
+	 */
+	public static BinaryTypeHandlerCreator Generating(
+		final PersistenceTypeAnalyzer                            typeAnalyzer              ,
+		final PersistenceTypeResolver                            typeResolver              ,
+		final PersistenceFieldLengthResolver                     lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator              eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiatorProvider<Binary>        instantiatorProvider      ,
+		final Referencing<PersistenceTypeHandlerManager<Binary>> typeHandlerManager        ,
+		final boolean                                            switchByteOrder
+	)
+	{
+		return new BinaryTypeHandlerCreator.Generating(
+			notNull(typeAnalyzer)              ,
+			notNull(typeResolver)              ,
+			notNull(lengthResolver)            ,
+			notNull(eagerStoringFieldEvaluator),
+			notNull(instantiatorProvider)      ,
+			notNull(typeHandlerManager)        ,
+			switchByteOrder                    ,
+			BinaryFieldsTranslatorGenerator.New()
+		);
+	}
+
 	public class Default
 	extends PersistenceTypeHandlerCreator.Abstract<Binary>
 	implements BinaryTypeHandlerCreator
@@ -395,5 +425,82 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 		}
 
 	}
+	
+	public class Generating extends Default
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final BinaryFieldsTranslatorGenerator translatorGenerator;
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Generating(
+			final PersistenceTypeAnalyzer                              typeAnalyzer              ,
+			final PersistenceTypeResolver                              typeResolver              ,
+			final PersistenceFieldLengthResolver                       lengthResolver            ,
+			final PersistenceEagerStoringFieldEvaluator                eagerStoringFieldEvaluator,
+			final PersistenceTypeInstantiatorProvider<Binary>          instantiatorProvider      ,
+			final Referencing<PersistenceTypeHandlerManager<Binary>>   typeHandlerManager        ,
+			final boolean                                              switchByteOrder           ,
+			final BinaryFieldsTranslatorGenerator                      translatorGenerator
+		)
+		{
+			super(
+				typeAnalyzer              ,
+				typeResolver              ,
+				lengthResolver            ,
+				eagerStoringFieldEvaluator,
+				instantiatorProvider      ,
+				typeHandlerManager        ,
+				switchByteOrder
+			);
+			this.translatorGenerator = translatorGenerator;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		protected <T> PersistenceTypeHandler<Binary, T> internalCreateTypeHandlerGeneric(
+			final Class<T>            type             ,
+			final XGettingEnum<Field> persistableFields,
+			final XGettingEnum<Field> persisterFields
+		)
+		{
+			// generated code only covers the native byte order
+			if(persistableFields.isEmpty() || this.switchByteOrder)
+			{
+				return super.internalCreateTypeHandlerGeneric(type, persistableFields, persisterFields);
+			}
+			
+			try
+			{
+				return BinaryHandlerGeneratedType.New(
+					type,
+					this.deriveTypeName(type),
+					persistableFields,
+					persisterFields,
+					this.lengthResolver(),
+					this.eagerStoringFieldEvaluator(),
+					this.instantiatorProvider.provideTypeInstantiator(type),
+					this.translatorGenerator
+				);
+			}
+			catch(final BinaryPersistenceException | IllegalStateException e)
+			{
+				// e.g. no class definition possible in the current environment: fall back to the reflective handler.
+				return super.internalCreateTypeHandlerGeneric(type, persistableFields, persisterFields);
+			}
+		}
+
+	}
 
 }
@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import one.microstream.X;
+import one.microstream.memory.DirectBufferPool;
 import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.exceptions.BinaryPersistenceExceptionStateInvalidLength;
 import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
@@ -65,6 +66,7 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 
 	private final ChunksBuffer[]                channelBuffers    ;
 	private final BufferSizeProviderIncremental bufferSizeProvider;
+	private final DirectBufferPool              bufferPool        ;
 	
 	private ByteBuffer[] buffers                  ;
 	private int          currentBuffersIndex      ;
@@ -88,8 +90,9 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 		super();
 		this.channelBuffers     = channelBuffers;
 		this.bufferSizeProvider = bufferSizeProvider;
+		this.bufferPool         = bufferSizeProvider.bufferPool();
 		this.setCurrent((this.buffers = new ByteBuffer[DEFAULT_BUFFERS_CAPACITY])[this.currentBuffersIndex = 0] =
-			XMemory.allocateDirectNative(bufferSizeProvider.provideBufferSize()))
+			this.bufferPool.acquire(bufferSizeProvider.provideBufferSize()))
 		;
 	}
 
@@ -137,7 +140,7 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 		// if current buffer is still empty, replace it instead of enqueing a new one to avoid storing "dummy" chunks
 		if(this.isEmptyCurrentBuffer())
 		{
-			XMemory.deallocateDirectByteBuffer(this.currentBuffer);
+			this.bufferPool.release(this.currentBuffer);
 			this.allocateNewCurrent(bufferCapacity);
 			return;
 		}
@@ -184,7 +187,7 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 
 	private void allocateNewCurrent(final int bufferCapacity)
 	{
-		this.setCurrent(this.buffers[this.currentBuffersIndex] = XMemory.allocateDirectNative(bufferCapacity));
+		this.setCurrent(this.buffers[this.currentBuffersIndex] = this.bufferPool.acquire(bufferCapacity));
 	}
 
 	@Override
@@ -193,11 +196,35 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 		final ByteBuffer[] buffers = this.buffers;
 		for(int i = this.currentBuffersIndex; i >= 1; i--)
 		{
-			XMemory.deallocateDirectByteBuffer(buffers[i]);
+			this.bufferPool.release(buffers[i]);
 			buffers[i] = null;
 		}
 		this.setCurrent(buffers[this.currentBuffersIndex = 0]);
 	}
+	
+	/**
+	 * Hands all buffers back to the {@link DirectBufferPool} they were acquired from.
+	 * Calling this method more than once is harmless, but the instance may not be used in any other way afterwards.
+	 */
+	@Override
+	public final void releaseBuffers()
+	{
+		final ByteBuffer[] buffers = this.buffers;
+		for(int i = this.currentBuffersIndex; i >= 0; i--)
+		{
+			if(buffers[i] != null)
+			{
+				this.bufferPool.release(buffers[i]);
+				buffers[i] = null;
+			}
+		}
+		this.currentBuffersIndex       =    0;
+		this.currentBuffer             = null;
+		this.currentBufferStartAddress =   0L;
+		this.currentAddress            =   0L;
+		this.address                   =   0L;
+		this.currentBound              =   0L;
+	}
 
 	/**
 	 * It is completely the caller's responsibility that the passed array contains
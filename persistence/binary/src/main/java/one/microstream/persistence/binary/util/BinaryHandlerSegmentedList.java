@@ -0,0 +1,218 @@
+package one.microstream.persistence.binary.util;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import one.microstream.X;
+import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reference.Lazy;
+
+
+/**
+ * Stores a {@link SegmentedList} as its size, its segment size and a list of lazy references to its segments.
+ * Only segments modified since they have last been stored are stored eagerly, all others are just referenced.
+ */
+public final class BinaryHandlerSegmentedList
+extends AbstractBinaryHandlerCustomCollection<SegmentedList<?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long
+		BINARY_OFFSET_SIZE         =                                            0,
+		BINARY_OFFSET_SEGMENT_SIZE = BINARY_OFFSET_SIZE         + Long.BYTES   ,
+		BINARY_OFFSET_SEGMENTS     = BINARY_OFFSET_SEGMENT_SIZE + Integer.BYTES
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Class<SegmentedList<?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)SegmentedList.class;
+	}
+
+	private static int getBuildItemSegmentCount(final Binary data)
+	{
+		return X.checkArrayRange(data.getListElementCountReferences(BINARY_OFFSET_SEGMENTS));
+	}
+
+	public static BinaryHandlerSegmentedList New()
+	{
+		return new BinaryHandlerSegmentedList();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerSegmentedList()
+	{
+		// binary layout definition
+		super(
+			handledType(),
+			CustomFields(
+				CustomField(long.class, "size"),
+				CustomField(int.class, "segmentSize"),
+				Complex("segments",
+					CustomField(Object.class, "segment")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private static long storeSegment(
+		final SegmentedList<?>                instance,
+		final int                             index   ,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final ArrayList<?> modified = instance.modifiedSegments[index];
+		if(modified != null)
+		{
+			// a lazy reference would only store its subject lazily, so the subject itself must be stored eagerly.
+			handler.applyEager(modified);
+			instance.modifiedSegments[index] = null;
+		}
+
+		// the lazy reference itself only has to be stored if it is new.
+		return handler.apply(instance.segments[index]);
+	}
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final SegmentedList<?>                instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final int segmentCount = instance.segmentCount;
+
+		data.storeEntityHeader(
+			BINARY_OFFSET_SEGMENTS + Binary.calculateReferenceListTotalBinaryLength(segmentCount),
+			this.typeId(),
+			objectId
+		);
+		data.store_long(BINARY_OFFSET_SIZE        , instance.size       );
+		data.store_int (BINARY_OFFSET_SEGMENT_SIZE, instance.segmentSize);
+		data.storeListHeader(BINARY_OFFSET_SEGMENTS, Binary.referenceBinaryLength(segmentCount), segmentCount);
+
+		final long elementsOffset = Binary.toBinaryListElementsOffset(BINARY_OFFSET_SEGMENTS);
+		for(int i = 0; i < segmentCount; i++)
+		{
+			data.store_long(elementsOffset + Binary.referenceBinaryLength(i), storeSegment(instance, i, handler));
+		}
+	}
+
+	@Override
+	public final SegmentedList<?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		final int segmentSize = data.read_int(BINARY_OFFSET_SEGMENT_SIZE);
+		if(segmentSize < 1)
+		{
+			throw new BinaryPersistenceException("Invalid segment size: " + segmentSize);
+		}
+
+		return new SegmentedList<>(segmentSize, getBuildItemSegmentCount(data));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final SegmentedList<?>       instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		final int  segmentCount = getBuildItemSegmentCount(data);
+		final long size         = data.read_long(BINARY_OFFSET_SIZE);
+
+		// all segments but the last one must be full, the last one must not be empty.
+		if(size < 0 || size > Integer.MAX_VALUE
+			|| (size + instance.segmentSize - 1) / instance.segmentSize != segmentCount
+		)
+		{
+			throw new BinaryPersistenceException(
+				"Inconsistent size " + size + " for " + segmentCount + " segments of size " + instance.segmentSize
+			);
+		}
+
+		// must clear to ensure consistency
+		final SegmentedList<Object> list = (SegmentedList<Object>)instance;
+		list.clear();
+		list.ensureSegmentCapacity(segmentCount);
+
+		final int[] index = {0};
+		data.collectListObjectReferences(BINARY_OFFSET_SEGMENTS, handler, segment ->
+		{
+			if(!(segment instanceof Lazy))
+			{
+				throw new BinaryPersistenceException(
+					"Invalid segment: " + (segment == null ? null : segment.getClass().getName())
+				);
+			}
+			list.segments[index[0]++] = (Lazy<ArrayList<Object>>)segment;
+		});
+		Arrays.fill(list.modifiedSegments, 0, segmentCount, null);
+		list.segmentCount = segmentCount;
+		list.size         = size;
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final SegmentedList<?> instance, final PersistenceFunction iterator)
+	{
+		for(int i = 0; i < instance.segmentCount; i++)
+		{
+			iterator.apply(instance.segments[i]);
+		}
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		// only the lazy reference instances are loaded along, not the segments they reference.
+		data.iterateListElementReferences(BINARY_OFFSET_SEGMENTS, iterator);
+	}
+
+}
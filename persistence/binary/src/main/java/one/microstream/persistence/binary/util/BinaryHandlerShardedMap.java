@@ -0,0 +1,204 @@
+package one.microstream.persistence.binary.util;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.HashMap;
+
+import one.microstream.X;
+import one.microstream.persistence.binary.exceptions.BinaryPersistenceException;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reference.Lazy;
+
+
+/**
+ * Stores a {@link ShardedMap} as its total size and a list of references to its segments.
+ * Only segments modified since they have last been stored are stored eagerly, all others are just referenced.
+ */
+public final class BinaryHandlerShardedMap
+extends AbstractBinaryHandlerCustomCollection<ShardedMap<?, ?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long
+		BINARY_OFFSET_SIZE          =                                              0,
+		BINARY_OFFSET_LAZY_SEGMENTS = BINARY_OFFSET_SIZE          + Long.BYTES     ,
+		BINARY_OFFSET_SEGMENTS      = BINARY_OFFSET_LAZY_SEGMENTS + Byte.BYTES
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Class<ShardedMap<?, ?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)ShardedMap.class;
+	}
+
+	private static int getBuildItemSegmentCount(final Binary data)
+	{
+		return X.checkArrayRange(data.getListElementCountReferences(BINARY_OFFSET_SEGMENTS));
+	}
+
+	public static BinaryHandlerShardedMap New()
+	{
+		return new BinaryHandlerShardedMap();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerShardedMap()
+	{
+		// binary layout definition
+		super(
+			handledType(),
+			CustomFields(
+				CustomField(long.class, "size"),
+				CustomField(boolean.class, "lazySegments"),
+				Complex("segments",
+					CustomField(Object.class, "segment")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private static long storeSegment(
+		final ShardedMap<?, ?>                instance,
+		final int                             index   ,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final HashMap<?, ?> modified = instance.modifiedSegments[index];
+		if(modified != null)
+		{
+			// a lazy reference would only store its subject lazily, so the subject itself must be stored eagerly.
+			handler.applyEager(modified);
+			instance.modifiedSegments[index] = null;
+		}
+
+		// unmodified segments are only referenced, new ones (including new lazy references) are stored anyway.
+		return handler.apply(instance.segments[index]);
+	}
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final ShardedMap<?, ?>                instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final int segmentCount = instance.segments.length;
+
+		data.storeEntityHeader(
+			BINARY_OFFSET_SEGMENTS + Binary.calculateReferenceListTotalBinaryLength(segmentCount),
+			this.typeId(),
+			objectId
+		);
+		data.store_long   (BINARY_OFFSET_SIZE         , instance.size        );
+		data.store_boolean(BINARY_OFFSET_LAZY_SEGMENTS, instance.lazySegments);
+		data.storeListHeader(BINARY_OFFSET_SEGMENTS, Binary.referenceBinaryLength(segmentCount), segmentCount);
+
+		final long elementsOffset = Binary.toBinaryListElementsOffset(BINARY_OFFSET_SEGMENTS);
+		for(int i = 0; i < segmentCount; i++)
+		{
+			data.store_long(elementsOffset + Binary.referenceBinaryLength(i), storeSegment(instance, i, handler));
+		}
+	}
+
+	@Override
+	public final ShardedMap<?, ?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		final int segmentCount = getBuildItemSegmentCount(data);
+		if(Integer.bitCount(segmentCount) != 1)
+		{
+			throw new BinaryPersistenceException("Invalid segment count: " + segmentCount);
+		}
+
+		return new ShardedMap<>(segmentCount, data.read_boolean(BINARY_OFFSET_LAZY_SEGMENTS));
+	}
+
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final ShardedMap<?, ?>       instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		// segment count has already been validated and set at creation time.
+		if(getBuildItemSegmentCount(data) != instance.segments.length)
+		{
+			throw new BinaryPersistenceException(
+				"Inconsistent segment count: " + getBuildItemSegmentCount(data) + " != " + instance.segments.length
+			);
+		}
+
+		// a segment is either a HashMap or a lazy reference to one, nothing else is consistent.
+		final int[] index = {0};
+		data.collectListObjectReferences(BINARY_OFFSET_SEGMENTS, handler, segment ->
+		{
+			if(segment != null && !(segment instanceof HashMap) && !(segment instanceof Lazy))
+			{
+				throw new BinaryPersistenceException("Invalid segment type: " + segment.getClass().getName());
+			}
+			instance.segments[index[0]] = segment;
+			instance.modifiedSegments[index[0]++] = null;
+		});
+		instance.size = data.read_long(BINARY_OFFSET_SIZE);
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final ShardedMap<?, ?> instance, final PersistenceFunction iterator)
+	{
+		for(final Object segment : instance.segments)
+		{
+			iterator.apply(segment);
+		}
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		// lazy segments are loadable lazy reference instances, their subjects are not loaded along.
+		data.iterateListElementReferences(BINARY_OFFSET_SEGMENTS, iterator);
+	}
+
+}
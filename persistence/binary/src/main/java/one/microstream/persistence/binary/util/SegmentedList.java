@@ -0,0 +1,333 @@
+package one.microstream.persistence.binary.util;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import one.microstream.reference.Lazy;
+
+/**
+ * A {@link java.util.List} implementation for append-heavy data that keeps its elements in segments of a fixed
+ * size, each of which is an {@link ArrayList} persisted as an entity of its own behind a {@link Lazy} reference.
+ * <p>
+ * Storing the list only re-stores the segments that have been modified since they have last been stored,
+ * which is just the tail segment for pure appending. Segments are only loaded when an element in them is
+ * accessed, so the list does not have to be completely in heap. An iterator holds only the segment it
+ * currently iterates and releases the segments it had to load itself when it moves on, so iterating
+ * the whole list needs no more memory than one segment.
+ * <p>
+ * Apart from appending, elements can only be replaced via {@link #set(int, Object)} and the list can only be
+ * cleared as a whole: inserting or removing at an index would shift all following segments.
+ * Like {@link ArrayList}, this implementation is not thread-safe.
+ *
+ * @param <E> the type of elements
+ *
+ * @see BinaryHandlerSegmentedList
+ */
+public final class SegmentedList<E> extends AbstractList<E> implements RandomAccess
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	public static final int DEFAULT_SEGMENT_SIZE = 1024;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static <E> SegmentedList<E> New()
+	{
+		return New(DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * @param segmentSize the number of elements per segment.
+	 *
+	 * @return a new, empty {@link SegmentedList}.
+	 */
+	public static <E> SegmentedList<E> New(final int segmentSize)
+	{
+		if(segmentSize < 1)
+		{
+			throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+		}
+
+		return new SegmentedList<>(segmentSize, 0);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	/*
+	 * Segments are lazy references to ArrayLists with segmentSize elements, except for the last one.
+	 * Modified segments are additionally strongly referenced in the modification array until they are stored,
+	 * so the lazy reference manager cannot clear them and lose unstored changes.
+	 */
+	final int              segmentSize     ;
+	Lazy<ArrayList<E>>[]   segments        ;
+	ArrayList<E>[]         modifiedSegments;
+	int                    segmentCount    ;
+	long                   size            ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	@SuppressWarnings("unchecked")
+	SegmentedList(final int segmentSize, final int segmentCapacity)
+	{
+		super();
+		this.segmentSize      = segmentSize;
+		this.segments         = new Lazy[Math.max(segmentCapacity, 1)];
+		this.modifiedSegments = new ArrayList[this.segments.length];
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public final int segmentSize()
+	{
+		return this.segmentSize;
+	}
+
+	public final int segmentCount()
+	{
+		return this.segmentCount;
+	}
+
+	/**
+	 * @return the number of segments that have been modified since they have last been stored.
+	 */
+	public final int modifiedSegmentCount()
+	{
+		int count = 0;
+		for(int i = 0; i < this.segmentCount; i++)
+		{
+			if(this.modifiedSegments[i] != null)
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	final ArrayList<E> lookupSegment(final int index)
+	{
+		final ArrayList<E> modified = this.modifiedSegments[index];
+
+		return modified != null
+			? modified
+			: this.segments[index].get()
+		;
+	}
+
+	final ArrayList<E> modifySegment(final int index)
+	{
+		return this.modifiedSegments[index] = this.lookupSegment(index);
+	}
+
+	final void ensureSegmentCapacity(final int capacity)
+	{
+		if(capacity <= this.segments.length)
+		{
+			return;
+		}
+
+		final int newCapacity = (int)Math.min(Math.max((long)this.segments.length << 1, capacity), Integer.MAX_VALUE);
+		this.segments         = Arrays.copyOf(this.segments, newCapacity);
+		this.modifiedSegments = Arrays.copyOf(this.modifiedSegments, newCapacity);
+	}
+
+	private int segmentIndex(final int index)
+	{
+		if(index < 0 || index >= this.size)
+		{
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+
+		return index / this.segmentSize;
+	}
+
+	@Override
+	public final int size()
+	{
+		return this.size > Integer.MAX_VALUE
+			? Integer.MAX_VALUE
+			: (int)this.size
+		;
+	}
+
+	public final long longSize()
+	{
+		return this.size;
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	@Override
+	public final E get(final int index)
+	{
+		return this.lookupSegment(this.segmentIndex(index)).get(index % this.segmentSize);
+	}
+
+	@Override
+	public final E set(final int index, final E element)
+	{
+		return this.modifySegment(this.segmentIndex(index)).set(index % this.segmentSize, element);
+	}
+
+	@Override
+	public final boolean add(final E element)
+	{
+		if(this.size == Integer.MAX_VALUE)
+		{
+			throw new IllegalStateException("Maximum size reached: " + this.size);
+		}
+
+		final int tailIndex = (int)(this.size / this.segmentSize);
+		if(tailIndex == this.segmentCount)
+		{
+			this.ensureSegmentCapacity(tailIndex + 1);
+			final ArrayList<E> segment = new ArrayList<>(this.segmentSize);
+			this.segments[tailIndex]         = Lazy.Reference(segment);
+			this.modifiedSegments[tailIndex] = segment;
+			this.segmentCount++;
+		}
+
+		this.modifySegment(tailIndex).add(element);
+		this.size++;
+		this.modCount++;
+
+		return true;
+	}
+
+	@Override
+	public final void clear()
+	{
+		Arrays.fill(this.segments, 0, this.segmentCount, null);
+		Arrays.fill(this.modifiedSegments, 0, this.segmentCount, null);
+		this.segmentCount = 0;
+		this.size         = 0;
+		this.modCount++;
+	}
+
+	/**
+	 * Iterates all elements segment by segment. Segments that have not been loaded before are cleared again
+	 * once the iteration has moved past them.
+	 */
+	@Override
+	public final Iterator<E> iterator()
+	{
+		return new SegmentIterator();
+	}
+
+
+
+	final class SegmentIterator implements Iterator<E>
+	{
+		private final int          expectedModCount = SegmentedList.this.modCount;
+		private       int          segmentIndex     = -1;
+		private       ArrayList<E> segment          ;
+		private       boolean      loadedSegment    ;
+		private       int          elementIndex     ;
+		private       long         remaining        = SegmentedList.this.size;
+
+		SegmentIterator()
+		{
+			super();
+		}
+
+		@Override
+		public final boolean hasNext()
+		{
+			return this.remaining > 0;
+		}
+
+		@Override
+		public final E next()
+		{
+			if(SegmentedList.this.modCount != this.expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+			if(this.remaining == 0)
+			{
+				throw new NoSuchElementException();
+			}
+
+			if(this.segment == null || this.elementIndex == this.segment.size())
+			{
+				this.nextSegment();
+			}
+			final E element = this.segment.get(this.elementIndex++);
+			if(--this.remaining == 0)
+			{
+				this.releaseSegment();
+			}
+
+			return element;
+		}
+
+		private void nextSegment()
+		{
+			this.releaseSegment();
+
+			final int                index = ++this.segmentIndex;
+			final Lazy<ArrayList<E>> lazy  = SegmentedList.this.segments[index];
+			this.loadedSegment = SegmentedList.this.modifiedSegments[index] == null && !lazy.isLoaded();
+			this.segment       = SegmentedList.this.lookupSegment(index);
+			this.elementIndex  = 0;
+		}
+
+		private void releaseSegment()
+		{
+			if(this.loadedSegment && SegmentedList.this.modifiedSegments[this.segmentIndex] == null)
+			{
+				SegmentedList.this.segments[this.segmentIndex].clear();
+			}
+			this.segment = null;
+		}
+
+	}
+
+}
@@ -0,0 +1,489 @@
+package one.microstream.persistence.binary.util;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import one.microstream.math.XMath;
+import one.microstream.reference.Lazy;
+
+/**
+ * A {@link Map} implementation that splits its entries into a fixed number of segments, each of which is
+ * a {@link HashMap} persisted as an entity of its own, optionally behind a {@link Lazy} reference.
+ * <p>
+ * Storing the map only re-stores the segments that have been modified since they have last been stored,
+ * so adding an entry to a huge map writes one segment instead of all entries. With lazy segments,
+ * a lookup only loads the segment the key belongs to and unmodified segments can be cleared by the
+ * {@link one.microstream.reference.LazyReferenceManager} like any other lazy reference.
+ * <p>
+ * Note that modifications are only tracked for the map's own structure: changes to the state of a value
+ * instance have to be stored explicitly, as for every other collection.
+ * Like {@link HashMap}, this implementation is not thread-safe.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ *
+ * @see BinaryHandlerShardedMap
+ */
+public final class ShardedMap<K, V> extends AbstractMap<K, V>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	public static final int
+		DEFAULT_SEGMENT_COUNT =    1024,
+		MAXIMUM_SEGMENT_COUNT = 1 << 24
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static <K, V> ShardedMap<K, V> New()
+	{
+		return New(DEFAULT_SEGMENT_COUNT, true);
+	}
+
+	public static <K, V> ShardedMap<K, V> New(final int segmentCount)
+	{
+		return New(segmentCount, true);
+	}
+
+	/**
+	 * @param segmentCount the number of segments, rounded up to the next power of 2.
+	 * @param lazySegments whether the segments shall be held behind {@link Lazy} references.
+	 *
+	 * @return a new, empty {@link ShardedMap}.
+	 */
+	public static <K, V> ShardedMap<K, V> New(final int segmentCount, final boolean lazySegments)
+	{
+		if(segmentCount < 1 || segmentCount > MAXIMUM_SEGMENT_COUNT)
+		{
+			throw new IllegalArgumentException(
+				"Invalid segment count: " + segmentCount + " (1 - " + MAXIMUM_SEGMENT_COUNT + ")"
+			);
+		}
+
+		return new ShardedMap<>(XMath.pow2BoundCapped(segmentCount), lazySegments);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	/*
+	 * A segment is either null (empty and never used), a HashMap or a Lazy reference to a HashMap.
+	 * Modified segments are additionally strongly referenced in the modification array until they are stored,
+	 * so the lazy reference manager cannot clear them and lose unstored changes.
+	 */
+	final Object[]        segments        ;
+	final HashMap<K, V>[] modifiedSegments;
+	final boolean         lazySegments    ;
+	final int             shift           ;
+	      long            size            ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	@SuppressWarnings("unchecked")
+	ShardedMap(final int segmentCount, final boolean lazySegments)
+	{
+		super();
+		this.segments         = new Object[segmentCount];
+		this.modifiedSegments = new HashMap[segmentCount];
+		this.lazySegments     = lazySegments;
+		this.shift            = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public final int segmentCount()
+	{
+		return this.segments.length;
+	}
+
+	public final boolean isLazySegments()
+	{
+		return this.lazySegments;
+	}
+
+	/**
+	 * @return the number of segments that have been modified since they have last been stored.
+	 */
+	public final int modifiedSegmentCount()
+	{
+		int count = 0;
+		for(final HashMap<K, V> segment : this.modifiedSegments)
+		{
+			if(segment != null)
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	final int segmentIndex(final Object key)
+	{
+		if(this.shift == Integer.SIZE)
+		{
+			return 0;
+		}
+
+		/*
+		 * The high bits of the (Fibonacci-)scrambled hash select the segment, so the entries of one segment
+		 * still spread over the low bits the segment's HashMap uses for its buckets.
+		 */
+		return (key == null ? 0 : key.hashCode()) * 0x9E3779B9 >>> this.shift;
+	}
+
+	@SuppressWarnings("unchecked")
+	final HashMap<K, V> lookupSegment(final int index)
+	{
+		final HashMap<K, V> modified = this.modifiedSegments[index];
+		if(modified != null)
+		{
+			return modified;
+		}
+
+		final Object segment = this.segments[index];
+
+		return segment instanceof Lazy
+			? ((Lazy<HashMap<K, V>>)segment).get()
+			: (HashMap<K, V>)segment
+		;
+	}
+
+	final HashMap<K, V> modifySegment(final int index)
+	{
+		HashMap<K, V> segment = this.lookupSegment(index);
+		if(segment == null)
+		{
+			segment = new HashMap<>();
+			this.segments[index] = this.lazySegments
+				? Lazy.Reference(segment)
+				: segment
+			;
+		}
+
+		return this.modifiedSegments[index] = segment;
+	}
+
+	final void updateSize(final int index, final int previousSegmentSize)
+	{
+		this.size += this.modifiedSegments[index].size() - previousSegmentSize;
+	}
+
+	@Override
+	public final int size()
+	{
+		return this.size > Integer.MAX_VALUE
+			? Integer.MAX_VALUE
+			: (int)this.size
+		;
+	}
+
+	public final long longSize()
+	{
+		return this.size;
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	@Override
+	public final boolean containsKey(final Object key)
+	{
+		final HashMap<K, V> segment = this.lookupSegment(this.segmentIndex(key));
+
+		return segment != null && segment.containsKey(key);
+	}
+
+	@Override
+	public final V get(final Object key)
+	{
+		final HashMap<K, V> segment = this.lookupSegment(this.segmentIndex(key));
+
+		return segment == null
+			? null
+			: segment.get(key)
+		;
+	}
+
+	@Override
+	public final V put(final K key, final V value)
+	{
+		final int           index   = this.segmentIndex(key);
+		final HashMap<K, V> segment = this.modifySegment(index);
+		final int           size    = segment.size();
+		final V             old     = segment.put(key, value);
+		this.updateSize(index, size);
+
+		return old;
+	}
+
+	@Override
+	public final V remove(final Object key)
+	{
+		final int           index   = this.segmentIndex(key);
+		final HashMap<K, V> segment = this.lookupSegment(index);
+		if(segment == null || !segment.containsKey(key))
+		{
+			return null;
+		}
+
+		final int size = segment.size();
+		final V   old  = this.modifySegment(index).remove(key);
+		this.updateSize(index, size);
+
+		return old;
+	}
+
+	@Override
+	public final void clear()
+	{
+		for(int i = 0; i < this.segments.length; i++)
+		{
+			if(this.segments[i] == null)
+			{
+				continue;
+			}
+
+			// loading an unloaded segment just to clear it is pointless, an empty replacement suffices.
+			final HashMap<K, V> segment = this.modifiedSegments[i] = new HashMap<>();
+			this.segments[i] = this.lazySegments
+				? Lazy.Reference(segment)
+				: segment
+			;
+		}
+		this.size = 0;
+	}
+
+	/**
+	 * Iterates all entries segment by segment, loading lazy segments as they are reached.
+	 * <p>
+	 * Merely iterating does not mark any segment as modified, so read-only iterations neither cause segments
+	 * to be re-stored nor keep lazy segments from being unloaded. Only removing an entry via the iterator
+	 * or setting an entry's value pins the affected segment as modified.
+	 */
+	@Override
+	public final Set<Map.Entry<K, V>> entrySet()
+	{
+		return new EntrySet();
+	}
+
+
+
+	final class EntrySet extends AbstractSet<Map.Entry<K, V>>
+	{
+		@Override
+		public final Iterator<Map.Entry<K, V>> iterator()
+		{
+			return new EntryIterator();
+		}
+
+		@Override
+		public final int size()
+		{
+			return ShardedMap.this.size();
+		}
+
+		@Override
+		public final void clear()
+		{
+			ShardedMap.this.clear();
+		}
+
+	}
+
+	final class EntryIterator implements Iterator<Map.Entry<K, V>>
+	{
+		private int                       nextIndex      ;
+		private int                       currentIndex   ;
+		private HashMap<K, V>             currentSegment ;
+		private Iterator<Map.Entry<K, V>> current        ;
+		private int                       lastIndex      ;
+		private HashMap<K, V>             lastSegment    ;
+		private Iterator<Map.Entry<K, V>> lastReturning  ;
+
+		EntryIterator()
+		{
+			super();
+			this.advance();
+		}
+
+		private void advance()
+		{
+			final Object[] segments = ShardedMap.this.segments;
+			while(this.nextIndex < segments.length)
+			{
+				final int index = this.nextIndex++;
+				if(segments[index] == null)
+				{
+					continue;
+				}
+
+				final HashMap<K, V> segment = ShardedMap.this.lookupSegment(index);
+				if(segment != null && !segment.isEmpty())
+				{
+					/*
+					 * The iterated instance is held by the iterator itself, so a lazy segment being unloaded
+					 * meanwhile does not affect the iteration. Only modifications pin that exact instance.
+					 */
+					this.currentIndex   = index;
+					this.currentSegment = segment;
+					this.current        = segment.entrySet().iterator();
+					return;
+				}
+			}
+			this.currentSegment = null;
+			this.current        = null;
+		}
+
+		@Override
+		public final boolean hasNext()
+		{
+			return this.current != null;
+		}
+
+		@Override
+		public final Map.Entry<K, V> next()
+		{
+			if(this.current == null)
+			{
+				throw new NoSuchElementException();
+			}
+
+			final Map.Entry<K, V> entry = new Entry(this.currentIndex, this.currentSegment, this.current.next());
+			this.lastIndex     = this.currentIndex;
+			this.lastSegment   = this.currentSegment;
+			this.lastReturning = this.current;
+			if(!this.current.hasNext())
+			{
+				this.advance();
+			}
+
+			return entry;
+		}
+
+		@Override
+		public final void remove()
+		{
+			if(this.lastReturning == null)
+			{
+				throw new IllegalStateException();
+			}
+
+			this.lastReturning.remove();
+			this.lastReturning = null;
+			ShardedMap.this.size--;
+			ShardedMap.this.modifiedSegments[this.lastIndex] = this.lastSegment;
+		}
+
+	}
+
+	final class Entry implements Map.Entry<K, V>
+	{
+		private final int             segmentIndex;
+		private final HashMap<K, V>   segment     ;
+		private final Map.Entry<K, V> entry       ;
+
+		Entry(final int segmentIndex, final HashMap<K, V> segment, final Map.Entry<K, V> entry)
+		{
+			super();
+			this.segmentIndex = segmentIndex;
+			this.segment      = segment     ;
+			this.entry        = entry       ;
+		}
+
+		@Override
+		public final K getKey()
+		{
+			return this.entry.getKey();
+		}
+
+		@Override
+		public final V getValue()
+		{
+			return this.entry.getValue();
+		}
+
+		@Override
+		public final V setValue(final V value)
+		{
+			// the instance holding the entry is pinned, not a possibly reloaded instance of the same segment.
+			final V old = this.entry.setValue(value);
+			ShardedMap.this.modifiedSegments[this.segmentIndex] = this.segment;
+
+			return old;
+		}
+
+		@Override
+		public final boolean equals(final Object other)
+		{
+			if(!(other instanceof Map.Entry))
+			{
+				return false;
+			}
+			final Map.Entry<?, ?> e = (Map.Entry<?, ?>)other;
+
+			return (this.getKey()   == null ? e.getKey()   == null : this.getKey().equals(e.getKey()))
+				&& (this.getValue() == null ? e.getValue() == null : this.getValue().equals(e.getValue()))
+			;
+		}
+
+		@Override
+		public final int hashCode()
+		{
+			return this.entry.hashCode();
+		}
+
+		@Override
+		public final String toString()
+		{
+			return this.entry.toString();
+		}
+
+	}
+
+}
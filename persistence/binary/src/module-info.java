@@ -37,6 +37,7 @@ module microstream.persistence.binary
 	exports one.microstream.persistence.binary.one.microstream.entity;
 	exports one.microstream.persistence.binary.one.microstream.persistence.types;
 	exports one.microstream.persistence.binary.one.microstream.collections;
+	exports one.microstream.persistence.binary.util;
 	
 	requires java.sql;
 	requires jdk.unsupported;
@@ -0,0 +1,932 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.KeyValue;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import one.microstream.X;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.XSort;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.hashing.HashStatisticsBucketBased;
+import one.microstream.hashing.XHashing;
+import one.microstream.math.XMath;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObject;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObjectId;
+import one.microstream.persistence.exceptions.PersistenceExceptionImproperObjectId;
+import one.microstream.persistence.types.PersistenceAcceptor;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.reference.Swizzling;
+import one.microstream.typing.KeyValue;
+
+/**
+ * Variant of {@link DefaultObjectRegistry} with lock-free lookups.
+ * <p>
+ * All modifying methods are still synchronized on the instance itself, which is also the lock used by
+ * callers to execute compound operations (e.g. lookup and then register) atomically. Lookups, however,
+ * do not acquire any lock and can be executed concurrently to each other and to a modifying thread:
+ * <ul>
+ * <li>Hash table slots are published via {@link AtomicReferenceArray}, so a fully initialized entry
+ * is visible as soon as its slot is.</li>
+ * <li>Rebuilding the tables never relinks existing entries but creates new ones, so a lookup running
+ * on the old tables still sees consistent hash chains.</li>
+ * <li>Entries are only ever unlinked if their referent has been collected, which is indistinguishable
+ * from not being registered at all for a concurrent lookup.</li>
+ * </ul>
+ * This pays off if lookups dominate, e.g. for repeated storing of already known object graphs or
+ * application threads resolving objects concurrently to loading.
+ */
+public final class ConcurrentObjectRegistry implements PersistenceObjectRegistry
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static constructors //
+	////////////////////////
+
+	public static ConcurrentObjectRegistry New()
+	{
+		return New(DefaultObjectRegistry.defaultHashDensity());
+	}
+
+	public static ConcurrentObjectRegistry New(final long minimumCapacity)
+	{
+		return New(DefaultObjectRegistry.defaultHashDensity(), minimumCapacity);
+	}
+
+	public static ConcurrentObjectRegistry New(final float hashDensity)
+	{
+		return New(hashDensity, 1);
+	}
+
+	/**
+	 * Note on hashDensity: Reasonable values are within [0.75; 2.00].
+	 *
+	 * @param hashDensity
+	 * @param minimumCapacity
+	 */
+	public static ConcurrentObjectRegistry New(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		return new ConcurrentObjectRegistry()
+			.internalSetConfiguration(
+				DefaultObjectRegistry.validateHashDensity(hashDensity),
+				DefaultObjectRegistry.validateCapacity(minimumCapacity)
+			)
+			.internalReset()
+		;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// volatile to safely publish rebuilt tables to lock-free lookups.
+	private volatile AtomicReferenceArray<Entry> oidHashTable;
+	private volatile AtomicReferenceArray<Entry> refHashTable;
+
+	private int   hashRange  ; // bit mask / modulo value used for hashing. Only used under the lock.
+	private float hashDensity;
+	private long  capacity   ;
+	private long  minCapacity;
+	private long  size       ;
+
+	// integrated special constants registry
+	private EqHashTable<Long, Object> constantsHotRegistry = EqHashTable.New();
+	private Object[]                  constantsColdStorageObjects  ;
+	private long[]                    constantsColdStorageObjectIds;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	ConcurrentObjectRegistry()
+	{
+		super();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private int internalHashLength()
+	{
+		return this.hashRange + 1;
+	}
+
+	final ConcurrentObjectRegistry internalSetConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		this.hashDensity = hashDensity;
+		this.minCapacity = minimumCapacity;
+
+		return this;
+	}
+
+	final ConcurrentObjectRegistry internalReset()
+	{
+		return this.internalReset(this.minCapacity);
+	}
+
+	final ConcurrentObjectRegistry internalReset(final long minimumCapacity)
+	{
+		this.size = 0;
+		final int hashLength = this.calculateRequiredHashLength(minimumCapacity);
+		this.setHashTables(
+			new AtomicReferenceArray<>(hashLength),
+			new AtomicReferenceArray<>(hashLength)
+		);
+
+		return this;
+	}
+
+	private int calculateRequiredHashLength(final long minimumCapacity)
+	{
+		return XHashing.padHashLength((long)(minimumCapacity / this.hashDensity));
+	}
+
+	private void setHashTables(
+		final AtomicReferenceArray<Entry> oidHashTable,
+		final AtomicReferenceArray<Entry> refHashTable
+	)
+	{
+		// ref table first, so that a lookup never sees a newer oid table than ref table. Not required, but tidy.
+		this.refHashTable = refHashTable;
+		this.oidHashTable = oidHashTable;
+		this.hashRange    = oidHashTable.length() - 1;
+		this.internalUpdateCapacity();
+	}
+
+	private void internalUpdateCapacity()
+	{
+		this.capacity = this.internalHashLength() >= XMath.highestPowerOf2_int()
+			? Long.MAX_VALUE
+			: (long)(this.internalHashLength() * this.hashDensity)
+		;
+	}
+
+	@Override
+	public final synchronized ConcurrentObjectRegistry Clone()
+	{
+		return ConcurrentObjectRegistry.New(this.hashDensity, this.minCapacity);
+	}
+
+	@Override
+	public final int hashRange()
+	{
+		return this.oidHashTable.length();
+	}
+
+	@Override
+	public final synchronized float hashDensity()
+	{
+		return this.hashDensity;
+	}
+
+	@Override
+	public final synchronized long minimumCapacity()
+	{
+		return this.minCapacity;
+	}
+
+	@Override
+	public final synchronized long capacity()
+	{
+		return this.capacity;
+	}
+
+	@Override
+	public final synchronized long size()
+	{
+		return this.size;
+	}
+
+	@Override
+	public final synchronized boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	@Override
+	public final synchronized boolean setHashDensity(final float hashDensity)
+	{
+		this.hashDensity = DefaultObjectRegistry.validateHashDensity(hashDensity);
+
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(this.minCapacity);
+	}
+
+	@Override
+	public final synchronized boolean setConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		// both values are checked before modifying any state
+		DefaultObjectRegistry.validateHashDensity(hashDensity);
+		DefaultObjectRegistry.validateCapacity(minimumCapacity);
+
+		this.internalSetConfiguration(hashDensity, minimumCapacity);
+
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(minimumCapacity);
+	}
+
+	@Override
+	public final synchronized boolean setMinimumCapacity(final long minimumCapacity)
+	{
+		this.minCapacity = DefaultObjectRegistry.validateCapacity(minimumCapacity);
+
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(minimumCapacity);
+	}
+
+	@Override
+	public final synchronized boolean ensureCapacity(final long desiredCapacity)
+	{
+		DefaultObjectRegistry.validateCapacity(desiredCapacity);
+		final int requiredHashLength = this.calculateRequiredHashLength(desiredCapacity);
+		if(requiredHashLength > this.internalHashLength())
+		{
+			this.internalRebuild(requiredHashLength);
+
+			return true;
+		}
+
+		return false;
+	}
+
+	// lock-free lookups //
+
+	private static Entry oidChainHead(final AtomicReferenceArray<Entry> oidHashTable, final long objectId)
+	{
+		return oidHashTable.get((int)objectId & oidHashTable.length() - 1);
+	}
+
+	private static Entry refChainHead(final AtomicReferenceArray<Entry> refHashTable, final int refHash)
+	{
+		return refHashTable.get(refHash & refHashTable.length() - 1);
+	}
+
+	@Override
+	public final boolean containsObjectId(final long objectId)
+	{
+		for(Entry e = oidChainHead(this.oidHashTable, objectId); e != null; e = e.oidNext)
+		{
+			if(e.objectId == objectId)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public final boolean hasLockFreeLookups()
+	{
+		return true;
+	}
+
+	@Override
+	public final long lookupObjectId(final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+
+		return this.internalLookupObjectId(object);
+	}
+
+	private long internalLookupObjectId(final Object object)
+	{
+		for(Entry e = refChainHead(this.refHashTable, DefaultObjectRegistry.hash(object)); e != null; e = e.refNext)
+		{
+			if(e.get() == object)
+			{
+				return e.objectId;
+			}
+		}
+
+		return Swizzling.notFoundId();
+	}
+
+	@Override
+	public final Object lookupObject(final long objectId)
+	{
+		return this.internalLookupObject(objectId);
+	}
+
+	private Object internalLookupObject(final long objectId)
+	{
+		for(Entry e = oidChainHead(this.oidHashTable, objectId); e != null; e = e.oidNext)
+		{
+			if(e.objectId == objectId)
+			{
+				return e.get();
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public final synchronized boolean isValid(final long objectId, final Object object)
+	{
+		return this.synchInternalValidate(objectId, object, false);
+	}
+
+	@Override
+	public final synchronized void validate(final long objectId, final Object object)
+	{
+		this.synchInternalValidate(objectId, object, true);
+	}
+
+	private boolean synchInternalValidate(final long objectId, final Object object, final boolean throwException)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+
+		final long registeredObjectId = this.internalLookupObjectId(object);
+		if(registeredObjectId == objectId)
+		{
+			// already registered entry
+			return true;
+		}
+
+		if(Swizzling.isNotFoundId(registeredObjectId))
+		{
+			final Object registeredObject = this.internalLookupObject(objectId);
+			if(registeredObject == null)
+			{
+				// consistently not registered object
+				return true;
+			}
+
+			if(!throwException)
+			{
+				return false;
+			}
+			if(registeredObject == object)
+			{
+				throw new PersistenceExceptionConsistency("Inconsistent object registry for objectId " + objectId);
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registeredObject, object);
+		}
+
+		if(!throwException)
+		{
+			return false;
+		}
+		throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+	}
+
+	// registering //
+
+	@Override
+	public final synchronized boolean registerObject(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+
+		return this.internalAdd(objectId, object);
+	}
+
+	@Override
+	public final synchronized Object optionalRegisterObject(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+
+		return this.internalAddGet(objectId, object);
+	}
+
+	@Override
+	public final synchronized boolean registerConstant(final long objectId, final Object constant)
+	{
+		if(!this.registerObject(objectId, constant))
+		{
+			return false;
+		}
+
+		this.ensureConstantsHotRegistry().add(objectId, constant);
+
+		return true;
+	}
+
+	@Override
+	public final synchronized <A extends PersistenceAcceptor> A iterateEntries(final A acceptor)
+	{
+		final AtomicReferenceArray<Entry> oidHashTable = this.oidHashTable;
+		for(int s = 0; s < oidHashTable.length(); s++)
+		{
+			for(Entry e = oidHashTable.get(s); e != null; e = e.oidNext)
+			{
+				acceptor.accept(e.objectId, e.get());
+			}
+		}
+
+		return acceptor;
+	}
+
+	private boolean internalAdd(final long objectId, final Object object)
+	{
+		if(this.internalAddCheck(objectId, object))
+		{
+			return false;
+		}
+
+		this.internalPutNewEntry(objectId, object);
+		return true;
+	}
+
+	private void internalPutNewEntry(final long objectId, final Object object)
+	{
+		final AtomicReferenceArray<Entry> oidHashTable = this.oidHashTable;
+		final AtomicReferenceArray<Entry> refHashTable = this.refHashTable;
+		final int oidIndex = (int)objectId                       & this.hashRange;
+		final int refIndex = DefaultObjectRegistry.hash(object) & this.hashRange;
+
+		// the entry is completely initialized before it gets published by the atomic slot writes.
+		final Entry entry = new Entry(objectId, object, oidHashTable.get(oidIndex), refHashTable.get(refIndex));
+		oidHashTable.set(oidIndex, entry);
+		refHashTable.set(refIndex, entry);
+
+		if(++this.size > this.capacity)
+		{
+			this.internalRebuild(this.internalHashLength() << 1);
+		}
+	}
+
+	private boolean internalAddCheck(final long objectId, final Object object)
+	{
+		for(Entry e = oidChainHead(this.oidHashTable, objectId); e != null; e = e.oidNext)
+		{
+			if(e.objectId == objectId)
+			{
+				return this.internalHandleExisting(object, e);
+			}
+		}
+
+		this.internalValidateObjectNotYetRegistered(objectId, object);
+		return false;
+	}
+
+	private Object internalAddGetCheck(final long objectId, final Object object)
+	{
+		for(Entry e = oidChainHead(this.oidHashTable, objectId); e != null; e = e.oidNext)
+		{
+			if(e.objectId == objectId)
+			{
+				final Object registered;
+				if((registered = e.get()) != null)
+				{
+					return registered;
+				}
+
+				// orphan entry removal is always right, even in case of an error.
+				this.internalRemoveEntry(e);
+				break;
+			}
+		}
+
+		// either no hash chain yet or no (live) entry for that objectId. Validate and signal need for registration.
+		this.internalValidateObjectNotYetRegistered(objectId, object);
+
+		return null;
+	}
+
+	private boolean internalHandleExisting(final Object object, final Entry entry)
+	{
+		final Object registered = entry.get();
+		if(registered == object)
+		{
+			return true;
+		}
+
+		if(registered != null)
+		{
+			throw new PersistenceExceptionConsistencyObject(entry.objectId, registered, object);
+		}
+
+		this.internalValidateObjectNotYetRegistered(entry.objectId, object);
+		this.internalRemoveEntry(entry);
+
+		return false;
+	}
+
+	private void internalValidateObjectNotYetRegistered(final long objectId, final Object object)
+	{
+		for(Entry e = refChainHead(this.refHashTable, DefaultObjectRegistry.hash(object)); e != null; e = e.refNext)
+		{
+			if(e.get() == object)
+			{
+				throw new PersistenceExceptionConsistencyObjectId(object, e.objectId, objectId);
+			}
+		}
+	}
+
+	private Object internalAddGet(final long objectId, final Object object)
+	{
+		final Object alreadyRegistered;
+		if((alreadyRegistered = this.internalAddGetCheck(objectId, object)) != null)
+		{
+			return alreadyRegistered;
+		}
+
+		this.internalPutNewEntry(objectId, object);
+		return object;
+	}
+
+	// removing //
+
+	private void internalRemoveEntry(final Entry entry)
+	{
+		removeFromOidTable(this.oidHashTable, (int)entry.objectId & this.hashRange, entry);
+		removeFromRefTable(this.refHashTable,      entry.refHash  & this.hashRange, entry);
+		this.size--;
+	}
+
+	private static void removeFromOidTable(
+		final AtomicReferenceArray<Entry> table,
+		final int                         index,
+		final Entry                       entry
+	)
+	{
+		for(Entry e = table.get(index), last = null; e != null; e = (last = e).oidNext)
+		{
+			if(e == entry)
+			{
+				if(last == null)
+				{
+					table.set(index, e.oidNext);
+				}
+				else
+				{
+					last.oidNext = e.oidNext;
+				}
+				return;
+			}
+		}
+	}
+
+	private static void removeFromRefTable(
+		final AtomicReferenceArray<Entry> table,
+		final int                         index,
+		final Entry                       entry
+	)
+	{
+		for(Entry e = table.get(index), last = null; e != null; e = (last = e).refNext)
+		{
+			if(e == entry)
+			{
+				if(last == null)
+				{
+					table.set(index, e.refNext);
+				}
+				else
+				{
+					last.refNext = e.refNext;
+				}
+				return;
+			}
+		}
+	}
+
+	// rebuilding and consolidation //
+
+	@Override
+	public final synchronized boolean consolidate()
+	{
+		final AtomicReferenceArray<Entry> oidHashTable = this.oidHashTable;
+		final AtomicReferenceArray<Entry> refHashTable = this.refHashTable;
+
+		long orphanCount = 0;
+		for(int h = 0; h < oidHashTable.length(); h++)
+		{
+			// the primary branch (per objectIds) is used to determine the orphan count.
+			for(Entry e = oidHashTable.get(h), lastProper = null; e != null; e = e.oidNext)
+			{
+				if(e.get() != null)
+				{
+					lastProper = e;
+					continue;
+				}
+				if(lastProper == null)
+				{
+					oidHashTable.set(h, e.oidNext);
+				}
+				else
+				{
+					lastProper.oidNext = e.oidNext;
+				}
+				orphanCount++;
+			}
+
+			// the secondary branch is just updated to avoid counting the same orphan entry twice.
+			for(Entry e = refHashTable.get(h), lastProper = null; e != null; e = e.refNext)
+			{
+				if(e.get() != null)
+				{
+					lastProper = e;
+					continue;
+				}
+				if(lastProper == null)
+				{
+					refHashTable.set(h, e.refNext);
+				}
+				else
+				{
+					lastProper.refNext = e.refNext;
+				}
+			}
+		}
+
+		this.size -= orphanCount;
+
+		return this.checkForDecrease();
+	}
+
+	private boolean checkForDecrease()
+	{
+		final int requiredHashLength = this.calculateRequiredHashLength(this.size);
+		if(requiredHashLength != this.internalHashLength())
+		{
+			this.internalRebuild(requiredHashLength);
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private void internalRebuild(final int hashLength)
+	{
+		final AtomicReferenceArray<Entry> oldOidHashTable = this.oidHashTable;
+		final AtomicReferenceArray<Entry> newOidHashTable = new AtomicReferenceArray<>(hashLength);
+		final AtomicReferenceArray<Entry> newRefHashTable = new AtomicReferenceArray<>(hashLength);
+		final int                         newHashRange    = hashLength - 1;
+
+		/*
+		 * Existing entries are not relinked but copied, since concurrent lookups might still be traversing
+		 * the old hash chains. Orphaned entries are discarded along the way.
+		 */
+		long orphanCount = 0;
+		for(int i = 0; i < oldOidHashTable.length(); i++)
+		{
+			for(Entry e = oldOidHashTable.get(i); e != null; e = e.oidNext)
+			{
+				final Object referent = e.get();
+				if(referent == null)
+				{
+					orphanCount++;
+					continue;
+				}
+
+				final int oidIndex = (int)e.objectId & newHashRange;
+				final int refIndex =      e.refHash  & newHashRange;
+				final Entry copy = new Entry(
+					e.objectId,
+					referent,
+					newOidHashTable.get(oidIndex),
+					newRefHashTable.get(refIndex)
+				);
+				newOidHashTable.lazySet(oidIndex, copy);
+				newRefHashTable.lazySet(refIndex, copy);
+			}
+		}
+		this.size -= orphanCount;
+
+		// publishing via the volatile fields makes all entries written above visible.
+		this.setHashTables(newOidHashTable, newRefHashTable);
+
+		// see DefaultObjectRegistry#internalRebuild
+		this.checkForDecrease();
+
+		this.internalEnsureConstantsColdStorage();
+	}
+
+	// clearing //
+
+	@Override
+	public final synchronized void clear()
+	{
+		this.internalEnsureConstantsColdStorage();
+		this.internalClear();
+		this.internalReregisterConstants();
+	}
+
+	@Override
+	public final synchronized void clearAll()
+	{
+		this.internalClear();
+	}
+
+	private void internalClear()
+	{
+		final AtomicReferenceArray<Entry> oidBuckets = this.oidHashTable;
+		final AtomicReferenceArray<Entry> refBuckets = this.refHashTable;
+
+		for(int i = 0; i < oidBuckets.length(); i++)
+		{
+			oidBuckets.set(i, null);
+			refBuckets.set(i, null);
+		}
+
+		this.size = 0;
+	}
+
+	@Override
+	public final synchronized void truncate()
+	{
+		this.internalEnsureConstantsColdStorage();
+
+		this.internalReset(Math.max(this.constantsColdStorageObjects.length, this.minCapacity));
+
+		this.internalReregisterConstants();
+	}
+
+	@Override
+	public final synchronized void truncateAll()
+	{
+		this.internalReset();
+	}
+
+	// constants handling //
+
+	private void internalReregisterConstants()
+	{
+		final Object[] constantsObjects   = this.constantsColdStorageObjects;
+		final long[]   constantsObjectIds = this.constantsColdStorageObjectIds;
+
+		for(int i = 0; i < constantsObjects.length; i++)
+		{
+			// NOT registerConstant() at this point!
+			this.registerObject(constantsObjectIds[i], constantsObjects[i]);
+		}
+	}
+
+	private EqHashTable<Long, Object> ensureConstantsHotRegistry()
+	{
+		if(this.constantsHotRegistry == null)
+		{
+			final EqHashTable<Long, Object> constantsHotRegistry = EqHashTable.New();
+			for(int i = 0; i < this.constantsColdStorageObjects.length; i++)
+			{
+				constantsHotRegistry.add(this.constantsColdStorageObjectIds[i], this.constantsColdStorageObjects[i]);
+			}
+
+			this.constantsHotRegistry          = constantsHotRegistry;
+			this.constantsColdStorageObjects   = null;
+			this.constantsColdStorageObjectIds = null;
+		}
+
+		return this.constantsHotRegistry;
+	}
+
+	private void internalEnsureConstantsColdStorage()
+	{
+		if(this.constantsColdStorageObjects != null)
+		{
+			return;
+		}
+
+		final EqHashTable<Long, Object> constantsHotRegistry = this.constantsHotRegistry;
+
+		final int      constantCount      = X.checkArrayRange(constantsHotRegistry.size());
+		final Object[] constantsObjects   = new Object[constantCount];
+		final long[]   constantsObjectIds = new long[constantCount];
+
+		int i = 0;
+		for(final KeyValue<Long, Object> e : constantsHotRegistry)
+		{
+			constantsObjects[i] = e.value();
+			constantsObjectIds[i] = e.key();
+			i++;
+		}
+
+		this.constantsHotRegistry          = null;
+		this.constantsColdStorageObjects   = constantsObjects;
+		this.constantsColdStorageObjectIds = constantsObjectIds;
+	}
+
+	// HashStatistics //
+
+	@Override
+	public final synchronized XGettingTable<String, HashStatisticsBucketBased> createHashStatistics()
+	{
+		return EqHashTable.New(
+			KeyValue("PerObjectIds", this.internalCreateHashStatistics(this.oidHashTable, true)),
+			KeyValue("PerObjects"  , this.internalCreateHashStatistics(this.refHashTable, false))
+		);
+	}
+
+	private HashStatisticsBucketBased internalCreateHashStatistics(
+		final AtomicReferenceArray<Entry> hashTable,
+		final boolean                     oidChains
+	)
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+
+		for(int h = 0; h < hashTable.length(); h++)
+		{
+			long bucketLength = 0;
+			for(Entry e = hashTable.get(h); e != null; e = oidChains ? e.oidNext : e.refNext)
+			{
+				if(e.get() != null)
+				{
+					bucketLength++;
+				}
+			}
+
+			final Long count = distributionTable.get(bucketLength);
+			distributionTable.put(bucketLength, count == null ? 1L : count + 1L);
+		}
+
+		distributionTable.keys().sort(XSort::compare);
+		final Long highest = distributionTable.last().key();
+		for(long l = 0; l < highest; l++)
+		{
+			distributionTable.add(l, 0L);
+		}
+		distributionTable.keys().sort(XSort::compare);
+
+		return HashStatisticsBucketBased.New(
+			hashTable.length()             ,
+			this.size                      ,
+			this.hashDensity               ,
+			distributionTable.keys().last(),
+			distributionTable
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+
+	static final class Entry extends WeakReference<Object>
+	{
+		         final long  objectId;
+		         final int   refHash ;
+		// only ever modified under the lock, but read by lock-free lookups.
+		volatile       Entry oidNext, refNext;
+
+		Entry(final long objectId, final Object referent, final Entry oidNext, final Entry refNext)
+		{
+			super(referent);
+			this.objectId = objectId;
+			this.refHash  = DefaultObjectRegistry.hash(referent);
+			this.oidNext  = oidNext;
+			this.refNext  = refNext;
+		}
+
+	}
+
+}
@@ -30,6 +30,7 @@ import one.microstream.collections.types.XEnum;
 import one.microstream.collections.types.XMap;
 import one.microstream.exceptions.MissingFoundationPartException;
 import one.microstream.functional.InstanceDispatcherLogic;
+import one.microstream.memory.DirectBufferPool;
 import one.microstream.persistence.internal.PersistenceTypeHandlerProviderCreating;
 import one.microstream.reference.ObjectSwizzling;
 import one.microstream.reference.Reference;
@@ -2249,7 +2250,8 @@ extends Cloneable<PersistenceFoundation<D, F>>, ByteOrderTargeting.Mutable<F>, P
 
 		protected BufferSizeProviderIncremental ensureBufferSizeProvider()
 		{
-			return new BufferSizeProviderIncremental.Default();
+			// pooled to let storers recycle the buffers of their previous commits once the target has processed them
+			return BufferSizeProviderIncremental.New(DirectBufferPool.New());
 		}
 
 		protected PersistenceFieldEvaluator ensureFieldEvaluatorPersistable()
@@ -92,6 +92,7 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 
 		private final PersistenceObjectRegistry   objectRegistry;
 		private final PersistenceObjectIdProvider oidProvider   ;
+		private final boolean                     lockFreeLookup;
 		
 		private WeakReference<PersistenceLocalObjectIdRegistry<D>>[] localRegistries = X.WeakReferences(1);
 		
@@ -111,6 +112,7 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 			super();
 			this.objectRegistry = objectRegistry;
 			this.oidProvider    = oidProvider   ;
+			this.lockFreeLookup = objectRegistry.hasLockFreeLookups();
 		}
 
 
@@ -145,13 +147,15 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 			}
 		}
 
+		/* Note on the lookup methods:
+		 * Single lookups do not need the global lock, as the registry itself guarantees consistent lookups.
+		 * Either by being synchronized on itself (which is the same lock) or by being lock-free.
+		 */
+		
 		@Override
 		public long lookupObjectId(final Object object)
 		{
-			synchronized(this.objectRegistry)
-			{
-				return this.objectRegistry.lookupObjectId(object);
-			}
+			return this.objectRegistry.lookupObjectId(object);
 		}
 
 		@Override
@@ -160,10 +164,7 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 //			XDebug.debugln(XChars.systemString(this) + " looking up \n" + objectId
 //				+ " -> " + XChars.systemString(this.objectRegistry.lookupObject(objectId))
 //			);
-			synchronized(this.objectRegistry)
-			{
-				return this.objectRegistry.lookupObject(objectId);
-			}
+			return this.objectRegistry.lookupObject(objectId);
 		}
 
 		@Override
@@ -186,7 +187,23 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 			 * 1.) check if already globally known.
 			 * 2.) check if already locally known in on of the other storers (= "local registries)"
 			 * 3.) otherwise, provide and assign a new ObjectId.
+			 * 
+			 * For registries with lock-free lookups, step 1 is done without the lock first: A globally registered
+			 * association can never become invalid while the object is strongly referenced (here), so a hit is
+			 * final and no lock is required for it. This lets storers of already known object graphs run
+			 * concurrently. Other registries lock for every lookup, so a miss would take the lock twice.
 			 */
+			final long registeredObjectId;
+			if(this.lockFreeLookup
+				&& Swizzling.isProperId(registeredObjectId = this.objectRegistry.lookupObjectId(object))
+			)
+			{
+				// eager logic means ALWAYS apply, even if already globally known (= "store full").
+				objectIdRequestor.registerEagerOptional(registeredObjectId, object, optionalHandler);
+				
+				return registeredObjectId;
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				long objectId;
@@ -235,6 +252,16 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		)
 		{
 			// see #ensureObjectId for explaining comments
+			final long registeredObjectId;
+			if(this.lockFreeLookup
+				&& Swizzling.isProperId(registeredObjectId = this.objectRegistry.lookupObjectId(object))
+			)
+			{
+				objectIdRequestor.registerGuaranteed(registeredObjectId, object, optionalHandler);
+				
+				return registeredObjectId;
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				long objectId;
@@ -22,6 +22,7 @@ package one.microstream.persistence.types;
 
 import one.microstream.collections.types.XGettingTable;
 import one.microstream.hashing.HashStatistics;
+import one.microstream.persistence.internal.ConcurrentObjectRegistry;
 import one.microstream.persistence.internal.DefaultObjectRegistry;
 import one.microstream.util.Cloneable;
 
@@ -52,6 +53,17 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 	@Override
 	public Object lookupObject(long objectId);
 	
+	/**
+	 * Tells whether {@link #lookupObjectId(Object)} and {@link #lookupObject(long)} work without locking.
+	 * Only then it pays off for callers to try a lookup before acquiring the registry's lock.
+	 * 
+	 * @return whether single lookups are lock-free.
+	 */
+	public default boolean hasLockFreeLookups()
+	{
+		return false;
+	}
+	
 	public boolean isValid(long objectId, Object object);
 	
 	public void validate(long objectId, Object object);
@@ -163,4 +175,17 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 		return DefaultObjectRegistry.New();
 	}
 	
+	/**
+	 * Creates a registry with lock-free lookups, see {@link ConcurrentObjectRegistry}.<br>
+	 * It can be used instead of the default implementation via
+	 * {@link PersistenceFoundation#setObjectRegistry(PersistenceObjectRegistry)}, e.g.:<br>
+	 * {@code foundation.setObjectRegistry(Persistence.registerJavaConstants(PersistenceObjectRegistry.NewConcurrent()))}
+	 * 
+	 * @return a new, empty {@link ConcurrentObjectRegistry} instance.
+	 */
+	public static ConcurrentObjectRegistry NewConcurrent()
+	{
+		return ConcurrentObjectRegistry.New();
+	}
+	
 }
@@ -42,6 +42,17 @@ public interface PersistenceSource<D>
 
 	public XGettingCollection<? extends D> readByObjectIds(PersistenceIdSet[] oids) throws PersistenceExceptionTransfer;
 	
+	/**
+	 * Signals that data previously read from this source has been completely processed and is not referenced
+	 * anymore, allowing the source to recycle its memory.
+	 * 
+	 * @param data data segments returned by a previous read call.
+	 */
+	public default void releaseData(final XGettingCollection<? extends D> data)
+	{
+		// no-op by default.
+	}
+	
 	/**
 	 * Prepare to read from this source. E.g. open a defined file.
 	 * 
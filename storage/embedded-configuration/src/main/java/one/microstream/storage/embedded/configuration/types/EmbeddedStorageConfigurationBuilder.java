@@ -199,6 +199,30 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setHousekeepingTimeBudget(Duration housekeepingTimeBudget);
 
+	/**
+	 * Whether the housekeeping time budgets shall be adapted to each channel's load and housekeeping backlog,
+	 * between the time budget as a minimum and the maximum time budget.
+	 * Default is <code>false</code>.
+	 *
+	 * @param housekeepingAdaptive
+	 *            whether the housekeeping shall be adaptive
+	 *
+	 * @see #setHousekeepingTimeBudget(Duration)
+	 * @see #setHousekeepingMaximumTimeBudget(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setHousekeepingAdaptive(boolean housekeepingAdaptive);
+
+	/**
+	 * Maximum duration used for each housekeeping cycle if the housekeeping is adaptive.
+	 * Default is 100 milliseconds = 0.1 seconds.
+	 *
+	 * @param housekeepingMaximumTimeBudget
+	 *            the new maximum time budget
+	 *
+	 * @see #setHousekeepingAdaptive(boolean)
+	 */
+	public EmbeddedStorageConfigurationBuilder setHousekeepingMaximumTimeBudget(Duration housekeepingMaximumTimeBudget);
+
 
 	/**
 	 * Abstract threshold value for the lifetime of entities in the cache. See
@@ -266,6 +290,98 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setDataFileCleanupHeadFile(boolean dataFileCleanupHeadFile);
 
+	/**
+	 * The number of file dissolves (value in [0;127]) an entity must survive to be transferred to separate
+	 * "cold" files instead of the current head file. Default is 0, which disables generational file cleanup.
+	 *
+	 * @param dataFileColdGenerationThreshold
+	 *            the new cold generation threshold
+	 *
+	 * @see #setDataFileColdMinimumUseRatio(double)
+	 */
+	public EmbeddedStorageConfigurationBuilder setDataFileColdGenerationThreshold(int dataFileColdGenerationThreshold);
+
+	/**
+	 * The ratio (value in ]0.0;1.0]) of non-gap data contained in a cold file to prevent the file from being
+	 * dissolved. Default is 0.5 (50%).
+	 *
+	 * @param dataFileColdMinimumUseRatio
+	 *            the new minimum use ratio of cold files
+	 *
+	 * @see #setDataFileColdGenerationThreshold(int)
+	 */
+	public EmbeddedStorageConfigurationBuilder setDataFileColdMinimumUseRatio(double dataFileColdMinimumUseRatio);
+
+	/**
+	 * A flag defining whether data files may grow beyond 2 GB, up to 1 TB. Default is false.
+	 * A storage containing such files can only be started with this flag enabled.
+	 *
+	 * @param dataFileLargeFiles
+	 *            whether large data files are enabled
+	 *
+	 * @see #setDataFileMaximumSize(ByteSize)
+	 */
+	public EmbeddedStorageConfigurationBuilder setDataFileLargeFiles(boolean dataFileLargeFiles);
+
+	/**
+	 * Whether load requests may be served by the channels while a store is still being written instead of
+	 * being queued behind it. Default is <code>false</code>.
+	 *
+	 * @param concurrentLoading
+	 *            whether loading concurrently to stores is enabled
+	 */
+	public EmbeddedStorageConfigurationBuilder setConcurrentLoading(boolean concurrentLoading);
+
+	/**
+	 * Maximum time the channels wait for further store requests to join a group commit before writing it.
+	 * They only wait while other store requests are being enqueued. Default is 0, which means to only group
+	 * store requests that queued up while the channels were busy.
+	 *
+	 * @param groupCommitWindow
+	 *            the new group commit window
+	 *
+	 * @see #setGroupCommitByteBudget(ByteSize)
+	 */
+	public EmbeddedStorageConfigurationBuilder setGroupCommitWindow(Duration groupCommitWindow);
+
+	/**
+	 * Maximum size of the data of all store requests written together as one group commit.
+	 * Default is 0, which disables group commits.
+	 *
+	 * @param groupCommitByteBudget
+	 *            the new group commit byte budget
+	 *
+	 * @see #setGroupCommitWindow(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setGroupCommitByteBudget(ByteSize groupCommitByteBudget);
+
+	/**
+	 * A flag defining whether entity data is loaded from memory mapped data files instead of being read
+	 * through the file channel. Only applies to the default NIO file system. Default is <code>false</code>.
+	 *
+	 * @param dataFileMemoryMappedReading
+	 *            whether memory mapped reading is enabled
+	 */
+	public EmbeddedStorageConfigurationBuilder setDataFileMemoryMappedReading(boolean dataFileMemoryMappedReading);
+
+	/**
+	 * A flag defining whether the cached entity data is allocated in large slabs per channel instead of one
+	 * native allocation per entity. Default is <code>false</code>.
+	 *
+	 * @param entityCacheSlabAllocation
+	 *            whether slab allocation is enabled
+	 */
+	public EmbeddedStorageConfigurationBuilder setEntityCacheSlabAllocation(boolean entityCacheSlabAllocation);
+
+	/**
+	 * A flag defining whether every channel maintains a persisted index of the entities in its data files,
+	 * which is used at startup instead of reading the data files. Default is <code>false</code>.
+	 *
+	 * @param dataFileEntityIndex
+	 *            whether the entity index is enabled
+	 */
+	public EmbeddedStorageConfigurationBuilder setDataFileEntityIndex(boolean dataFileEntityIndex);
+
 	/**
 	 * Creates an {@link EmbeddedStorageFoundation} based on the settings of this builder.
 	 *
@@ -504,6 +620,22 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(HOUSEKEEPING_TIME_BUDGET, housekeepingTimeBudget.toString());
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setHousekeepingAdaptive(
+			final boolean housekeepingAdaptive
+		)
+		{
+			return this.set(HOUSEKEEPING_ADAPTIVE, Boolean.toString(housekeepingAdaptive));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setHousekeepingMaximumTimeBudget(
+			final Duration housekeepingMaximumTimeBudget
+		)
+		{
+			return this.set(HOUSEKEEPING_MAXIMUM_TIME_BUDGET, housekeepingMaximumTimeBudget.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setEntityCacheThreshold(
 			final long entityCacheThreshold
@@ -552,6 +684,78 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(DATA_FILE_CLEANUP_HEAD_FILE, Boolean.toString(dataFileCleanupHeadFile));
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDataFileColdGenerationThreshold(
+			final int dataFileColdGenerationThreshold
+		)
+		{
+			return this.set(DATA_FILE_COLD_GENERATION_THRESHOLD, Integer.toString(dataFileColdGenerationThreshold));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDataFileColdMinimumUseRatio(
+			final double dataFileColdMinimumUseRatio
+		)
+		{
+			return this.set(DATA_FILE_COLD_MINIMUM_USE_RATIO, Double.toString(dataFileColdMinimumUseRatio));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDataFileLargeFiles(
+			final boolean dataFileLargeFiles
+		)
+		{
+			return this.set(DATA_FILE_LARGE_FILES, Boolean.toString(dataFileLargeFiles));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setConcurrentLoading(
+			final boolean concurrentLoading
+		)
+		{
+			return this.set(CONCURRENT_LOADING, Boolean.toString(concurrentLoading));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setGroupCommitWindow(
+			final Duration groupCommitWindow
+		)
+		{
+			return this.set(GROUP_COMMIT_WINDOW, groupCommitWindow.toString());
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setGroupCommitByteBudget(
+			final ByteSize groupCommitByteBudget
+		)
+		{
+			return this.set(GROUP_COMMIT_BYTE_BUDGET, groupCommitByteBudget.toString());
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDataFileMemoryMappedReading(
+			final boolean dataFileMemoryMappedReading
+		)
+		{
+			return this.set(DATA_FILE_MEMORY_MAPPED_READING, Boolean.toString(dataFileMemoryMappedReading));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setEntityCacheSlabAllocation(
+			final boolean entityCacheSlabAllocation
+		)
+		{
+			return this.set(ENTITY_CACHE_SLAB_ALLOCATION, Boolean.toString(entityCacheSlabAllocation));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setDataFileEntityIndex(
+			final boolean dataFileEntityIndex
+		)
+		{
+			return this.set(DATA_FILE_ENTITY_INDEX, Boolean.toString(dataFileEntityIndex));
+		}
+
 	}
 
 }
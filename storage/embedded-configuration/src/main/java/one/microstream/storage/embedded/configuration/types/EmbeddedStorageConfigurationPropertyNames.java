@@ -107,6 +107,16 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String HOUSEKEEPING_TIME_BUDGET      = "housekeeping-time-budget";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setHousekeepingAdaptive(boolean)
+	 */
+	public final static String HOUSEKEEPING_ADAPTIVE         = "housekeeping-adaptive";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setHousekeepingMaximumTimeBudget(java.time.Duration)
+	 */
+	public final static String HOUSEKEEPING_MAXIMUM_TIME_BUDGET = "housekeeping-maximum-time-budget";
+
 	/**
 	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheThreshold(long)
 	 */
@@ -137,4 +147,49 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String DATA_FILE_CLEANUP_HEAD_FILE   = "data-file-cleanup-head-file";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDataFileColdGenerationThreshold(int)
+	 */
+	public final static String DATA_FILE_COLD_GENERATION_THRESHOLD = "data-file-cold-generation-threshold";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDataFileColdMinimumUseRatio(double)
+	 */
+	public final static String DATA_FILE_COLD_MINIMUM_USE_RATIO    = "data-file-cold-minimum-use-ratio";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDataFileLargeFiles(boolean)
+	 */
+	public final static String DATA_FILE_LARGE_FILES               = "data-file-large-files";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setConcurrentLoading(boolean)
+	 */
+	public final static String CONCURRENT_LOADING                  = "concurrent-loading";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setGroupCommitWindow(java.time.Duration)
+	 */
+	public final static String GROUP_COMMIT_WINDOW                 = "group-commit-window";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setGroupCommitByteBudget(one.microstream.configuration.types.ByteSize)
+	 */
+	public final static String GROUP_COMMIT_BYTE_BUDGET            = "group-commit-byte-budget";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDataFileMemoryMappedReading(boolean)
+	 */
+	public final static String DATA_FILE_MEMORY_MAPPED_READING     = "data-file-memory-mapped-reading";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheSlabAllocation(boolean)
+	 */
+	public final static String ENTITY_CACHE_SLAB_ALLOCATION        = "entity-cache-slab-allocation";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setDataFileEntityIndex(boolean)
+	 */
+	public final static String DATA_FILE_ENTITY_INDEX              = "data-file-entity-index";
+
 }
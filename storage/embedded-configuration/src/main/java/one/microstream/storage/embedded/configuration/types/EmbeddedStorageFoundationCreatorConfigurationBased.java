@@ -27,8 +27,11 @@ import java.time.Duration;
 import java.util.function.Supplier;
 
 import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.afs.nio.types.NioIoHandler;
+import one.microstream.afs.nio.types.NioPathResolver;
 import one.microstream.afs.types.ADirectory;
 import one.microstream.afs.types.AFileSystem;
+import one.microstream.afs.types.WriteController;
 import one.microstream.chars.XChars;
 import one.microstream.configuration.exceptions.ConfigurationException;
 import one.microstream.configuration.types.ByteSize;
@@ -38,12 +41,16 @@ import one.microstream.storage.embedded.types.EmbeddedStorage;
 import one.microstream.storage.embedded.types.EmbeddedStorageFoundation;
 import one.microstream.storage.types.Storage;
 import one.microstream.storage.types.StorageChannelCountProvider;
+import one.microstream.storage.types.StorageChannelsCreator;
 import one.microstream.storage.types.StorageConfiguration;
 import one.microstream.storage.types.StorageDataFileEvaluator;
 import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageEntityDataAllocator;
 import one.microstream.storage.types.StorageFileNameProvider;
 import one.microstream.storage.types.StorageHousekeepingController;
+import one.microstream.storage.types.StorageHousekeepingControllerAdaptive;
 import one.microstream.storage.types.StorageLiveFileProvider;
+import one.microstream.storage.types.StorageTaskBroker;
 
 /**
  * Creator for a storage foundation, based on a configuration.
@@ -103,7 +110,7 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 		{
 			final AFileSystem fileSystem = this.createFileSystem(
 				STORAGE_FILESYSTEM,
-				NioFileSystem::New
+				this::createDefaultFileSystem
 			);
 			
 			final StorageConfiguration.Builder<?> configBuilder = Storage.ConfigurationBuilder()
@@ -131,7 +138,10 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 
 			return EmbeddedStorage.Foundation(
 				configBuilder.createConfiguration()
-			);
+			)
+			.setTaskBrokerCreator(this.createTaskBrokerCreator())
+			.setChannelCreator(this.createChannelCreator())
+			;
 		}
 		
 		private AFileSystem createFileSystem(
@@ -156,6 +166,18 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 			return defaultFileSystemSupplier.get();
 		}
 
+		private AFileSystem createDefaultFileSystem()
+		{
+			return NioFileSystem.New(
+				NioIoHandler.New(
+					WriteController.Enabled(),
+					NioPathResolver.New()    ,
+					this.configuration.optBoolean(DATA_FILE_MEMORY_MAPPED_READING)
+						.orElse(false)
+				)
+			);
+		}
+
 		private StorageLiveFileProvider createFileProvider(final AFileSystem fileSystem)
 		{
 			final ADirectory baseDirectory = fileSystem.ensureDirectoryPath(
@@ -216,29 +238,48 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 
 		private StorageHousekeepingController createHousekeepingController()
 		{
-			return Storage.HousekeepingController(
-				this.configuration.opt(HOUSEKEEPING_INTERVAL, Duration.class)
-					.map(Duration::toMillis)
-					.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingIntervalMs()),
-				this.configuration.opt(HOUSEKEEPING_TIME_BUDGET, Duration.class)
-					.map(Duration::toNanos)
-					.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingTimeBudgetNs())
-			);
+			final long housekeepingIntervalMs = this.configuration.opt(HOUSEKEEPING_INTERVAL, Duration.class)
+				.map(Duration::toMillis)
+				.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingIntervalMs())
+			;
+			final long housekeepingTimeBudgetNs = this.configuration.opt(HOUSEKEEPING_TIME_BUDGET, Duration.class)
+				.map(Duration::toNanos)
+				.orElse(StorageHousekeepingController.Defaults.defaultHousekeepingTimeBudgetNs())
+			;
+			
+			if(this.configuration.optBoolean(HOUSEKEEPING_ADAPTIVE).orElse(false))
+			{
+				return Storage.HousekeepingControllerAdaptive(
+					housekeepingIntervalMs  ,
+					housekeepingTimeBudgetNs,
+					this.configuration.opt(HOUSEKEEPING_MAXIMUM_TIME_BUDGET, Duration.class)
+						.map(Duration::toNanos)
+						.orElse(StorageHousekeepingControllerAdaptive.Defaults.defaultMaximumTimeBudgetNs())
+				);
+			}
+			
+			return Storage.HousekeepingController(housekeepingIntervalMs, housekeepingTimeBudgetNs);
 		}
 
 		private StorageDataFileEvaluator createDataFileEvaluator()
 		{
 			return Storage.DataFileEvaluator(
 				this.configuration.opt(DATA_FILE_MINIMUM_SIZE, ByteSize.class)
-					.map(byteSize -> (int)byteSize.bytes())
-					.orElse(StorageDataFileEvaluator.Defaults.defaultFileMinimumSize()),
+					.map(ByteSize::bytes)
+					.orElse((long)StorageDataFileEvaluator.Defaults.defaultFileMinimumSize()),
 				this.configuration.opt(DATA_FILE_MAXIMUM_SIZE, ByteSize.class)
-					.map(byteSize -> (int)byteSize.bytes())
-					.orElse(StorageDataFileEvaluator.Defaults.defaultFileMaximumSize()),
+					.map(ByteSize::bytes)
+					.orElse((long)StorageDataFileEvaluator.Defaults.defaultFileMaximumSize()),
 				this.configuration.optDouble(DATA_FILE_MINIMUM_USE_RATIO)
 					.orElse(StorageDataFileEvaluator.Defaults.defaultMinimumUseRatio()),
 				this.configuration.optBoolean(DATA_FILE_CLEANUP_HEAD_FILE)
-					.orElse(StorageDataFileEvaluator.Defaults.defaultResolveHeadfile())
+					.orElse(StorageDataFileEvaluator.Defaults.defaultResolveHeadfile()),
+				this.configuration.optInteger(DATA_FILE_COLD_GENERATION_THRESHOLD)
+					.orElse(StorageDataFileEvaluator.Defaults.defaultColdGenerationThreshold()),
+				this.configuration.optDouble(DATA_FILE_COLD_MINIMUM_USE_RATIO)
+					.orElse(StorageDataFileEvaluator.Defaults.defaultColdMinimumUseRatio()),
+				this.configuration.optBoolean(DATA_FILE_LARGE_FILES)
+					.orElse(StorageDataFileEvaluator.Defaults.defaultLargeDataFiles())
 			);
 		}
 
@@ -253,6 +294,31 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 			);
 		}
 		
+		private StorageTaskBroker.Creator createTaskBrokerCreator()
+		{
+			return Storage.TaskBrokerCreator(
+				this.configuration.optBoolean(CONCURRENT_LOADING)
+					.orElse(false),
+				this.configuration.opt(GROUP_COMMIT_WINDOW, Duration.class)
+					.map(Duration::toNanos)
+					.orElse(0L),
+				this.configuration.opt(GROUP_COMMIT_BYTE_BUDGET, ByteSize.class)
+					.map(ByteSize::bytes)
+					.orElse(0L)
+			);
+		}
+		
+		private StorageChannelsCreator createChannelCreator()
+		{
+			return Storage.ChannelsCreator(
+				false,
+				this.configuration.optBoolean(ENTITY_CACHE_SLAB_ALLOCATION).orElse(false)
+					? StorageEntityDataAllocator.Creator.Slabbed()
+					: StorageEntityDataAllocator.Creator.Direct(),
+				this.configuration.optBoolean(DATA_FILE_ENTITY_INDEX).orElse(false)
+			);
+		}
+		
 		private String createDirectoryPath(
 			final String path
 		)
@@ -125,6 +125,16 @@ public interface EmbeddedStorageBinarySource extends PersistenceSource<Binary>
 			}
 		}
 
+		@Override
+		public void releaseData(final XGettingCollection<? extends Binary> data)
+		{
+			// loaded chunks are exclusively created per request, so their buffers can safely be recycled.
+			for(final Binary chunk : data)
+			{
+				chunk.iterateChannelChunks(Binary::releaseBuffers);
+			}
+		}
+
 //		@Override
 //		public XGettingCollection<? extends Binary> readByTypeId(final long typeId) throws PersistenceExceptionTransfer
 //		{
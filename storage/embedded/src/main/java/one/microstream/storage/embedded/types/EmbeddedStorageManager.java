@@ -52,6 +52,7 @@ import one.microstream.storage.types.StorageEntityTypeExportFileProvider;
 import one.microstream.storage.types.StorageEntityTypeExportStatistics;
 import one.microstream.storage.types.StorageEntityTypeHandler;
 import one.microstream.storage.types.StorageIdAnalysis;
+import one.microstream.storage.types.StorageIncrementalBackup;
 import one.microstream.storage.types.StorageKillable;
 import one.microstream.storage.types.StorageLiveFileProvider;
 import one.microstream.storage.types.StorageManager;
@@ -509,6 +510,15 @@ public interface EmbeddedStorageManager extends StorageManager
 			this.singletonConnection().issueFullBackup(targetFileProvider, typeDictionaryExporter);
 		}
 		
+		@Override
+		public final void issueIncrementalBackup(
+			final StorageIncrementalBackup          backup                ,
+			final PersistenceTypeDictionaryExporter typeDictionaryExporter
+		)
+		{
+			this.singletonConnection().issueIncrementalBackup(backup, typeDictionaryExporter);
+		}
+		
 		@Override
 		public final StorageRawFileStatistics createStorageStatistics()
 		{
@@ -292,6 +292,117 @@ public final class Storage
 		return StorageHousekeepingController.New(housekeepingIntervalMs, housekeepingTimeBudgetNs);
 	}
 
+	/**
+	 * Creates a new {@link StorageHousekeepingControllerAdaptive}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageHousekeepingControllerAdaptive#New(long, long, long)}.
+	 *
+	 * @see Storage#HousekeepingController(long, long)
+	 * @see StorageHousekeepingControllerAdaptive#New(long, long, long)
+	 */
+	public static final StorageHousekeepingControllerAdaptive HousekeepingControllerAdaptive(
+		final long housekeepingIntervalMs,
+		final long minimumTimeBudgetNs   ,
+		final long maximumTimeBudgetNs
+	)
+	{
+		return StorageHousekeepingControllerAdaptive.New(
+			housekeepingIntervalMs,
+			minimumTimeBudgetNs   ,
+			maximumTimeBudgetNs
+		);
+	}
+
+	/**
+	 * Creates a new {@link StorageTaskBroker.Creator} to be set via
+	 * {@link StorageFoundation#setTaskBrokerCreator(StorageTaskBroker.Creator)}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageTaskBroker.Creator.Default#Default(boolean)}.
+	 *
+	 * @param concurrentLoading whether load requests may be served by the channels while a store is still
+	 *        being written instead of being queued behind it.
+	 *
+	 * @return a new {@link StorageTaskBroker.Creator} instance.
+	 */
+	public static final StorageTaskBroker.Creator TaskBrokerCreator(final boolean concurrentLoading)
+	{
+		return new StorageTaskBroker.Creator.Default(concurrentLoading);
+	}
+
+	/**
+	 * Creates a new {@link StorageTaskBroker.Creator} with group commits to be set via
+	 * {@link StorageFoundation#setTaskBrokerCreator(StorageTaskBroker.Creator)}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageTaskBroker.Creator.Default#Default(boolean, long, long)}.
+	 *
+	 * @param concurrentLoading whether load requests may be served by the channels while a store is still
+	 *        being written instead of being queued behind it.
+	 * @param groupCommitWindowNs the maximum time in nanoseconds the channels wait for store requests being
+	 *        enqueued to join a group commit before writing it.
+	 * @param groupCommitByteBudget the maximum byte count of a group commit's data. 0 disables group commits.
+	 *
+	 * @return a new {@link StorageTaskBroker.Creator} instance.
+	 *
+	 * @see Storage#TaskBrokerCreator(boolean)
+	 */
+	public static final StorageTaskBroker.Creator TaskBrokerCreator(
+		final boolean concurrentLoading    ,
+		final long    groupCommitWindowNs  ,
+		final long    groupCommitByteBudget
+	)
+	{
+		return new StorageTaskBroker.Creator.Default(concurrentLoading, groupCommitWindowNs, groupCommitByteBudget);
+	}
+
+	/**
+	 * Creates a new {@link StorageChannelsCreator} to be set via
+	 * {@link StorageFoundation#setChannelCreator(StorageChannelsCreator)}.
+	 * <p>
+	 * For a detailed explanation see
+	 * {@link StorageChannelsCreator.Default#Default(boolean, StorageEntityDataAllocator.Creator)}.
+	 *
+	 * @param prefetchTransfers whether the live data of storage files being dissolved by the file cleanup
+	 *        is read ahead by a background thread per channel.
+	 * @param entityDataAllocatorCreator the creator of the allocators for the channels' cached entity data.
+	 *
+	 * @return a new {@link StorageChannelsCreator} instance.
+	 *
+	 * @see Storage#ChannelsCreator(boolean, StorageEntityDataAllocator.Creator, boolean)
+	 */
+	public static final StorageChannelsCreator ChannelsCreator(
+		final boolean                            prefetchTransfers         ,
+		final StorageEntityDataAllocator.Creator entityDataAllocatorCreator
+	)
+	{
+		return new StorageChannelsCreator.Default(prefetchTransfers, entityDataAllocatorCreator);
+	}
+
+	/**
+	 * Creates a new {@link StorageChannelsCreator} to be set via
+	 * {@link StorageFoundation#setChannelCreator(StorageChannelsCreator)}.
+	 * <p>
+	 * For a detailed explanation see
+	 * {@link StorageChannelsCreator.Default#Default(boolean, StorageEntityDataAllocator.Creator, boolean)}.
+	 *
+	 * @param prefetchTransfers whether the live data of storage files being dissolved by the file cleanup
+	 *        is read ahead by a background thread per channel.
+	 * @param entityDataAllocatorCreator the creator of the allocators for the channels' cached entity data.
+	 * @param entityIndex whether every channel maintains a persisted index of its data files' entities
+	 *        to speed up the startup. Disabled by default.
+	 *
+	 * @return a new {@link StorageChannelsCreator} instance.
+	 *
+	 * @see Storage#ChannelsCreator(boolean, StorageEntityDataAllocator.Creator)
+	 */
+	public static final StorageChannelsCreator ChannelsCreator(
+		final boolean                            prefetchTransfers         ,
+		final StorageEntityDataAllocator.Creator entityDataAllocatorCreator,
+		final boolean                            entityIndex
+	)
+	{
+		return new StorageChannelsCreator.Default(prefetchTransfers, entityDataAllocatorCreator, entityIndex);
+	}
+
 	/**
 	 * Creates a new {@link StorageEntityCacheEvaluator}.
 	 * <p>
@@ -431,6 +542,64 @@ public final class Storage
 		return StorageDataFileEvaluator.New(fileMinimumSize, fileMaximumSize, minimumUseRatio, cleanUpHeadFile);
 	}
 
+	/**
+	 * Creates a new {@link StorageDataFileEvaluator} with generational file cleanup.
+	 * <p>
+	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(int, int, double, boolean, int, double)}.
+	 *
+	 * @see Storage#DataFileEvaluator(int, int, double, boolean)
+	 * @see StorageDataFileEvaluator#New(int, int, double, boolean, int, double)
+	 */
+	public static final StorageDataFileEvaluator DataFileEvaluator(
+		final int     fileMinimumSize        ,
+		final int     fileMaximumSize        ,
+		final double  minimumUseRatio        ,
+		final boolean cleanUpHeadFile        ,
+		final int     coldGenerationThreshold,
+		final double  coldMinimumUseRatio
+	)
+	{
+		return StorageDataFileEvaluator.New(
+			fileMinimumSize        ,
+			fileMaximumSize        ,
+			minimumUseRatio        ,
+			cleanUpHeadFile        ,
+			coldGenerationThreshold,
+			coldMinimumUseRatio
+		);
+	}
+
+	/**
+	 * Creates a new {@link StorageDataFileEvaluator} with generational file cleanup and the opt-in
+	 * for data files larger than {@link Integer#MAX_VALUE} bytes.
+	 * <p>
+	 * For a detailed explanation see
+	 * {@link StorageDataFileEvaluator#New(long, long, double, boolean, int, double, boolean)}.
+	 *
+	 * @see Storage#DataFileEvaluator(int, int, double, boolean, int, double)
+	 * @see StorageDataFileEvaluator#New(long, long, double, boolean, int, double, boolean)
+	 */
+	public static final StorageDataFileEvaluator DataFileEvaluator(
+		final long    fileMinimumSize        ,
+		final long    fileMaximumSize        ,
+		final double  minimumUseRatio        ,
+		final boolean cleanUpHeadFile        ,
+		final int     coldGenerationThreshold,
+		final double  coldMinimumUseRatio    ,
+		final boolean largeDataFiles
+	)
+	{
+		return StorageDataFileEvaluator.New(
+			fileMinimumSize        ,
+			fileMaximumSize        ,
+			minimumUseRatio        ,
+			cleanUpHeadFile        ,
+			coldGenerationThreshold,
+			coldMinimumUseRatio    ,
+			largeDataFiles
+		);
+	}
+
 	/**
 	 * @deprecated replaced by {@link #BackupSetup(Path)}
 	 */
@@ -55,6 +55,18 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, Chunk chunkData);
 
+	/**
+	 * Stores the passed data like {@link #storeEntities(long, Chunk)}, but executes the passed logic between
+	 * writing slices of it, see {@link StorageFileManager#storeChunks(long, ByteBuffer[], Runnable)}.
+	 *
+	 * @param timestamp the timestamp of the store.
+	 * @param chunkData the data to be stored.
+	 * @param betweenSlices the logic to be executed between the written slices.
+	 *
+	 * @return the stored buffers and their storage positions.
+	 */
+	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, Chunk chunkData, Runnable betweenSlices);
+
 	public void rollbackChunkStorage();
 
 	public void commitChunkStorage();
@@ -72,6 +84,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public void exportData(StorageLiveFileProvider fileProvider);
 
+	public StorageIncrementalBackup.ChannelCapture captureDataIncremental(StorageIncrementalBackup backup);
+
 	// (19.07.2014 TM)TODO: refactor storage typing to avoid classes in public API
 	public StorageEntityCache.Default prepareImportData();
 
@@ -141,6 +155,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		 */
 		private long housekeepingIntervalBudgetNs;
 		
+		/**
+		 * The nanosecond timestamp of the last load update and the time spent waiting for tasks since then.
+		 * @see StorageHousekeepingController#updateLoad(double, double, double, long)
+		 */
+		private long loadUpdateTimeNs, idleTimeNs;
+		
 		private boolean active;
 		
 
@@ -192,6 +212,10 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			tasks.add(this::houseKeepingCheckFileCleanup);
 			tasks.add(this::houseKeepingGarbageCollection);
 			tasks.add(this::houseKeepingEntityCacheCheck);
+			if(this.fileManager.isEntityIndexEnabled())
+			{
+				tasks.add(this::houseKeepingEntityIndexUpdate);
+			}
 			// (16.06.2020 TM)TODO: priv#49: housekeeping task that closes data files after a timeout.
 
 			return tasks.toArray(HousekeepingTask.class);
@@ -213,6 +237,10 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 			if((currentNanotime = System.nanoTime()) >= this.housekeepingIntervalBoundTimeNs)
 			{
+				if(this.housekeepingController.isLoadAdaptive())
+				{
+					this.updateHousekeepingLoad(currentNanotime);
+				}
 				this.housekeepingIntervalBoundTimeNs = currentNanotime
 					+ Storage.millisecondsToNanoseconds(this.housekeepingController.housekeepingIntervalMs())
 				;
@@ -263,6 +291,26 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 //			DEBUGStorage.println(this.channelIndex + " ending housekeeping, total time (ns) = " + duration + " of " + budget + "(" + ratio + "%)");
 		}
 		
+		private void updateHousekeepingLoad(final long currentNanotime)
+		{
+			final long elapsedTimeNs = currentNanotime - this.loadUpdateTimeNs;
+			
+			// the first interval has no meaningful idle time, yet.
+			final double idleRatio = this.loadUpdateTimeNs != 0 && elapsedTimeNs > 0
+				? Math.min((double)this.idleTimeNs / elapsedTimeNs, 1.0)
+				: 0.0
+			;
+			this.loadUpdateTimeNs = currentNanotime;
+			this.idleTimeNs       = 0;
+			
+			this.housekeepingController.updateLoad(
+				idleRatio                          ,
+				this.fileManager.deadDataRatio()   ,
+				this.entityCache.cacheUsageRatio() ,
+				this.entityCache.pendingMarkCount()
+			);
+		}
+		
 		@Override
 		public boolean performIssuedGarbageCollection(final long nanoTimeBudget)
 		{
@@ -391,6 +439,56 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.housekeepingBroker.performEntityCacheCheck(this, nanoTimeBudget);
 		}
 
+		final boolean houseKeepingEntityIndexUpdate()
+		{
+			// the index update is file work, so it shares the file check budget.
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.housekeepingController.fileCheckTimeBudgetNs()
+			);
+			
+			return this.fileManager.incrementalEntityIndexUpdate(XTime.calculateNanoTimeBudgetBound(nanoTimeBudget));
+		}
+
+		/**
+		 * Waits for the next task, but uses the waiting time to process pending garbage collection marking
+		 * in slices of {@link StorageHousekeepingController#idleMarkingTimeSliceNs()}, checking for a new task
+		 * between every two slices. This way, the marking progresses concurrently to the processing of tasks
+		 * instead of only within the housekeeping budget.
+		 */
+		private StorageTask awaitNextTask(final StorageTask processedTask, final long waitTimeMs)
+			throws InterruptedException
+		{
+			final long markingTimeSliceNs = this.housekeepingController.idleMarkingTimeSliceNs();
+			if(markingTimeSliceNs <= 0)
+			{
+				return processedTask.awaitNext(waitTimeMs);
+			}
+			
+			final long waitBoundNs = System.nanoTime() + Storage.millisecondsToNanoseconds(waitTimeMs);
+			
+			StorageTask nextTask;
+			while((nextTask = processedTask.awaitNext(0)) == null
+				&& this.entityCache.incrementalIdleMark(System.nanoTime() + markingTimeSliceNs)
+			)
+			{
+				if(System.nanoTime() >= waitBoundNs)
+				{
+					// time for housekeeping again
+					return null;
+				}
+			}
+			
+			if(nextTask != null)
+			{
+				return nextTask;
+			}
+			
+			// no task and no marking work, so fall back to plain waiting for the remaining time.
+			return processedTask.awaitNext(
+				Storage.nanosecondsToMilliseconds(waitBoundNs - System.nanoTime())
+			);
+		}
+
 		private void work() throws InterruptedException
 		{
 			final StorageOperationController    operationController    = this.operationController   ;
@@ -441,10 +539,27 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 					break;
 				}
 				
-//				final long waitStart = System.currentTimeMillis();
+				final long waitStartTimeNs = System.nanoTime();
 
-				// check and wait for the next task to come in
-				if((currentTask = processedTask.awaitNext(housekeepingController.housekeepingIntervalMs())) == null)
+				// check and wait for the next task to come in, marking on the side (same fatality as housekeeping)
+				try
+				{
+					currentTask = this.awaitNextTask(processedTask, housekeepingController.housekeepingIntervalMs());
+					this.idleTimeNs += System.nanoTime() - waitStartTimeNs;
+				}
+				catch(final InterruptedException e)
+				{
+					throw e;
+				}
+				catch(final Throwable t)
+				{
+					this.eventLogger.logDisruption(this, t);
+					this.operationController.setChannelProcessingEnabled(false);
+					this.eventLogger.logChannelProcessingDisabled(this);
+					break;
+				}
+				
+				if(currentTask == null)
 				{
 //					DEBUGStorage.println(this.channelIndex + " issuing GC");
 //					if(waitStart + timeConfiguration.housekeepingInterval() < System.currentTimeMillis())
@@ -539,6 +654,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 		@Override
 		public KeyValue<ByteBuffer[], long[]> storeEntities(final long timestamp, final Chunk chunkData)
+		{
+			return this.storeEntities(timestamp, chunkData, null);
+		}
+		
+		@Override
+		public KeyValue<ByteBuffer[], long[]> storeEntities(
+			final long     timestamp    ,
+			final Chunk    chunkData    ,
+			final Runnable betweenSlices
+		)
 		{
 			// reset even if there is no new data to account for (potential) new data in other channel
 			this.entityCache.registerPendingStoreUpdate();
@@ -548,7 +673,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// (11.03.2019 TM)FIXME: priv#74: Pre-Write EntityValidator
 			
 			// set new data flag, even if chunk has no data to account for (potential) data in other channels
-			return X.KeyValue(buffers, this.fileManager.storeChunks(timestamp, buffers));
+			return X.KeyValue(buffers, this.fileManager.storeChunks(timestamp, buffers, betweenSlices));
 		}
 
 		@Override
@@ -624,6 +749,14 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.fileManager.exportData(fileProvider);
 		}
 
+		@Override
+		public final StorageIncrementalBackup.ChannelCapture captureDataIncremental(
+			final StorageIncrementalBackup backup
+		)
+		{
+			return this.fileManager.captureDataIncremental(backup);
+		}
+
 		@Override
 		public StorageEntityCache.Default prepareImportData()
 		{
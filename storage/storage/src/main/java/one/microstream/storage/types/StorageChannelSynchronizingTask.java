@@ -30,6 +30,10 @@ public interface StorageChannelSynchronizingTask extends StorageChannelTask
 
 	public void waitOnProcessing() throws InterruptedException;
 
+	public void waitOnProcessing(StorageChannel channel) throws InterruptedException;
+
+	public boolean attachConcurrentTask(StorageTask task);
+
 
 
 	public abstract class AbstractCompletingTask<R>
@@ -107,13 +111,27 @@ public interface StorageChannelSynchronizingTask extends StorageChannelTask
 			return null;
 		}
 
+		@Override
+		protected void abort(final StorageChannel channel) throws InterruptedException
+		{
+			try
+			{
+				// concurrently attached tasks must be processed by every channel, even by a failed one.
+				this.waitOnProcessing(channel);
+			}
+			finally
+			{
+				super.abort(channel);
+			}
+		}
+
 		@Override
 		protected final void complete(final StorageChannel channel, final R result) throws InterruptedException
 		{
 			try
 			{
 				// wait for all other processing threads to report in before completing (e.g. committing a write)
-				this.waitOnProcessing();
+				this.waitOnProcessing(channel);
 			}
 			catch(final InterruptedException e)
 			{
@@ -20,6 +20,7 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import one.microstream.collections.BulkList;
 import one.microstream.storage.exceptions.StorageException;
 
 public interface StorageChannelTask extends StorageTask
@@ -46,6 +47,10 @@ public interface StorageChannelTask extends StorageTask
 		private volatile boolean     hasProblems;
 		private final    Throwable[] problems   ; // unshared instance conveniently abused as a second lock
 
+		// tasks processed by every channel while waiting for this task's processing phase to end. Guarded by problems.
+		private BulkList<StorageTask>        concurrentTasks      ;
+		private int[]                        concurrentTaskCursors;
+
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -102,6 +107,14 @@ public interface StorageChannelTask extends StorageTask
 			this.incrementProcessingProgress();
 		}
 
+		/* cleanly aborts the task after a problem occured while processing.
+		 * Called after the processing has been finished.
+		 */
+		protected void abort(final StorageChannel channel) throws InterruptedException
+		{
+			this.incrementCompletionProgress();
+		}
+
 		/* ultimate completion that has to be done in any case (resource closing etc.),
 		 * no matter what problems occured before.
 		 */
@@ -197,6 +210,93 @@ public interface StorageChannelTask extends StorageTask
 			}
 		}
 
+		/**
+		 * Waits for all channels to finish processing this task, like {@link #waitOnProcessing()}, but meanwhile
+		 * processes all tasks that have been attached via {@link #attachConcurrentTask(StorageTask)}.
+		 * Once processing is finished, no more tasks can be attached, so every channel processes the same set
+		 * of concurrent tasks.
+		 * 
+		 * @param channel the channel waiting for this task's processing to finish.
+		 * 
+		 * @throws InterruptedException if the waiting channel thread gets interrupted.
+		 */
+		public final void waitOnProcessing(final StorageChannel channel) throws InterruptedException
+		{
+			for(StorageTask task; (task = this.pollConcurrentTask(channel.channelIndex(), true)) != null;)
+			{
+				// processed outside the lock to not block the progress of other channels
+				task.processBy(channel);
+			}
+		}
+		
+		/**
+		 * Processes all tasks attached via {@link #attachConcurrentTask(StorageTask)} that the passed channel
+		 * has not processed yet, without waiting for further ones to be attached. This allows a channel to serve
+		 * attached tasks while it is still processing this task, e.g. between writing parts of its data.
+		 * 
+		 * @param channel the channel processing this task.
+		 * 
+		 * @throws InterruptedException if the processing channel thread gets interrupted.
+		 */
+		public final void processConcurrentTasks(final StorageChannel channel) throws InterruptedException
+		{
+			for(StorageTask task; (task = this.pollConcurrentTask(channel.channelIndex(), false)) != null;)
+			{
+				task.processBy(channel);
+			}
+		}
+
+		private StorageTask pollConcurrentTask(final int channelIndex, final boolean wait) throws InterruptedException
+		{
+			synchronized(this.problems)
+			{
+				while(true)
+				{
+					if(this.concurrentTasks != null && this.concurrentTaskCursors[channelIndex] < this.concurrentTasks.size())
+					{
+						return this.concurrentTasks.at(this.concurrentTaskCursors[channelIndex]++);
+					}
+					if(!wait || this.remainingForProcessing == 0)
+					{
+						return null;
+					}
+					this.problems.wait();
+				}
+			}
+		}
+
+		/**
+		 * Attaches the passed task to be processed by every channel while it processes this task or waits for
+		 * the processing of this task to be finished by all channels. See {@link #waitOnProcessing(StorageChannel)}
+		 * and {@link #processConcurrentTasks(StorageChannel)}.
+		 * <p>
+		 * Attaching is only possible as long as this task's processing phase has not ended yet, which
+		 * is indicated by the returned value.
+		 * 
+		 * @param task the task to be processed concurrently to this task's processing phase.
+		 * 
+		 * @return whether the passed task has been attached.
+		 */
+		public final boolean attachConcurrentTask(final StorageTask task)
+		{
+			synchronized(this.problems)
+			{
+				if(this.remainingForProcessing == 0)
+				{
+					return false;
+				}
+				if(this.concurrentTasks == null)
+				{
+					this.concurrentTasks       = BulkList.New();
+					this.concurrentTaskCursors = new int[this.problems.length];
+				}
+				this.concurrentTasks.add(task);
+				this.problems.notifyAll();
+				
+				return true;
+			}
+		}
+
 		public final void incrementProcessingProgress()
 		{
 			synchronized(this.problems)
@@ -223,14 +323,13 @@ public interface StorageChannelTask extends StorageTask
 				{
 					// a problem occuring while processing gets reported and the task gets cleanly aborted.
 					this.addProblem(storageChannel.channelIndex(), e);
-					this.incrementCompletionProgress();
-					return;
-				}
-				finally
-				{
-					// processing is finishing in any case (e.g. notifying other thread about the task's progress)
 					this.finishProcessing();
+					this.abort(storageChannel);
+					return;
 				}
+				
+				// processing is finishing in any case (e.g. notifying other thread about the task's progress)
+				this.finishProcessing();
 
 				// task gets completed (must be done after finishing the processing)
 				this.complete(storageChannel, result);
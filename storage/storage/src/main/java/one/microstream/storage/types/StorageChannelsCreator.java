@@ -20,8 +20,10 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+
+import one.microstream.memory.DirectBufferPool;
 import one.microstream.memory.XMemory;
-import one.microstream.util.BufferSizeProvider;
 import one.microstream.util.BufferSizeProviderIncremental;
 
 public interface StorageChannelsCreator
@@ -55,6 +57,79 @@ public interface StorageChannelsCreator
 
 	public static final class Default implements StorageChannelsCreator
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final boolean                            prefetchTransfers         ;
+		private final StorageEntityDataAllocator.Creator entityDataAllocatorCreator;
+		private final boolean                            entityIndex               ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		public Default()
+		{
+			this(false);
+		}
+		
+		/**
+		 * @param prefetchTransfers whether the live data of storage files being dissolved by the file cleanup
+		 *        is read ahead by a background thread per channel instead of being copied by the channel itself.
+		 *
+		 * @see StorageTransferPrefetcher
+		 */
+		public Default(final boolean prefetchTransfers)
+		{
+			this(prefetchTransfers, StorageEntityDataAllocator.Creator.Direct());
+		}
+		
+		/**
+		 * @param prefetchTransfers whether the live data of storage files being dissolved by the file cleanup
+		 *        is read ahead by a background thread per channel instead of being copied by the channel itself.
+		 * @param entityDataAllocatorCreator the creator of the allocators for the channels' cached entity data,
+		 *        e.g. {@link StorageEntityDataAllocator.Creator#Slabbed()}.
+		 *
+		 * @see StorageTransferPrefetcher
+		 * @see StorageEntityDataAllocator
+		 */
+		public Default(
+			final boolean                            prefetchTransfers         ,
+			final StorageEntityDataAllocator.Creator entityDataAllocatorCreator
+		)
+		{
+			this(prefetchTransfers, entityDataAllocatorCreator, false);
+		}
+		
+		/**
+		 * @param prefetchTransfers whether the live data of storage files being dissolved by the file cleanup
+		 *        is read ahead by a background thread per channel instead of being copied by the channel itself.
+		 * @param entityDataAllocatorCreator the creator of the allocators for the channels' cached entity data,
+		 *        e.g. {@link StorageEntityDataAllocator.Creator#Slabbed()}.
+		 * @param entityIndex whether every channel maintains a persisted index of its data files' entities
+		 *        to register the indexed entities from at startup instead of reading the data files.
+		 *
+		 * @see StorageTransferPrefetcher
+		 * @see StorageEntityDataAllocator
+		 * @see StorageEntityIndex
+		 */
+		public Default(
+			final boolean                            prefetchTransfers         ,
+			final StorageEntityDataAllocator.Creator entityDataAllocatorCreator,
+			final boolean                            entityIndex
+		)
+		{
+			super();
+			this.prefetchTransfers          =         prefetchTransfers          ;
+			this.entityDataAllocatorCreator = notNull(entityDataAllocatorCreator);
+			this.entityIndex                =         entityIndex                ;
+		}
+		
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// override methods //
 		/////////////////////
@@ -103,11 +178,22 @@ public interface StorageChannelsCreator
 				eventLogger
 			);
 			
-			final BufferSizeProviderIncremental loadingBufferSizeProvider = BufferSizeProviderIncremental.New(loadingBufferSize);
-			final BufferSizeProvider readingDefaultBufferSizeProvider     = BufferSizeProvider.New(readingDefaultBufferSize);
-
 			for(int i = 0; i < channels.length; i++)
 			{
+				// per-channel pool recycling the channel's loading chunks and oversized reading buffers
+				final DirectBufferPool              bufferPool                       = DirectBufferPool.New();
+				final BufferSizeProviderIncremental loadingBufferSizeProvider        =
+					BufferSizeProviderIncremental.New(loadingBufferSize, bufferPool)
+				;
+				final BufferSizeProviderIncremental readingDefaultBufferSizeProvider =
+					BufferSizeProviderIncremental.New(readingDefaultBufferSize, bufferPool)
+				;
+
+				// off-heap memory for the entity cache's cached entity data
+				final StorageEntityDataAllocator dataAllocator =
+					this.entityDataAllocatorCreator.createEntityDataAllocator(i)
+				;
+
 				// entity cache to register entities, cache entity data, perform garbage collection
 				final StorageEntityCache.Default entityCache = new StorageEntityCache.Default(
 					i                                                ,
@@ -120,6 +206,7 @@ public interface StorageChannelsCreator
 					rootTypeId                                       ,
 					markQueues[i]                                    ,
 					eventLogger                                      ,
+					dataAllocator                                    ,
 					markingWaitTimeMs                                ,
 					markBufferLength
 				);
@@ -135,7 +222,9 @@ public interface StorageChannelsCreator
 					writeController                 ,
 					writerProvider.provideWriter(i) ,
 					readingDefaultBufferSizeProvider,
-					backupHandler
+					backupHandler                   ,
+					this.prefetchTransfers ? StorageTransferPrefetcher.New(i, bufferPool) : null,
+					this.entityIndex       ? StorageEntityIndex.New(liveFileProvider, i)  : null
 				);
 
 				// required to resolve the initializer cyclic depedency
@@ -148,7 +237,7 @@ public interface StorageChannelsCreator
 					taskBroker               ,
 					operationController      ,
 					housekeepingBroker       ,
-					housekeepingController   ,
+					housekeepingController.provideChannelController(i),
 					entityCache              ,
 					switchByteOrder          ,
 					loadingBufferSizeProvider,
@@ -22,6 +22,7 @@ package one.microstream.storage.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.ADirectory;
@@ -253,6 +254,39 @@ public interface StorageConnection extends Persister
 		StorageLiveFileProvider           targetFileProvider    ,
 		PersistenceTypeDictionaryExporter typeDictionaryExporter
 	);
+	
+	/**
+	 * Issues an incremental backup into the passed directory. Only the data written since the last
+	 * incremental backup into the same directory is shipped, the first one ships everything.
+	 * The channels only capture the lengths of their files, which are then copied in parallel by one backup thread
+	 * per channel while the storage keeps processing requests.
+	 * 
+	 * @param targetDirectory the directory to write the backup data into
+	 * 
+	 * @see StorageIncrementalBackup
+	 */
+	public default void issueIncrementalBackup(final ADirectory targetDirectory)
+	{
+		this.issueIncrementalBackup(
+			StorageIncrementalBackup.New(targetDirectory),
+			PersistenceTypeDictionaryExporter.New(
+				PersistenceTypeDictionaryFileHandler.New(targetDirectory)
+			)
+		);
+	}
+	
+	/**
+	 * Issues an incremental backup using the passed {@link StorageIncrementalBackup}, e.g. one with compression.
+	 * 
+	 * @param backup the incremental backup to be continued
+	 * @param typeDictionaryExporter
+	 * 
+	 * @see #issueIncrementalBackup(ADirectory)
+	 */
+	public void issueIncrementalBackup(
+		StorageIncrementalBackup          backup                ,
+		PersistenceTypeDictionaryExporter typeDictionaryExporter
+	);
 
 	/**
 	 * Creates a {@link StorageRawFileStatistics} instance, (obviously) containing raw file statistics about
@@ -420,6 +454,15 @@ public interface StorageConnection extends Persister
 	{
 		return this.persistenceManager().getObject(objectId);
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default <C extends Consumer<Object>> C collect(final C collector, final long... objectIds)
+	{
+		return this.persistenceManager().collect(collector, objectIds);
+	}
 
 
 	
@@ -529,6 +572,24 @@ public interface StorageConnection extends Persister
 			this.exportChannels(targetFileProvider);
 			typeDictionaryExporter.exportTypeDictionary(this.persistenceManager().typeDictionary());
 		}
+		
+		@Override
+		public final void issueIncrementalBackup(
+			final StorageIncrementalBackup          backup                ,
+			final PersistenceTypeDictionaryExporter typeDictionaryExporter
+		)
+		{
+			try
+			{
+				this.connectionRequestAcceptor.exportChannelsIncremental(backup);
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return;
+			}
+			typeDictionaryExporter.exportTypeDictionary(this.persistenceManager().typeDictionary());
+		}
 
 		@Override
 		public StorageRawFileStatistics createStorageStatistics()
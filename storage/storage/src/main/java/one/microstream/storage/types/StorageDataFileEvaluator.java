@@ -45,6 +45,56 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	public int fileMinimumSize();
 
 	public int fileMaximumSize();
+	
+	/**
+	 * The minimum file size as a {@code long}, which is only consulted if {@link #largeDataFiles()} is enabled.
+	 * The default implementation returns {@link #fileMinimumSize()}.
+	 *
+	 * @return the minimum file size in bytes.
+	 */
+	public default long fileMinimumSizeLong()
+	{
+		return this.fileMinimumSize();
+	}
+	
+	/**
+	 * The maximum file size as a {@code long}, which is only consulted if {@link #largeDataFiles()} is enabled,
+	 * since only then may it exceed {@link Integer#MAX_VALUE}.
+	 * The default implementation returns {@link #fileMaximumSize()}.
+	 *
+	 * @return the maximum file size in bytes.
+	 */
+	public default long fileMaximumSizeLong()
+	{
+		return this.fileMaximumSize();
+	}
+	
+	/**
+	 * The number of file dissolves an entity must survive before it is considered long-lived ("cold") and is
+	 * transferred to separate cold files instead of the current head file. {@code 0} disables generational
+	 * file cleanup.
+	 *
+	 * @return the cold generation threshold or {@code 0}.
+	 *
+	 * @see StorageLiveDataFile#isColdFile()
+	 */
+	public default int coldGenerationThreshold()
+	{
+		return 0;
+	}
+	
+	/**
+	 * Whether data files may grow beyond {@link Integer#MAX_VALUE} bytes, up to
+	 * {@link Validation#maximumFileSize(boolean)}. Storages with such files can not be opened with this
+	 * being disabled (see {@link StorageDataFileValidator#validateFileLength(StorageDataFile, boolean)}),
+	 * so it is an opt-in.
+	 *
+	 * @return whether large data files are enabled.
+	 */
+	public default boolean largeDataFiles()
+	{
+		return false;
+	}
 
 
 	/**
@@ -206,6 +256,21 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 			return Integer.MAX_VALUE;
 		}
 
+		/**
+		 * @param largeDataFiles whether large data files are enabled.
+		 *
+		 * @return the maximum file size, which is limited by the bits an entity has for its position in a file.
+		 *
+		 * @see StorageDataFileEvaluator#largeDataFiles()
+		 */
+		public static long maximumFileSize(final boolean largeDataFiles)
+		{
+			return largeDataFiles
+				? (1L << 40) - 1 // 1 TB, see StorageEntity.Default#setStoragePosition
+				: maximumFileSize()
+			;
+		}
+
 		/**
 		 * How much the maximum file size must be above the minimum file size.
 		 *
@@ -232,23 +297,34 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 			final double minimumUseRatio
 		)
 		{
-			// > maximumFileSize() can technically never happen for now, but the max value might change.
-			if(fileMinimumSize < minimumFileSize() || fileMinimumSize > maximumFileSize())
+			validateParameters(fileMinimumSize, fileMaximumSize, minimumUseRatio, false);
+		}
+
+		public static void validateParameters(
+			final long    fileMinimumSize,
+			final long    fileMaximumSize,
+			final double  minimumUseRatio,
+			final boolean largeDataFiles
+		)
+		{
+			final long maximumFileSize = maximumFileSize(largeDataFiles);
+			
+			if(fileMinimumSize < minimumFileSize() || fileMinimumSize > maximumFileSize)
 			{
 				throw new IllegalArgumentException(
 					"Specified file minimum size of " + fileMinimumSize
 					+ " is not in the valid range of ["
-					+ minimumFileSize() + ", " + maximumFileSize() + "]."
+					+ minimumFileSize() + ", " + maximumFileSize + "]."
 				);
 			}
 
-			// > maximumFileSize() can technically never happen for now, but the max value might change.
-			if(fileMaximumSize < minimumFileSize() || fileMaximumSize > maximumFileSize())
+			if(fileMaximumSize < minimumFileSize() || fileMaximumSize > maximumFileSize)
 			{
 				throw new IllegalArgumentException(
 					"Specified file maximum size of " + fileMaximumSize
 					+ " is not in the valid range of ["
-					+ minimumFileSize() + ", " + maximumFileSize() + "]."
+					+ minimumFileSize() + ", " + maximumFileSize + "]."
+					+ (largeDataFiles ? "" : " Larger data files must be enabled explicitly.")
 				);
 			}
 
@@ -271,6 +347,35 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 				);
 			}
 		}
+		
+		public static int coldGenerationThresholdMaximum()
+		{
+			// the survived dissolves are counted in a byte per entity.
+			return Byte.MAX_VALUE;
+		}
+		
+		public static void validateColdParameters(
+			final int    coldGenerationThreshold,
+			final double coldMinimumUseRatio
+		)
+		{
+			if(coldGenerationThreshold < 0 || coldGenerationThreshold > coldGenerationThresholdMaximum())
+			{
+				throw new IllegalArgumentException(
+					"Specified cold generation threshold of " + coldGenerationThreshold
+					+ " is not in the valid range of [0, " + coldGenerationThresholdMaximum() + "]."
+				);
+			}
+
+			if(coldMinimumUseRatio <= useRatioLowerBound() || coldMinimumUseRatio > useRatioMaximum())
+			{
+				throw new IllegalArgumentException(
+					"Specified cold minimum usage ratio of "
+					+ coldMinimumUseRatio + " is not in the valid range of ]"
+					+ useRatioLowerBound() + ", " + useRatioMaximum() + "]."
+				);
+			}
+		}
 	}
 
 	/**
@@ -313,8 +418,107 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		final boolean cleanUpHeadFile
 	)
 	{
-		Validation.validateParameters(fileMinimumSize, fileMaximumSize, minimumUseRatio);
-		return new Default(fileMinimumSize, fileMaximumSize, minimumUseRatio, cleanUpHeadFile);
+		return New(
+			fileMinimumSize                          ,
+			fileMaximumSize                          ,
+			minimumUseRatio                          ,
+			cleanUpHeadFile                          ,
+			Defaults.defaultColdGenerationThreshold(),
+			Defaults.defaultColdMinimumUseRatio()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
+	 * using the passed values, including the ones for generational file cleanup.
+	 * <p>
+	 * With generational file cleanup, entities that survived {@code coldGenerationThreshold} file dissolves
+	 * are not mixed with recently written data in the head file any more, but collected and transferred
+	 * to separate "cold" files. As long-lived data rarely becomes a gap, those files are only dissolved
+	 * when their use ratio falls below {@code coldMinimumUseRatio}, which is usually lower than the
+	 * {@code minimumUseRatio}. This reduces the amount of data that is copied over and over again.
+	 * <p>
+	 * For explanations of the other values, see {@link StorageDataFileEvaluator#New(int, int, double, boolean)}.
+	 *
+	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have.
+	 *
+	 * @param fileMaximumSize the maximum file size in bytes that a single storage file may have.
+	 *
+	 * @param minimumUseRatio the ratio of non-gap data contained in a storage file to prevent
+	 *        the file from being dissolved.
+	 *
+	 * @param cleanUpHeadFile a flag defining wether the current head file shall be subjected to file cleanups.
+	 *
+	 * @param coldGenerationThreshold the number of file dissolves (value in [0;127]) an entity must survive to be
+	 *        transferred to a cold file. {@code 0} disables generational file cleanup.
+	 *
+	 * @param coldMinimumUseRatio the ratio (value in ]0.0;1.0]) of non-gap data contained in a cold file to prevent
+	 *        the file from being dissolved.
+	 *
+	 * @return a new {@link StorageDataFileEvaluator} instance.
+	 *
+	 * @see StorageDataFileEvaluator#New(int, int, double, boolean)
+	 * @see StorageDataFileEvaluator.Defaults
+	 */
+	public static StorageDataFileEvaluator New(
+		final int     fileMinimumSize        ,
+		final int     fileMaximumSize        ,
+		final double  minimumUseRatio        ,
+		final boolean cleanUpHeadFile        ,
+		final int     coldGenerationThreshold,
+		final double  coldMinimumUseRatio
+	)
+	{
+		return New(
+			fileMinimumSize                   ,
+			fileMaximumSize                   ,
+			minimumUseRatio                   ,
+			cleanUpHeadFile                   ,
+			coldGenerationThreshold           ,
+			coldMinimumUseRatio               ,
+			Defaults.defaultLargeDataFiles()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
+	 * using the passed values, including the opt-in for large data files.
+	 * <p>
+	 * For explanations of the other values, see
+	 * {@link StorageDataFileEvaluator#New(int, int, double, boolean, int, double)}.
+	 *
+	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have.
+	 *
+	 * @param fileMaximumSize the maximum file size in bytes that a single storage file may have. Only values above
+	 *        {@link Integer#MAX_VALUE} require large data files.
+	 *
+	 * @param largeDataFiles whether data files may grow beyond {@link Integer#MAX_VALUE} bytes.
+	 *
+	 * @return a new {@link StorageDataFileEvaluator} instance.
+	 *
+	 * @see StorageDataFileEvaluator#largeDataFiles()
+	 */
+	public static StorageDataFileEvaluator New(
+		final long    fileMinimumSize        ,
+		final long    fileMaximumSize        ,
+		final double  minimumUseRatio        ,
+		final boolean cleanUpHeadFile        ,
+		final int     coldGenerationThreshold,
+		final double  coldMinimumUseRatio    ,
+		final boolean largeDataFiles
+	)
+	{
+		Validation.validateParameters(fileMinimumSize, fileMaximumSize, minimumUseRatio, largeDataFiles);
+		Validation.validateColdParameters(coldGenerationThreshold, coldMinimumUseRatio);
+		return new Default(
+			fileMinimumSize        ,
+			fileMaximumSize        ,
+			minimumUseRatio        ,
+			cleanUpHeadFile        ,
+			coldGenerationThreshold,
+			coldMinimumUseRatio    ,
+			largeDataFiles
+		);
 	}
 
 	public interface Defaults
@@ -350,6 +554,28 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		{
 			return true;
 		}
+
+		/**
+		 * @return {@code 0} (meaning generational file cleanup is disabled).
+		 */
+		public static int defaultColdGenerationThreshold()
+		{
+			return 0;
+		}
+
+		/**
+		 * @return {@code 0.5} (meaning 50% minimum use ratio required for cold files).
+		 */
+		public static double defaultColdMinimumUseRatio()
+		{
+			// long-lived data rarely becomes a gap, so copying it is deferred until half of it is gone.
+			return 0.5;
+		}
+
+		public static boolean defaultLargeDataFiles()
+		{
+			return false;
+		}
 	}
 
 
@@ -359,10 +585,13 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		// instance fields //
 		////////////////////
 
-		private final int     fileMinimumSize;
-		private final int     fileMaximumSize;
+		private final long    fileMinimumSize;
+		private final long    fileMaximumSize;
 		private final double  minimumUseRatio;
 		private final boolean cleanupHeadFile;
+		private final int     coldGenerationThreshold;
+		private final double  coldMinimumUseRatio    ;
+		private final boolean largeDataFiles         ;
 
 
 
@@ -371,17 +600,23 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		/////////////////
 
 		Default(
-			final int     fileMinimumSize,
-			final int     fileMaximumSize,
+			final long    fileMinimumSize,
+			final long    fileMaximumSize,
 			final double  minimumUseRatio,
-			final boolean cleanupHeadFile
+			final boolean cleanupHeadFile        ,
+			final int     coldGenerationThreshold,
+			final double  coldMinimumUseRatio    ,
+			final boolean largeDataFiles
 		)
 		{
 			super();
-			this.fileMinimumSize = fileMinimumSize;
-			this.fileMaximumSize = fileMaximumSize;
-			this.minimumUseRatio = minimumUseRatio;
-			this.cleanupHeadFile = cleanupHeadFile;
+			this.fileMinimumSize         = fileMinimumSize        ;
+			this.fileMaximumSize         = fileMaximumSize        ;
+			this.minimumUseRatio         = minimumUseRatio        ;
+			this.cleanupHeadFile         = cleanupHeadFile        ;
+			this.coldGenerationThreshold = coldGenerationThreshold;
+			this.coldMinimumUseRatio     = coldMinimumUseRatio    ;
+			this.largeDataFiles          = largeDataFiles         ;
 		}
 
 
@@ -393,11 +628,24 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		@Override
 		public final int fileMinimumSize()
 		{
-			return this.fileMinimumSize;
+			// capped for callers unaware of large data files, the exact value is provided by the long variant.
+			return (int)Math.min(this.fileMinimumSize, Integer.MAX_VALUE);
 		}
 
 		@Override
 		public final int fileMaximumSize()
+		{
+			return (int)Math.min(this.fileMaximumSize, Integer.MAX_VALUE);
+		}
+
+		@Override
+		public final long fileMinimumSizeLong()
+		{
+			return this.fileMinimumSize;
+		}
+
+		@Override
+		public final long fileMaximumSizeLong()
 		{
 			return this.fileMaximumSize;
 		}
@@ -411,6 +659,23 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		{
 			return this.cleanupHeadFile;
 		}
+		
+		@Override
+		public final int coldGenerationThreshold()
+		{
+			return this.coldGenerationThreshold;
+		}
+		
+		public double coldMinimumUseRatio()
+		{
+			return this.coldMinimumUseRatio;
+		}
+		
+		@Override
+		public final boolean largeDataFiles()
+		{
+			return this.largeDataFiles;
+		}
 
 		@Override
 		public final boolean needsDissolving(final StorageLiveDataFile storageFile)
@@ -445,17 +710,21 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 
 		private boolean isBelowMinimumSize(final StorageLiveDataFile storageFile)
 		{
-			return storageFile.totalLength() < this.fileMinimumSize();
+			return storageFile.totalLength() < this.fileMinimumSize;
 		}
 
 		private boolean hasTooMuchGapSpace(final StorageLiveDataFile storageFile)
 		{
-			return storageFile.dataFillRatio() < this.minimumUseRatio;
+			// cold files only contain long-lived data, so copying it again is deferred as long as possible.
+			return storageFile.dataFillRatio() < (storageFile.isColdFile()
+				? this.coldMinimumUseRatio
+				: this.minimumUseRatio
+			);
 		}
 
 		private boolean isAboveMaximumSize(final StorageLiveDataFile storageFile)
 		{
-			return storageFile.totalLength() > this.fileMaximumSize();
+			return storageFile.totalLength() > this.fileMaximumSize;
 		}
 
 		private boolean isGaplessSingleEntityFile(final StorageLiveDataFile storageFile)
@@ -478,7 +747,10 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 				.blank().add("fileMinimumSize").tab().add('=').blank().add(this.fileMinimumSize).lf()
 				.blank().add("fileMaximumSize").tab().add('=').blank().add(this.fileMaximumSize).lf()
 				.blank().add("minimumUseRatio").tab().add('=').blank().add(this.minimumUseRatio).lf()
-				.blank().add("cleanupHeadFile").tab().add('=').blank().add(this.cleanupHeadFile)
+				.blank().add("cleanupHeadFile").tab().add('=').blank().add(this.cleanupHeadFile).lf()
+				.blank().add("coldGenerationThreshold").tab().add('=').blank().add(this.coldGenerationThreshold).lf()
+				.blank().add("coldMinimumUseRatio").tab().add('=').blank().add(this.coldMinimumUseRatio).lf()
+				.blank().add("largeDataFiles").tab().add('=').blank().add(this.largeDataFiles)
 				.toString()
 			;
 		}
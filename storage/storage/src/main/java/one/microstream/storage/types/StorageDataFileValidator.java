@@ -25,6 +25,7 @@ import static one.microstream.X.notNull;
 import one.microstream.meta.XDebug;
 import one.microstream.persistence.binary.types.BinaryEntityRawDataIterator;
 import one.microstream.storage.exceptions.StorageExceptionIncompleteValidation;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
 
 
 public interface StorageDataFileValidator
@@ -47,6 +48,32 @@ public interface StorageDataFileValidator
 		// no-op by default
 	}
 	
+	/**
+	 * Validates that the passed file's length can be handled with the passed large data files setting.
+	 * 
+	 * @param file the data file to be validated.
+	 * @param largeDataFiles whether large data files are enabled.
+	 * 
+	 * @throws StorageExceptionIoReading if the file is too large.
+	 * 
+	 * @see StorageDataFileEvaluator#largeDataFiles()
+	 */
+	public static void validateFileLength(final StorageDataFile file, final boolean largeDataFiles)
+	{
+		final long maximumFileSize = StorageDataFileEvaluator.Validation.maximumFileSize(largeDataFiles);
+		final long fileLength      = file.size();
+		if(fileLength <= maximumFileSize)
+		{
+			return;
+		}
+		
+		throw new StorageExceptionIoReading(
+			"Storage file size of " + fileLength + " exceeds the maximum data file size of " + maximumFileSize
+			+ ": " + file.identifier()
+			+ (largeDataFiles ? "" : ". Large data files must be enabled to open this storage.")
+		);
+	}
+	
 	
 	public static StorageDataFileValidator New(
 		final BinaryEntityRawDataIterator   entityDataIterator ,
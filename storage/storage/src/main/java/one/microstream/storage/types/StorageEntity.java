@@ -178,13 +178,15 @@ public interface StorageEntity
 
 		final long objectId       ;
 		long       cacheAddress   ; // oid or address to cached data or 0 for deleted flagging
-		int        storagePosition; // the absolute position in the storage file
+		int        positionLow    ; // the low 32 bits of the absolute position in the storage file
 		int        length         ; // the item's total length
 		int        lastTouched    ; // age timestamp for cache clearing evaluation. See methods and constants.
 		byte       gcState        ; // gc state
 		boolean    isDeleted      ;
 		boolean    onlyRefsCached ;
 		byte       referenceCount ; // could be combined with hasReferences to a short with ~10 bits free for ref count
+		byte       generation     ; // survived file dissolves (saturating), fits in the instance's padding
+		byte       positionHigh   ; // the high bits of the position (large data files), fits in the padding as well
 
 		// reference to the type meta data instance and the parent channel file
 		TypeInFile typeInFile     ;
@@ -446,18 +448,25 @@ public interface StorageEntity
 			this.typeInFile.file.remove(this);
 		}
 
-		final void putCacheData(final long sourceAddress, final long length)
+		final void putCacheData(
+			final StorageEntityDataAllocator dataAllocator,
+			final long                       sourceAddress,
+			final long                       length
+		)
 		{
-			XMemory.copyRange(sourceAddress, this.cacheAddress = XMemory.allocate(length), length);
+			XMemory.copyRange(sourceAddress, this.cacheAddress = dataAllocator.allocate(length), length);
 		}
 
 		final void updateStorageInformation(
-			final int length         ,
-			final int storagePosition
+			final int  length         ,
+			final long storagePosition
 		)
 		{
-			this.storagePosition = storagePosition;
+			this.setStoragePosition(storagePosition);
 			this.length = length;
+			
+			// a newly written version has not survived any file dissolve, yet.
+			this.generation = 0;
 		}
 
 		final boolean isProper()
@@ -511,7 +520,14 @@ public interface StorageEntity
 		@Override
 		public final long storagePosition()
 		{
-			return this.storagePosition;
+			return (long)(this.positionHigh & 0xFF) << Integer.SIZE | this.positionLow & 0xFFFF_FFFFL;
+		}
+
+		final void setStoragePosition(final long storagePosition)
+		{
+			// validated by the file length limit, see StorageDataFileEvaluator.Validation#maximumFileSize(boolean).
+			this.positionLow  = (int)storagePosition;
+			this.positionHigh = (byte)(storagePosition >>> Integer.SIZE);
 		}
 
 		@Override
@@ -577,7 +593,7 @@ public interface StorageEntity
 		@Override
 		public final long exportTo(final AWritableFile file)
 		{
-			return this.typeInFile.file.copyTo(file, this.storagePosition, this.length);
+			return this.typeInFile.file.copyTo(file, this.storagePosition(), this.length);
 		}
 
 		@Override
@@ -598,8 +614,12 @@ public interface StorageEntity
 //				System.out.flush();
 //			}
 			final long currentDataLength = this.cachedDataLength();
-			XMemory.free(this.cacheAddress());
-			this.cacheAddress = 0;
+			if(this.cacheAddress != 0)
+			{
+				// the cached length is the allocated length, as both depend on the same loading state.
+				this.typeInFile.file.dataAllocator().free(this.cacheAddress, currentDataLength);
+				this.cacheAddress = 0;
+			}
 			this.onlyRefsCached = false;
 			return currentDataLength;
 		}
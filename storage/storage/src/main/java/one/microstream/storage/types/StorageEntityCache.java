@@ -115,6 +115,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		private final StorageRootOidSelector             rootOidSelector     ;
 		private final RootEntityRootOidSelectionIterator rootEntityIterator  ;
 		private final StorageEventLogger                 eventLogger         ;
+		private final StorageEntityDataAllocator         dataAllocator       ;
 		private       StorageFileManager.Default         fileManager         ; // pseudo-final
 		
 		
@@ -134,6 +135,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
                                                   
 		// Statistics for debugging / monitoring / checking to compare with other channels and with the markmonitor
 		private long sweepGeneration, lastSweepStart, lastSweepEnd;
+		private long markedEntityCount, idleMarkedEntityCount, markingTimeNs;
 		
 
 		// state 3.1: variable length content
@@ -167,6 +169,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final long                        rootTypeId         ,
 			final StorageObjectIdMarkQueue    oidMarkQueue       ,
 			final StorageEventLogger          eventLogger        ,
+			final StorageEntityDataAllocator  dataAllocator      ,
 			final long                        markingWaitTimeMs  ,
 			final int                         markingBufferLength
 		)
@@ -182,6 +185,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.rootTypeId           =             rootTypeId        ;
 			this.oidMarkQueue         = notNull    (oidMarkQueue)     ;
 			this.eventLogger          =             eventLogger       ;
+			this.dataAllocator        = notNull    (dataAllocator)    ;
 			this.markingWaitTimeMs    = positive   (markingWaitTimeMs);
 			
 			// derived values
@@ -219,6 +223,24 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return this.lastSweepEnd;
 		}
 
+		final StorageEntityDataAllocator dataAllocator()
+		{
+			return this.dataAllocator;
+		}
+
+		final StorageGarbageCollectionStatistics createGarbageCollectionStatistics()
+		{
+			return StorageGarbageCollectionStatistics.New(
+				this.sweepGeneration      ,
+				this.lastSweepStart       ,
+				this.lastSweepEnd         ,
+				this.markedEntityCount    ,
+				this.idleMarkedEntityCount,
+				this.markingTimeNs        ,
+				this.oidMarkQueue.size()
+			);
+		}
+
 		final void initializeStorageManager(final StorageFileManager.Default fileManager)
 		{
 			if(this.fileManager != null && this.fileManager != fileManager)
@@ -266,6 +288,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		{
 			this.clearCache();
 			
+			// all cached data has been freed, so the allocator can release its reserved memory as well.
+			this.dataAllocator.reset();
+			
 			this.markMonitor.reset();
 			
 			this.oidHashTable   = new StorageEntity.Default[1];
@@ -470,6 +495,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				}
 				entry.hashNext = item.hashNext;
 			}
+			this.oidSize--;
 		}
 
 		/* Note on synchronization:
@@ -699,6 +725,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			
 			return entity;
 		}
+		
+		final StorageEntity.Default initialCreateEntity(final long objectId, final long typeId)
+		{
+			return this.createEntity(objectId, this.getType(typeId));
+		}
 
 		private void resetExistingEntityForUpdate(final StorageEntity.Default entry)
 		{
@@ -790,8 +821,13 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				 */
 				entry.markGray();
 
-				// must mark via mark monitor to keep central mark count consistent. NEVER directly via the queue!
-				this.markMonitor.enqueue(this.oidMarkQueue, entry.objectId());
+				/*
+				 * Must mark via mark monitor to keep central mark count consistent. NEVER directly via the queue!
+				 * The reference marker buffers the oids and enqueues them in bulk instead of acquiring the
+				 * mark monitor's lock for every single stored entity. This is safe as the pending store update
+				 * prevents marking from being completed until the buffer is flushed in #postStorePutEntities.
+				 */
+				this.referenceMarker.acceptObjectId(entry.objectId());
 				return;
 			}
 
@@ -902,6 +938,19 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 * @param nanoTimeBudgetBound
 		 */
 		private boolean incrementalMark(final long nanoTimeBudgetBound)
+		{
+			final long markStart = System.nanoTime();
+			try
+			{
+				return this.internalIncrementalMark(nanoTimeBudgetBound);
+			}
+			finally
+			{
+				this.markingTimeNs += System.nanoTime() - markStart;
+			}
+		}
+
+		private boolean internalIncrementalMark(final long nanoTimeBudgetBound)
 		{
 			final long                     evalTime        = System.currentTimeMillis();
 			final StorageReferenceMarker   referenceMarker = this.referenceMarker      ;
@@ -967,6 +1016,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 				// the entry has been fully processed (either has no references or got all its references gray-enqueued), so mark black.
 				entry.markBlack();
+				this.markedEntityCount++;
 			}
 			while(System.nanoTime() < nanoTimeBudgetBound);
 
@@ -1016,37 +1066,26 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.markMonitor.completeSweep(this, this.rootOidSelector, channelRootOid);
 		}
 
-		private static final long MAX_INT_BOUND = 1L + Integer.MAX_VALUE;
-		
-		final static int validateStoragePosition(
+		final long validateStoragePosition(
 			final StorageEntity.Default entity       ,
 			final long                  storageOffset
 		)
 		{
-			if(storageOffset < MAX_INT_BOUND)
+			final long maximumFileLength = this.fileManager.maximumFileLength();
+			if(storageOffset <= maximumFileLength)
 			{
-				return (int)storageOffset;
+				return storageOffset;
 			}
 			
-			/* (06.02.2020 TM)EXCP: fix storage position limitation
-			 * This has, of course, to be removed/fixed.
-			 * The solution is to spread a single store's buffers over multiple files if needed.
-			 * However, this is not trivial to do:
-			 * A single store must be split into multiple stores,
-			 * each store must get its own transactions entry OR a kind of store continuation entry, etc.
-			 * 
-			 * This effort is not worth it with the transition of the much more advanced storage management 2.0
-			 * concept in mind. There, store chunks will be spread over multiple store files anyway and
-			 * archive files will be split according to oid range and entity length automatically.
-			 * 
-			 * For now, this is simply a technical limitation and one more good reason to implement the
-			 * improved storage concept sooner rather than later.
+			/*
+			 * A single store is always written to a single file, so a store that grows too big
+			 * can exceed the maximum data file length, even though the file would be retired afterwards.
 			 */
 			throw new StorageException(
 				"Storage position for entity " + entity.objectId()
-				+ " exceeds the technical int value limit of " + Integer.MAX_VALUE + "."
+				+ " exceeds the maximum data file length of " + maximumFileLength + "."
 				+ " This happens when a single store grows too big."
-				+ " This limitation will be removed in a future version."
+				+ (this.fileManager.largeDataFiles() ? "" : " Consider enabling large data files.")
 			);
 		}
 
@@ -1070,7 +1109,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				this.markEntityForChangedData(entity);
 				entity.updateStorageInformation(
 					X.checkArrayRange(Binary.getEntityLengthRawValue(adr)),
-					validateStoragePosition(entity, storageBackset + adr)
+					this.validateStoragePosition(entity, storageBackset + adr)
 				);
 				file.appendEntry(entity);
 			}
@@ -1099,6 +1138,21 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return this.usedCacheSize;
 		}
 		
+		final double cacheUsageRatio()
+		{
+			final long threshold = this.entityCacheEvaluator.threshold();
+			
+			return threshold > 0
+				? (double)this.usedCacheSize / threshold
+				: 0.0
+			;
+		}
+		
+		final long pendingMarkCount()
+		{
+			return this.oidMarkQueue.size();
+		}
+		
 		@Override
 		public final long clearCache()
 		{
@@ -1136,6 +1190,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			{
 				this.internalPutEntities(chunks[i], chunksStoragePositions[i], dataFile);
 			}
+			
+			// write barrier: the buffered gray oids must be enqueued before the pending store update is cleared.
+			this.referenceMarker.tryFlush();
 
 			// must be done by the store task's cleanup, but as it is idempotent, call it here right away
 			this.clearPendingStoreUpdate();
@@ -1203,6 +1260,19 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final long                        nanoTimeBudgetBound,
 			final StorageEntityCacheEvaluator evaluator
 		)
+		{
+			final boolean isComplete = this.checkCachedEntities(nanoTimeBudgetBound, evaluator);
+
+			// memory that is not used anymore after clearing cached data can be released right away.
+			this.dataAllocator.consolidate();
+
+			return isComplete;
+		}
+
+		private boolean checkCachedEntities(
+			final long                        nanoTimeBudgetBound,
+			final StorageEntityCacheEvaluator evaluator
+		)
 		{
 			// quick check before setting up the local stuff.
 			if(this.usedCacheSize == 0)
@@ -1397,23 +1467,18 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 					this.referenceMarker.tryFlush();
 
 					// check/wait for missing oids to mark, which have to be provided by other channels' marking.
-					synchronized(this.oidMarkQueue)
+					try
 					{
 						// if the mark queue is empty and there is still time, wait for new
-						if(this.oidMarkQueue.hasElements())
+						if(this.oidMarkQueue.awaitElements(this.markingWaitTimeMs))
 						{
 							break waitForWork;
 						}
-
-						try
-						{
-							this.oidMarkQueue.wait(this.markingWaitTimeMs);
-						}
-						catch(final InterruptedException e)
-						{
-							// thread has been interrupted while trying to perform garbage collection. So abort and return.
-							break performGC;
-						}
+					}
+					catch(final InterruptedException e)
+					{
+						// thread has been interrupted while trying to perform garbage collection. So abort and return.
+						break performGC;
 					}
 					// end of waiting, continue with waitForWork checks
 				}
@@ -1450,6 +1515,46 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			}
 		}
 
+		/**
+		 * Uses time the channel would otherwise spend waiting for the next task to process pending marking work.
+		 * Only marking is done here, as it is the only part of the garbage collection that can be interrupted
+		 * at any point and resumed later. Sweeping and completion checks are left to the regular housekeeping.
+		 * 
+		 * @param nanoTimeBudgetBound the nano time bound until which marking may be performed.
+		 * 
+		 * @return whether there was marking work to be done.
+		 */
+		final boolean incrementalIdleMark(final long nanoTimeBudgetBound)
+		{
+			// cheap lock-free check first, as this is called in every idle loop of the channel
+			if(!experimentalGcEnabled || !this.oidMarkQueue.hasElements())
+			{
+				return false;
+			}
+			
+			// no marking before the channel's own pending sweep, just like in #internalIncrementalGarbageCollection
+			if(this.markMonitor.isPendingSweep(this))
+			{
+				return false;
+			}
+
+			final long markedEntityCount = this.markedEntityCount;
+			try
+			{
+				this.incrementalMark(nanoTimeBudgetBound);
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionGarbageCollector("Exception in channel #" + this.channelIndex(), e);
+			}
+			finally
+			{
+				this.idleMarkedEntityCount += this.markedEntityCount - markedEntityCount;
+			}
+			
+			return true;
+		}
+
 		private boolean checkForGcCompletion()
 		{
 			if(this.markMonitor.isComplete(this))
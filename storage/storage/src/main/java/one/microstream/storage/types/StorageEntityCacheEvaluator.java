@@ -47,6 +47,15 @@ public interface StorageEntityCacheEvaluator
 	{
 		return !this.clearEntityCache(totalCacheSize, evaluationTime, entity);
 	}
+	
+	/**
+	 * @return the total cache size above which the evaluator clears entity caches more aggressively or {@code 0}
+	 *         if it has no such threshold.
+	 */
+	public default long threshold()
+	{
+		return 0;
+	}
 
 
 
@@ -257,6 +266,7 @@ public interface StorageEntityCacheEvaluator
 			return this.timeoutMs;
 		}
 		
+		@Override
 		public long threshold()
 		{
 			return this.threshold;
@@ -0,0 +1,687 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+import java.util.Arrays;
+
+import one.microstream.memory.XMemory;
+import one.microstream.storage.exceptions.StorageException;
+
+/**
+ * Allocator for the off-heap memory holding the cached data of a channel's entities.
+ * <p>
+ * An instance is owned by exactely one channel and is only ever used by that channel's thread,
+ * hence implementations do not need to be thread-safe.
+ * <p>
+ * Note that the length passed to {@link #free(long, long)} must be the same length that was passed
+ * to the {@link #allocate(long)} call returning the address.
+ */
+public interface StorageEntityDataAllocator
+{
+	public long allocate(long length);
+
+	public void free(long address, long length);
+
+	/**
+	 * Releases reserved memory that is not used by any cached entity data any more.
+	 * Called by the channel after every entity cache check.
+	 */
+	public void consolidate();
+
+	public void reset();
+
+	public Statistics createStatistics();
+
+
+
+	public static StorageEntityDataAllocator New()
+	{
+		return New(Defaults.defaultSlabLength(), Defaults.defaultMaximumSlabbedLength());
+	}
+
+	public static StorageEntityDataAllocator New(final long slabLength, final long maximumSlabbedLength)
+	{
+		final long maximumSlabbedLengthAligned = Default.alignedLength(positive(maximumSlabbedLength));
+		if(slabLength < maximumSlabbedLengthAligned)
+		{
+			throw new StorageException(
+				"Slab length " + slabLength + " is smaller than the maximum slabbed length "
+				+ maximumSlabbedLengthAligned + "."
+			);
+		}
+
+		return new StorageEntityDataAllocator.Default(slabLength, maximumSlabbedLengthAligned);
+	}
+
+	public static StorageEntityDataAllocator NewDirect()
+	{
+		return new StorageEntityDataAllocator.Direct();
+	}
+
+
+
+	/**
+	 * Creates the {@link StorageEntityDataAllocator} for each channel, see
+	 * {@link StorageChannelsCreator.Default#Default(boolean, StorageEntityDataAllocator.Creator)}.
+	 */
+	@FunctionalInterface
+	public interface Creator
+	{
+		public StorageEntityDataAllocator createEntityDataAllocator(int channelIndex);
+		
+		
+		
+		/**
+		 * @return a {@link Creator} for {@link StorageEntityDataAllocator.Direct} allocators, i.e. one native
+		 *         allocation per cached entity. This is the default.
+		 */
+		public static Creator Direct()
+		{
+			return channelIndex -> StorageEntityDataAllocator.NewDirect();
+		}
+
+		/**
+		 * @return a {@link Creator} for slab allocating {@link StorageEntityDataAllocator.Default} allocators
+		 *         with default settings.
+		 */
+		public static Creator Slabbed()
+		{
+			return channelIndex -> StorageEntityDataAllocator.New();
+		}
+	}
+
+
+
+	public interface Defaults
+	{
+		public static long defaultSlabLength()
+		{
+			// 1 MiB per slab keeps the unused remainder of the current slab negligible.
+			return 1L << 20;
+		}
+
+		public static long defaultMaximumSlabbedLength()
+		{
+			// the vast majority of entities is way smaller than this. Larger ones are allocated directly.
+			return 1024;
+		}
+	}
+
+
+
+	/**
+	 * Arena-style implementation: memory is reserved in large slabs from which blocks are carved
+	 * in size classes of {@value #SIZE_CLASS_GRANULARITY} bytes. Released blocks are kept in a free list
+	 * per size class (linked through the released blocks themselves) and are reused by later allocations
+	 * of the same size class. This keeps the native heap from fragmenting with millions of individual small
+	 * allocations. A slab is released once none of its blocks is in use any more (see {@link #consolidate()}),
+	 * so the reserved memory follows the cache size down as well.
+	 * <p>
+	 * Lengths above the maximum slabbed length are allocated and freed directly.
+	 */
+	public final class Default implements StorageEntityDataAllocator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final int SIZE_CLASS_GRANULARITY = 8;
+		static final int SIZE_CLASS_SHIFT       = 3;
+
+		static final long alignedLength(final long length)
+		{
+			return length + SIZE_CLASS_GRANULARITY - 1 & -SIZE_CLASS_GRANULARITY;
+		}
+
+		static final int sizeClassIndex(final long length)
+		{
+			// length 1..8 -> 0, 9..16 -> 1, etc.
+			return (int)(length - 1 >>> SIZE_CLASS_SHIFT);
+		}
+
+		static final long sizeClassLength(final int sizeClassIndex)
+		{
+			return (long)sizeClassIndex + 1 << SIZE_CLASS_SHIFT;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long   slabLength          ;
+		private final long   maximumSlabbedLength;
+		private final long[] freeListHeads       ;
+		private final long[] freeListSizes       ;
+
+		// sorted by address to find a block's slab via binary search
+		private long[]  slabAddresses  ;
+		private long[]  slabUsedBlocks ;
+		private int     slabCount      ;
+		private long    slabCursor     ;
+		private long    slabBound      ;
+		private long    currentSlab    ;
+		private boolean hasEmptySlabs  ;
+
+		private long    usedLength     ;
+		private long    directLength   ;
+		private long    allocationCount;
+		private long    freeCount      ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long slabLength, final long maximumSlabbedLength)
+		{
+			super();
+			this.slabLength           = slabLength          ;
+			this.maximumSlabbedLength = maximumSlabbedLength;
+			this.freeListHeads        = new long[sizeClassIndex(maximumSlabbedLength) + 1];
+			this.freeListSizes        = new long[this.freeListHeads.length];
+			this.slabAddresses        = new long[8];
+			this.slabUsedBlocks       = new long[8];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long allocate(final long length)
+		{
+			this.allocationCount++;
+
+			if(length > this.maximumSlabbedLength)
+			{
+				this.directLength += length;
+				return XMemory.allocate(length);
+			}
+
+			final int sizeClassIndex = sizeClassIndex(length);
+			this.usedLength += sizeClassLength(sizeClassIndex);
+
+			final long address;
+			if((address = this.freeListHeads[sizeClassIndex]) != 0)
+			{
+				// the first word of a released block is the link to the next released block of the same size class
+				this.freeListHeads[sizeClassIndex] = XMemory.get_long(address);
+				this.freeListSizes[sizeClassIndex]--;
+				this.slabUsedBlocks[this.slabIndex(address)]++;
+				return address;
+			}
+
+			return this.carve(sizeClassLength(sizeClassIndex));
+		}
+
+		private int slabIndex(final long address)
+		{
+			// the greatest slab address that is not greater than the block address
+			int low = 0, high = this.slabCount - 1;
+			while(low < high)
+			{
+				final int middle = low + high + 1 >>> 1;
+				if(this.slabAddresses[middle] <= address)
+				{
+					low = middle;
+				}
+				else
+				{
+					high = middle - 1;
+				}
+			}
+
+			return low;
+		}
+
+		private long carve(final long blockLength)
+		{
+			if(this.slabCursor + blockLength > this.slabBound)
+			{
+				this.allocateSlab();
+			}
+
+			final long address = this.slabCursor;
+			this.slabCursor += blockLength;
+			this.slabUsedBlocks[this.slabIndex(address)]++;
+
+			return address;
+		}
+
+		private void allocateSlab()
+		{
+			// the current slab's remainder is always a multiple of the granularity, so it can be reused as a block.
+			final long remainder = this.slabBound - this.slabCursor;
+			if(remainder > 0)
+			{
+				this.pushFreeBlock(this.slabCursor, sizeClassIndex(remainder));
+			}
+
+			if(this.slabCount == this.slabAddresses.length)
+			{
+				this.slabAddresses  = Arrays.copyOf(this.slabAddresses , this.slabCount * 2);
+				this.slabUsedBlocks = Arrays.copyOf(this.slabUsedBlocks, this.slabCount * 2);
+			}
+
+			final long slabAddress = XMemory.allocate(this.slabLength);
+
+			// insertion into the sorted slabs. Slabs are large, so there are only few of them.
+			int index = this.slabCount;
+			while(index > 0 && this.slabAddresses[index - 1] > slabAddress)
+			{
+				this.slabAddresses [index] = this.slabAddresses [index - 1];
+				this.slabUsedBlocks[index] = this.slabUsedBlocks[index - 1];
+				index--;
+			}
+			this.slabAddresses [index] = slabAddress;
+			this.slabUsedBlocks[index] = 0;
+			this.slabCount++;
+
+			// the previous slab might have been emptied while it was still being carved.
+			this.hasEmptySlabs = true;
+			this.currentSlab   = slabAddress;
+			this.slabCursor    = slabAddress;
+			this.slabBound     = slabAddress + this.slabLength;
+		}
+
+		private void pushFreeBlock(final long address, final int sizeClassIndex)
+		{
+			XMemory.set_long(address, this.freeListHeads[sizeClassIndex]);
+			this.freeListHeads[sizeClassIndex] = address;
+			this.freeListSizes[sizeClassIndex]++;
+		}
+
+		@Override
+		public final void free(final long address, final long length)
+		{
+			if(address == 0)
+			{
+				return;
+			}
+
+			this.freeCount++;
+
+			if(length > this.maximumSlabbedLength)
+			{
+				this.directLength -= length;
+				XMemory.free(address);
+				return;
+			}
+
+			final int sizeClassIndex = sizeClassIndex(length);
+			this.usedLength -= sizeClassLength(sizeClassIndex);
+			this.pushFreeBlock(address, sizeClassIndex);
+			if(--this.slabUsedBlocks[this.slabIndex(address)] == 0)
+			{
+				this.hasEmptySlabs = true;
+			}
+		}
+
+		/**
+		 * Releases all slabs without used blocks, except for the slab currently being carved.
+		 * The free lists are rebuilt without the released slabs' blocks, which is only done if a slab
+		 * has actually become empty since the last call.
+		 */
+		@Override
+		public final void consolidate()
+		{
+			if(!this.hasEmptySlabs)
+			{
+				return;
+			}
+			this.hasEmptySlabs = false;
+
+			final int  slabCount   = this.slabCount;
+			final long currentSlab = this.currentSlab;
+
+			int emptySlabCount = 0;
+			for(int i = 0; i < slabCount; i++)
+			{
+				if(this.slabUsedBlocks[i] == 0 && this.slabAddresses[i] != currentSlab)
+				{
+					emptySlabCount++;
+				}
+			}
+			if(emptySlabCount == 0)
+			{
+				return;
+			}
+
+			// unlink the empty slabs' blocks from the free lists before the slabs' memory becomes invalid
+			for(int c = 0; c < this.freeListHeads.length; c++)
+			{
+				long previous = 0, count = 0;
+				for(long block = this.freeListHeads[c], next; block != 0; block = next)
+				{
+					next = XMemory.get_long(block);
+					final int slabIndex = this.slabIndex(block);
+					if(this.slabUsedBlocks[slabIndex] == 0 && this.slabAddresses[slabIndex] != currentSlab)
+					{
+						continue;
+					}
+					if(previous == 0)
+					{
+						this.freeListHeads[c] = block;
+					}
+					else
+					{
+						XMemory.set_long(previous, block);
+					}
+					previous = block;
+					count++;
+				}
+				if(previous == 0)
+				{
+					this.freeListHeads[c] = 0;
+				}
+				else
+				{
+					XMemory.set_long(previous, 0);
+				}
+				this.freeListSizes[c] = count;
+			}
+
+			int retained = 0;
+			for(int i = 0; i < slabCount; i++)
+			{
+				if(this.slabUsedBlocks[i] == 0 && this.slabAddresses[i] != currentSlab)
+				{
+					XMemory.free(this.slabAddresses[i]);
+					continue;
+				}
+				this.slabAddresses [retained] = this.slabAddresses [i];
+				this.slabUsedBlocks[retained] = this.slabUsedBlocks[i];
+				retained++;
+			}
+			for(int i = retained; i < slabCount; i++)
+			{
+				this.slabAddresses [i] = 0;
+				this.slabUsedBlocks[i] = 0;
+			}
+			this.slabCount = retained;
+		}
+
+		/**
+		 * Releases all slabs, provided that no slabbed block is in use any more. Otherwise, the slabs are kept
+		 * as releasing them would leave dangling cache addresses behind.
+		 */
+		@Override
+		public final void reset()
+		{
+			if(this.usedLength != 0)
+			{
+				return;
+			}
+
+			for(int i = 0; i < this.slabCount; i++)
+			{
+				XMemory.free(this.slabAddresses[i]);
+				this.slabAddresses [i] = 0;
+				this.slabUsedBlocks[i] = 0;
+			}
+			this.slabCount     = 0;
+			this.slabCursor    = 0;
+			this.slabBound     = 0;
+			this.currentSlab   = 0;
+			this.hasEmptySlabs = false;
+
+			for(int i = 0; i < this.freeListHeads.length; i++)
+			{
+				this.freeListHeads[i] = 0;
+				this.freeListSizes[i] = 0;
+			}
+		}
+
+		@Override
+		public final Statistics createStatistics()
+		{
+			return Statistics.New(
+				this.slabCount,
+				this.slabCount * this.slabLength + this.directLength,
+				this.usedLength + this.directLength,
+				this.allocationCount,
+				this.freeCount,
+				this.freeListSizes.clone()
+			);
+		}
+
+	}
+
+
+
+	/**
+	 * Allocates and frees every block directly, i.e. one native allocation per cached entity.
+	 */
+	public final class Direct implements StorageEntityDataAllocator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private long usedLength     ;
+		private long allocationCount;
+		private long freeCount      ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Direct()
+		{
+			super();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long allocate(final long length)
+		{
+			this.allocationCount++;
+			this.usedLength += length;
+
+			return XMemory.allocate(length);
+		}
+
+		@Override
+		public final void free(final long address, final long length)
+		{
+			if(address == 0)
+			{
+				return;
+			}
+
+			this.freeCount++;
+			this.usedLength -= length;
+
+			XMemory.free(address);
+		}
+
+		@Override
+		public final void consolidate()
+		{
+			// no-op, nothing is held besides the individual allocations.
+		}
+
+		@Override
+		public final void reset()
+		{
+			// no-op, nothing is held besides the individual allocations.
+		}
+
+		@Override
+		public final Statistics createStatistics()
+		{
+			return Statistics.New(
+				0,
+				this.usedLength,
+				this.usedLength,
+				this.allocationCount,
+				this.freeCount,
+				new long[0]
+			);
+		}
+
+	}
+
+
+
+	public interface Statistics
+	{
+		public long slabCount();
+
+		/**
+		 * @return the amount of native memory currently held, including unused parts of slabs.
+		 */
+		public long reservedLength();
+
+		/**
+		 * @return the amount of native memory currently occupied by cached entity data, rounded to size classes.
+		 */
+		public long usedLength();
+
+		public long allocationCount();
+
+		public long freeCount();
+
+		/**
+		 * @return the number of reusable free blocks per size class, in ascending size order.
+		 */
+		public long[] freeBlockCounts();
+
+
+
+		public static Statistics New(
+			final long   slabCount      ,
+			final long   reservedLength ,
+			final long   usedLength     ,
+			final long   allocationCount,
+			final long   freeCount      ,
+			final long[] freeBlockCounts
+		)
+		{
+			return new Statistics.Default(
+				notNegative(slabCount)      ,
+				notNegative(reservedLength) ,
+				notNegative(usedLength)     ,
+				notNegative(allocationCount),
+				notNegative(freeCount)      ,
+				freeBlockCounts
+			);
+		}
+
+		public final class Default implements Statistics
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final long   slabCount      ;
+			final long   reservedLength ;
+			final long   usedLength     ;
+			final long   allocationCount;
+			final long   freeCount      ;
+			final long[] freeBlockCounts;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(
+				final long   slabCount      ,
+				final long   reservedLength ,
+				final long   usedLength     ,
+				final long   allocationCount,
+				final long   freeCount      ,
+				final long[] freeBlockCounts
+			)
+			{
+				super();
+				this.slabCount       = slabCount      ;
+				this.reservedLength  = reservedLength ;
+				this.usedLength      = usedLength     ;
+				this.allocationCount = allocationCount;
+				this.freeCount       = freeCount      ;
+				this.freeBlockCounts = freeBlockCounts;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final long slabCount()
+			{
+				return this.slabCount;
+			}
+
+			@Override
+			public final long reservedLength()
+			{
+				return this.reservedLength;
+			}
+
+			@Override
+			public final long usedLength()
+			{
+				return this.usedLength;
+			}
+
+			@Override
+			public final long allocationCount()
+			{
+				return this.allocationCount;
+			}
+
+			@Override
+			public final long freeCount()
+			{
+				return this.freeCount;
+			}
+
+			@Override
+			public final long[] freeBlockCounts()
+			{
+				return this.freeBlockCounts.clone();
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,474 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+
+import one.microstream.X;
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.memory.XMemory;
+
+/**
+ * Persisted index of the entities contained in the data files of one channel, used to speed up the startup.
+ * <p>
+ * During housekeeping, the committed content of the channel's data files is successively listed in the
+ * channel's entity index file (object id, type id, storage position and length of every entity, see
+ * {@link StorageEntityIndexSnapshot} for the format). At startup, the data file ranges covered by the index
+ * are registered from the index instead of reading and parsing the data files, so only the data written after
+ * the last index update has to be read. Since only the latest version of every entity counts and the ranges are
+ * registered from the newest to the oldest, listing entities that have been superseded or deleted since does no
+ * harm.
+ * <p>
+ * The index file is only ever appended to, except for rewriting it to get rid of the entries of deleted data
+ * files. It is purely an optimization: anything that cannot be validated at startup is ignored and read from
+ * the data files instead.
+ * <p>
+ * An instance is owned by a channel's {@link StorageFileManager} and only used by the channel's thread.
+ */
+public interface StorageEntityIndex
+{
+	/**
+	 * Reads the index file, if present.
+	 *
+	 * @return the snapshot of the index file content or {@literal null} if there is no usable index file.
+	 */
+	public StorageEntityIndexSnapshot readSnapshot();
+
+	/**
+	 * Initializes the instance after the storage initialization, using the indexed lengths registered in the
+	 * passed data files.
+	 *
+	 * @param headFile the head file of the initialized channel.
+	 * @param rewrite whether the index file has to be rewritten, e.g. because parts of it were discarded.
+	 */
+	public void initialize(StorageLiveDataFile.Default headFile, boolean rewrite);
+
+	/**
+	 * Appends the not yet indexed content of the passed data files to the index file, if the update interval
+	 * has passed.
+	 *
+	 * @param headFile the head file of the channel, i.e. the entry point to all of its data files.
+	 * @param nanoTimeBudgetBound the system nano time bound to stop updating.
+	 *
+	 * @return whether the update is complete.
+	 */
+	public boolean update(StorageLiveDataFile.Default headFile, long nanoTimeBudgetBound);
+
+	public void registerDeletedFile(StorageLiveDataFile.Default file);
+
+	public void reset();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultUpdateIntervalMs()
+		{
+			// every index update writes to the index file, so updating with every housekeeping cycle would be too much.
+			return 10_000;
+		}
+
+		public static int defaultMaximumSegmentEntityCount()
+		{
+			// limits both the buffer size and the time a single segment write can take.
+			return 65_536;
+		}
+	}
+
+
+
+	public static StorageEntityIndex New(
+		final StorageLiveFileProvider fileProvider,
+		final int                     channelIndex
+	)
+	{
+		return New(
+			fileProvider,
+			channelIndex,
+			Defaults.defaultUpdateIntervalMs(),
+			Defaults.defaultMaximumSegmentEntityCount()
+		);
+	}
+
+	public static StorageEntityIndex New(
+		final StorageLiveFileProvider fileProvider             ,
+		final int                     channelIndex             ,
+		final long                    updateIntervalMs         ,
+		final int                     maximumSegmentEntityCount
+	)
+	{
+		return new StorageEntityIndex.Default(
+			    notNull(fileProvider)             ,
+			notNegative(channelIndex)             ,
+			notNegative(updateIntervalMs)         ,
+			   positive(maximumSegmentEntityCount)
+		);
+	}
+
+
+
+	public final class Default implements StorageEntityIndex
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageLiveFileProvider fileProvider             ;
+		private final int                     channelIndex             ;
+		private final long                    updateIntervalMs         ;
+		private final int                     maximumSegmentEntityCount;
+
+		// lazily initialized
+		private AFile      file  ;
+		private ByteBuffer buffer;
+
+		// the number of entries in the index file belonging to existing and to deleted data files, respectively.
+		private long listedEntityCount   ;
+		private long discardedEntityCount;
+
+		private long    lastUpdateTimeMs;
+		private boolean needsRewrite    ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageLiveFileProvider fileProvider             ,
+			final int                     channelIndex             ,
+			final long                    updateIntervalMs         ,
+			final int                     maximumSegmentEntityCount
+		)
+		{
+			super();
+			this.fileProvider              = fileProvider             ;
+			this.channelIndex              = channelIndex             ;
+			this.updateIntervalMs          = updateIntervalMs         ;
+			this.maximumSegmentEntityCount = maximumSegmentEntityCount;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private AFile file()
+		{
+			if(this.file == null)
+			{
+				this.file = this.fileProvider.provideEntityIndexFile(this.channelIndex);
+			}
+
+			return this.file;
+		}
+
+		private ByteBuffer buffer()
+		{
+			if(this.buffer == null)
+			{
+				this.buffer = XMemory.allocateDirectNative(
+					StorageEntityIndexSnapshot.segmentHeaderLength()
+					+ (long)this.maximumSegmentEntityCount * StorageEntityIndexSnapshot.entryLength()
+					+ StorageEntityIndexSnapshot.segmentTrailerLength()
+				);
+			}
+
+			return this.buffer;
+		}
+
+		@Override
+		public final StorageEntityIndexSnapshot readSnapshot()
+		{
+			AReadableFile readableFile = null;
+			try
+			{
+				final AFile file = this.file();
+				if(!file.exists())
+				{
+					return null;
+				}
+
+				// the file is read through the segment buffer, so its size cannot exhaust the available memory.
+				readableFile = file.useReading();
+				final StorageEntityIndexSnapshot snapshot = StorageEntityIndexSnapshot.New(
+					readableFile,
+					this.buffer(),
+					this.channelIndex
+				);
+				if(snapshot != null)
+				{
+					return snapshot;
+				}
+			}
+			catch(final RuntimeException e)
+			{
+				// the index is only an optimization. If it cannot be read, the data files are read completely.
+			}
+
+			if(readableFile != null)
+			{
+				readableFile.release();
+			}
+
+			return null;
+		}
+
+		@Override
+		public final void initialize(final StorageLiveDataFile.Default headFile, final boolean rewrite)
+		{
+			this.listedEntityCount    = countListedEntities(headFile);
+			this.discardedEntityCount = 0;
+			this.lastUpdateTimeMs     = System.currentTimeMillis();
+			this.needsRewrite         = rewrite;
+
+			if(rewrite)
+			{
+				this.tryRewrite(headFile);
+			}
+		}
+
+		private static long countListedEntities(final StorageLiveDataFile.Default headFile)
+		{
+			long count = 0;
+
+			StorageLiveDataFile.Default file = headFile;
+			do
+			{
+				file = file.next;
+				count += file.indexedEntityCount;
+			}
+			while(file != headFile);
+
+			return count;
+		}
+
+		@Override
+		public final boolean update(final StorageLiveDataFile.Default headFile, final long nanoTimeBudgetBound)
+		{
+			final long currentTimeMs = System.currentTimeMillis();
+			if(currentTimeMs - this.lastUpdateTimeMs < this.updateIntervalMs)
+			{
+				return true;
+			}
+
+			// rewriting pays off as soon as more than half of the file's entries belong to deleted files.
+			if(this.needsRewrite || this.discardedEntityCount > this.listedEntityCount)
+			{
+				if(!this.tryRewrite(headFile) || System.nanoTime() >= nanoTimeBudgetBound)
+				{
+					return false;
+				}
+			}
+
+			try
+			{
+				// oldest file first, so the head file with the most recent data comes last.
+				StorageLiveDataFile.Default file = headFile;
+				do
+				{
+					file = file.next;
+					while(file.indexedLength < file.totalLength())
+					{
+						this.appendSegment(file, file.totalLength());
+						if(System.nanoTime() >= nanoTimeBudgetBound)
+						{
+							return false;
+						}
+					}
+				}
+				while(file != headFile);
+			}
+			catch(final RuntimeException e)
+			{
+				/*
+				 * A failed write may have left a torn segment behind, after which nothing could be read any more.
+				 * As the index is only an optimization, its failure must not disrupt the channel. Instead, the file
+				 * is rewritten with the next update.
+				 */
+				this.needsRewrite = true;
+				return false;
+			}
+
+			this.lastUpdateTimeMs = currentTimeMs;
+
+			return true;
+		}
+
+		private boolean tryRewrite(final StorageLiveDataFile.Default headFile)
+		{
+			try
+			{
+				this.rewrite(headFile);
+				this.needsRewrite = false;
+
+				return true;
+			}
+			catch(final RuntimeException e)
+			{
+				// see update(): failures of the index are not propagated, the next update tries again.
+				this.needsRewrite = true;
+
+				return false;
+			}
+		}
+
+		private void rewrite(final StorageLiveDataFile.Default headFile)
+		{
+			final AFile file = this.file();
+			file.ensureExists();
+			AFS.executeWriting(file, wf ->
+				wf.truncate(0)
+			);
+
+			final ByteBuffer buffer  = this.buffer();
+			final long       address = XMemory.getDirectByteBufferAddress(buffer);
+			XMemory.set_long(address                 , StorageEntityIndexSnapshot.MAGIC_NUMBER  );
+			XMemory.set_long(address +     Long.BYTES, StorageEntityIndexSnapshot.FORMAT_VERSION);
+			XMemory.set_long(address + 2 * Long.BYTES, this.channelIndex                        );
+			this.write(buffer, StorageEntityIndexSnapshot.headerLength());
+
+			this.listedEntityCount    = 0;
+			this.discardedEntityCount = 0;
+
+			StorageLiveDataFile.Default dataFile = headFile;
+			do
+			{
+				dataFile = dataFile.next;
+
+				// only the formerly indexed range is rewritten. The remaining range is appended by the next update.
+				final long indexedLength = dataFile.indexedLength;
+				dataFile.indexedLength      = 0;
+				dataFile.indexedEntityCount = 0;
+				while(dataFile.indexedLength < indexedLength)
+				{
+					this.appendSegment(dataFile, indexedLength);
+				}
+			}
+			while(dataFile != headFile);
+		}
+
+		private void appendSegment(final StorageLiveDataFile.Default file, final long boundLength)
+		{
+			final long                  startLength = file.indexedLength;
+			final StorageEntity.Default first       = findFirstEntity(file, startLength);
+
+			final ByteBuffer buffer       = this.buffer();
+			final long       startAddress = XMemory.getDirectByteBufferAddress(buffer);
+
+			long segmentBound = boundLength;
+			long address      = startAddress + StorageEntityIndexSnapshot.segmentHeaderLength();
+			int  entityCount  = 0;
+			for(StorageEntity.Default entity = first; entity != file.tail; entity = entity.fileNext)
+			{
+				if(entity.storagePosition() >= boundLength)
+				{
+					break;
+				}
+				if(entityCount == this.maximumSegmentEntityCount)
+				{
+					// the next segment continues exactely at the first entity that did not fit in this one.
+					segmentBound = entity.storagePosition();
+					break;
+				}
+
+				XMemory.set_long(address                 , entity.objectId                );
+				XMemory.set_long(address +     Long.BYTES, entity.typeInFile.type.typeId  );
+				XMemory.set_long(address + 2 * Long.BYTES, entity.storagePosition()         );
+				XMemory.set_long(address + 3 * Long.BYTES, entity.length                  );
+				address += StorageEntityIndexSnapshot.entryLength();
+				entityCount++;
+			}
+
+			XMemory.set_long(startAddress                 , file.number());
+			XMemory.set_long(startAddress +     Long.BYTES, startLength  );
+			XMemory.set_long(startAddress + 2 * Long.BYTES, segmentBound );
+			XMemory.set_long(startAddress + 3 * Long.BYTES, entityCount  );
+			XMemory.set_long(address, StorageEntityIndexSnapshot.checksum(startAddress, address));
+
+			this.write(buffer, address + StorageEntityIndexSnapshot.segmentTrailerLength() - startAddress);
+
+			file.indexedLength       = segmentBound;
+			file.indexedEntityCount += entityCount ;
+			this.listedEntityCount  += entityCount ;
+		}
+
+		private static StorageEntity.Default findFirstEntity(
+			final StorageLiveDataFile.Default file       ,
+			final long                        startLength
+		)
+		{
+			// entities are chained in storage order, so the search starts from the nearer end.
+			if(startLength < file.totalLength() >>> 1)
+			{
+				StorageEntity.Default entity = file.head.fileNext;
+				while(entity != file.tail && entity.storagePosition() < startLength)
+				{
+					entity = entity.fileNext;
+				}
+				return entity;
+			}
+
+			StorageEntity.Default entity = file.tail;
+			while(entity.filePrev != file.head && entity.filePrev.storagePosition() >= startLength)
+			{
+				entity = entity.filePrev;
+			}
+			return entity;
+		}
+
+		private void write(final ByteBuffer buffer, final long length)
+		{
+			buffer.clear();
+			buffer.limit(X.checkArrayRange(length));
+
+			AFS.executeWriting(this.file(), wf ->
+				wf.writeBytes(buffer)
+			);
+		}
+
+		@Override
+		public final void registerDeletedFile(final StorageLiveDataFile.Default file)
+		{
+			this.listedEntityCount    -= file.indexedEntityCount;
+			this.discardedEntityCount += file.indexedEntityCount;
+		}
+
+		@Override
+		public final void reset()
+		{
+			this.listedEntityCount    = 0;
+			this.discardedEntityCount = 0;
+			this.lastUpdateTimeMs     = 0;
+			this.needsRewrite         = false;
+		}
+
+	}
+
+}
@@ -0,0 +1,528 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import one.microstream.X;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.collections.EqHashTable;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
+
+/**
+ * The content of a channel's entity index file as read at startup, see {@link StorageEntityIndex}.
+ * <p>
+ * The file consists of a header followed by any number of segments. Every segment lists the entities
+ * (object id, type id, storage position, length) contained in a contiguous range of one data file, followed by
+ * a checksum. Segments of the same data file must continue each other without a hole, starting at position 0.
+ * Anything that does not meet these rules (e.g. a torn last segment) is discarded along with all following
+ * segments of the same data file, meaning the discarded ranges are simply read from the data file itself.
+ */
+public interface StorageEntityIndexSnapshot
+{
+	/**
+	 * Validates the range of the passed data file covered by this snapshot against the passed actual length of
+	 * the file and the entity header at the last listed position, discarding everything that does not match.
+	 *
+	 * @param file the data file to be validated.
+	 * @param fileActualLength the length of the data file that is to be registered.
+	 * @param buffer a direct buffer that can hold at least an entity header.
+	 *
+	 * @return the length of the leading range of the file that is covered by the snapshot, maybe 0.
+	 */
+	public long validateCoverage(StorageLiveDataFile.Default file, long fileActualLength, ByteBuffer buffer);
+
+	/**
+	 * Iterates all listed entities of the data file with the passed number in reverse storage order.
+	 *
+	 * @param fileNumber the number of the data file whose entities shall be iterated.
+	 * @param acceptor the logic to be executed for every entity.
+	 *
+	 * @return the sum of all values returned by the acceptor.
+	 */
+	public long iterateEntitiesReversed(long fileNumber, EntityAcceptor acceptor);
+
+	public long entityCount(long fileNumber);
+
+	/**
+	 * @return whether the snapshot has been fully used without discarding anything, i.e. whether the
+	 * underlying file can be continued as it is.
+	 */
+	public boolean isIntact();
+
+	public void close();
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// format //
+	///////////
+
+	// "MSENTIDX" in ASCII. Also ensures a matching byte order.
+	public long MAGIC_NUMBER   = 0x4D53454E54494458L;
+	public long FORMAT_VERSION = 1L;
+
+	public static int headerLength()
+	{
+		// magic number, format version, channel index
+		return 3 * Long.BYTES;
+	}
+
+	public static int segmentHeaderLength()
+	{
+		// file number, start position, bound position, entity count
+		return 4 * Long.BYTES;
+	}
+
+	public static int entryLength()
+	{
+		// object id, type id, storage position, length
+		return 4 * Long.BYTES;
+	}
+
+	public static int segmentTrailerLength()
+	{
+		// checksum
+		return Long.BYTES;
+	}
+
+	public static long checksum(final long startAddress, final long boundAddress)
+	{
+		// FNV-1a applied to whole longs instead of bytes. Only meant to detect torn or garbled writes.
+		long checksum = 0xCBF29CE484222325L;
+		for(long address = startAddress; address < boundAddress; address += Long.BYTES)
+		{
+			checksum = (checksum ^ XMemory.get_long(address)) * 0x100000001B3L;
+		}
+
+		return checksum;
+	}
+
+
+
+	@FunctionalInterface
+	public interface EntityAcceptor
+	{
+		public long acceptEntity(long objectId, long typeId, long storagePosition, long length);
+	}
+
+
+
+	/**
+	 * Reads and validates the content of an entity index file segment by segment through the passed buffer, so
+	 * the memory needed does not depend on the size of the file. Only the structure of the file is kept, the
+	 * entries themselves are read again from the file when they are needed.
+	 *
+	 * @param file the opened index file. Gets owned by the created instance and is released by {@link #close()}.
+	 * @param buffer a direct buffer used for reading. The largest segment that can be read is limited by its
+	 *        capacity, any larger segment is discarded like a torn one.
+	 * @param channelIndex the index of the channel the file belongs to.
+	 *
+	 * @return the parsed snapshot or {@literal null} if the file does not contain a valid header.
+	 */
+	public static StorageEntityIndexSnapshot.Default New(
+		final AReadableFile file        ,
+		final ByteBuffer    buffer      ,
+		final int           channelIndex
+	)
+	{
+		final long fileLength   = notNull(file).size();
+		final long startAddress = XMemory.getDirectByteBufferAddress(notNull(buffer));
+
+		if(fileLength < headerLength()
+			|| !read(file, buffer, 0, headerLength())
+			|| XMemory.get_long(startAddress                   ) != MAGIC_NUMBER
+			|| XMemory.get_long(startAddress +     Long.BYTES  ) != FORMAT_VERSION
+			|| XMemory.get_long(startAddress + 2 * Long.BYTES  ) != channelIndex
+		)
+		{
+			return null;
+		}
+
+		final long maximumEntityCount = (buffer.capacity() - segmentHeaderLength() - segmentTrailerLength())
+			/ entryLength()
+		;
+		final EqHashTable<Long, FileEntries> files = EqHashTable.New();
+
+		boolean isIntact = true;
+		for(long position = headerLength(); position < fileLength;)
+		{
+			final long availableLength = fileLength - position - segmentHeaderLength() - segmentTrailerLength();
+			final long entityCount     = availableLength < 0 || !read(file, buffer, position, segmentHeaderLength())
+				? -1
+				: XMemory.get_long(startAddress + 3 * Long.BYTES)
+			;
+			if(entityCount < 0 || entityCount > availableLength / entryLength() || entityCount > maximumEntityCount)
+			{
+				// torn last segment or one that exceeds the buffer. Everything before it is still valid.
+				isIntact = false;
+				break;
+			}
+
+			final long trailerOffset = segmentHeaderLength() + entityCount * entryLength();
+			if(!read(file, buffer, position, trailerOffset + segmentTrailerLength())
+				|| checksum(startAddress, startAddress + trailerOffset) != XMemory.get_long(startAddress + trailerOffset)
+			)
+			{
+				isIntact = false;
+				break;
+			}
+
+			final long fileNumber = XMemory.get_long(startAddress);
+			FileEntries fileEntries = files.get(fileNumber);
+			if(fileEntries == null)
+			{
+				files.add(fileNumber, fileEntries = new FileEntries());
+			}
+
+			isIntact &= fileEntries.add(
+				XMemory.get_long(startAddress +     Long.BYTES),
+				XMemory.get_long(startAddress + 2 * Long.BYTES),
+				startAddress + segmentHeaderLength(),
+				position + segmentHeaderLength(),
+				entityCount
+			);
+
+			position += trailerOffset + segmentTrailerLength();
+		}
+
+		return new StorageEntityIndexSnapshot.Default(file, buffer, files, isIntact);
+	}
+
+	/**
+	 * Reads the passed range of the index file into the passed buffer, starting at the buffer's beginning.
+	 *
+	 * @return whether the range could be read completely.
+	 */
+	static boolean read(
+		final AReadableFile file    ,
+		final ByteBuffer    buffer  ,
+		final long          position,
+		final long          length
+	)
+	{
+		buffer.clear();
+		buffer.limit(X.checkArrayRange(length));
+
+		return file.readBytes(buffer, position, length) == length;
+	}
+
+
+
+	final class FileEntries
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		long[]  segmentBounds         = new long[4];
+		long[]  segmentEntryPositions = new long[4];
+		long[]  segmentEntityCounts   = new long[4];
+		int     segmentCount         ;
+		boolean isBroken             ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		final long coveredLength()
+		{
+			return this.segmentCount == 0
+				? 0
+				: this.segmentBounds[this.segmentCount - 1]
+			;
+		}
+
+		final long entityCount()
+		{
+			long entityCount = 0;
+			for(int i = 0; i < this.segmentCount; i++)
+			{
+				entityCount += this.segmentEntityCounts[i];
+			}
+
+			return entityCount;
+		}
+
+		final boolean add(
+			final long startPosition ,
+			final long boundPosition ,
+			final long entryAddress  ,
+			final long entryPosition ,
+			final long entityCount
+		)
+		{
+			if(this.isBroken)
+			{
+				return false;
+			}
+
+			if(startPosition != this.coveredLength()
+				|| boundPosition < startPosition
+				|| boundPosition > StorageFileManager.Default.MAX_FILE_LENGTH
+				|| !isValidEntryRange(entryAddress, entityCount, startPosition, boundPosition)
+			)
+			{
+				// a hole or an invalid segment invalidates all following segments of the same file.
+				this.isBroken = true;
+				return false;
+			}
+
+			if(this.segmentCount == this.segmentBounds.length)
+			{
+				this.segmentBounds         = Arrays.copyOf(this.segmentBounds        , this.segmentCount * 2);
+				this.segmentEntryPositions = Arrays.copyOf(this.segmentEntryPositions, this.segmentCount * 2);
+				this.segmentEntityCounts   = Arrays.copyOf(this.segmentEntityCounts  , this.segmentCount * 2);
+			}
+			this.segmentBounds        [this.segmentCount] = boundPosition;
+			this.segmentEntryPositions[this.segmentCount] = entryPosition;
+			this.segmentEntityCounts  [this.segmentCount] = entityCount  ;
+			this.segmentCount++;
+
+			return true;
+		}
+
+		private static boolean isValidEntryRange(
+			final long entryAddress ,
+			final long entityCount  ,
+			final long startPosition,
+			final long boundPosition
+		)
+		{
+			long minimumPosition = startPosition;
+
+			final long boundAddress = entryAddress + entityCount * entryLength();
+			for(long address = entryAddress; address < boundAddress; address += entryLength())
+			{
+				final long position = XMemory.get_long(address + 2 * Long.BYTES);
+				final long length   = XMemory.get_long(address + 3 * Long.BYTES);
+
+				// entities must be listed in storage order, without overlapping and inside the segment's range.
+				if(position < minimumPosition || length < Binary.entityHeaderLength() || position + length > boundPosition)
+				{
+					return false;
+				}
+				minimumPosition = position + length;
+			}
+
+			return true;
+		}
+
+		final long lastEntryPosition()
+		{
+			for(int i = this.segmentCount; i --> 0;)
+			{
+				if(this.segmentEntityCounts[i] > 0)
+				{
+					return this.segmentEntryPositions[i] + (this.segmentEntityCounts[i] - 1) * entryLength();
+				}
+			}
+
+			return 0;
+		}
+
+	}
+
+
+
+	public final class Default implements StorageEntityIndexSnapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AReadableFile                  file              ;
+		private final ByteBuffer                     buffer            ;
+		private final EqHashTable<Long, FileEntries> files             ;
+		private       boolean                        isIntact          ;
+		private       int                            validatedFileCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final AReadableFile                  file    ,
+			final ByteBuffer                     buffer  ,
+			final EqHashTable<Long, FileEntries> files   ,
+			final boolean                        isIntact
+		)
+		{
+			super();
+			this.file     = file    ;
+			this.buffer   = buffer  ;
+			this.files    = files   ;
+			this.isIntact = isIntact;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long validateCoverage(
+			final StorageLiveDataFile.Default file            ,
+			final long                        fileActualLength,
+			final ByteBuffer                  buffer
+		)
+		{
+			final FileEntries fileEntries = this.files.get(file.number());
+			if(fileEntries == null)
+			{
+				// a file that is not covered at all (yet) is not a flaw of the snapshot.
+				return 0;
+			}
+			this.validatedFileCount++;
+
+			// segments beyond the consistent length (e.g. a truncated last file) are discarded.
+			while(fileEntries.coveredLength() > fileActualLength)
+			{
+				fileEntries.segmentCount--;
+				this.isIntact = false;
+			}
+
+			// a position of 0 is the file header, so it can never be the position of an entry.
+			final long lastEntryPosition = fileEntries.lastEntryPosition();
+			if(lastEntryPosition != 0 && !isMatchingEntityHeader(file, this.readEntries(lastEntryPosition, 1), buffer))
+			{
+				// the file does not contain what the snapshot claims, so the snapshot is useless for it.
+				fileEntries.segmentCount = 0;
+				this.isIntact = false;
+			}
+
+			return fileEntries.coveredLength();
+		}
+
+		private static boolean isMatchingEntityHeader(
+			final StorageLiveDataFile.Default file        ,
+			final long                        entryAddress,
+			final ByteBuffer                  buffer
+		)
+		{
+			try
+			{
+				buffer.clear();
+				buffer.limit(Binary.entityHeaderLength());
+				file.readBytes(buffer, XMemory.get_long(entryAddress + 2 * Long.BYTES), Binary.entityHeaderLength());
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+
+			final long headerAddress = XMemory.getDirectByteBufferAddress(buffer);
+
+			return Binary.getEntityObjectIdRawValue(headerAddress) == XMemory.get_long(entryAddress                 )
+				&& Binary.getEntityTypeIdRawValue  (headerAddress) == XMemory.get_long(entryAddress +     Long.BYTES)
+				&& Binary.getEntityLengthRawValue  (headerAddress) == XMemory.get_long(entryAddress + 3 * Long.BYTES)
+			;
+		}
+
+		@Override
+		public final long iterateEntitiesReversed(final long fileNumber, final EntityAcceptor acceptor)
+		{
+			final FileEntries fileEntries = this.files.get(fileNumber);
+			if(fileEntries == null)
+			{
+				return 0;
+			}
+
+			long sum = 0;
+			for(int s = fileEntries.segmentCount; s --> 0;)
+			{
+				final long entryAddress = this.readEntries(
+					fileEntries.segmentEntryPositions[s],
+					fileEntries.segmentEntityCounts[s]
+				);
+				for(long address = entryAddress + fileEntries.segmentEntityCounts[s] * entryLength(); address > entryAddress;)
+				{
+					address -= entryLength();
+					sum += acceptor.acceptEntity(
+						XMemory.get_long(address                 ),
+						XMemory.get_long(address +     Long.BYTES),
+						XMemory.get_long(address + 2 * Long.BYTES),
+						XMemory.get_long(address + 3 * Long.BYTES)
+					);
+				}
+			}
+
+			return sum;
+		}
+
+		private long readEntries(final long position, final long entityCount)
+		{
+			// validated segments always fit into the buffer, so entries never have to be read in parts.
+			final boolean isComplete;
+			try
+			{
+				isComplete = read(this.file, this.buffer, position, entityCount * entryLength());
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			if(!isComplete)
+			{
+				throw new StorageExceptionIoReading("Entity index file has been truncated: " + this.file);
+			}
+
+			return XMemory.getDirectByteBufferAddress(this.buffer);
+		}
+
+		@Override
+		public final long entityCount(final long fileNumber)
+		{
+			final FileEntries fileEntries = this.files.get(fileNumber);
+
+			return fileEntries == null
+				? 0
+				: fileEntries.entityCount()
+			;
+		}
+
+		@Override
+		public final boolean isIntact()
+		{
+			// files that no longer exist have never been validated and must be discarded.
+			return this.isIntact && this.validatedFileCount == this.files.size();
+		}
+
+		@Override
+		public final void close()
+		{
+			// the buffer belongs to the entity index and is reused for writing.
+			this.file.release();
+		}
+
+	}
+
+}
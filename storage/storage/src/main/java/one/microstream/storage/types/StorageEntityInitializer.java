@@ -23,6 +23,7 @@ package one.microstream.storage.types;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.function.Function;
 
@@ -32,11 +33,29 @@ import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
-import one.microstream.typing.XTypes;
 
 public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 {
-	public D registerEntities(XGettingSequence<? extends StorageDataInventoryFile> files, long lastFileLength);
+	public default D registerEntities(XGettingSequence<? extends StorageDataInventoryFile> files, long lastFileLength)
+	{
+		return this.registerEntities(files, lastFileLength, null);
+	}
+	
+	/**
+	 * Registers the entities of the passed files. File ranges covered by the passed snapshot are registered
+	 * from the snapshot, only the remaining ranges are read from the files.
+	 * 
+	 * @param files the data files to be registered, in ascending order.
+	 * @param lastFileLength the consistent length of the last file.
+	 * @param snapshot the entity index snapshot of the channel, may be null.
+	 * 
+	 * @return the head file.
+	 */
+	public D registerEntities(
+		XGettingSequence<? extends StorageDataInventoryFile> files         ,
+		long                                                 lastFileLength,
+		StorageEntityIndexSnapshot                           snapshot
+	);
 	
 	
 	
@@ -44,21 +63,44 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		final StorageEntityCache.Default                                      entityCache    ,
 		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator
 	)
+	{
+		return New(entityCache, dataFileCreator, false);
+	}
+	
+	static StorageEntityInitializer<StorageLiveDataFile.Default> New(
+		final StorageEntityCache.Default                                      entityCache    ,
+		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+		final boolean                                                         largeDataFiles
+	)
 	{
 		return new StorageEntityInitializer.Default(
 			notNull(dataFileCreator),
-			notNull(entityCache)
+			notNull(entityCache)    ,
+			largeDataFiles
 		);
 	}
 	
 	final class Default implements StorageEntityInitializer<StorageLiveDataFile.Default>
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		/*
+		 * With large data files enabled, files are read in chunks of at most this size instead of as a whole.
+		 * Besides the JDK's int limit for buffers, this keeps the initialization memory bounded.
+		 */
+		static final int LARGE_FILES_CHUNK_SIZE = 256 * 1024 * 1024;
+		
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
 
 		private final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator;
 		private final StorageEntityCache.Default                                      entityCache    ;
+		private final boolean                                                         largeDataFiles ;
 		
 		
 		
@@ -68,12 +110,14 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 
 		Default(
 			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
-			final StorageEntityCache.Default                                      entityCache
+			final StorageEntityCache.Default                                      entityCache    ,
+			final boolean                                                         largeDataFiles
 		)
 		{
 			super();
 			this.dataFileCreator = dataFileCreator;
 			this.entityCache     = entityCache    ;
+			this.largeDataFiles  = largeDataFiles ;
 		}
 		
 		
@@ -84,21 +128,31 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		
 		@Override
 		public final StorageLiveDataFile.Default registerEntities(
-			final XGettingSequence<? extends StorageDataInventoryFile> files ,
-			final long                                             lastFileLength
+			final XGettingSequence<? extends StorageDataInventoryFile> files         ,
+			final long                                                 lastFileLength,
+			final StorageEntityIndexSnapshot                           snapshot
 		)
 		{
-			return registerEntities(this.dataFileCreator, this.entityCache, files.toReversed(), lastFileLength);
+			return registerEntities(
+				this.dataFileCreator,
+				this.entityCache,
+				files.toReversed(),
+				lastFileLength,
+				snapshot,
+				this.largeDataFiles
+			);
 		}
 		
 		private static StorageLiveDataFile.Default registerEntities(
 			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> fileCreator    ,
 			final StorageEntityCache.Default                                      entityCache    ,
 			final XGettingSequence<? extends StorageDataInventoryFile>            reversedFiles  ,
-			final long                                                            lastFileLength
+			final long                                                            lastFileLength ,
+			final StorageEntityIndexSnapshot                                      snapshot       ,
+			final boolean                                                         largeDataFiles
 		)
 		{
-			final ByteBuffer                               buffer   = allocateInitializationBuffer(reversedFiles);
+			final ByteBuffer                               buffer   = allocateInitializationBuffer(reversedFiles, largeDataFiles);
 			final Iterator<? extends StorageDataInventoryFile> iterator = reversedFiles.iterator();
 			final int[] entityOffsets = createAllFilesOffsetsArray(buffer.capacity());
 			
@@ -106,13 +160,13 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			
 			// special case handling for last/head file
 			final StorageLiveDataFile.Default headFile = setupHeadFile(fileCreator.apply(iterator.next()));
-			registerFileEntities(entityCache, initTime, headFile, lastFileLength, buffer, entityOffsets);
+			registerFileEntities(entityCache, initTime, headFile, lastFileLength, snapshot, buffer, entityOffsets);
 			
 			// simple tail file adding iteration for all remaining (previous!) storage files
 			for(StorageLiveDataFile.Default dataFile = headFile; iterator.hasNext();)
 			{
 				dataFile = linkTailFile(dataFile, fileCreator.apply(iterator.next()));
-				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), buffer, entityOffsets);
+				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), snapshot, buffer, entityOffsets);
 			}
 			
 			return headFile;
@@ -123,16 +177,102 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			final long                        initializationTime,
 			final StorageLiveDataFile.Default file              ,
 			final long                        fileActualLength  ,
+			final StorageEntityIndexSnapshot  snapshot          ,
+			final ByteBuffer                  buffer            ,
+			final int[]                       entityOffsets
+		)
+		{
+			// the leading range covered by the snapshot (if any) does not need to be read from the file.
+			final long indexedLength = snapshot == null
+				? 0
+				: snapshot.validateCoverage(file, fileActualLength, buffer)
+			;
+			
+			long totalFileContentLength = 0;
+			
+			if(fileActualLength - indexedLength <= buffer.capacity())
+			{
+				totalFileContentLength += registerReadEntities(
+					entityCache, initializationTime, file, indexedLength, fileActualLength, buffer, entityOffsets
+				);
+			}
+			else
+			{
+				// a file too large for the buffer is registered chunk by chunk, in reverse order as well.
+				final long[] chunkStarts = determineChunkStarts(file, indexedLength, fileActualLength, buffer);
+				for(int c = chunkStarts.length; c --> 0;)
+				{
+					final long chunkBound = c + 1 < chunkStarts.length
+						? chunkStarts[c + 1]
+						: fileActualLength
+					;
+					totalFileContentLength += registerChunkEntities(
+						entityCache, initializationTime, file, chunkStarts[c], chunkBound, buffer, entityOffsets
+					);
+				}
+			}
+			
+			if(indexedLength > 0)
+			{
+				// the indexed entities are older than the read ones, so they are registered afterwards, reversed as well.
+				totalFileContentLength += registerIndexedEntities(entityCache, file, snapshot);
+				file.indexedLength      = indexedLength;
+				file.indexedEntityCount = snapshot.entityCount(file.number());
+			}
+
+			// the total length of all actually registered entities is the file's content length. The rest is gaps.
+			file.increaseContentLength(totalFileContentLength);
+			
+			file.registerGapLength(fileActualLength - totalFileContentLength);
+		}
+		
+		private static long registerChunkEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        chunkStart        ,
+			final long                        chunkBound        ,
+			final ByteBuffer                  buffer            ,
+			final int[]                       entityOffsets
+		)
+		{
+			if(chunkBound - chunkStart <= buffer.capacity())
+			{
+				return registerReadEntities(
+					entityCache, initializationTime, file, chunkStart, chunkBound, buffer, entityOffsets
+				);
+			}
+			
+			// a single item larger than the chunk size gets a buffer of its own.
+			final ByteBuffer itemBuffer = XMemory.allocateDirectNative(X.checkArrayRange(chunkBound - chunkStart));
+			try
+			{
+				return registerReadEntities(
+					entityCache, initializationTime, file, chunkStart, chunkBound, itemBuffer, new int[1]
+				);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(itemBuffer);
+			}
+		}
+		
+		private static long registerReadEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        startPosition     ,
+			final long                        boundPosition     ,
 			final ByteBuffer                  buffer            ,
 			final int[]                       entityOffsets
 		)
 		{
 			// entities must be indexed first to allow reverse iteration.
-			final int                         entityCount = indexEntities(file, fileActualLength, buffer, entityOffsets);
+			final int                         entityCount = indexEntities(file, startPosition, boundPosition, buffer, entityOffsets);
 			final StorageEntityCacheEvaluator entityCacheEvaluator = entityCache.entityCacheEvaluator;
 			final long                        bufferStartAddress   = XMemory.getDirectByteBufferAddress(buffer);
 			
-			long totalFileContentLength = 0;
+			long totalContentLength = 0;
 			
 			// reverse entity iteration to register the most current version first and discard all prior versions.
 			for(int i = entityCount; i --> 0;)
@@ -151,41 +291,128 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 				final long                  entityLength  = Binary.getEntityLengthRawValue(entityAddress);
 				final StorageEntity.Default entity        = entityCache.initialCreateEntity(entityAddress);
 				
-				entity.updateStorageInformation(XTypes.to_int(entityLength), entityOffsets[i]);
+				entity.updateStorageInformation(X.checkArrayRange(entityLength), startPosition + entityOffsets[i]);
 				file.prependEntry(entity);
-				totalFileContentLength += entityLength;
+				totalContentLength += entityLength;
 				
 				if(entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, entity))
 				{
-					entity.putCacheData(entityAddress, entityLength);
+					entity.putCacheData(entityCache.dataAllocator(), entityAddress, entityLength);
 					entityCache.modifyUsedCacheSize(entityLength);
 				}
 			}
-
-			// the total length of all actually registered entities is the file's content length. The rest is gaps.
-			file.increaseContentLength(totalFileContentLength);
 			
-			// the buffer is currently limited to exactely the file size. So gapLength = limit - contentLength.
-			file.registerGapLength(buffer.limit() - totalFileContentLength);
+			return totalContentLength;
+		}
+		
+		/**
+		 * Determines the start positions of consecutive chunks that each fit into the passed buffer and only
+		 * contain complete items. An item that does not fit into the buffer at all forms a chunk of its own.
+		 * 
+		 * @return the chunk start positions in ascending order.
+		 */
+		private static long[] determineChunkStarts(
+			final StorageLiveDataFile.Default file            ,
+			final long                        startPosition   ,
+			final long                        fileActualLength,
+			final ByteBuffer                  buffer
+		)
+		{
+			long[] chunkStarts = new long[16];
+			int    chunkCount  = 0;
+			long   chunkStart  = startPosition;
+			
+			while(chunkStart < fileActualLength)
+			{
+				if(chunkCount == chunkStarts.length)
+				{
+					chunkStarts = Arrays.copyOf(chunkStarts, chunkCount * 2);
+				}
+				chunkStarts[chunkCount++] = chunkStart;
+				
+				fillBuffer(buffer, file, chunkStart, Math.min(chunkStart + buffer.capacity(), fileActualLength));
+				
+				final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
+				final long bufferBoundAddress = bufferStartAddress + buffer.limit();
+				
+				long address = bufferStartAddress;
+				while(bufferBoundAddress - address >= Long.BYTES)
+				{
+					// comments (indicated by negative length) count as items as well.
+					final long itemLength = Math.abs(Binary.getEntityLengthRawValue(address));
+					if(itemLength == 0)
+					{
+						throw new StorageExceptionConsistency("Zero length data item.");
+					}
+					if(itemLength > bufferBoundAddress - address)
+					{
+						if(address == bufferStartAddress)
+						{
+							// oversized item, the next chunk starts behind it.
+							address += itemLength;
+						}
+						break;
+					}
+					address += itemLength;
+				}
+				if(address == bufferStartAddress)
+				{
+					throw new StorageExceptionConsistency("Incomplete data item in file " + file.identifier());
+				}
+				chunkStart += address - bufferStartAddress;
+			}
+			
+			if(chunkStart > fileActualLength)
+			{
+				throw new StorageExceptionConsistency("Data item exceeds the length of file " + file.identifier());
+			}
+			
+			return Arrays.copyOf(chunkStarts, chunkCount);
+		}
+		
+		private static long registerIndexedEntities(
+			final StorageEntityCache.Default  entityCache,
+			final StorageLiveDataFile.Default file       ,
+			final StorageEntityIndexSnapshot  snapshot
+		)
+		{
+			return snapshot.iterateEntitiesReversed(file.number(), (objectId, typeId, storagePosition, length) ->
+			{
+				// same as for read entities: only the most current version of every entity counts.
+				if(entityCache.getEntry(objectId) != null)
+				{
+					return 0;
+				}
+				
+				// indexed entities are not cached initially since their data has not been read.
+				final StorageEntity.Default entity = entityCache.initialCreateEntity(objectId, typeId);
+				entity.updateStorageInformation(X.checkArrayRange(length), storagePosition);
+				file.prependEntry(entity);
+				
+				return length;
+			});
 		}
 				
 		/**
 		 * 
 		 * @param file
+		 * @param startPosition
+		 * @param boundPosition
 		 * @param buffer
 		 * @param entityOffsets
 		 * @return the entity count.
 		 */
 		private static int indexEntities(
 			final StorageLiveDataFile.Default file            ,
-			final long                        fileActualLength,
-			final ByteBuffer                  buffer          ,
+			final long                        startPosition,
+			final long                        boundPosition,
+			final ByteBuffer                  buffer       ,
 			final int[]                       entityOffsets
 		)
 		{
 			int lastEntityIndex = -1;
 			
-			fillBuffer(buffer, file, fileActualLength);
+			fillBuffer(buffer, file, startPosition, boundPosition);
 			
 			final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
 			final long bufferBoundAddress = bufferStartAddress + buffer.limit();
@@ -255,13 +482,22 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			return new int[largestFileLength / Binary.entityHeaderLength()];
 		}
 		
-		private static ByteBuffer allocateInitializationBuffer(final Iterable<? extends StorageDataInventoryFile> files)
+		private static ByteBuffer allocateInitializationBuffer(
+			final Iterable<? extends StorageDataInventoryFile> files         ,
+			final boolean                                      largeDataFiles
+		)
 		{
-			final int largestFileSize = determineLargestFileSize(files);
+			final long largestFileSize = determineLargestFileSize(files, largeDataFiles);
+			
+			// cast safety is guaranteed by the file length validation and the chunk size.
+			final int bufferSize = largeDataFiles
+				? (int)Math.min(largestFileSize, LARGE_FILES_CHUNK_SIZE)
+				: (int)largestFileSize
+			;
 			
 			// anything below the system's "default" buffer size (a "page", usually 4096) doesn't pay off.
 			final ByteBuffer buffer = XMemory.allocateDirectNative(
-				Math.max(largestFileSize, XMemory.defaultBufferSize())
+				Math.max(bufferSize, XMemory.defaultBufferSize())
 			);
 			
 			return buffer;
@@ -270,16 +506,20 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		private static void fillBuffer(
 			final ByteBuffer                  buffer          ,
 			final StorageLiveDataFile.Default file            ,
-			final long                        fileActualLength
+			final long                        startPosition,
+			final long                        boundPosition
 		)
 		{
 			try
 			{
 				buffer.clear();
 				// the reason for the stupid limit is actually a single clumsy toArray() somewhere in NIO.
-				buffer.limit(X.checkArrayRange(fileActualLength));
+				buffer.limit(X.checkArrayRange(boundPosition - startPosition));
 				
-				file.readBytes(buffer, 0, fileActualLength);
+				if(boundPosition > startPosition)
+				{
+					file.readBytes(buffer, startPosition, boundPosition - startPosition);
+				}
 			}
 			catch(final Exception e)
 			{
@@ -287,36 +527,26 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			}
 		}
 		
-		private static int determineLargestFileSize(final Iterable<? extends StorageDataInventoryFile> files)
+		private static long determineLargestFileSize(
+			final Iterable<? extends StorageDataInventoryFile> files         ,
+			final boolean                                      largeDataFiles
+		)
 		{
-			int largestFileSize = -1;
+			long largestFileSize = -1;
 			
 			for(final StorageDataInventoryFile file : files)
 			{
-				final long fileLength = file.size();
-				if(fileLength > Integer.MAX_VALUE)
-				{
-					/* (29.05.2018 TM)NOTE:
-					 * In case someone gets here after suffering this exception:
-					 * Yes, the file could be read incrementally in chunks, but while this would prevent some
-					 * problems with the JDK IO buffer limitation to int, it cannot prevent all of them.
-					 * Consider a single entity, probabaly a giant collection, whose binary form (8 bytes per
-					 * element) exceeds the int limit by itself.
-					 * The most reasonable strategy is:
-					 * For files that should be in the range of 1-100 MB, anyway, assume int to be "infinite".
-					 * Blame problems on users who chose too high a file size and on JDK devs who implemented
-					 * the short-sighted and completely unnecessary int limit.
-					 * And wait for a proper solution, of course. Maybe a self-built tailored IO via JNI.
-					 */
-					throw new StorageExceptionIoReading(
-						"Storage file size exceeds Java technical IO limitations: " + file.identifier()
-					);
-				}
+				/*
+				 * Files beyond the int limit can only be handled if large data files are enabled,
+				 * since they are then read in chunks instead of as a whole.
+				 * Note that a single entity whose binary form exceeds the int limit by itself still cannot be read.
+				 */
+				StorageDataFileValidator.validateFileLength(file, largeDataFiles);
 				
+				final long fileLength = file.size();
 				if(fileLength > largestFileSize)
 				{
-					// cast safety is guaranteed by the validation logic above.
-					largestFileSize = (int)fileLength;
+					largestFileSize = fileLength;
 				}
 			}
 			
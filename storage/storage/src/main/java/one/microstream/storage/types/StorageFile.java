@@ -23,11 +23,13 @@ package one.microstream.storage.types;
 import java.nio.ByteBuffer;
 
 import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AIoHandler;
 import one.microstream.afs.types.AReadableFile;
 import one.microstream.afs.types.AWritableFile;
 import one.microstream.chars.VarString;
 import one.microstream.chars.XChars;
 import one.microstream.io.BufferProvider;
+import one.microstream.memory.XMemory;
 import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
 
@@ -397,6 +399,37 @@ public interface StorageFile
 			this.ensureWritable().moveTo(target);
 		}
 		
+		/**
+		 * Returns the memory address of the passed file range in a read-only memory mapping of the file
+		 * or 0 if the file's {@link AIoHandler} does not support or enable memory mapped reading or the range
+		 * cannot be mapped. In the latter case, the range has to be read via one of the readBytes methods.
+		 * <p>
+		 * The returned address is only valid until the next operation on this file.
+		 * 
+		 * @param position the start position of the range in the file.
+		 * @param length the length of the range.
+		 * 
+		 * @return the memory address of the mapped range or 0.
+		 * 
+		 * @see AIoHandler#mappedBytes(AReadableFile, long)
+		 */
+		public final synchronized long mappedAddress(final long position, final long length)
+		{
+			try
+			{
+				final ByteBuffer mappedBuffer = this.ensureReadable().mappedBytes(position + length);
+				
+				return mappedBuffer == null
+					? 0
+					: XMemory.getDirectByteBufferAddress(mappedBuffer) + position
+				;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+		}
+		
 		protected synchronized AReadableFile ensureReadable()
 		{
 			if(this.file.fileSystem().isWritable())
@@ -26,6 +26,7 @@ import static one.microstream.X.notNull;
 import static one.microstream.math.XMath.notNegative;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import one.microstream.X;
@@ -37,7 +38,9 @@ import one.microstream.collections.EqHashTable;
 import one.microstream.collections.XSort;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.exceptions.MultiCauseException;
+import one.microstream.memory.DirectBufferPool;
 import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
 import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
@@ -45,8 +48,7 @@ import one.microstream.storage.exceptions.StorageExceptionIoWriting;
 import one.microstream.storage.exceptions.StorageExceptionIoWritingChunk;
 import one.microstream.storage.types.StorageRawFileStatistics.FileStatistics;
 import one.microstream.storage.types.StorageTransactionsAnalysis.EntryAggregator;
-import one.microstream.typing.XTypes;
-import one.microstream.util.BufferSizeProvider;
+import one.microstream.util.BufferSizeProviderIncremental;
 
 
 // note that the name channel refers to the entity hash channel, not an nio channel
@@ -75,6 +77,22 @@ public interface StorageFileManager extends StorageChannelResetablePart
 	
 	public long[] storeChunks(long timestamp, ByteBuffer[] dataBuffers) throws StorageExceptionIoWritingChunk;
 
+	/**
+	 * Stores the passed data like {@link #storeChunks(long, ByteBuffer[])}, but writes it in slices of about
+	 * {@link Default#storeSliceLength()} bytes and executes the passed logic between every two slices.
+	 * The data still becomes one store with one transactions entry.
+	 *
+	 * @param timestamp the timestamp of the store.
+	 * @param dataBuffers the data to be stored.
+	 * @param betweenSlices the logic to be executed between the written slices.
+	 *
+	 * @return the storage positions of the passed buffers' data.
+	 *
+	 * @throws StorageExceptionIoWritingChunk if the writing failed.
+	 */
+	public long[] storeChunks(long timestamp, ByteBuffer[] dataBuffers, Runnable betweenSlices)
+		throws StorageExceptionIoWritingChunk;
+
 	public void rollbackWrite();
 
 	public void commitWrite();
@@ -96,8 +114,12 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 	public boolean issuedFileCleanupCheck(long nanoTimeBudgetBound);
 
+	public boolean incrementalEntityIndexUpdate(long nanoTimeBudgetBound);
+
 	public void exportData(StorageLiveFileProvider fileProvider);
 
+	public StorageIncrementalBackup.ChannelCapture captureDataIncremental(StorageIncrementalBackup backup);
+
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
 	// this is not "reset" in terms of "set to initial state", more like a "go back to the start of the chain".
@@ -111,8 +133,8 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// constants //
 		//////////////
 
-		// the only reason for this limit is to have an int instead of a long for the item's file position.
-		static final int MAX_FILE_LENGTH = Integer.MAX_VALUE;
+		// the only reason for this limit is the compact encoding of the item's file position, see StorageEntity.
+		static final long MAX_FILE_LENGTH = StorageDataFileEvaluator.Validation.maximumFileSize(true);
 
 		// (22.05.2015 TM)TODO: Debug Flag to disable file cleanup for testing
 		private static final boolean DEBUG_ENABLE_FILE_CLEANUP = true;
@@ -123,6 +145,18 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// static methods //
 		///////////////////
 
+		/**
+		 * The byte count up to which consecutive buffers are written in one go when a store is written in slices,
+		 * see {@link StorageFileManager#storeChunks(long, ByteBuffer[], Runnable)}.
+		 *
+		 * @return the length of a store slice.
+		 */
+		public static long storeSliceLength()
+		{
+			// big enough to not noticeably slow down writing, small enough to not noticeably delay the interleaving.
+			return 1024 * 1024;
+		}
+		
 		private static long[] allChunksStoragePositions(final ByteBuffer[] chunks, final long basePosition)
 		{
 			final long[] storagePositions = new long[chunks.length];
@@ -135,6 +169,12 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			
 			return storagePositions;
 		}
+		
+		private static boolean isColdEntity(final StorageEntity.Default entity, final int coldGeneration)
+		{
+			// an entity is cold if it reaches the cold generation by surviving the current dissolve. 0 means none.
+			return coldGeneration > 0 && entity.generation + 1 >= coldGeneration;
+		}
 
 
 
@@ -153,6 +193,8 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		private final StorageWriteController               writeController              ;
 		private final StorageFileWriter                    writer                       ;
 		private final StorageBackupHandler                 backupHandler                ;
+		private final DirectBufferPool                     bufferPool                   ;
+		private final StorageTransferPrefetcher            transferPrefetcher           ;
 		
 		// to avoid permanent lambda instantiation
 		private final Consumer<? super StorageLiveDataFile.Default> deleter        = this::deleteFile       ;
@@ -201,6 +243,12 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// cleared by clearStandardByteBuffer() / reset().
 		private final ByteBuffer standardByteBuffer;
 		
+		// cleared by reset(). Null if the entity index is disabled.
+		private final StorageEntityIndex entityIndex;
+		
+		// cleared by clearRegisteredFiles() / reset(). Files that only contain entities waiting for a cold file.
+		private final BulkList<StorageLiveDataFile.Default> coldRemnantFiles = BulkList.New();
+		
 		
 		// state 3.0: mutable fields. Must be cleared on reset.
 		
@@ -216,6 +264,9 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		// cleared in reset() directly, but kind of irrelevant.
 		private int pendingFileDeletes;
 		
+		// cleared by clearRegisteredFiles() / reset()
+		private boolean coldFlushing;
+		
 		
 		// state 3.1: variable length content
 
@@ -237,8 +288,10 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			final StorageEntityCache.Default           entityCache                  ,
 			final StorageWriteController               writeController              ,
 			final StorageFileWriter                    writer                       ,
-			final BufferSizeProvider                   standardBufferSizeProvider   ,
-			final StorageBackupHandler                 backupHandler
+			final BufferSizeProviderIncremental        standardBufferSizeProvider   ,
+			final StorageBackupHandler                 backupHandler                ,
+			final StorageTransferPrefetcher            transferPrefetcher           ,
+			final StorageEntityIndex                   entityIndex
 		)
 		{
 			super();
@@ -251,7 +304,10 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			this.writeController               =     notNull(writeController)              ;
 			this.writer                        =     notNull(writer)                       ;
 			this.backupHandler                 =     mayNull(backupHandler)                ;
+			this.transferPrefetcher            =     mayNull(transferPrefetcher)           ;
+			this.entityIndex                   =     mayNull(entityIndex)                  ;
 			
+			this.bufferPool         = standardBufferSizeProvider.bufferPool();
 			this.standardByteBuffer = XMemory.allocateDirectNative(
 				standardBufferSizeProvider.provideBufferSize()
 			);
@@ -267,6 +323,11 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		{
 			return this.writeController.isFileCleanupEnabled();
 		}
+		
+		final boolean isEntityIndexEnabled()
+		{
+			return this.entityIndex != null;
+		}
 
 		final <L extends Consumer<StorageEntity.Default>> L iterateEntities(final L logic)
 		{
@@ -334,13 +395,18 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			while((file = file.next) != headFile);
 
 			this.fileCleanupCursor = this.headFile = null;
+			this.coldRemnantFiles.clear();
+			this.coldFlushing = false;
 		}
 
 		private ByteBuffer buffer(final int length)
 		{
 			if(length > this.standardByteBuffer.capacity())
 			{
-				return XMemory.allocateDirectNative(length);
+				final ByteBuffer buffer = this.bufferPool.acquire(length);
+				buffer.limit(length);
+				
+				return buffer;
 			}
 			this.standardByteBuffer.clear().limit(length);
 
@@ -352,21 +418,35 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			buffer.clear();
 			if(buffer != this.standardByteBuffer)
 			{
-				XMemory.deallocateDirectByteBuffer(buffer); // hope this works, not tested yet
+				this.bufferPool.release(buffer);
 			}
 		}
 
 		
 		final void transferOneChainToHeadFile(final StorageLiveDataFile.Default sourceFile)
+		{
+			this.transferOneChainToHeadFile(sourceFile, sourceFile.head, 0);
+		}
+		
+		/**
+		 * Transfers the chain of contiguous entities following the passed predecessor entity to the head file.
+		 * If a cold generation is passed, the chain ends before the first entity that would reach it,
+		 * so that only "hot" entities are transferred.
+		 */
+		final void transferOneChainToHeadFile(
+			final StorageLiveDataFile.Default sourceFile    ,
+			final StorageEntity.Default       predecessor   ,
+			final int                         coldGeneration
+		)
 		{
 			final StorageLiveDataFile.Default headFile = this.headFile           ;
-			final StorageEntity.Default   first    = sourceFile.head.fileNext;
+			final StorageEntity.Default   first    = predecessor.fileNext    ;
 			      StorageEntity.Default   last     = null                    ;
 			      StorageEntity.Default   current  = first                   ;
 
-			final long copyStart                = first.storagePosition                     ;
+			final long copyStart                = first.storagePosition()                   ;
 			final long targetFileOldTotalLength = headFile.totalLength()                    ;
-			final long maximumFileSize          = this.dataFileEvaluator.fileMaximumSize()  ;
+			final long maximumFileSize          = this.fileMaximumSize()                    ;
 			final long freeSpace                = maximumFileSize - targetFileOldTotalLength;
 			      long copyLength               = 0                                         ;
 
@@ -405,13 +485,19 @@ public interface StorageFileManager extends StorageChannelResetablePart
 				current.typeInFile      = headFile.typeInFile(current.typeInFile.type);
 								
 				// update position to the one in the target file (old length plus current copy length)
-				current.storagePosition = XTypes.to_int(targetFileOldTotalLength + copyLength);
+				current.setStoragePosition(targetFileOldTotalLength + copyLength);
+				
+				// count the survived dissolve for generational file cleanup (saturating)
+				if(current.generation < Byte.MAX_VALUE)
+				{
+					current.generation++;
+				}
 
 				// advance to next entity and add current entity's length to the total copy length
 				copyLength += current.length;
 				current = (last = current).fileNext;
 			}
-			while(current.storagePosition == copyStart + copyLength);
+			while(current.storagePosition() == copyStart + copyLength && !isColdEntity(current, coldGeneration));
 
 	//		DEBUGStorage.println("total transfer length = " + copyLength);
 
@@ -419,7 +505,7 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 			// udpate source file to keep consistency as it might not be cleared completely
 	//		DEBUGStorage.println("Updating source file " + sourceFile + " for content length " + transferLength);
-			sourceFile.removeHeadBoundChain(current, copyLength);
+			sourceFile.removeChain(predecessor, current, copyLength);
 	//		DEBUGStorage.println("Updated source file: " + sourceFile);
 
 			// update target files's content length. Must be done here as next transfer depends on updated length
@@ -451,8 +537,19 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			
 			final StorageLiveDataFile.Default headFile = this.headFile;
 
-			// do the actual file-level copying in one go at the end and validate the byte count to be sure
-			this.writer.writeTransfer(sourceFile, copyStart, copyLength, headFile);
+			// do the actual file-level copying in one go at the end, preferably from the already read data.
+			final ByteBuffer[] prefetched = this.transferPrefetcher == null
+				? null
+				: this.transferPrefetcher.lookup(sourceFile, copyStart, copyLength)
+			;
+			if(prefetched != null)
+			{
+				this.writer.writeTransfer(sourceFile, X.ArrayView(prefetched), headFile);
+			}
+			else
+			{
+				this.writer.writeTransfer(sourceFile, copyStart, copyLength, headFile);
+			}
 
 			// increase content length by length of chain
 			// (15.02.2019 TM)NOTE: changed from arithmetic inside #addChainToTail to directly using copyLength in here.
@@ -512,6 +609,7 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 			// create and register StorageFile instance with an attached channel
 			final StorageLiveDataFile.Default dataFile = this.createLiveDataFile(file, this.channelIndex(), fileNumber);
+			dataFile.isCold = this.coldFlushing;
 			this.registerStorageHeadFile(dataFile);
 			this.writeTransactionsEntryFileCreation(0, this.timestampProvider.currentNanoTimestamp(), fileNumber);
 		}
@@ -594,6 +692,17 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		@Override
 		public final long[] storeChunks(final long timestamp, final ByteBuffer[] dataBuffers)
 			throws StorageExceptionIoWritingChunk
+		{
+			return this.storeChunks(timestamp, dataBuffers, null);
+		}
+		
+		@Override
+		public final long[] storeChunks(
+			final long         timestamp    ,
+			final ByteBuffer[] dataBuffers  ,
+			final Runnable     betweenSlices
+		)
+			throws StorageExceptionIoWritingChunk
 		{
 			if(dataBuffers.length == 0)
 			{
@@ -603,7 +712,10 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			this.checkForNewFile();
 			final long   oldTotalLength   = this.ensureHeadFileTotalLength();
 			final long[] storagePositions = allChunksStoragePositions(dataBuffers, oldTotalLength);
-			final long   writeCount       = this.writer.writeStore(this.headFile, X.ArrayView(dataBuffers));
+			final long   writeCount       = betweenSlices == null
+				? this.writer.writeStore(this.headFile, X.ArrayView(dataBuffers))
+				: this.writeStoreSliced(dataBuffers, betweenSlices)
+			;
 			final long   newTotalLength   = oldTotalLength + writeCount;
 			
 			if(newTotalLength != this.headFile.size())
@@ -622,6 +734,30 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			return storagePositions;
 		}
 
+		private long writeStoreSliced(final ByteBuffer[] dataBuffers, final Runnable betweenSlices)
+		{
+			final long sliceLength = storeSliceLength();
+			
+			long writeCount = 0;
+			for(int sliceStart = 0, i = 0; i < dataBuffers.length; sliceStart = i)
+			{
+				if(sliceStart > 0)
+				{
+					betweenSlices.run();
+				}
+				
+				// a slice consists of whole buffers, at least one
+				long length = dataBuffers[i++].remaining();
+				while(i < dataBuffers.length && length + dataBuffers[i].remaining() <= sliceLength)
+				{
+					length += dataBuffers[i++].remaining();
+				}
+				writeCount += this.writer.writeStore(this.headFile, X.ArrayView(Arrays.copyOfRange(dataBuffers, sliceStart, i)));
+			}
+			
+			return writeCount;
+		}
+
 		@Override
 		public final void rollbackWrite()
 		{
@@ -658,10 +794,25 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		)
 		{
 //			DEBUGStorage.println(this.channelIndex + " loading entity " + entity);
+			
+			/*
+			 * Memory mapped reading (if enabled) copies directly from the mapping, avoiding the read call and buffer.
+			 * The head file is excluded: it grows with every store, so mapping it would mean remapping it all the time.
+			 */
+			if(dataFile != this.headFile)
+			{
+				final long mappedAddress = dataFile.mappedAddress(entity.storagePosition(), length);
+				if(mappedAddress != 0)
+				{
+					this.putLiveEntityData(entity, mappedAddress, length, cacheChange);
+					return;
+				}
+			}
+			
 			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(length));
 			try
 			{
-				dataFile.readBytes(dataBuffer, entity.storagePosition);
+				dataFile.readBytes(dataBuffer, entity.storagePosition());
 				this.putLiveEntityData(entity, XMemory.getDirectByteBufferAddress(dataBuffer), length, cacheChange);
 			}
 			catch(final StorageExceptionIoReading e)
@@ -679,6 +830,11 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			}
 		}
 
+		final StorageEntityDataAllocator dataAllocator()
+		{
+			return this.entityCache.dataAllocator();
+		}
+
 		private void putLiveEntityData(
 			final StorageEntity.Default entity     ,
 			final long                         address    ,
@@ -686,7 +842,7 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			final long                         cacheChange
 		)
 		{
-			entity.putCacheData(address, length);
+			entity.putCacheData(this.entityCache.dataAllocator(), address, length);
 			this.entityCache.modifyUsedCacheSize(cacheChange);
 		}
 
@@ -999,10 +1155,29 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			// register items (gaps and entities, with latest version of each entity replacing all previous)
 			final StorageEntityInitializer<StorageLiveDataFile.Default> initializer =
 				StorageEntityInitializer.New(this.entityCache, f ->
-					StorageLiveDataFile.New(this, f)
+					StorageLiveDataFile.New(this, f),
+					this.largeDataFiles()
 				)
 			;
-			this.headFile = initializer.registerEntities(files, lastFileLength);
+			
+			// file ranges covered by the entity index don't have to be read and parsed.
+			final StorageEntityIndexSnapshot snapshot = this.entityIndex == null
+				? null
+				: this.entityIndex.readSnapshot()
+			;
+			final boolean isIntactSnapshot;
+			try
+			{
+				this.headFile = initializer.registerEntities(files, lastFileLength, snapshot);
+				isIntactSnapshot = snapshot != null && snapshot.isIntact();
+			}
+			finally
+			{
+				if(snapshot != null)
+				{
+					snapshot.close();
+				}
+			}
 
 			// validate entities (only the latest versions) before potential transaction file derivation
 			final StorageIdAnalysis idAnalysis = this.entityCache.validateEntities();
@@ -1015,6 +1190,12 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 			// check if last file is oversized and should be retired right away.
 			this.checkForNewFile();
+			
+			// discarded parts of the index (deleted files, truncations, etc.) require a rewrite.
+			if(this.entityIndex != null)
+			{
+				this.entityIndex.initialize(this.headFile, !isIntactSnapshot);
+			}
 
 			return idAnalysis;
 		}
@@ -1057,6 +1238,12 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			// ensure transcations file BEFORE adding the first file as it writes a transactions entry
 			this.ensureTransactionsFile(taskTimestamp, storageInventory, -1);
 			this.addFirstFile();
+			
+			// any existing index file belongs to no longer existing data files.
+			if(this.entityIndex != null)
+			{
+				this.entityIndex.initialize(this.headFile, true);
+			}
 		}
 
 		private void ensureTransactionsFile(
@@ -1271,10 +1458,16 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			
 			// 3.X) mutable fields and variable length content
 			this.clearUncommittedDataLength();
+			this.clearPrefetchedData();
 			this.clearRegisteredFiles();
 			
 			// at this point, it is either 0 already or it won't matter since everything has been cleared.
 			this.pendingFileDeletes = 0;
+			
+			if(this.entityIndex != null)
+			{
+				this.entityIndex.reset();
+			}
 		}
 
 		final void handleLastFile(
@@ -1321,6 +1514,16 @@ public interface StorageFileManager extends StorageChannelResetablePart
 				);
 			});
 		}
+
+		@Override
+		public StorageIncrementalBackup.ChannelCapture captureDataIncremental(final StorageIncrementalBackup backup)
+		{
+			final BulkList<StorageLiveDataFile> dataFiles = BulkList.New();
+			this.iterateStorageFiles(dataFiles::add);
+
+			// only the file lengths are captured here, the content is copied outside of the channel thread.
+			return backup.captureChannel(this.channelIndex(), this.fileTransactions, dataFiles);
+		}
 		
 		private static FileStatistics createFileStatistics(final StorageLiveDataFile.Default file)
 		{
@@ -1332,6 +1535,57 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			);
 		}
 
+		final boolean largeDataFiles()
+		{
+			return this.dataFileEvaluator.largeDataFiles();
+		}
+		
+		final long fileMinimumSize()
+		{
+			return this.largeDataFiles()
+				? this.dataFileEvaluator.fileMinimumSizeLong()
+				: this.dataFileEvaluator.fileMinimumSize()
+			;
+		}
+		
+		final long fileMaximumSize()
+		{
+			return this.largeDataFiles()
+				? this.dataFileEvaluator.fileMaximumSizeLong()
+				: this.dataFileEvaluator.fileMaximumSize()
+			;
+		}
+		
+		final long maximumFileLength()
+		{
+			return StorageDataFileEvaluator.Validation.maximumFileSize(this.largeDataFiles());
+		}
+
+		final double deadDataRatio()
+		{
+			if(this.headFile == null)
+			{
+				return 0.0;
+			}
+			
+			// iterates all files, but is only needed once per housekeeping interval and only for adaptive controllers.
+			long liveDataLength  = 0;
+			long totalDataLength = 0;
+			StorageLiveDataFile.Default file = this.headFile;
+			do
+			{
+				file = file.next;
+				liveDataLength  += file.dataLength();
+				totalDataLength += file.totalLength();
+			}
+			while(file != this.headFile);
+			
+			return totalDataLength > 0
+				? 1.0 - (double)liveDataLength / totalDataLength
+				: 0.0
+			;
+		}
+
 		@Override
 		public final StorageRawFileStatistics.ChannelStatistics createRawFileStatistics()
 		{
@@ -1358,7 +1612,10 @@ public interface StorageFileManager extends StorageChannelResetablePart
 				fileStatistics.size(),
 				liveDataLength,
 				totalDataLength,
-				fileStatistics
+				fileStatistics,
+				this.entityCache.dataAllocator().createStatistics(),
+				this.entityCache.createGarbageCollectionStatistics(),
+				this.bufferPool.createStatistics()
 			);
 		}
 
@@ -1380,6 +1637,18 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		{
 			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator);
 		}
+		
+		@Override
+		public final boolean incrementalEntityIndexUpdate(final long nanoTimeBudgetBound)
+		{
+			// only committed data may be indexed. Should never be the case during housekeeping, but to be sure.
+			if(this.entityIndex == null || this.headFile == null || this.uncommittedDataLength != 0)
+			{
+				return true;
+			}
+			
+			return this.entityIndex.update(this.headFile, nanoTimeBudgetBound);
+		}
 
 		private void deletePendingFile(final StorageLiveDataFile.Default file)
 		{
@@ -1428,6 +1697,22 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			// intentionally no minimum first loop execution as cleanup is not important if the system has heavy load
 			while(this.fileCleanupCursor != null && System.nanoTime() < nanoTimeBudgetBound)
 			{
+				// collected cold entities are transferred in one go so that they form a cold file of reasonable size.
+				if(this.coldFlushing || this.hasColdRemnantsToFlush())
+				{
+					if(!this.incrementalFlushColdRemnants(nanoTimeBudgetBound))
+					{
+						break;
+					}
+					
+					/*
+					 * Flushing moves the cursor past every flushed remnant file, possibly past the anchor file, and
+					 * appends new files, so the cycle restarts at the cursor. Emptied remnant files that are still
+					 * in use are pending deletes, which are deleted once the cursor reaches them again.
+					 */
+					cycleAnchorFile = this.fileCleanupCursor;
+				}
+				
 				// never check current head file for dissolving
 //				DEBUGStorage.println(this.channelIndex + " (head " + this.headFile.number() + ")" + " checking " + this.fileCleanupCursor);
 
@@ -1448,8 +1733,15 @@ public interface StorageFileManager extends StorageChannelResetablePart
 						continue;
 					}
 				}
+				else if(this.fileCleanupCursor.isColdRemnant && this.fileCleanupCursor.hasContent())
+				{
+					// remaining cold entities wait for the next cold file, see #incrementalFlushColdRemnants.
+				}
 				else if(fileDissolver.needsDissolving(this.fileCleanupCursor))
 				{
+					// a cold remnant file without content is just dissolved (deleted) like any other file.
+					this.unregisterColdRemnant(this.fileCleanupCursor);
+					
 					if(this.fileCleanupCursor == this.headFile)
 					{
 						this.createNextStorageFile();
@@ -1510,6 +1802,8 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 			if(this.incrementalTransferEntities(file, nanoTimeBudgetBound))
 			{
+				this.releasePrefetchedData(file);
+				
 //				DEBUGStorage.println(" * dissolved completely, deleting: " + file);
 				if(file.unregisterUsageClosingData(this, this.deleter))
 				{
@@ -1554,6 +1848,14 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			
 			// physically delete file after the transactions entry is ensured
 			this.writer.delete(file, this.writeController, this.fileProvider);
+			
+			this.unregisterColdRemnant(file);
+			
+			// the file's entries in the entity index are obsolete now.
+			if(this.entityIndex != null)
+			{
+				this.entityIndex.registerDeletedFile(file);
+			}
 		}
 
 		private boolean incrementalTransferEntities(
@@ -1563,10 +1865,18 @@ public interface StorageFileManager extends StorageChannelResetablePart
 		{
 			// check for new head file in any case
 			this.checkForNewFile();
+			
+			// cold entities are only transferred when flushing them to a cold head file.
+			final int coldGeneration = this.dataFileEvaluator.coldGenerationThreshold();
+			if(coldGeneration > 0 && !this.coldFlushing)
+			{
+				return this.incrementalTransferHotEntities(file, coldGeneration, nanoTimeBudgetBound);
+			}
 
 			// dissolve file to as much head files as needed.
 			while(file.hasContent() && System.nanoTime() < nanoTimeBudgetBound)
 			{
+				this.prefetchData(file, 0);
 //				DEBUGStorage.println("transferring one head chain of " + file);
 				this.transferOneChainToHeadFile(file);
 //				DEBUGStorage.println(" * result: " + file);
@@ -1578,6 +1888,148 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			return !file.hasContent();
 		}
 		
+		private boolean incrementalTransferHotEntities(
+			final StorageLiveDataFile.Default file               ,
+			final int                         coldGeneration     ,
+			final long                        nanoTimeBudgetBound
+		)
+		{
+			StorageEntity.Default predecessor = file.head;
+			while(System.nanoTime() < nanoTimeBudgetBound)
+			{
+				// skip cold entities. They remain in the file until it gets flushed to a cold head file.
+				while(predecessor.fileNext != file.tail && isColdEntity(predecessor.fileNext, coldGeneration))
+				{
+					predecessor = predecessor.fileNext;
+				}
+				
+				if(predecessor.fileNext == file.tail)
+				{
+					if(file.hasContent())
+					{
+						this.registerColdRemnant(file);
+					}
+					this.releasePrefetchedData(file);
+					break;
+				}
+				
+				this.prefetchData(file, coldGeneration);
+				this.transferOneChainToHeadFile(file, predecessor, coldGeneration);
+			}
+			
+			return !file.hasContent();
+		}
+		
+		private void prefetchData(final StorageLiveDataFile.Default file, final int coldGeneration)
+		{
+			// keeps the background reading ahead of the transfers. Ranges already being read are not read again.
+			if(this.transferPrefetcher != null)
+			{
+				this.transferPrefetcher.prefetch(file, coldGeneration);
+			}
+		}
+		
+		private void releasePrefetchedData(final StorageLiveDataFile.Default file)
+		{
+			// the prefetcher's usage of a dissolved file would prevent its deletion.
+			if(this.transferPrefetcher != null)
+			{
+				this.transferPrefetcher.release(file);
+			}
+		}
+		
+		private void clearPrefetchedData()
+		{
+			if(this.transferPrefetcher != null)
+			{
+				this.transferPrefetcher.clear();
+			}
+		}
+		
+		private void registerColdRemnant(final StorageLiveDataFile.Default file)
+		{
+			if(!file.isColdRemnant)
+			{
+				file.isColdRemnant = true;
+				this.coldRemnantFiles.add(file);
+			}
+		}
+		
+		private void unregisterColdRemnant(final StorageLiveDataFile.Default file)
+		{
+			if(file.isColdRemnant)
+			{
+				file.isColdRemnant = false;
+				this.coldRemnantFiles.removeOne(file);
+			}
+		}
+		
+		private boolean hasColdRemnantsToFlush()
+		{
+			if(this.coldRemnantFiles.isEmpty())
+			{
+				return false;
+			}
+			
+			// remnants are only flushed when they fill a cold file of minimum size to not create tiny cold files.
+			long remnantDataLength = 0;
+			for(final StorageLiveDataFile.Default file : this.coldRemnantFiles)
+			{
+				remnantDataLength += file.dataLength();
+			}
+			
+			return remnantDataLength >= this.fileMinimumSize();
+		}
+		
+		private boolean incrementalFlushColdRemnants(final long nanoTimeBudgetBound)
+		{
+			if(!this.coldFlushing)
+			{
+				this.coldFlushing = true;
+				
+				// an unused head file can be used directly, otherwise the flushing requires a new (cold) head file.
+				if(this.headFile.hasNoBytes())
+				{
+					this.headFile.isCold = true;
+				}
+				else if(!this.headFile.isCold)
+				{
+					this.createNextStorageFile();
+				}
+			}
+			
+			while(!this.coldRemnantFiles.isEmpty())
+			{
+				final StorageLiveDataFile.Default file = this.coldRemnantFiles.first();
+				
+				// the file might be deleted right away, so the cleanup cursor must not remain on it.
+				if(this.fileCleanupCursor == file)
+				{
+					this.fileCleanupCursor = file.next;
+				}
+				
+				if(!this.incrementalDissolveStorageFile(file, nanoTimeBudgetBound) && file.hasContent())
+				{
+					return false;
+				}
+				this.unregisterColdRemnant(file);
+			}
+			
+			this.coldFlushing = false;
+			
+			// recently written data must not be mixed into cold files, so a new (hot) head file is required.
+			if(this.headFile.hasNoBytes())
+			{
+				this.headFile.isCold = false;
+			}
+			else
+			{
+				this.createNextStorageFile();
+			}
+			
+			return true;
+		}
+		
 		final StorageEntity.Default getFirstEntity()
 		{
 			final StorageLiveDataFile.Default currentFile = this.currentStorageFile();
@@ -1631,31 +2083,35 @@ public interface StorageFileManager extends StorageChannelResetablePart
 //			DEBUGStorage.println(this.channelIndex + " committing import data (entity registering)");
 
 			// caching variables
-			final StorageEntityCache.Default  entityCache = this.entityCache;
-			final StorageLiveDataFile.Default headFile    = this.headFile   ;
+			final StorageLiveDataFile.Default headFile = this.headFile;
 
-			final long oldTotalLength = this.headFile.totalLength();
-			      long loopFileLength = oldTotalLength;
+			final long oldTotalLength = headFile.totalLength();
+			final long copyLength     = this.importHelper.importLength;
 
+			/*
+			 * The import batches' entity tables are not kept until the commit, as their size is proportional to
+			 * the total import size. Instead, the entities are registered from the copied data itself, i.e. by
+			 * iterating the entity headers in the imported range of the head file, which is mostly still cached
+			 * by the operating system. The entities are in the same order as the batches that have been copied.
+			 */
 			// (05.01.2015 TM)TODO: batch copying must ensure that entity position limit of 2 GB is not exceeded
-			for(final StorageChannelImportBatch batch : this.importHelper.importBatches)
+			final ImportEntityRegisterer registerer = new ImportEntityRegisterer(headFile, oldTotalLength);
+			StorageDataFileItemIterator.New(StorageDataFileItemIterator.BufferProvider.New(), registerer)
+				.iterateStoredItems(headFile.ensureReadable(), oldTotalLength, copyLength)
+			;
+			if(registerer.position != oldTotalLength + copyLength)
 			{
-				// register each entity in the batch (possibly just one)
-				for(StorageChannelImportEntity entity = batch.first(); entity != null; entity = entity.next())
-				{
-					final StorageEntity.Default actual = entityCache.putEntity(entity.objectId(), entity.type());
-					actual.updateStorageInformation(entity.length(), X.checkArrayRange(loopFileLength));
-					headFile.appendEntry(actual);
-					loopFileLength += entity.length();
-				}
+				throw new StorageExceptionConsistency(
+					"Inconsistent import in channel #" + this.channelIndex() + ": registered entity data ends at "
+					+ registerer.position + " instead of " + (oldTotalLength + copyLength) + "."
+				);
 			}
 
-			final long copyLength = loopFileLength - oldTotalLength;
 			headFile.increaseContentLength(copyLength);
 			this.cleanupImportHelper();
 
 //			DEBUGStorage.println(this.channelIndex + " writing import store entry for " + this.headFile);
-			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, copyLength, taskTimestamp, loopFileLength);
+			this.writeTransactionsEntryStore(this.headFile, oldTotalLength, copyLength, taskTimestamp, oldTotalLength + copyLength);
 		}
 
 		final void cleanupImportHelper()
@@ -1719,9 +2175,9 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 		final class ImportHelper implements Consumer<StorageChannelImportBatch>
 		{
-			final StorageLiveDataFile.Default         preImportHeadFile;
-			final BulkList<StorageChannelImportBatch> importBatches     = BulkList.New(1000);
-			StorageFile                               file             ;
+			final StorageLiveDataFile.Default preImportHeadFile;
+			long                              importLength     ;
+			StorageFile                       file             ;
 
 
 			ImportHelper(final StorageLiveDataFile.Default preImportHeadFile)
@@ -1733,8 +2189,8 @@ public interface StorageFileManager extends StorageChannelResetablePart
 			@Override
 			public void accept(final StorageChannelImportBatch batch)
 			{
-				this.importBatches.add(batch);
 				StorageFileManager.Default.this.importBatch(this.file, batch.fileOffset(), batch.fileLength());
+				this.importLength += batch.fileLength();
 			}
 
 			final ImportHelper setFile(final StorageFile file)
@@ -1746,6 +2202,50 @@ public interface StorageFileManager extends StorageChannelResetablePart
 
 		}
 		
+		final class ImportEntityRegisterer implements StorageDataFileItemIterator.ItemProcessor
+		{
+			final StorageLiveDataFile.Default file    ;
+			long                              position;
+
+
+			ImportEntityRegisterer(final StorageLiveDataFile.Default file, final long startPosition)
+			{
+				super();
+				this.file     = file         ;
+				this.position = startPosition;
+			}
+
+			@Override
+			public boolean accept(final long address, final long availableItemLength)
+			{
+				// imported data is copied without gaps, so every item is an entity.
+				if(availableItemLength < Binary.entityHeaderLength())
+				{
+					return false;
+				}
+
+				final StorageEntityCache.Default entityCache = StorageFileManager.Default.this.entityCache;
+				
+				final long length   = Binary.getEntityLengthRawValue(address);
+				final long objectId = Binary.getEntityObjectIdRawValue(address);
+				final int  intLength = X.checkArrayRange(length);
+				
+				final StorageEntityType.Default type = entityCache.validateEntity(
+					intLength,
+					Binary.getEntityTypeIdRawValue(address),
+					objectId
+				);
+
+				final StorageEntity.Default actual = entityCache.putEntity(objectId, type);
+				actual.updateStorageInformation(intLength, entityCache.validateStoragePosition(actual, this.position));
+				this.file.appendEntry(actual);
+				this.position += intLength;
+
+				return true;
+			}
+
+		}
+		
 		static void throwImpossibleStoreLengthException(
 			final long         timestamp            ,
 			final long         currentTotalLength   ,
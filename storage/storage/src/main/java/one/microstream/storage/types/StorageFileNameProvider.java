@@ -48,6 +48,10 @@ public interface StorageFileNameProvider
 
 	public String provideTransactionsFileName(int channelIndex);
 	
+	public String entityIndexFileType();
+	
+	public String provideEntityIndexFileName(int channelIndex);
+	
 	/* (18.06.2020 TM)TODO: remove parsing from filename provider.
 	 * So far, the meta information of a file are parsed from its file name.
 	 * This is dangerous since renaming a file would affect (= destroy) the storage data order and consistency.
@@ -92,6 +96,16 @@ public interface StorageFileNameProvider
 			return "sft"; // "storage file transactions"
 		}
 		
+		public static String defaultEntityIndexFilePrefix()
+		{
+			return "entityindex_";
+		}
+		
+		public static String defaultEntityIndexFileSuffix()
+		{
+			return "sfi"; // "storage file index"
+		}
+		
 		public static String defaultRescuedFileSuffix()
 		{
 			return "bak"; // "backup" - although admittedly, that might be a bit confusing with the BackupFile concept.
@@ -269,6 +283,18 @@ public interface StorageFileNameProvider
 		{
 			return this.transactionsFilePrefix + channelIndex;
 		}
+		
+		@Override
+		public String entityIndexFileType()
+		{
+			return Defaults.defaultEntityIndexFileSuffix();
+		}
+
+		@Override
+		public String provideEntityIndexFileName(final int channelIndex)
+		{
+			return Defaults.defaultEntityIndexFilePrefix() + channelIndex;
+		}
 
 		@Override
 		public <F extends StorageDataFile> void parseDataInventoryFile(
@@ -514,6 +514,16 @@ public interface StorageFileProvider extends PersistenceTypeDictionaryIoHandler.
 			return file;
 		}
 
+		public AFile provideEntityIndexFile(final int channelIndex)
+		{
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     indexFileName    = this.fileNameProvider.provideEntityIndexFileName(channelIndex);
+			final String     indexFileType    = this.fileNameProvider.entityIndexFileType();
+			final AFile      file             = channelDirectory.ensureFile(indexFileName, indexFileType);
+			
+			return file;
+		}
+
 		public AFile provideLockFile()
 		{
 			final AFile file = this.baseDirectory.ensureFile(this.fileNameProvider.lockFileName());
@@ -86,6 +86,18 @@ public interface StorageFileWriter
 		return sourceFile.copyTo(targetFile, sourceOffset, copyLength);
 	}
 	
+	/**
+	 * Logically the same as a transfer, but with the source file's data already read into the passed buffers.
+	 */
+	public default long writeTransfer(
+		final StorageLiveDataFile            sourceFile ,
+		final Iterable<? extends ByteBuffer> byteBuffers,
+		final StorageLiveDataFile            targetFile
+	)
+	{
+		return this.write(targetFile, byteBuffers);
+	}
+	
 	public default long writeTransactionEntryCreate(
 		final StorageLiveTransactionsFile    transactionFile,
 		final Iterable<? extends ByteBuffer> byteBuffers    ,
@@ -107,6 +107,22 @@ public interface StorageFileWriterBackupping extends StorageFileWriter
 			return length;
 		}
 		
+		@Override
+		public final long writeTransfer(
+			final StorageLiveDataFile            sourceFile ,
+			final Iterable<? extends ByteBuffer> byteBuffers,
+			final StorageLiveDataFile            targetFile
+		)
+		{
+			final long oldTargetFileLength = targetFile.size();
+			final long byteCount = this.delegate.writeTransfer(sourceFile, byteBuffers, targetFile);
+			
+			// backup item is enqueued and will be processed by the backup thread, which then decrements the user count.
+			this.itemEnqueuer.enqueueCopyingItem(targetFile, oldTargetFileLength, byteCount);
+			
+			return byteCount;
+		}
+		
 		@Override
 		public final long writeTransactionEntryCreate(
 			final StorageLiveTransactionsFile    transactionFile,
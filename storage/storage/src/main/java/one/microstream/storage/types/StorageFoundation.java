@@ -1018,7 +1018,7 @@ public interface StorageFoundation<F extends StorageFoundation<?>>
 
 		protected StorageObjectIdMarkQueue.Creator ensureOidMarkQueueCreator()
 		{
-			return new StorageObjectIdMarkQueue.Creator.Default();
+			return new StorageObjectIdMarkQueue.Creator.Concurrent();
 		}
 
 		protected StorageEntityMarkMonitor.Creator ensureEntityMarkMonitorCreator()
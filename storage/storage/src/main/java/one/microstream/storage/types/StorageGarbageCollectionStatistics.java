@@ -0,0 +1,172 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+
+/**
+ * Snapshot of a channel's garbage collection progress, primarily meant for monitoring the marking.
+ */
+public interface StorageGarbageCollectionStatistics
+{
+	public long sweepGeneration();
+
+	/**
+	 * @return the millisecond timestamp of the start of the last sweep or 0 if there was none, yet.
+	 */
+	public long lastSweepStart();
+
+	/**
+	 * @return the millisecond timestamp of the end of the last sweep or 0 if there was none, yet.
+	 */
+	public long lastSweepEnd();
+
+	/**
+	 * @return the total number of entities marked by the channel, including {@link #idleMarkedEntityCount()}.
+	 */
+	public long markedEntityCount();
+
+	/**
+	 * @return the number of entities marked while the channel was waiting for tasks instead of during housekeeping.
+	 */
+	public long idleMarkedEntityCount();
+
+	public long markingTimeNs();
+
+	/**
+	 * @return the number of object ids currently waiting in the channel's mark queue.
+	 */
+	public long pendingMarkCount();
+
+
+
+	public static StorageGarbageCollectionStatistics New(
+		final long sweepGeneration      ,
+		final long lastSweepStart       ,
+		final long lastSweepEnd         ,
+		final long markedEntityCount    ,
+		final long idleMarkedEntityCount,
+		final long markingTimeNs        ,
+		final long pendingMarkCount
+	)
+	{
+		return new StorageGarbageCollectionStatistics.Default(
+			notNegative(sweepGeneration)      ,
+			notNegative(lastSweepStart)       ,
+			notNegative(lastSweepEnd)         ,
+			notNegative(markedEntityCount)    ,
+			notNegative(idleMarkedEntityCount),
+			notNegative(markingTimeNs)        ,
+			notNegative(pendingMarkCount)
+		);
+	}
+
+	public final class Default implements StorageGarbageCollectionStatistics
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final long sweepGeneration      ;
+		final long lastSweepStart       ;
+		final long lastSweepEnd         ;
+		final long markedEntityCount    ;
+		final long idleMarkedEntityCount;
+		final long markingTimeNs        ;
+		final long pendingMarkCount     ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long sweepGeneration      ,
+			final long lastSweepStart       ,
+			final long lastSweepEnd         ,
+			final long markedEntityCount    ,
+			final long idleMarkedEntityCount,
+			final long markingTimeNs        ,
+			final long pendingMarkCount
+		)
+		{
+			super();
+			this.sweepGeneration       = sweepGeneration      ;
+			this.lastSweepStart        = lastSweepStart       ;
+			this.lastSweepEnd          = lastSweepEnd         ;
+			this.markedEntityCount     = markedEntityCount    ;
+			this.idleMarkedEntityCount = idleMarkedEntityCount;
+			this.markingTimeNs         = markingTimeNs        ;
+			this.pendingMarkCount      = pendingMarkCount     ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long sweepGeneration()
+		{
+			return this.sweepGeneration;
+		}
+
+		@Override
+		public final long lastSweepStart()
+		{
+			return this.lastSweepStart;
+		}
+
+		@Override
+		public final long lastSweepEnd()
+		{
+			return this.lastSweepEnd;
+		}
+
+		@Override
+		public final long markedEntityCount()
+		{
+			return this.markedEntityCount;
+		}
+
+		@Override
+		public final long idleMarkedEntityCount()
+		{
+			return this.idleMarkedEntityCount;
+		}
+
+		@Override
+		public final long markingTimeNs()
+		{
+			return this.markingTimeNs;
+		}
+
+		@Override
+		public final long pendingMarkCount()
+		{
+			return this.pendingMarkCount;
+		}
+
+	}
+
+}
@@ -49,6 +49,61 @@ public interface StorageHousekeepingController
 	 */
 	public long fileCheckTimeBudgetNs();
 
+	/**
+	 * @return The time slice in nanoseconds a channel spends on pending garbage collection marking at a time
+	 *         while waiting for new tasks. A value of 0 disables marking during waiting.
+	 */
+	public default long idleMarkingTimeSliceNs()
+	{
+		return Defaults.defaultIdleMarkingTimeSliceNs();
+	}
+
+	/**
+	 * Provides the controller to be used by the channel with the passed index. Controllers adapting to the load
+	 * of a channel need one instance per channel, all others can just be shared.
+	 * 
+	 * @param channelIndex the index of the channel.
+	 * 
+	 * @return the controller for the channel.
+	 */
+	public default StorageHousekeepingController provideChannelController(final int channelIndex)
+	{
+		return this;
+	}
+
+	/**
+	 * Tells whether the controller adapts to the load reported via
+	 * {@link #updateLoad(double, double, double, long)}. Gathering the load requires iterating all of a channel's
+	 * storage files, so the channels only do it for controllers that actually use it.
+	 * 
+	 * @return whether the controller uses the reported load. {@literal false} by default.
+	 */
+	public default boolean isLoadAdaptive()
+	{
+		return false;
+	}
+
+	/**
+	 * Reports the load of the controller's channel at the start of every housekeeping interval, before the
+	 * interval's budgets are queried, provided that {@link #isLoadAdaptive()} is true. Ignored by default.
+	 * 
+	 * @param idleRatio the share of the last interval the channel spent waiting for tasks.
+	 * @param deadDataRatio the share of the channel's storage files' data that is no longer used.
+	 * @param cacheUsageRatio the channel's entity cache size relative to the entity cache evaluator's threshold.
+	 * @param pendingMarkCount the number of object ids pending in the channel's garbage collection mark queue.
+	 * 
+	 * @see #provideChannelController(int)
+	 */
+	public default void updateLoad(
+		final double idleRatio       ,
+		final double deadDataRatio   ,
+		final double cacheUsageRatio ,
+		final long   pendingMarkCount
+	)
+	{
+		// no-op by default
+	}
+
 	
 	
 	public interface Validation
@@ -168,6 +223,12 @@ public interface StorageHousekeepingController
 		{
 			return 10_000_000; // ns
 		}
+		
+		public static long defaultIdleMarkingTimeSliceNs()
+		{
+			// short enough to not noticeably delay an incoming task
+			return 1_000_000; // ns
+		}
 	}
 
 
@@ -0,0 +1,650 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.math.XMath.positive;
+
+import one.microstream.chars.VarString;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingTable;
+
+
+/**
+ * A {@link StorageHousekeepingController} that adjusts the housekeeping time budgets of every channel
+ * between a minimum and a maximum value according to the channel's load and housekeeping backlog.
+ * <p>
+ * The more time a channel spends waiting for tasks, the more of it is granted for housekeeping. Independent of that,
+ * the garbage collection budget grows with the pending mark queue size and the entity cache usage, the live check
+ * budget with the entity cache usage and the file check budget with the ratio of no longer used data in the
+ * channel's storage files. This way, housekeeping yields to tasks under load, but does not fall behind indefinitely.
+ * <p>
+ * The current decisions can be queried via {@link #createStatistics()}.
+ *
+ * @see StorageHousekeepingController#updateLoad(double, double, double, long)
+ */
+public interface StorageHousekeepingControllerAdaptive extends StorageHousekeepingController
+{
+	/**
+	 * @return The minimum housekeeping time budget per interval in nanoseconds.
+	 */
+	public long minimumTimeBudgetNs();
+
+	/**
+	 * @return The maximum housekeeping time budget per interval in nanoseconds.
+	 */
+	public long maximumTimeBudgetNs();
+
+	/**
+	 * @return the latest load and resulting time budgets per channel index.
+	 */
+	public XGettingTable<Integer, ? extends ChannelStatistics> createStatistics();
+
+
+
+	public interface Validation
+	{
+		public static void validateParameters(
+			final long   housekeepingIntervalMs,
+			final long   minimumTimeBudgetNs   ,
+			final long   maximumTimeBudgetNs   ,
+			final double deadDataRatioBound    ,
+			final long   pendingMarkCountBound
+		)
+			throws IllegalArgumentException
+		{
+			StorageHousekeepingController.Validation.validateParameters(housekeepingIntervalMs, minimumTimeBudgetNs);
+			if(maximumTimeBudgetNs < minimumTimeBudgetNs)
+			{
+				throw new IllegalArgumentException(
+					"Specified maximum housekeeping nanosecond time budget of "
+					+ maximumTimeBudgetNs
+					+ " is lower than the minimum time budget "
+					+ minimumTimeBudgetNs + "."
+				);
+			}
+			if(!(deadDataRatioBound > 0.0 && deadDataRatioBound <= 1.0))
+			{
+				throw new IllegalArgumentException(
+					"Specified dead data ratio bound of "
+					+ deadDataRatioBound
+					+ " is not in the range ]0.0;1.0]."
+				);
+			}
+			positive(pendingMarkCountBound);
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingControllerAdaptive} instance
+	 * using default values defined by {@link StorageHousekeepingController.Defaults} and
+	 * {@link StorageHousekeepingControllerAdaptive.Defaults}.
+	 *
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 *
+	 * @see StorageHousekeepingControllerAdaptive#New(long, long, long)
+	 */
+	public static StorageHousekeepingControllerAdaptive New()
+	{
+		return New(
+			StorageHousekeepingController.Defaults.defaultHousekeepingIntervalMs()  ,
+			StorageHousekeepingController.Defaults.defaultHousekeepingTimeBudgetNs(),
+			Defaults.defaultMaximumTimeBudgetNs()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHousekeepingControllerAdaptive} instance
+	 * using the passed values and the default bounds for the backlog metrics.
+	 *
+	 * @param housekeepingIntervalMs the interval in milliseconds that the storage threads shall
+	 *        execute their various housekeeping actions. Must be greater than zero.
+	 * @param minimumTimeBudgetNs the time budget in nanoseconds granted to a fully loaded channel without
+	 *        housekeeping backlog.
+	 * @param maximumTimeBudgetNs the time budget in nanoseconds granted to an idle channel or to a channel
+	 *        with a maximum housekeeping backlog. Must not be lower than the minimum time budget.
+	 *
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 *
+	 * @see StorageHousekeepingController#New(long, long)
+	 */
+	public static StorageHousekeepingControllerAdaptive New(
+		final long housekeepingIntervalMs,
+		final long minimumTimeBudgetNs   ,
+		final long maximumTimeBudgetNs
+	)
+	{
+		return New(
+			housekeepingIntervalMs                ,
+			minimumTimeBudgetNs                   ,
+			maximumTimeBudgetNs                   ,
+			Defaults.defaultDeadDataRatioBound()  ,
+			Defaults.defaultPendingMarkCountBound()
+		);
+	}
+
+	/**
+	 * @param deadDataRatioBound the ratio of no longer used data in a channel's storage files at and above which
+	 *        the file check gets the maximum time budget.
+	 * @param pendingMarkCountBound the number of pending object ids in a channel's mark queue at and above which
+	 *        the garbage collection gets the maximum time budget.
+	 *
+	 * @return a new {@link StorageHousekeepingControllerAdaptive} instance.
+	 *
+	 * @see StorageHousekeepingControllerAdaptive#New(long, long, long)
+	 */
+	public static StorageHousekeepingControllerAdaptive New(
+		final long   housekeepingIntervalMs,
+		final long   minimumTimeBudgetNs   ,
+		final long   maximumTimeBudgetNs   ,
+		final double deadDataRatioBound    ,
+		final long   pendingMarkCountBound
+	)
+	{
+		Validation.validateParameters(
+			housekeepingIntervalMs,
+			minimumTimeBudgetNs   ,
+			maximumTimeBudgetNs   ,
+			deadDataRatioBound    ,
+			pendingMarkCountBound
+		);
+
+		return new StorageHousekeepingControllerAdaptive.Default(
+			housekeepingIntervalMs,
+			minimumTimeBudgetNs   ,
+			maximumTimeBudgetNs   ,
+			deadDataRatioBound    ,
+			pendingMarkCountBound
+		);
+	}
+
+	public interface Defaults
+	{
+		public static long defaultMaximumTimeBudgetNs()
+		{
+			return 100_000_000; // ns, meaning 10% of the default interval
+		}
+
+		public static double defaultDeadDataRatioBound()
+		{
+			return 0.5;
+		}
+
+		public static long defaultPendingMarkCountBound()
+		{
+			return 100_000;
+		}
+	}
+
+
+
+	public interface ChannelStatistics
+	{
+		public int channelIndex();
+
+		/**
+		 * @return the number of load updates the channel has reported so far.
+		 */
+		public long updateCount();
+
+		public double idleRatio();
+
+		public double deadDataRatio();
+
+		public double cacheUsageRatio();
+
+		public long pendingMarkCount();
+
+		public long housekeepingTimeBudgetNs();
+
+		public long garbageCollectionTimeBudgetNs();
+
+		public long liveCheckTimeBudgetNs();
+
+		public long fileCheckTimeBudgetNs();
+
+
+
+		public final class Default implements ChannelStatistics
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final int    channelIndex                 ;
+			final long   updateCount                  ;
+			final double idleRatio                    ;
+			final double deadDataRatio                ;
+			final double cacheUsageRatio              ;
+			final long   pendingMarkCount             ;
+			final long   housekeepingTimeBudgetNs     ;
+			final long   garbageCollectionTimeBudgetNs;
+			final long   liveCheckTimeBudgetNs        ;
+			final long   fileCheckTimeBudgetNs        ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(
+				final int    channelIndex                 ,
+				final long   updateCount                  ,
+				final double idleRatio                    ,
+				final double deadDataRatio                ,
+				final double cacheUsageRatio              ,
+				final long   pendingMarkCount             ,
+				final long   housekeepingTimeBudgetNs     ,
+				final long   garbageCollectionTimeBudgetNs,
+				final long   liveCheckTimeBudgetNs        ,
+				final long   fileCheckTimeBudgetNs
+			)
+			{
+				super();
+				this.channelIndex                  = channelIndex                 ;
+				this.updateCount                   = updateCount                  ;
+				this.idleRatio                     = idleRatio                    ;
+				this.deadDataRatio                 = deadDataRatio                ;
+				this.cacheUsageRatio               = cacheUsageRatio              ;
+				this.pendingMarkCount              = pendingMarkCount             ;
+				this.housekeepingTimeBudgetNs      = housekeepingTimeBudgetNs     ;
+				this.garbageCollectionTimeBudgetNs = garbageCollectionTimeBudgetNs;
+				this.liveCheckTimeBudgetNs         = liveCheckTimeBudgetNs        ;
+				this.fileCheckTimeBudgetNs         = fileCheckTimeBudgetNs        ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final int channelIndex()
+			{
+				return this.channelIndex;
+			}
+
+			@Override
+			public final long updateCount()
+			{
+				return this.updateCount;
+			}
+
+			@Override
+			public final double idleRatio()
+			{
+				return this.idleRatio;
+			}
+
+			@Override
+			public final double deadDataRatio()
+			{
+				return this.deadDataRatio;
+			}
+
+			@Override
+			public final double cacheUsageRatio()
+			{
+				return this.cacheUsageRatio;
+			}
+
+			@Override
+			public final long pendingMarkCount()
+			{
+				return this.pendingMarkCount;
+			}
+
+			@Override
+			public final long housekeepingTimeBudgetNs()
+			{
+				return this.housekeepingTimeBudgetNs;
+			}
+
+			@Override
+			public final long garbageCollectionTimeBudgetNs()
+			{
+				return this.garbageCollectionTimeBudgetNs;
+			}
+
+			@Override
+			public final long liveCheckTimeBudgetNs()
+			{
+				return this.liveCheckTimeBudgetNs;
+			}
+
+			@Override
+			public final long fileCheckTimeBudgetNs()
+			{
+				return this.fileCheckTimeBudgetNs;
+			}
+
+			@Override
+			public String toString()
+			{
+				return VarString.New()
+					.add("channel ").add(this.channelIndex).add(':').lf()
+					.blank().add("idle ratio"                    ).tab().add('=').blank().add(this.idleRatio                    ).lf()
+					.blank().add("dead data ratio"               ).tab().add('=').blank().add(this.deadDataRatio                ).lf()
+					.blank().add("cache usage ratio"             ).tab().add('=').blank().add(this.cacheUsageRatio              ).lf()
+					.blank().add("pending mark count"            ).tab().add('=').blank().add(this.pendingMarkCount             ).lf()
+					.blank().add("housekeeping time budget"      ).tab().add('=').blank().add(this.housekeepingTimeBudgetNs     ).lf()
+					.blank().add("garbage collection time budget").tab().add('=').blank().add(this.garbageCollectionTimeBudgetNs).lf()
+					.blank().add("live check time budget"        ).tab().add('=').blank().add(this.liveCheckTimeBudgetNs        ).lf()
+					.blank().add("file check time budget"        ).tab().add('=').blank().add(this.fileCheckTimeBudgetNs        )
+					.toString()
+				;
+			}
+
+		}
+
+	}
+
+
+
+	public final class Default implements StorageHousekeepingControllerAdaptive
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final long   intervalMs           ;
+		final long   minimumTimeBudgetNs  ;
+		final long   maximumTimeBudgetNs  ;
+		final double deadDataRatioBound   ;
+		final long   pendingMarkCountBound;
+
+		private final EqHashTable<Integer, ChannelController> channelControllers = EqHashTable.New();
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long   intervalMs           ,
+			final long   minimumTimeBudgetNs  ,
+			final long   maximumTimeBudgetNs  ,
+			final double deadDataRatioBound   ,
+			final long   pendingMarkCountBound
+		)
+		{
+			super();
+			this.intervalMs            = intervalMs           ;
+			this.minimumTimeBudgetNs   = minimumTimeBudgetNs  ;
+			this.maximumTimeBudgetNs   = maximumTimeBudgetNs  ;
+			this.deadDataRatioBound    = deadDataRatioBound   ;
+			this.pendingMarkCountBound = pendingMarkCountBound;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long housekeepingIntervalMs()
+		{
+			return this.intervalMs;
+		}
+
+		@Override
+		public final long minimumTimeBudgetNs()
+		{
+			return this.minimumTimeBudgetNs;
+		}
+
+		@Override
+		public final long maximumTimeBudgetNs()
+		{
+			return this.maximumTimeBudgetNs;
+		}
+
+		// without a channel's load, only the minimum budget can be granted.
+
+		@Override
+		public final long housekeepingTimeBudgetNs()
+		{
+			return this.minimumTimeBudgetNs;
+		}
+
+		@Override
+		public final long garbageCollectionTimeBudgetNs()
+		{
+			return this.minimumTimeBudgetNs;
+		}
+
+		@Override
+		public final long liveCheckTimeBudgetNs()
+		{
+			return this.minimumTimeBudgetNs;
+		}
+
+		@Override
+		public final long fileCheckTimeBudgetNs()
+		{
+			return this.minimumTimeBudgetNs;
+		}
+
+		@Override
+		public final synchronized StorageHousekeepingController provideChannelController(final int channelIndex)
+		{
+			// a restarted storage creates its channels anew, replacing the old channels' controllers.
+			final ChannelController controller = new ChannelController(this, channelIndex);
+			this.channelControllers.put(channelIndex, controller);
+
+			return controller;
+		}
+
+		@Override
+		public final synchronized XGettingTable<Integer, ? extends ChannelStatistics> createStatistics()
+		{
+			final EqHashTable<Integer, ChannelStatistics> statistics = EqHashTable.New();
+			for(final ChannelController controller : this.channelControllers.values())
+			{
+				statistics.add(controller.channelIndex, controller.createStatistics());
+			}
+
+			return statistics;
+		}
+
+		final long timeBudget(final double urgency)
+		{
+			return this.minimumTimeBudgetNs
+				+ (long)((this.maximumTimeBudgetNs - this.minimumTimeBudgetNs) * urgency)
+			;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("house keeping interval"        ).tab().add('=').blank().add(this.intervalMs           ).lf()
+				.blank().add("minimum nano time budget"      ).tab().add('=').blank().add(this.minimumTimeBudgetNs  ).lf()
+				.blank().add("maximum nano time budget"      ).tab().add('=').blank().add(this.maximumTimeBudgetNs  ).lf()
+				.blank().add("dead data ratio bound"         ).tab().add('=').blank().add(this.deadDataRatioBound   ).lf()
+				.blank().add("pending mark count bound"      ).tab().add('=').blank().add(this.pendingMarkCountBound)
+				.toString()
+			;
+		}
+
+	}
+
+
+
+	/**
+	 * The budgets of one channel. Updated and queried by the channel's thread only, except for the statistics.
+	 */
+	public final class ChannelController implements StorageHousekeepingController
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		private static double clamp(final double ratio)
+		{
+			// also maps NaN to 0
+			return ratio > 0.0
+				? Math.min(ratio, 1.0)
+				: 0.0
+			;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageHousekeepingControllerAdaptive.Default parent      ;
+		private final int                                           channelIndex;
+
+		private long   updateCount     ;
+		private double idleRatio       ;
+		private double deadDataRatio   ;
+		private double cacheUsageRatio ;
+		private long   pendingMarkCount;
+
+		private long housekeepingTimeBudgetNs, garbageCollectionTimeBudgetNs, liveCheckTimeBudgetNs, fileCheckTimeBudgetNs;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		ChannelController(final StorageHousekeepingControllerAdaptive.Default parent, final int channelIndex)
+		{
+			super();
+			this.parent       = parent      ;
+			this.channelIndex = channelIndex;
+
+			// until the first load update, the channel is treated as fully loaded without backlog.
+			this.housekeepingTimeBudgetNs      =
+			this.garbageCollectionTimeBudgetNs =
+			this.liveCheckTimeBudgetNs         =
+			this.fileCheckTimeBudgetNs         = parent.minimumTimeBudgetNs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long housekeepingIntervalMs()
+		{
+			return this.parent.intervalMs;
+		}
+
+		@Override
+		public final long housekeepingTimeBudgetNs()
+		{
+			return this.housekeepingTimeBudgetNs;
+		}
+
+		@Override
+		public final long garbageCollectionTimeBudgetNs()
+		{
+			return this.garbageCollectionTimeBudgetNs;
+		}
+
+		@Override
+		public final long liveCheckTimeBudgetNs()
+		{
+			return this.liveCheckTimeBudgetNs;
+		}
+
+		@Override
+		public final long fileCheckTimeBudgetNs()
+		{
+			return this.fileCheckTimeBudgetNs;
+		}
+
+		@Override
+		public final long idleMarkingTimeSliceNs()
+		{
+			return this.parent.idleMarkingTimeSliceNs();
+		}
+
+		@Override
+		public final boolean isLoadAdaptive()
+		{
+			return true;
+		}
+
+		@Override
+		public final synchronized void updateLoad(
+			final double idleRatio       ,
+			final double deadDataRatio   ,
+			final double cacheUsageRatio ,
+			final long   pendingMarkCount
+		)
+		{
+			this.updateCount++;
+			this.idleRatio        = idleRatio       ;
+			this.deadDataRatio    = deadDataRatio   ;
+			this.cacheUsageRatio  = cacheUsageRatio ;
+			this.pendingMarkCount = pendingMarkCount;
+
+			// idle time is granted to all phases, each backlog only to the phase reducing it.
+			final double idleUrgency  = clamp(idleRatio);
+			final double cacheUrgency = clamp(cacheUsageRatio);
+			final double markUrgency  = clamp((double)pendingMarkCount / this.parent.pendingMarkCountBound);
+			final double fileUrgency  = clamp(deadDataRatio / this.parent.deadDataRatioBound);
+
+			this.garbageCollectionTimeBudgetNs = this.parent.timeBudget(
+				Math.max(idleUrgency, Math.max(markUrgency, cacheUrgency))
+			);
+			this.liveCheckTimeBudgetNs = this.parent.timeBudget(Math.max(idleUrgency, cacheUrgency));
+			this.fileCheckTimeBudgetNs = this.parent.timeBudget(Math.max(idleUrgency, fileUrgency));
+
+			// the general budget caps the specific ones, so it must be enough for the most urgent one.
+			this.housekeepingTimeBudgetNs = Math.max(
+				this.garbageCollectionTimeBudgetNs,
+				Math.max(this.liveCheckTimeBudgetNs, this.fileCheckTimeBudgetNs)
+			);
+		}
+
+		final synchronized ChannelStatistics createStatistics()
+		{
+			return new ChannelStatistics.Default(
+				this.channelIndex                 ,
+				this.updateCount                  ,
+				this.idleRatio                    ,
+				this.deadDataRatio                ,
+				this.cacheUsageRatio              ,
+				this.pendingMarkCount             ,
+				this.housekeepingTimeBudgetNs     ,
+				this.garbageCollectionTimeBudgetNs,
+				this.liveCheckTimeBudgetNs        ,
+				this.fileCheckTimeBudgetNs
+			);
+		}
+
+	}
+
+}
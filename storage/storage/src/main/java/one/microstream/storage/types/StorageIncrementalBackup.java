@@ -0,0 +1,1191 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import one.microstream.X;
+import one.microstream.afs.types.ADirectory;
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.types.XGettingCollection;
+import one.microstream.storage.exceptions.StorageExceptionBackup;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
+import one.microstream.storage.exceptions.StorageExceptionIoWriting;
+
+/**
+ * Incremental backup of the channel files into a target directory, shipping only the data written since the
+ * last incremental backup into the same directory.
+ * <p>
+ * Since data files and the transactions file are only ever appended to, the difference between two backups
+ * is fully described by the new ranges of the files. Every backup of a channel writes one delta file containing
+ * these ranges and the lengths of all data files existing at that time. The first backup into an empty directory
+ * ships all files completely. A file that became shorter than its length in the last delta (e.g. truncated when
+ * rolling back an import) is shipped completely again.
+ * <p>
+ * The channels only capture the current lengths of their files at a consistent point in time, see
+ * {@link #captureChannel(int, StorageLiveTransactionsFile, XGettingCollection)}. Since the captured ranges are never
+ * changed afterwards, they are copied outside of the channel threads, one thread per channel, while the channels
+ * keep processing requests, see {@link #backupChannels(XGettingCollection)}.
+ * Only after all channels have completed their delta, the number of the delta is recorded in the checkpoint file
+ * of the target directory, see {@link #commitBackup()}. Deltas beyond that number are leftovers of an incomplete
+ * backup and get overwritten by the next one. Delta files can optionally be compressed.
+ * <p>
+ * {@link #restore(StorageLiveFileProvider, int)} applies all deltas up to the checkpoint in order to recreate the
+ * channel files.
+ */
+public interface StorageIncrementalBackup
+{
+	public ADirectory targetDirectory();
+
+	public boolean isCompressed();
+
+	/**
+	 * Captures the current lengths of the passed channel's files. Must only be called by the channel's thread.
+	 * The captured files are registered as being in use until the capture is released, so they are not deleted
+	 * by the file cleanup before their content has been copied.
+	 *
+	 * @param channelIndex the index of the channel to be backed up.
+	 * @param transactionsFile the channel's transactions file.
+	 * @param dataFiles all data files of the channel.
+	 *
+	 * @return the capture of the channel's files.
+	 */
+	public ChannelCapture captureChannel(
+		int                                               channelIndex    ,
+		StorageLiveTransactionsFile                       transactionsFile,
+		XGettingCollection<? extends StorageLiveDataFile> dataFiles
+	);
+
+	/**
+	 * Writes the next increment of a channel's files up to the captured lengths.
+	 * The increment is not part of the backup until {@link #commitBackup()} has been called.
+	 *
+	 * @param capture the capture of the channel's files.
+	 *
+	 * @return the number of shipped bytes of file content, before compression.
+	 */
+	public long backupChannel(ChannelCapture capture);
+
+	/**
+	 * Writes the increments of all passed captures in parallel, one thread per channel, releases the captures
+	 * and records the backup as complete via {@link #commitBackup()} if all channels succeeded.
+	 *
+	 * @param captures the captures of all channels, taken at the same point in time.
+	 *
+	 * @return the number of shipped bytes of file content of all channels, before compression.
+	 */
+	public long backupChannels(XGettingCollection<? extends ChannelCapture> captures);
+
+	/**
+	 * Records the increments written by the preceding {@link #backupChannel(ChannelCapture)} calls as complete. Must be called exactly once after all channels have been backed up successfully.
+	 * <p>
+	 * The checkpoint file is replaced by first writing a temporary file, deleting the old checkpoint file and
+	 * then moving the temporary file into its place. The temporary file is only ever read if the checkpoint file
+	 * itself is missing, i.e. if the replacement has been interrupted after the old file has been deleted.
+	 */
+	public void commitBackup();
+
+	/**
+	 * Recreates the channel files of the last complete incremental backup by applying all deltas in order.
+	 * The target location should be empty or contain the result of an earlier restore from the same backup.
+	 * <p>
+	 * Note that the type dictionary is not part of the channel files.
+	 *
+	 * @param targetFileProvider the provider of the files to be restored.
+	 * @param channelCount the channel count of the backed up storage.
+	 */
+	public void restore(StorageLiveFileProvider targetFileProvider, int channelCount);
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// format //
+	///////////
+
+	// "MSINCBAK" in ASCII.
+	public long MAGIC_NUMBER   = 0x4D53494E4342414BL;
+	public long FORMAT_VERSION = 1L;
+
+	// file number of the transactions file in delta records, data file numbers are never negative.
+	public long TRANSACTIONS_FILE_NUMBER = -1L;
+
+	public static String checkpointFileName()
+	{
+		return "checkpoint";
+	}
+
+	public static String checkpointTempFileType()
+	{
+		return "tmp";
+	}
+
+	public static String deltaFileName(final long deltaNumber)
+	{
+		return "delta_" + deltaNumber;
+	}
+
+	public static String deltaFileType()
+	{
+		return "dat";
+	}
+
+
+
+	public interface Defaults
+	{
+		public static boolean defaultCompression()
+		{
+			return false;
+		}
+
+		public static int defaultBufferSize()
+		{
+			return 1024 * 1024;
+		}
+
+	}
+
+
+
+	public static StorageIncrementalBackup New(final ADirectory targetDirectory)
+	{
+		return New(targetDirectory, Defaults.defaultCompression());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageIncrementalBackup} instance.
+	 *
+	 * @param targetDirectory the directory containing the backup.
+	 * @param compressed whether new delta files shall be compressed. Existing ones are read either way.
+	 *
+	 * @return a new {@link StorageIncrementalBackup} instance.
+	 */
+	public static StorageIncrementalBackup New(
+		final ADirectory targetDirectory,
+		final boolean    compressed
+	)
+	{
+		return New(targetDirectory, compressed, Defaults.defaultBufferSize());
+	}
+
+	public static StorageIncrementalBackup New(
+		final ADirectory targetDirectory,
+		final boolean    compressed     ,
+		final int        bufferSize
+	)
+	{
+		return new StorageIncrementalBackup.Default(
+			notNull(targetDirectory),
+			compressed              ,
+			positive(bufferSize)
+		);
+	}
+
+	/**
+	 * The lengths of a channel's files at the time of the capture. The captured files are registered as being
+	 * in use by the capture until it is released, see {@link StorageLiveFile#registerUsage(StorageFileUser)}.
+	 */
+	public final class ChannelCapture implements StorageFileUser
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		static ChannelCapture New(
+			final int                                               channelIndex    ,
+			final StorageLiveTransactionsFile                       transactionsFile,
+			final XGettingCollection<? extends StorageLiveDataFile> dataFiles
+		)
+		{
+			final StorageLiveDataFile[] files   = new StorageLiveDataFile[X.checkArrayRange(dataFiles.size())];
+			final long[]                lengths = new long[files.length];
+
+			int i = 0;
+			for(final StorageLiveDataFile dataFile : dataFiles)
+			{
+				files  [i  ] = dataFile;
+				lengths[i++] = dataFile.size();
+			}
+
+			final ChannelCapture capture = new ChannelCapture(
+				channelIndex           ,
+				transactionsFile       ,
+				transactionsFile.size(),
+				files                  ,
+				lengths
+			);
+			transactionsFile.registerUsage(capture);
+			for(final StorageLiveDataFile file : files)
+			{
+				file.registerUsage(capture);
+			}
+
+			return capture;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final int                         channelIndex      ;
+		final StorageLiveTransactionsFile transactionsFile  ;
+		final long                        transactionsLength;
+		final StorageLiveDataFile[]       dataFiles         ;
+		final long[]                      dataFileLengths   ;
+		      boolean                     released          ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		ChannelCapture(
+			final int                         channelIndex      ,
+			final StorageLiveTransactionsFile transactionsFile  ,
+			final long                        transactionsLength,
+			final StorageLiveDataFile[]       dataFiles         ,
+			final long[]                      dataFileLengths
+		)
+		{
+			super();
+			this.channelIndex       = channelIndex      ;
+			this.transactionsFile   = transactionsFile  ;
+			this.transactionsLength = transactionsLength;
+			this.dataFiles          = dataFiles         ;
+			this.dataFileLengths    = dataFileLengths   ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		/**
+		 * Unregisters the capture as a user of the captured files, so that files dissolved meanwhile can be deleted.
+		 * Releasing an already released capture does nothing.
+		 */
+		public final synchronized void release()
+		{
+			if(this.released)
+			{
+				return;
+			}
+			this.released = true;
+
+			// same as for the continuous backup: the files are closed if nobody else uses them anymore.
+			this.transactionsFile.unregisterUsageClosing(this, null);
+			for(final StorageLiveDataFile file : this.dataFiles)
+			{
+				file.unregisterUsageClosing(this, null);
+			}
+		}
+
+	}
+
+	public final class Default implements StorageIncrementalBackup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final ADirectory targetDirectory;
+		private final boolean    compressed     ;
+		private final int        bufferSize     ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final ADirectory targetDirectory,
+			final boolean    compressed     ,
+			final int        bufferSize
+		)
+		{
+			super();
+			this.targetDirectory = targetDirectory;
+			this.compressed      = compressed     ;
+			this.bufferSize      = bufferSize     ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final ADirectory targetDirectory()
+		{
+			return this.targetDirectory;
+		}
+
+		@Override
+		public final boolean isCompressed()
+		{
+			return this.compressed;
+		}
+
+		private ADirectory channelDirectory(final int channelIndex)
+		{
+			return this.targetDirectory.ensureDirectory(
+				StorageFileNameProvider.Defaults.defaultChannelDirectoryPrefix() + channelIndex
+			);
+		}
+
+		private static AFile deltaFile(final ADirectory channelDirectory, final long deltaNumber)
+		{
+			return channelDirectory.ensureFile(
+				StorageIncrementalBackup.deltaFileName(deltaNumber),
+				StorageIncrementalBackup.deltaFileType()
+			);
+		}
+
+		private AFile checkpointFile()
+		{
+			return this.targetDirectory.ensureFile(StorageIncrementalBackup.checkpointFileName());
+		}
+
+		private AFile checkpointTempFile()
+		{
+			return this.targetDirectory.ensureFile(
+				StorageIncrementalBackup.checkpointFileName(),
+				StorageIncrementalBackup.checkpointTempFileType()
+			);
+		}
+
+		/**
+		 * @return the number of the last delta completed by all channels or 0 if there is none.
+		 */
+		private long readCheckpoint()
+		{
+			final AFile checkpointFile = this.checkpointFile();
+			if(checkpointFile.exists())
+			{
+				return readCheckpoint(checkpointFile);
+			}
+
+			// the replacement of the checkpoint file has been interrupted right before moving the new one in place.
+			final AFile checkpointTempFile = this.checkpointTempFile();
+			if(checkpointTempFile.exists())
+			{
+				return readCheckpoint(checkpointTempFile);
+			}
+
+			// no backup has been completed, yet.
+			return 0;
+		}
+
+		private static long readCheckpoint(final AFile file)
+		{
+			final AReadableFile rf = file.useReading();
+			try
+			{
+				final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInput(rf)));
+				if(input.readLong() != MAGIC_NUMBER || input.readLong() != FORMAT_VERSION)
+				{
+					throw new StorageExceptionBackup("Invalid incremental backup checkpoint: " + rf.identifier());
+				}
+
+				return input.readLong();
+			}
+			catch(final IOException e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				rf.release();
+			}
+		}
+
+		@Override
+		public ChannelCapture captureChannel(
+			final int                                               channelIndex    ,
+			final StorageLiveTransactionsFile                       transactionsFile,
+			final XGettingCollection<? extends StorageLiveDataFile> dataFiles
+		)
+		{
+			return ChannelCapture.New(channelIndex, transactionsFile, dataFiles);
+		}
+
+		@Override
+		public long backupChannel(final ChannelCapture capture)
+		{
+			final ADirectory channelDirectory = this.channelDirectory(capture.channelIndex);
+			final long       deltaNumber      = this.readCheckpoint();
+
+			// the channel's state of the last complete backup is contained in its delta file of that backup.
+			final Checkpoint last = deltaNumber == 0
+				? Checkpoint.Empty()
+				: this.applyDelta(deltaFile(channelDirectory, deltaNumber), deltaNumber, null, capture.channelIndex)
+			;
+			final Checkpoint next = Checkpoint.New(deltaNumber + 1, capture);
+
+			// a delta left behind by an incomplete backup carries the same number and is simply overwritten.
+			return this.writeDelta(
+				deltaFile(channelDirectory, next.deltaNumber),
+				last,
+				next,
+				capture
+			);
+		}
+
+		@Override
+		public long backupChannels(final XGettingCollection<? extends ChannelCapture> captures)
+		{
+			try
+			{
+				final BulkList<ChannelBackup> backups = BulkList.New();
+				try
+				{
+					for(final ChannelCapture capture : captures)
+					{
+						backups.add(new ChannelBackup(this, capture).start());
+					}
+				}
+				finally
+				{
+					// the captured files must not be released while still being copied by any started thread.
+					for(final ChannelBackup backup : backups)
+					{
+						backup.join();
+					}
+				}
+
+				long shippedLength = 0;
+				for(final ChannelBackup backup : backups)
+				{
+					if(backup.problem != null)
+					{
+						throw new StorageExceptionBackup(
+							"Incremental backup of channel " + backup.capture.channelIndex + " failed.",
+							backup.problem
+						);
+					}
+					shippedLength += backup.shippedLength;
+				}
+
+				this.commitBackup();
+
+				return shippedLength;
+			}
+			finally
+			{
+				for(final ChannelCapture capture : captures)
+				{
+					capture.release();
+				}
+			}
+		}
+
+		@Override
+		public void commitBackup()
+		{
+			final long  deltaNumber        = this.readCheckpoint() + 1;
+			final AFile checkpointFile     = this.checkpointFile();
+			final AFile checkpointTempFile = this.checkpointTempFile();
+
+			/*
+			 * Writes of the storage's file system implementations are forced to the medium (see XIO#write),
+			 * so the delta files and the new checkpoint are durable before the old checkpoint is deleted.
+			 */
+			checkpointTempFile.ensureExists();
+			final AWritableFile wf = checkpointTempFile.useWriting();
+			try
+			{
+				wf.truncate(0);
+
+				final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutput(wf)));
+				output.writeLong(MAGIC_NUMBER);
+				output.writeLong(FORMAT_VERSION);
+				output.writeLong(deltaNumber);
+				output.close();
+
+				// moving does not replace an existing file, so the old checkpoint has to be deleted first.
+				if(checkpointFile.exists())
+				{
+					AFS.executeWriting(checkpointFile, AWritableFile::delete);
+				}
+				AFS.executeWriting(checkpointFile, target ->
+					wf.moveTo(target)
+				);
+			}
+			catch(final IOException e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+			finally
+			{
+				wf.release();
+			}
+		}
+
+		private long writeDelta(
+			final AFile          deltaFile,
+			final Checkpoint     last     ,
+			final Checkpoint     next     ,
+			final ChannelCapture capture
+		)
+		{
+			final BulkList<Record> records = BulkList.New();
+			Record.add(
+				records                         ,
+				TRANSACTIONS_FILE_NUMBER        ,
+				capture.transactionsFile        ,
+				last.transactionsLength         ,
+				capture.transactionsLength
+			);
+			for(int i = 0; i < capture.dataFiles.length; i++)
+			{
+				final long fileNumber = capture.dataFiles[i].number();
+				Record.add(records, fileNumber, capture.dataFiles[i], last.fileLength(fileNumber), capture.dataFileLengths[i]);
+			}
+
+			deltaFile.ensureExists();
+			final AWritableFile wf = deltaFile.useWriting();
+			try
+			{
+				// an aborted earlier attempt of the same delta may have left content behind.
+				wf.truncate(0);
+
+				final Deflater deflater = this.compressed
+					? new Deflater(Deflater.BEST_SPEED)
+					: null
+				;
+				try
+				{
+					return this.writeDelta(wf, deflater, next, records);
+				}
+				finally
+				{
+					if(deflater != null)
+					{
+						deflater.end();
+					}
+				}
+			}
+			catch(final IOException e)
+			{
+				throw new StorageExceptionIoWriting(e);
+			}
+			finally
+			{
+				wf.release();
+			}
+		}
+
+		private long writeDelta(
+			final AWritableFile    wf      ,
+			final Deflater         deflater,
+			final Checkpoint       next    ,
+			final BulkList<Record> records
+		)
+			throws IOException
+		{
+			final OutputStream fileOutput = new BufferedOutputStream(new FileOutput(wf), this.bufferSize);
+
+			// the header is never compressed to allow recognizing the compression.
+			final DataOutputStream header = new DataOutputStream(fileOutput);
+			header.writeLong(MAGIC_NUMBER);
+			header.writeLong(FORMAT_VERSION);
+			header.writeBoolean(deflater != null);
+
+			final DataOutputStream output = new DataOutputStream(deflater == null
+				? fileOutput
+				: new DeflaterOutputStream(fileOutput, deflater, this.bufferSize)
+			);
+			next.writeTo(output);
+			output.writeInt(X.checkArrayRange(records.size()));
+
+			final ByteBuffer buffer = ByteBuffer.allocate(this.bufferSize);
+
+			long shippedLength = 0;
+			for(final Record record : records)
+			{
+				output.writeLong(record.fileNumber);
+				output.writeLong(record.position  );
+				output.writeLong(record.length    );
+				shippedLength += record.copyTo(output, buffer);
+			}
+
+			// flushes and finishes the compression, closing the underlying file output does nothing.
+			output.close();
+
+			return shippedLength;
+		}
+
+		@Override
+		public void restore(final StorageLiveFileProvider targetFileProvider, final int channelCount)
+		{
+			// deltas beyond the checkpoint are leftovers of an incomplete backup and are ignored.
+			final long deltaNumber = this.readCheckpoint();
+			for(int i = 0; i < channelCount; i++)
+			{
+				this.restoreChannel(targetFileProvider, i, deltaNumber);
+			}
+		}
+
+		private void restoreChannel(
+			final StorageLiveFileProvider targetFileProvider,
+			final int                     channelIndex      ,
+			final long                    deltaNumber
+		)
+		{
+			final ADirectory channelDirectory = this.channelDirectory(channelIndex);
+
+			Checkpoint checkpoint = null;
+			for(long n = 1; n <= deltaNumber; n++)
+			{
+				checkpoint = this.applyDelta(deltaFile(channelDirectory, n), n, targetFileProvider, channelIndex);
+			}
+
+			if(checkpoint != null)
+			{
+				finishRestore(checkpoint, targetFileProvider, channelIndex);
+			}
+		}
+
+		/**
+		 * Reads the passed delta file and applies its records to the files of the passed provider.
+		 *
+		 * @param targetFileProvider the provider of the files to be restored or {@literal null} to only read the
+		 *        checkpoint contained in the delta file.
+		 *
+		 * @return the checkpoint contained in the delta file.
+		 */
+		private Checkpoint applyDelta(
+			final AFile                   deltaFile         ,
+			final long                    deltaNumber       ,
+			final StorageLiveFileProvider targetFileProvider,
+			final int                     channelIndex
+		)
+		{
+			final AReadableFile rf = deltaFile.useReading();
+			try
+			{
+				final InputStream fileInput = new BufferedInputStream(new FileInput(rf), this.bufferSize);
+
+				final DataInputStream header = new DataInputStream(fileInput);
+				if(header.readLong() != MAGIC_NUMBER || header.readLong() != FORMAT_VERSION)
+				{
+					throw new StorageExceptionBackup("Invalid incremental backup file: " + rf.identifier());
+				}
+
+				final Inflater inflater = header.readBoolean()
+					? new Inflater()
+					: null
+				;
+				try
+				{
+					final DataInputStream input = new DataInputStream(inflater == null
+						? fileInput
+						: new InflaterInputStream(fileInput, inflater, this.bufferSize)
+					);
+					final Checkpoint checkpoint = Checkpoint.readFrom(input);
+					if(checkpoint.deltaNumber != deltaNumber)
+					{
+						throw new StorageExceptionBackup("Inconsistent incremental backup file: " + rf.identifier());
+					}
+					if(targetFileProvider == null)
+					{
+						return checkpoint;
+					}
+
+					final byte[] buffer = new byte[this.bufferSize];
+					for(int r = input.readInt(); r > 0; r--)
+					{
+						final long fileNumber = input.readLong();
+						final AFile targetFile = fileNumber == TRANSACTIONS_FILE_NUMBER
+							? targetFileProvider.provideTransactionsFile(channelIndex)
+							: targetFileProvider.provideDataFile(channelIndex, fileNumber)
+						;
+						applyRecord(input, input.readLong(), input.readLong(), targetFile, buffer);
+					}
+
+					return checkpoint;
+				}
+				finally
+				{
+					if(inflater != null)
+					{
+						inflater.end();
+					}
+				}
+			}
+			catch(final IOException e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				rf.release();
+			}
+		}
+
+		private static void applyRecord(
+			final DataInputStream input     ,
+			final long            position  ,
+			final long            length    ,
+			final AFile           targetFile,
+			final byte[]          buffer
+		)
+			throws IOException
+		{
+			targetFile.ensureExists();
+			final AWritableFile wf = targetFile.useWriting();
+			try
+			{
+				final long targetLength = wf.size();
+				if(targetLength < position)
+				{
+					throw new StorageExceptionBackup(
+						"Missing data in " + wf.identifier() + ": length " + targetLength
+						+ " is smaller than delta position " + position + "."
+					);
+				}
+				if(targetLength > position)
+				{
+					// a file that was shipped completely again or a repeated restore.
+					wf.truncate(position);
+				}
+
+				for(long remaining = length; remaining > 0;)
+				{
+					final int chunkLength = (int)Math.min(remaining, buffer.length);
+					input.readFully(buffer, 0, chunkLength);
+					wf.writeBytes(ByteBuffer.wrap(buffer, 0, chunkLength));
+					remaining -= chunkLength;
+				}
+			}
+			finally
+			{
+				wf.release();
+			}
+		}
+
+		private static void finishRestore(
+			final Checkpoint              checkpoint        ,
+			final StorageLiveFileProvider targetFileProvider,
+			final int                     channelIndex
+		)
+		{
+			validateRestoredLength(targetFileProvider.provideTransactionsFile(channelIndex), checkpoint.transactionsLength);
+
+			final BulkList<StorageDataInventoryFile> restoredFiles = targetFileProvider.collectDataFiles(
+				StorageDataInventoryFile::New,
+				BulkList.New(),
+				channelIndex
+			);
+			for(final StorageDataInventoryFile file : restoredFiles)
+			{
+				final long length = checkpoint.fileLength(file.number());
+				if(length < 0)
+				{
+					// files that were deleted (dissolved) before the last backup.
+					file.delete();
+				}
+				else
+				{
+					validateRestoredLength(file.file(), length);
+				}
+			}
+		}
+
+		private static void validateRestoredLength(final AFile file, final long length)
+		{
+			final long restoredLength = file.exists()
+				? file.size()
+				: 0
+			;
+			if(restoredLength != length)
+			{
+				throw new StorageExceptionBackup(
+					"Restored length " + restoredLength + " of " + file.identifier()
+					+ " does not match the backed up length " + length + "."
+				);
+			}
+		}
+
+
+
+		static final class ChannelBackup implements Runnable
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final StorageIncrementalBackup backup       ;
+			final         ChannelCapture           capture      ;
+			private       Thread                   thread       ;
+			              long                     shippedLength;
+			              Throwable                problem      ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			ChannelBackup(final StorageIncrementalBackup backup, final ChannelCapture capture)
+			{
+				super();
+				this.backup  = backup ;
+				this.capture = capture;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final ChannelBackup start()
+			{
+				this.thread = new Thread(this, "MicroStream-IncrementalBackup-" + this.capture.channelIndex);
+				this.thread.start();
+
+				return this;
+			}
+
+			final void join()
+			{
+				// the captured files must not be released while still being copied, so interrupts are deferred.
+				boolean interrupted = false;
+				while(true)
+				{
+					try
+					{
+						this.thread.join();
+						break;
+					}
+					catch(final InterruptedException e)
+					{
+						interrupted = true;
+					}
+				}
+				if(interrupted)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void run()
+			{
+				try
+				{
+					this.shippedLength = this.backup.backupChannel(this.capture);
+				}
+				catch(final Throwable t)
+				{
+					this.problem = t;
+				}
+			}
+
+		}
+
+		static final class Checkpoint
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// static methods //
+			///////////////////
+
+			static Checkpoint New(final long deltaNumber, final ChannelCapture capture)
+			{
+				final long[] fileNumbers = new long[capture.dataFiles.length];
+				for(int i = 0; i < fileNumbers.length; i++)
+				{
+					fileNumbers[i] = capture.dataFiles[i].number();
+				}
+
+				return new Checkpoint(
+					deltaNumber                    ,
+					capture.transactionsLength     ,
+					fileNumbers                    ,
+					capture.dataFileLengths.clone()
+				);
+			}
+
+			static Checkpoint Empty()
+			{
+				// no backup has been completed, yet.
+				return new Checkpoint(0, 0, new long[0], new long[0]);
+			}
+
+			static Checkpoint readFrom(final DataInputStream input) throws IOException
+			{
+				final long   deltaNumber        = input.readLong();
+				final long   transactionsLength = input.readLong();
+				final long[] fileNumbers        = new long[input.readInt()];
+				final long[] fileLengths        = new long[fileNumbers.length];
+				for(int i = 0; i < fileNumbers.length; i++)
+				{
+					fileNumbers[i] = input.readLong();
+					fileLengths[i] = input.readLong();
+				}
+
+				return new Checkpoint(deltaNumber, transactionsLength, fileNumbers, fileLengths);
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final long   deltaNumber       ;
+			final long   transactionsLength;
+			final long[] fileNumbers       ;
+			final long[] fileLengths       ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Checkpoint(
+				final long   deltaNumber       ,
+				final long   transactionsLength,
+				final long[] fileNumbers       ,
+				final long[] fileLengths
+			)
+			{
+				super();
+				this.deltaNumber        = deltaNumber       ;
+				this.transactionsLength = transactionsLength;
+				this.fileNumbers        = fileNumbers       ;
+				this.fileLengths        = fileLengths       ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			/**
+			 * @return the checkpoint length of the data file with the passed number or -1 if it is unknown.
+			 */
+			final long fileLength(final long fileNumber)
+			{
+				// a channel has only few data files, so a linear search is good enough.
+				for(int i = 0; i < this.fileNumbers.length; i++)
+				{
+					if(this.fileNumbers[i] == fileNumber)
+					{
+						return this.fileLengths[i];
+					}
+				}
+
+				return -1;
+			}
+
+			final void writeTo(final DataOutputStream output) throws IOException
+			{
+				output.writeLong(this.deltaNumber);
+				output.writeLong(this.transactionsLength);
+				output.writeInt(this.fileNumbers.length);
+				for(int i = 0; i < this.fileNumbers.length; i++)
+				{
+					output.writeLong(this.fileNumbers[i]);
+					output.writeLong(this.fileLengths[i]);
+				}
+			}
+
+		}
+
+		static final class Record
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// static methods //
+			///////////////////
+
+			static void add(
+				final BulkList<Record> records      ,
+				final long             fileNumber   ,
+				final StorageFile      file         ,
+				final long             shippedLength,
+				final long             currentLength
+			)
+			{
+				// a file that became shorter than shipped (or is unknown) must be shipped completely.
+				final long position = shippedLength >= 0 && shippedLength <= currentLength
+					? shippedLength
+					: 0
+				;
+				if(position < currentLength)
+				{
+					records.add(new Record(fileNumber, file, position, currentLength - position));
+				}
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final long        fileNumber;
+			final StorageFile file      ;
+			final long        position  ;
+			final long        length    ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Record(
+				final long        fileNumber,
+				final StorageFile file      ,
+				final long        position  ,
+				final long        length
+			)
+			{
+				super();
+				this.fileNumber = fileNumber;
+				this.file       = file      ;
+				this.position   = position  ;
+				this.length     = length    ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final long copyTo(final OutputStream output, final ByteBuffer buffer) throws IOException
+			{
+				for(long copied = 0; copied < this.length;)
+				{
+					final int chunkLength = (int)Math.min(this.length - copied, buffer.capacity());
+					buffer.clear();
+					this.file.readBytes(buffer, this.position + copied, chunkLength);
+					output.write(buffer.array(), 0, chunkLength);
+					copied += chunkLength;
+				}
+
+				return this.length;
+			}
+
+		}
+
+		static final class FileOutput extends OutputStream
+		{
+			private final AWritableFile file;
+
+			FileOutput(final AWritableFile file)
+			{
+				super();
+				this.file = file;
+			}
+
+			@Override
+			public void write(final int b)
+			{
+				this.file.writeBytes(ByteBuffer.wrap(new byte[]{(byte)b}));
+			}
+
+			@Override
+			public void write(final byte[] bytes, final int offset, final int length)
+			{
+				this.file.writeBytes(ByteBuffer.wrap(bytes, offset, length));
+			}
+
+		}
+
+		static final class FileInput extends InputStream
+		{
+			private final AReadableFile file    ;
+			private final long          length  ;
+			private       long          position;
+
+			FileInput(final AReadableFile file)
+			{
+				super();
+				this.file   = file;
+				this.length = file.size();
+			}
+
+			@Override
+			public int read()
+			{
+				final byte[] b = new byte[1];
+
+				return this.read(b, 0, 1) < 0
+					? -1
+					: b[0] & 0xFF
+				;
+			}
+
+			@Override
+			public int read(final byte[] bytes, final int offset, final int length)
+			{
+				final int readLength = (int)Math.min(length, this.length - this.position);
+				if(readLength <= 0)
+				{
+					return length == 0 ? 0 : -1;
+				}
+
+				this.file.readBytes(ByteBuffer.wrap(bytes, offset, readLength), this.position, readLength);
+				this.position += readLength;
+
+				return readLength;
+			}
+
+		}
+
+	}
+
+}
@@ -39,6 +39,17 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 	public double dataFillRatio();
 
 	public boolean isHeadFile();
+	
+	/**
+	 * Querying method to check if a storage file has been filled with entities that survived a certain number
+	 * of file dissolves by generational file cleanup. Such "cold" files usually contain long-lived data only and
+	 * can be evaluated by a different criterion than files with recently written data.
+	 *
+	 * @return {@literal true} if the file is a cold file.
+	 *
+	 * @see StorageDataFileEvaluator#coldGenerationThreshold()
+	 */
+	public boolean isColdFile();
 
 
 	/**
@@ -98,6 +109,14 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 		private long fileDataLength ;
 
 		StorageLiveDataFile.Default next, prev;
+		
+		// the length of the leading file range covered by the channel's entity index and the entities listed for it.
+		long indexedLength     ;
+		long indexedEntityCount;
+		
+		// runtime state of the generational file cleanup, see StorageFileManager. Not persisted.
+		boolean isCold       ;
+		boolean isColdRemnant;
 
 		private TypeInFile[] typeInFileSlots = new TypeInFile[INITIAL_TYPE_IN_FILE_ARRAY_LENGTH];
 		private int          typeInFileRange = this.typeInFileSlots.length - 1                  ;
@@ -334,6 +353,28 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			(this.head.fileNext = newFirst).filePrev = this.head;
 		}
 
+		final void removeChain(
+			final StorageEntity.Default predecessor,
+			final StorageEntity.Default newNext    ,
+			final long                  copylength
+		)
+		{
+			if(predecessor == this.head)
+			{
+				this.removeHeadBoundChain(newNext, copylength);
+				return;
+			}
+
+			// a chain in the middle of the file can never be the file's whole content.
+			if(copylength >= this.dataLength())
+			{
+				throw new StorageExceptionConsistency("Inconsistent file partial transfer length of " + copylength + " in " + this);
+			}
+
+			this.decrementDataLength(copylength);
+			(predecessor.fileNext = newNext).filePrev = predecessor;
+		}
+
 		final void addChainToTail(
 			final StorageEntity.Default first,
 			final StorageEntity.Default last
@@ -367,6 +408,11 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			(entry.fileNext = this.tail).filePrev = (entry.filePrev = this.tail.filePrev).fileNext = entry;
 		}
 
+		final StorageEntityDataAllocator dataAllocator()
+		{
+			return this.parent.dataAllocator();
+		}
+
 		public final void loadEntityData(
 			final StorageEntity.Default entity     ,
 			final long                  length     ,
@@ -382,6 +428,12 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			return this.parent.isHeadFile(this);
 		}
 
+		@Override
+		public final boolean isColdFile()
+		{
+			return this.isCold;
+		}
+
 		@Override
 		public final String toString()
 		{
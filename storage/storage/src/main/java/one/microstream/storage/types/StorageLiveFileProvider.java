@@ -41,6 +41,16 @@ public interface StorageLiveFileProvider extends StorageFileProvider
 
 	public AFile provideTransactionsFile(int channelIndex);
 	
+	/**
+	 * Provides the file holding the persisted entity index of the passed channel.
+	 * See {@link StorageEntityIndex}.
+	 * 
+	 * @param channelIndex the index of the channel whose entity index file shall be provided.
+	 * 
+	 * @return the entity index file of the passed channel.
+	 */
+	public AFile provideEntityIndexFile(int channelIndex);
+	
 	public AFile provideLockFile();
 	
 	
@@ -20,6 +20,11 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
 import one.microstream.math.XMath;
 import one.microstream.storage.exceptions.StorageException;
 
@@ -39,6 +44,18 @@ public interface StorageObjectIdMarkQueue
 
 	public long size();
 
+	/**
+	 * Waits at most the passed time in milliseconds for elements to become available.
+	 * Only the owning channel may ever wait on its mark queue.
+	 * 
+	 * @param timeoutMs the maximum time to wait in milliseconds.
+	 * 
+	 * @return whether the queue has elements.
+	 * 
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public boolean awaitElements(long timeoutMs) throws InterruptedException;
+
 
 
 	public interface Creator
@@ -56,6 +73,16 @@ public interface StorageObjectIdMarkQueue
 			}
 
 		}
+		
+		public final class Concurrent implements StorageObjectIdMarkQueue.Creator
+		{
+			@Override
+			public StorageObjectIdMarkQueue createOidMarkQueue(final int segmentLength)
+			{
+				return new StorageObjectIdMarkQueue.Concurrent(segmentLength);
+			}
+
+		}
 
 	}
 
@@ -200,6 +227,17 @@ public interface StorageObjectIdMarkQueue
 		{
 			return this.head != this.tail || this.head.hasElements();
 		}
+		
+		@Override
+		public final synchronized boolean awaitElements(final long timeoutMs) throws InterruptedException
+		{
+			if(!this.hasElements())
+			{
+				this.wait(timeoutMs);
+			}
+			
+			return this.hasElements();
+		}
 
 
 
@@ -341,4 +379,277 @@ public interface StorageObjectIdMarkQueue
 
 	}
 
+	
+	
+	/**
+	 * Lock-free variant of the mark queue: any number of marking channels can enqueue concurrently without
+	 * contending for a lock, while only the owning channel consumes via {@link #getNext(long[])} and
+	 * {@link #advanceTail(int)}.<p>
+	 * An empty slot is represented by the value 0, which is never a valid object id to be marked
+	 * (null references are filtered out by the reference marker before being enqueued).
+	 */
+	final class Concurrent implements StorageObjectIdMarkQueue
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                         segmentLength;
+		private final AtomicReference<Segment>    head         ;
+		private volatile Segment                  tail         ;
+		private final AtomicLong                  size         ;
+		
+		// only set while the owning channel waits, so producers don't have to acquire the lock on every enqueue.
+		private volatile boolean                  waiting      ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Concurrent(final int segmentLength)
+		{
+			super();
+			this.segmentLength = XMath.positive(segmentLength);
+			this.head          = new AtomicReference<>();
+			this.size          = new AtomicLong();
+			this.reset();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final long size()
+		{
+			return Math.max(this.size.get(), 0);
+		}
+
+		@Override
+		public final void reset()
+		{
+			/*
+			 * Only called when no marking is pending, i.e. without concurrent producers.
+			 * Consumed segments are not reused but simply left to the JVM's garbage collector,
+			 * as reusing them would require producers and the consumer to synchronize again.
+			 */
+			final Segment segment = new Segment(this.segmentLength);
+			this.head.set(segment);
+			this.tail = segment;
+			this.size.set(0);
+		}
+
+		@Override
+		public final int getNext(final long[] buffer)
+		{
+			Segment tail = this.tail;
+			if(tail.isConsumed())
+			{
+				final Segment next = tail.next.get();
+				if(next == null)
+				{
+					return 0;
+				}
+				this.tail = tail = next;
+			}
+			
+			return tail.getNext(buffer);
+		}
+
+		@Override
+		public final void advanceTail(final int amount)
+		{
+			this.tail.advanceReadIndex(amount);
+			this.size.addAndGet(-amount);
+		}
+
+		@Override
+		public final void enqueue(final long objectId)
+		{
+			for(Segment segment = this.head.get(); !segment.tryEnqueue(objectId);)
+			{
+				segment = this.advanceHead(segment);
+			}
+			this.size.incrementAndGet();
+			this.notifyWaitingOwner();
+		}
+
+		@Override
+		public final void enqueueBulk(final long[] oids, final int size)
+		{
+			Segment segment = this.head.get();
+			for(int offset = 0; (offset = segment.tryEnqueueBulk(oids, offset, size)) < size;)
+			{
+				segment = this.advanceHead(segment);
+			}
+			this.size.addAndGet(size);
+			this.notifyWaitingOwner();
+		}
+		
+		private Segment advanceHead(final Segment full)
+		{
+			final Segment next = full.provideNext();
+			
+			// failing means another producer already advanced the head, which is just as fine.
+			this.head.compareAndSet(full, next);
+			
+			return next;
+		}
+		
+		private void notifyWaitingOwner()
+		{
+			// the flag is written before the owner checks for elements, so either it sees the elements or it gets notified.
+			if(this.waiting)
+			{
+				synchronized(this)
+				{
+					this.notifyAll();
+				}
+			}
+		}
+
+		@Override
+		public final boolean hasElements()
+		{
+			return this.size.get() > 0;
+		}
+		
+		@Override
+		public final boolean awaitElements(final long timeoutMs) throws InterruptedException
+		{
+			synchronized(this)
+			{
+				this.waiting = true;
+				try
+				{
+					if(!this.hasElements())
+					{
+						this.wait(timeoutMs);
+					}
+				}
+				finally
+				{
+					this.waiting = false;
+				}
+			}
+			
+			return this.hasElements();
+		}
+
+
+
+		static final class Segment
+		{
+			private final AtomicLongArray          objectIds ;
+			private final int                      length    ;
+			private final AtomicInteger            writeIndex;
+			private final AtomicReference<Segment> next      ;
+			
+			// only accessed by the consuming owner channel
+			private       int                      readIndex ;
+
+			Segment(final int length)
+			{
+				super();
+				this.objectIds  = new AtomicLongArray(this.length = length);
+				this.writeIndex = new AtomicInteger();
+				this.next       = new AtomicReference<>();
+			}
+
+			final Segment provideNext()
+			{
+				final Segment next = this.next.get();
+				if(next != null)
+				{
+					return next;
+				}
+				
+				// if another producer won the race, its segment is used and the candidate is discarded.
+				final Segment candidate = new Segment(this.length);
+				return this.next.compareAndSet(null, candidate)
+					? candidate
+					: this.next.get()
+				;
+			}
+
+			final boolean isConsumed()
+			{
+				return this.readIndex >= this.length;
+			}
+
+			final boolean tryEnqueue(final long objectId)
+			{
+				// cheap check first to not increment the write index of full segments indefinitely
+				if(this.writeIndex.get() >= this.length)
+				{
+					return false;
+				}
+				
+				final int index = this.writeIndex.getAndIncrement();
+				if(index >= this.length)
+				{
+					return false;
+				}
+				
+				// volatile write publishes the slot to the consumer
+				this.objectIds.set(index, objectId);
+				
+				return true;
+			}
+
+			final int tryEnqueueBulk(final long[] objectIds, final int offset, final int bound)
+			{
+				if(this.writeIndex.get() >= this.length)
+				{
+					return offset;
+				}
+				
+				// claim the whole remaining range, excess claims beyond the segment length are simply void.
+				final int start = this.writeIndex.getAndAdd(bound - offset);
+				if(start >= this.length)
+				{
+					return offset;
+				}
+				
+				final int copyLength = Math.min(bound - offset, this.length - start);
+				for(int i = 0; i < copyLength; i++)
+				{
+					this.objectIds.set(start + i, objectIds[offset + i]);
+				}
+				
+				return offset + copyLength;
+			}
+
+			final int getNext(final long[] buffer)
+			{
+				// only slots that have already been published by their producers can be copied.
+				final int bound = Math.min(this.length, this.readIndex + buffer.length);
+				
+				int i = this.readIndex;
+				for(long objectId; i < bound && (objectId = this.objectIds.get(i)) != 0; i++)
+				{
+					buffer[i - this.readIndex] = objectId;
+				}
+				
+				return i - this.readIndex;
+			}
+
+			final void advanceReadIndex(final int amount)
+			{
+				// should never happen, but just in case. Better check here than causing data to get deleted erroneously by the GC.
+				if(this.readIndex + amount > this.length)
+				{
+					throw new StorageException("Inconsistent OidMarkQueue low index advance");
+				}
+				this.readIndex += amount;
+			}
+
+		}
+
+	}
+	
 }
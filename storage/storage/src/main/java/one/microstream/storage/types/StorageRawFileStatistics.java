@@ -29,6 +29,7 @@ import java.util.Date;
 import one.microstream.chars.VarString;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.collections.types.XGettingTable;
+import one.microstream.memory.DirectBufferPool;
 
 public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 {
@@ -143,6 +144,42 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 					ratio(cs.liveDataLength(), cs.totalDataLength()))
 				).lf()
 				;
+				
+				final StorageEntityDataAllocator.Statistics ds = cs.cacheDataStatistics();
+				if(ds != null)
+				{
+					vs
+					.tab().add("cache slab count:\t"      + ds.slabCount()      ).lf()
+					.tab().add("cache reserved length:\t" + ds.reservedLength() ).lf()
+					.tab().add("cache used length:\t"     + ds.usedLength()     ).lf()
+					.tab().add("cache allocations:\t"     + ds.allocationCount()).lf()
+					.tab().add("cache frees:\t"           + ds.freeCount()      ).lf()
+					;
+				}
+				
+				final StorageGarbageCollectionStatistics gs = cs.garbageCollectionStatistics();
+				if(gs != null)
+				{
+					vs
+					.tab().add("gc sweep generation:\t"   + gs.sweepGeneration()      ).lf()
+					.tab().add("gc marked entities:\t"    + gs.markedEntityCount()    ).lf()
+					.tab().add("gc idle marked:\t"        + gs.idleMarkedEntityCount()).lf()
+					.tab().add("gc marking time ns:\t"    + gs.markingTimeNs()        ).lf()
+					.tab().add("gc pending marks:\t"      + gs.pendingMarkCount()     ).lf()
+					;
+				}
+				
+				final DirectBufferPool.Statistics ps = cs.bufferPoolStatistics();
+				if(ps != null)
+				{
+					vs
+					.tab().add("buffer pool hits:\t"     + ps.hitCount()         ).lf()
+					.tab().add("buffer pool misses:\t"   + ps.missCount()        ).lf()
+					.tab().add("buffer pool discards:\t" + ps.discardCount()     ).lf()
+					.tab().add("buffer pool buffers:\t"  + ps.pooledBufferCount()).lf()
+					.tab().add("buffer pool length:\t"   + ps.pooledLength()     ).lf()
+					;
+				}
 
 				for(final FileStatistics fs : cs.files())
 				{
@@ -174,6 +211,22 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 
 		public XGettingSequence<? extends FileStatistics> files();
 
+		/**
+		 * @return the statistics of the channel's entity cache data allocator or {@code null} if not available.
+		 */
+		public StorageEntityDataAllocator.Statistics cacheDataStatistics();
+
+		/**
+		 * @return the garbage collection statistics of the channel or {@code null} if not available.
+		 */
+		public StorageGarbageCollectionStatistics garbageCollectionStatistics();
+
+		/**
+		 * @return the statistics of the channel's direct buffer pool for loading and reading or {@code null}
+		 *         if not available.
+		 */
+		public DirectBufferPool.Statistics bufferPoolStatistics();
+
 
 		
 		public static ChannelStatistics New(
@@ -189,7 +242,76 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 				notNegative(fileCount)      ,
 				notNegative(liveDataLength) ,
 				notNegative(totalDataLength),
-					notNull(files)
+					notNull(files)          ,
+				null                    ,
+				null                    ,
+				null
+			);
+		}
+		
+		public static ChannelStatistics New(
+			final int                                        channelIndex       ,
+			final long                                       fileCount          ,
+			final long                                       liveDataLength     ,
+			final long                                       totalDataLength    ,
+			final XGettingSequence<? extends FileStatistics> files              ,
+			final StorageEntityDataAllocator.Statistics      cacheDataStatistics
+		)
+		{
+			return new ChannelStatistics.Default(
+				notNegative(channelIndex)      ,
+				notNegative(fileCount)         ,
+				notNegative(liveDataLength)    ,
+				notNegative(totalDataLength)   ,
+					notNull(files)             ,
+					notNull(cacheDataStatistics),
+				null                        ,
+				null
+			);
+		}
+		
+		public static ChannelStatistics New(
+			final int                                        channelIndex               ,
+			final long                                       fileCount                  ,
+			final long                                       liveDataLength             ,
+			final long                                       totalDataLength            ,
+			final XGettingSequence<? extends FileStatistics> files                      ,
+			final StorageEntityDataAllocator.Statistics      cacheDataStatistics        ,
+			final StorageGarbageCollectionStatistics         garbageCollectionStatistics
+		)
+		{
+			return new ChannelStatistics.Default(
+				notNegative(channelIndex)              ,
+				notNegative(fileCount)                 ,
+				notNegative(liveDataLength)            ,
+				notNegative(totalDataLength)           ,
+					notNull(files)                     ,
+					notNull(cacheDataStatistics)       ,
+					notNull(garbageCollectionStatistics),
+				null
+			);
+		}
+		
+		public static ChannelStatistics New(
+			final int                                        channelIndex               ,
+			final long                                       fileCount                  ,
+			final long                                       liveDataLength             ,
+			final long                                       totalDataLength            ,
+			final XGettingSequence<? extends FileStatistics> files                      ,
+			final StorageEntityDataAllocator.Statistics      cacheDataStatistics        ,
+			final StorageGarbageCollectionStatistics         garbageCollectionStatistics,
+			final DirectBufferPool.Statistics                bufferPoolStatistics
+		)
+		{
+			return new ChannelStatistics.Default(
+				notNegative(channelIndex)              ,
+				notNegative(fileCount)                 ,
+				notNegative(liveDataLength)            ,
+				notNegative(totalDataLength)           ,
+					notNull(files)                     ,
+					notNull(cacheDataStatistics)       ,
+					notNull(garbageCollectionStatistics),
+					notNull(bufferPoolStatistics)
 			);
 		}
 
@@ -201,8 +323,11 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 			// instance fields //
 			////////////////////
 
-			final int                                        channelIndex;
-			final XGettingSequence<? extends FileStatistics> files       ;
+			final int                                        channelIndex       ;
+			final XGettingSequence<? extends FileStatistics> files              ;
+			final StorageEntityDataAllocator.Statistics      cacheDataStatistics;
+			final StorageGarbageCollectionStatistics         garbageCollectionStatistics;
+			final DirectBufferPool.Statistics                bufferPoolStatistics;
 
 
 
@@ -215,12 +340,18 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 				final long                                       fileCount      ,
 				final long                                       liveDataLength ,
 				final long                                       totalDataLength,
-				final XGettingSequence<? extends FileStatistics> files
+				final XGettingSequence<? extends FileStatistics> files          ,
+				final StorageEntityDataAllocator.Statistics      cacheDataStatistics,
+				final StorageGarbageCollectionStatistics         garbageCollectionStatistics,
+				final DirectBufferPool.Statistics                bufferPoolStatistics
 			)
 			{
 				super(fileCount, liveDataLength, totalDataLength);
-				this.channelIndex = channelIndex;
-				this.files        = files       ;
+				this.channelIndex                = channelIndex               ;
+				this.files                       = files                      ;
+				this.cacheDataStatistics         = cacheDataStatistics        ;
+				this.garbageCollectionStatistics = garbageCollectionStatistics;
+				this.bufferPoolStatistics        = bufferPoolStatistics       ;
 			}
 
 
@@ -241,6 +372,24 @@ public interface StorageRawFileStatistics extends StorageRawFileStatisticsItem
 				return this.files;
 			}
 
+			@Override
+			public final StorageEntityDataAllocator.Statistics cacheDataStatistics()
+			{
+				return this.cacheDataStatistics;
+			}
+
+			@Override
+			public final StorageGarbageCollectionStatistics garbageCollectionStatistics()
+			{
+				return this.garbageCollectionStatistics;
+			}
+
+			@Override
+			public final DirectBufferPool.Statistics bufferPoolStatistics()
+			{
+				return this.bufferPoolStatistics;
+			}
+
 		}
 
 	}
@@ -97,6 +97,9 @@ public interface StorageRequestAcceptor
 	public void exportChannels(StorageLiveFileProvider fileProvider, boolean performGarbageCollection)
 		throws InterruptedException;
 
+	public void exportChannelsIncremental(StorageIncrementalBackup backup)
+		throws InterruptedException;
+
 	public void importFiles(XGettingEnum<AFile> importFiles) throws InterruptedException;
 
 	public StorageRawFileStatistics createStatistics() throws InterruptedException;
@@ -244,6 +247,14 @@ public interface StorageRequestAcceptor
 			waitOnTask(this.taskBroker.enqueueExportChannelsTask(fileProvider, performGarbageCollection));
 		}
 
+		@Override
+		public final void exportChannelsIncremental(final StorageIncrementalBackup backup)
+			throws InterruptedException
+		{
+			// the channels only capture their file lengths, the backup itself is written by a separate worker.
+			waitOnTask(this.taskBroker.enqueueExportChannelsIncrementalTask(backup)).waitOnBackup();
+		}
+
 		@Override
 		public StorageRawFileStatistics createStatistics() throws InterruptedException
 		{
@@ -63,6 +63,11 @@ public interface StorageRequestTaskCreator
 		StorageLiveFileProvider fileProvider
 	);
 
+	public StorageRequestTaskExportChannelsIncremental createTaskExportChannelsIncremental(
+		int                      channelCount,
+		StorageIncrementalBackup backup
+	);
+
 	public StorageRequestTaskCreateStatistics createCreateRawFileStatisticsTask(int channelCount);
 
 	public StorageRequestTaskFileCheck createFullFileCheckTask(
@@ -207,6 +212,19 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskExportChannelsIncremental createTaskExportChannelsIncremental(
+			final int                      channelCount,
+			final StorageIncrementalBackup backup
+		)
+		{
+			return new StorageRequestTaskExportChannelsIncremental.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount,
+				backup
+			);
+		}
+
 		@Override
 		public StorageRequestTaskCreateStatistics createCreateRawFileStatisticsTask(final int channelCount)
 		{
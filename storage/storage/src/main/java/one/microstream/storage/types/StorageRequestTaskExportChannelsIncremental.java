@@ -0,0 +1,176 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.storage.exceptions.StorageExceptionBackup;
+
+public interface StorageRequestTaskExportChannelsIncremental extends StorageRequestTask
+{
+	/**
+	 * Waits until the backup of the captured channel files has been written and committed.
+	 * Must only be called after the task itself has been completed successfully.
+	 * <p>
+	 * An interrupted waiting thread does not abort the backup, which is still completed and releases the
+	 * captured files on its own.
+	 *
+	 * @return the number of shipped bytes of file content, before compression.
+	 *
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public long waitOnBackup() throws InterruptedException;
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<StorageIncrementalBackup.ChannelCapture>
+	implements StorageRequestTaskExportChannelsIncremental, StorageChannelTaskStoreEntities
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageIncrementalBackup                  backup       ;
+		private final StorageIncrementalBackup.ChannelCapture[] captures     ;
+		private       int                                       captureCount ;
+		private       boolean                                   captureFailed;
+		private       boolean                                   backupDone   ;
+		private       long                                      shippedLength;
+		private       Throwable                                 backupProblem;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                     timestamp   ,
+			final int                      channelCount,
+			final StorageIncrementalBackup backup
+		)
+		{
+			// every channel captures its own files in parallel, so progress count is always equal to channel count
+			super(timestamp, channelCount);
+			this.backup   = backup;
+			this.captures = new StorageIncrementalBackup.ChannelCapture[channelCount];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final StorageIncrementalBackup.ChannelCapture internalProcessBy(final StorageChannel channel)
+		{
+			// only the file lengths are captured while the channels are synchronized, no content is copied.
+			return channel.captureDataIncremental(this.backup);
+		}
+
+		@Override
+		protected final synchronized void succeed(
+			final StorageChannel                          channel,
+			final StorageIncrementalBackup.ChannelCapture result
+		)
+		{
+			if(this.captureFailed)
+			{
+				// another channel failed in the meantime, so there will be no backup to hand the capture over to.
+				result.release();
+				return;
+			}
+			this.captures[channel.channelIndex()] = result;
+
+			// the last succeeding channel hands all captures over to the backup worker.
+			if(++this.captureCount == this.captures.length)
+			{
+				final Thread worker = new Thread(this::writeBackup, "MicroStream-IncrementalBackup");
+				worker.setDaemon(true);
+				worker.start();
+			}
+		}
+
+		@Override
+		protected final synchronized void fail(
+			final StorageChannel                          channel,
+			final StorageIncrementalBackup.ChannelCapture result
+		)
+		{
+			this.captureFailed = true;
+			if(result != null)
+			{
+				result.release();
+			}
+
+			// captures of channels that succeeded before the failure was known must not stay registered either.
+			for(int i = 0; i < this.captures.length; i++)
+			{
+				if(this.captures[i] != null)
+				{
+					this.captures[i].release();
+					this.captures[i] = null;
+				}
+			}
+		}
+
+		private void writeBackup()
+		{
+			long      shippedLength = 0;
+			Throwable problem       = null;
+			try
+			{
+				// copies the captured ranges in parallel, releases the captures and commits the backup.
+				shippedLength = this.backup.backupChannels(X.ConstList(this.captures));
+			}
+			catch(final Throwable t)
+			{
+				problem = t;
+			}
+
+			synchronized(this)
+			{
+				this.shippedLength = shippedLength;
+				this.backupProblem = problem      ;
+				this.backupDone    = true         ;
+				this.notifyAll();
+			}
+		}
+
+		@Override
+		public final synchronized long waitOnBackup() throws InterruptedException
+		{
+			while(!this.backupDone)
+			{
+				this.wait();
+			}
+			if(this.backupProblem != null)
+			{
+				throw new StorageExceptionBackup(this.backupProblem);
+			}
+
+			return this.shippedLength;
+		}
+
+	}
+
+}
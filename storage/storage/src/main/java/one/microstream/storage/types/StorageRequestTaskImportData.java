@@ -49,6 +49,12 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		 */
 		private static final int SOURCE_FILE_WAIT_TIME_MS = 100;
 		
+		/*
+		 * The reader may only be this many source files ahead of the slowest channel. This bounds the memory
+		 * required for the entity tables of read but not yet imported source files, regardless of the import size.
+		 */
+		private static final int MAX_PENDING_SOURCE_FILES = 2;
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -65,9 +71,10 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		// starting point for the channels to process
 		private final SourceFileSlice[] sourceFileTails;
 
-		private volatile boolean complete   ;
-		private volatile long    maxObjectId;
-		private          Thread  readThread ;
+		private volatile boolean complete         ;
+		private volatile long    maxObjectId      ;
+		private          Thread  readThread       ;
+		private          int     pendingSliceCount; // guarded by sourceFileHeads
 
 
 
@@ -143,8 +150,14 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 //				DEBUGStorage.println("Reader reading source file " + file);
 				try
 				{
+					if(!this.awaitSourceFileCapacity())
+					{
+						// the import has failed in some channel, so reading on is pointless.
+						break;
+					}
 					itemReader.setSourceFile(file);
 					AFS.execute(file, rf -> iterator.iterateStoredItems(rf));
+					this.registerPendingSlices();
 					itemReader.completeCurrentSourceFile();
 				}
 				catch(final Exception e)
@@ -158,6 +171,52 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 
 		
 		
+		/**
+		 * Backpressure for the reader: waits until the channels have caught up to less than
+		 * {@link #MAX_PENDING_SOURCE_FILES} read but not yet imported source files.
+		 * 
+		 * @return {@code false} if the import failed in the meantime.
+		 */
+		private boolean awaitSourceFileCapacity() throws InterruptedException
+		{
+			final int maxPendingSliceCount = MAX_PENDING_SOURCE_FILES * this.sourceFileHeads.length;
+			synchronized(this.sourceFileHeads)
+			{
+				while(this.pendingSliceCount >= maxPendingSliceCount)
+				{
+					if(this.hasProblems())
+					{
+						return false;
+					}
+					this.sourceFileHeads.wait(SOURCE_FILE_WAIT_TIME_MS);
+				}
+			}
+			
+			return !this.hasProblems();
+		}
+		
+		private void registerPendingSlices()
+		{
+			synchronized(this.sourceFileHeads)
+			{
+				// every source file yields one (potentially empty) slice per channel
+				this.pendingSliceCount += this.sourceFileHeads.length;
+			}
+		}
+		
+		private void completeSlice(final SourceFileSlice slice)
+		{
+			// the slice's data has been copied, so its file handle and entity table are no longer needed.
+			slice.close();
+			slice.headBatch = null;
+			
+			synchronized(this.sourceFileHeads)
+			{
+				this.pendingSliceCount--;
+				this.sourceFileHeads.notifyAll();
+			}
+		}
+		
 		static final class ItemReader implements ItemProcessor
 		{
 			///////////////////////////////////////////////////////////////////////////
@@ -382,6 +441,7 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 //					DEBUGStorage.println(channel.channelIndex() + " importData() " + currentSourceFile);
 					// process the batch outside the lock to not block the central reader thread by channel-local work
 					channel.importData(currentSourceFile);
+					this.completeSlice(currentSourceFile);
 				}
 			}
 			catch(final InterruptedException e)
@@ -489,7 +549,7 @@ public interface StorageRequestTaskImportData extends StorageRequestTask
 		// instance fields //
 		////////////////////
 		
-		final ImportBatch     headBatch   ;
+		      ImportBatch     headBatch   ; // released after the slice has been imported
 		      SourceFileSlice next        ;
 		      
 		      
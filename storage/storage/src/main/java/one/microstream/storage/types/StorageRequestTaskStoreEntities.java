@@ -21,10 +21,15 @@ package one.microstream.storage.types;
  */
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import one.microstream.chars.VarString;
+import one.microstream.collections.BulkList;
 import one.microstream.meta.XDebug;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.Chunk;
+import one.microstream.persistence.binary.types.ChunksWrapper;
+import one.microstream.storage.exceptions.StorageException;
 import one.microstream.typing.KeyValue;
 import one.microstream.util.UtilStackTrace;
 
@@ -52,6 +57,24 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		////////////////////
 
 		private final Binary data;
+		
+		/* Whether load tasks can be attached to this task, which are then served between the written slices.
+		 * Set before the task is enqueued, so it is visible to all channels.
+		 */
+		private boolean concurrentLoading;
+		
+		/* Group commit state, guarded by this instance's monitor:
+		 * Data of store requests joining this task's write, the nanosecond bound until which joining requests
+		 * are waited for, the number of store requests currently being enqueued (i.e. potential joiners),
+		 * the byte budget of the whole group and whether the group is sealed, i.e. closed for further joining
+		 * as soon as the first channel starts writing or another task is enqueued after this one.
+		 */
+		private BulkList<Binary> groupData      ;
+		private long             groupBoundNs   ;
+		private AtomicInteger    groupJoiners   ;
+		private long             groupByteBudget;
+		private long             groupByteCount ;
+		private boolean          groupSealed    ;
 
 
 
@@ -71,12 +94,173 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
 		////////////
+		
+		/**
+		 * Enables serving attached load tasks while this task is processed, see
+		 * {@link #attachConcurrentTask(StorageTask)}. Besides before and after writing, they are then also served
+		 * between writing slices of the data, so a big store does not delay them until it has been written.
+		 * Must be called before the task is enqueued.
+		 */
+		final void enableConcurrentLoading()
+		{
+			this.concurrentLoading = true;
+		}
+		
+		/**
+		 * Opens this task as a group for subsequent store requests to join it, see {@link #join(Binary)}.
+		 * 
+		 * @param windowNs the maximum time in nanoseconds channels wait for store requests to join the group
+		 *        before writing it.
+		 * @param joiners the number of store requests currently being enqueued. The channels only wait for
+		 *        joining requests as long as there are any.
+		 * @param byteBudget the maximum total byte count of the group's data.
+		 */
+		final synchronized void openGroup(final long windowNs, final AtomicInteger joiners, final long byteBudget)
+		{
+			this.groupData       = BulkList.New();
+			this.groupBoundNs    = System.nanoTime() + windowNs;
+			this.groupJoiners    = joiners;
+			this.groupByteBudget = byteBudget;
+			this.groupByteCount  = this.data.totalLength();
+		}
+		
+		/**
+		 * Tries to let the passed store request data join this task's group, meaning it is written in one go
+		 * with this task's data and shares its transactions entry.
+		 * <p>
+		 * Only data that has been validated to be storable may join, so the group's outcome depends only on the
+		 * shared write itself. A failing write (e.g. an IO problem) fails all store requests of the group, just
+		 * like it would have failed each of them when written on its own.
+		 * 
+		 * @param data the validated data of a store request.
+		 * 
+		 * @return whether the passed data joined the group.
+		 */
+		final synchronized boolean join(final Binary data)
+		{
+			if(this.groupData == null || this.groupSealed)
+			{
+				return false;
+			}
+			
+			final long dataLength = data.totalLength();
+			if(this.groupByteCount + dataLength > this.groupByteBudget)
+			{
+				return false;
+			}
+			
+			this.groupData.add(data);
+			this.groupByteCount += dataLength;
+			
+			// in case a channel waits for the window to end but the budget is exhausted now
+			this.notifyAll();
+			
+			return true;
+		}
+		
+		/**
+		 * Closes the group for further joining, e.g. because another task has been enqueued after this one.
+		 */
+		final synchronized void closeGroup()
+		{
+			if(this.groupData != null && !this.groupSealed)
+			{
+				this.groupSealed = true;
+				this.notifyAll();
+			}
+		}
+		
+		/**
+		 * Signals channels waiting for store requests to join the group to check again, e.g. because a store
+		 * request has been enqueued.
+		 */
+		final synchronized void signalGroup()
+		{
+			if(this.groupData != null && !this.groupSealed)
+			{
+				this.notifyAll();
+			}
+		}
+		
+		private synchronized BulkList<Binary> sealGroup() throws InterruptedException
+		{
+			if(this.groupData == null)
+			{
+				return null;
+			}
+			
+			/*
+			 * The first channel only waits (at most until the window ends) as long as other store requests are
+			 * being enqueued and might join. Without any, e.g. with a single writing thread, the group is sealed
+			 * right away. All following channels get the sealed group instantly.
+			 */
+			long remainingNs;
+			while(!this.groupSealed
+				&& this.groupByteCount < this.groupByteBudget
+				&& this.groupJoiners.get() > 0
+				&& (remainingNs = this.groupBoundNs - System.nanoTime()) > 0
+			)
+			{
+				this.wait(remainingNs / 1_000_000, (int)(remainingNs % 1_000_000));
+			}
+			this.groupSealed = true;
+			
+			return this.groupData;
+		}
+		
+		private Chunk channelData(final int channelIndex) throws InterruptedException
+		{
+			final BulkList<Binary> groupData = this.sealGroup();
+			if(groupData == null || groupData.isEmpty())
+			{
+				return this.data.channelChunk(channelIndex);
+			}
+			
+			final BulkList<ByteBuffer> buffers = BulkList.New(this.data.channelChunk(channelIndex).buffers());
+			for(final Binary data : groupData)
+			{
+				buffers.addAll(data.channelChunk(channelIndex).buffers());
+			}
+			
+			return ChunksWrapper.New(buffers.toArray(ByteBuffer.class));
+		}
 
 		@Override
 		protected final KeyValue<ByteBuffer[], long[]> internalProcessBy(final StorageChannel channel)
 		{
 //			this.DEBUG_Print(channel);
-			return channel.storeEntities(this.timestamp(), this.data.channelChunk(channel.channelIndex()));
+			final Chunk channelData;
+			try
+			{
+				// attached loads only see the entities of completed stores, so they don't have to wait for this one.
+				this.processConcurrentTasks(channel);
+				channelData = this.channelData(channel.channelIndex());
+			}
+			catch(final InterruptedException e)
+			{
+				// no exception tunneling in the processing logic, so restore the flag and report it as a problem
+				Thread.currentThread().interrupt();
+				throw new StorageException(e);
+			}
+			
+			return this.concurrentLoading
+				? channel.storeEntities(this.timestamp(), channelData, () -> this.processConcurrentTasksBy(channel))
+				: channel.storeEntities(this.timestamp(), channelData)
+			;
+		}
+		
+		private void processConcurrentTasksBy(final StorageChannel channel)
+		{
+			try
+			{
+				this.processConcurrentTasks(channel);
+			}
+			catch(final InterruptedException e)
+			{
+				// aborts the write, which gets rolled back like any other failed write.
+				Thread.currentThread().interrupt();
+				throw new StorageException(e);
+			}
 		}
 		
 		public final void DEBUG_Print(final StorageChannel channel)
@@ -141,6 +325,27 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 			 * and waited for the task already continued working.
 			 */
 			channel.postStoreUpdateEntityCache(result.key(), result.value());
+			
+			// the channel's chunks are written and registered, so their buffers can be recycled by their origin.
+			this.releaseChannelData(channel.channelIndex());
+		}
+		
+		private void releaseChannelData(final int channelIndex)
+		{
+			this.data.channelChunk(channelIndex).releaseBuffers();
+			
+			final BulkList<Binary> groupData;
+			synchronized(this)
+			{
+				groupData = this.groupData;
+			}
+			if(groupData != null)
+			{
+				for(final Binary data : groupData)
+				{
+					data.channelChunk(channelIndex).releaseBuffers();
+				}
+			}
 		}
 
 		@Override
@@ -21,11 +21,16 @@ package one.microstream.storage.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
 
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.AFile;
+import one.microstream.collections.BulkList;
 import one.microstream.collections.types.XGettingEnum;
+import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.types.PersistenceIdSet;
 import one.microstream.storage.exceptions.StorageException;
@@ -70,6 +75,11 @@ public interface StorageTaskBroker
 	)
 		throws InterruptedException;
 
+	public StorageRequestTaskExportChannelsIncremental enqueueExportChannelsIncrementalTask(
+		StorageIncrementalBackup backup
+	)
+		throws InterruptedException;
+
 	public StorageRequestTask enqueueImportFromFilesTask(XGettingEnum<AFile> importFiles)
 		throws InterruptedException;
 
@@ -108,8 +118,20 @@ public interface StorageTaskBroker
 		private final StorageOperationController    operationController   ;
 		private final StorageDataFileEvaluator      fileEvaluator         ;
 		private final StorageObjectIdRangeEvaluator objectIdRangeEvaluator;
+		private final StorageTypeDictionary         typeDictionary        ;
 		private final StorageRequestTaskCreator     taskCreator           ;
 		private final int                           channelCount          ;
+		private final boolean                       concurrentLoading     ;
+		private final long                          groupCommitWindowNs   ;
+		private final long                          groupCommitByteBudget ;
+		
+		/* Store tasks that might still be in their processing phase, oldest first.
+		 * Only used (and filled) if concurrent loading is enabled.
+		 */
+		private final BulkList<StorageRequestTaskStoreEntities.Default> pendingStoreTasks = BulkList.New();
+		
+		// store requests currently being enqueued, i.e. potential joiners of the current store group.
+		private final AtomicInteger enqueueingStoreRequests = new AtomicInteger();
 
 		private volatile StorageTask currentHead;
 
@@ -124,7 +146,11 @@ public interface StorageTaskBroker
 			final StorageOperationController    operationController   ,
 			final StorageDataFileEvaluator      fileEvaluator         ,
 			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
-			final int                           channelCount
+			final StorageTypeDictionary         typeDictionary        ,
+			final int                           channelCount          ,
+			final boolean                       concurrentLoading     ,
+			final long                          groupCommitWindowNs   ,
+			final long                          groupCommitByteBudget
 		)
 		{
 			super();
@@ -132,7 +158,11 @@ public interface StorageTaskBroker
 			this.operationController    = notNull(operationController);
 			this.fileEvaluator          = notNull(fileEvaluator);
 			this.objectIdRangeEvaluator = notNull(objectIdRangeEvaluator);
+			this.typeDictionary         = notNull(typeDictionary);
 			this.channelCount           =         channelCount;
+			this.concurrentLoading      =         concurrentLoading;
+			this.groupCommitWindowNs    = notNegative(groupCommitWindowNs);
+			this.groupCommitByteBudget  = notNegative(groupCommitByteBudget);
 			this.currentHead            = new StorageTask.DummyTask();
 		}
 
@@ -223,9 +253,68 @@ public interface StorageTaskBroker
 			final StorageTask currentHead;
 			(currentHead = this.currentHead).setNext(nextTask);
 			this.currentHead = newHeadTask;
+			
+			// a store group can only be joined as long as it is the last task.
+			if(currentHead instanceof StorageRequestTaskStoreEntities.Default)
+			{
+				((StorageRequestTaskStoreEntities.Default)currentHead).closeGroup();
+			}
+			
 			return currentHead;
 		}
 
+		private void enqueueLoadTaskAndNotifyAll(final StorageRequestTaskLoad task) throws InterruptedException
+		{
+			if(this.concurrentLoading && this.attachToPendingStoreTask(task))
+			{
+				return;
+			}
+			
+			this.enqueueTaskAndNotifyAll(task);
+		}
+		
+		private boolean attachToPendingStoreTask(final StorageTask task)
+		{
+			/*
+			 * A load task attached to the oldest store task that is still being processed gets processed by
+			 * every channel before, while and after writing its part of the store, but always before the
+			 * store's entity cache update. So all channels serve the load from the same consistent state:
+			 * all preceding stores are fully applied, the pending store (and everything after it) is not.
+			 * If no store is in flight, the load is simply enqueued as usual.
+			 */
+			if(!this.operationController.checkProcessingEnabled())
+			{
+				throw new StorageExceptionNotRunning("Storage is shut down.");
+			}
+			
+			for(StorageRequestTaskStoreEntities.Default storeTask; (storeTask = this.pendingStoreTasks.poll()) != null;)
+			{
+				if(storeTask.attachConcurrentTask(task))
+				{
+					return true;
+				}
+				
+				// store task's processing phase is over, so it can never accept concurrent tasks again.
+				this.pendingStoreTasks.pinch();
+			}
+			
+			return false;
+		}
+
+		private void registerPendingStoreTask(final StorageRequestTaskStoreEntities.Default task)
+		{
+			// store tasks are processed in order, so processed ones can only be at the front.
+			for(StorageRequestTaskStoreEntities.Default storeTask; (storeTask = this.pendingStoreTasks.poll()) != null;)
+			{
+				if(!storeTask.isProcessed())
+				{
+					break;
+				}
+				this.pendingStoreTasks.pinch();
+			}
+			this.pendingStoreTasks.add(task);
+		}
+
 		@Override
 		public final StorageTask currentTask()
 		{
@@ -316,6 +405,23 @@ public interface StorageTaskBroker
 			return task;
 		}
 
+		@Override
+		public final synchronized StorageRequestTaskExportChannelsIncremental enqueueExportChannelsIncrementalTask(
+			final StorageIncrementalBackup backup
+		)
+			throws InterruptedException
+		{
+			final StorageRequestTaskExportChannelsIncremental task = this.taskCreator.createTaskExportChannelsIncremental(
+				this.channelCount,
+				backup
+			);
+
+			// no prepended GC: an incremental backup ships what has been written, collected or not.
+			this.enqueueTaskAndNotifyAll(task);
+
+			return task;
+		}
+
 		@Override
 		public StorageRequestTask enqueueImportFromFilesTask(final XGettingEnum<AFile> importFiles)
 			throws InterruptedException
@@ -382,18 +488,162 @@ public interface StorageTaskBroker
 			}
 		}
 
+		private boolean isGroupCommitEnabled()
+		{
+			return this.groupCommitByteBudget > 0;
+		}
+		
+		private boolean isStorable(final Binary data)
+		{
+			/*
+			 * Joined data shares the group's write, so data that is bound to fail must not join and fail the
+			 * other requests of the group. It is enqueued as a task of its own instead and fails alone.
+			 */
+			for(int i = 0; i < this.channelCount; i++)
+			{
+				for(final ByteBuffer chunk : data.channelChunk(i).buffers())
+				{
+					if(!this.isStorable(chunk))
+					{
+						return false;
+					}
+				}
+			}
+			
+			return true;
+		}
+		
+		private boolean isStorable(final ByteBuffer chunk)
+		{
+			final long startAddress = XMemory.getDirectByteBufferAddress(chunk);
+			final long boundAddress = startAddress + chunk.limit();
+			
+			StorageEntityTypeHandler typeHandler = null;
+			for(long address = startAddress, length; address < boundAddress; address += length)
+			{
+				if(boundAddress - address < Binary.entityHeaderLength()
+					|| (length = Binary.getEntityLengthRawValue(address)) < Binary.entityHeaderLength()
+					|| length > boundAddress - address
+				)
+				{
+					return false;
+				}
+				
+				// entities of the same type usually come in a row, so the last type handler is reused.
+				final long typeId = Binary.getEntityTypeIdRawValue(address);
+				if(typeHandler == null || typeHandler.typeId() != typeId)
+				{
+					typeHandler = this.typeDictionary.lookupTypeHandler(typeId);
+				}
+				if(typeHandler == null
+					|| !typeHandler.isValidEntityGuaranteedType(length, Binary.getEntityObjectIdRawValue(address))
+				)
+				{
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		private StorageRequestTaskStoreEntities.Default joinStoreTaskGroup(final Binary data)
+		{
+			/*
+			 * Only the last enqueued task can be joined, otherwise the data would overtake other tasks.
+			 * Joining fails if any channel already started writing the group or the byte budget is exceeded.
+			 */
+			if(!this.operationController.checkProcessingEnabled())
+			{
+				throw new StorageExceptionNotRunning("Storage is shut down.");
+			}
+			
+			final StorageTask currentHead = this.currentHead;
+			if(currentHead instanceof StorageRequestTaskStoreEntities.Default
+				&& ((StorageRequestTaskStoreEntities.Default)currentHead).join(data)
+			)
+			{
+				return (StorageRequestTaskStoreEntities.Default)currentHead;
+			}
+			
+			return null;
+		}
+
 		@Override
-		public final synchronized StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
+		public final StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
+			throws InterruptedException
+		{
+			if(!this.isGroupCommitEnabled())
+			{
+				return this.synchronizedEnqueueStoreTask(data, false);
+			}
+			
+			// counted as early as possible, so a store group waiting for joining requests waits for this one.
+			this.enqueueingStoreRequests.incrementAndGet();
+			try
+			{
+				// validated outside the lock, it's the caller's work and does not need to block others.
+				return this.synchronizedEnqueueStoreTask(data, this.isStorable(data));
+			}
+			finally
+			{
+				this.enqueueingStoreRequests.decrementAndGet();
+				
+				// a store group might be waiting for this request to join.
+				final StorageTask currentHead = this.currentHead;
+				if(currentHead instanceof StorageRequestTaskStoreEntities.Default)
+				{
+					((StorageRequestTaskStoreEntities.Default)currentHead).signalGroup();
+				}
+			}
+		}
+		
+		private synchronized StorageRequestTaskStoreEntities synchronizedEnqueueStoreTask(
+			final Binary  data    ,
+			final boolean joinable
+		)
 			throws InterruptedException
 		{
 			this.validateChannelCount(data.channelCount());
 			
+			if(joinable)
+			{
+				// the joining request waits on the group's task and gets its success or failure
+				final StorageRequestTaskStoreEntities.Default groupTask = this.joinStoreTaskGroup(data);
+				if(groupTask != null)
+				{
+					return groupTask;
+				}
+			}
+			
 			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
 			final StorageRequestTaskStoreEntities task = this.taskCreator.createSaveTask(data);
 			
 //			((StorageRequestTaskSaveEntities.Default)task).DEBUG_Print(null);
 			
+			// only validated data may lead a group, as its failure would fail all joined requests as well.
+			if(joinable && task instanceof StorageRequestTaskStoreEntities.Default)
+			{
+				// must be opened before enqueing as channels might start processing it right away
+				((StorageRequestTaskStoreEntities.Default)task).openGroup(
+					this.groupCommitWindowNs    ,
+					this.enqueueingStoreRequests,
+					this.groupCommitByteBudget
+				);
+			}
+			
+			if(this.concurrentLoading && task instanceof StorageRequestTaskStoreEntities.Default)
+			{
+				// must be enabled before enqueing as channels might start processing it right away
+				((StorageRequestTaskStoreEntities.Default)task).enableConcurrentLoading();
+			}
+			
 			this.enqueueTaskAndNotifyAll(task);
+			
+			if(this.concurrentLoading && task instanceof StorageRequestTaskStoreEntities.Default)
+			{
+				this.registerPendingStoreTask((StorageRequestTaskStoreEntities.Default)task);
+			}
+			
 			return task;
 		}
 
@@ -407,7 +657,7 @@ public interface StorageTaskBroker
 			
 			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
 			final StorageRequestTaskLoadByOids task = this.taskCreator.createLoadTaskByOids(loadOids);
-			this.enqueueTaskAndNotifyAll(task);
+			this.enqueueLoadTaskAndNotifyAll(task);
 			return task;
 		}
 
@@ -428,7 +678,7 @@ public interface StorageTaskBroker
 		{
 			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
 			final StorageRequestTaskLoadByTids task = this.taskCreator.createLoadTaskByTids(loadTids, this.channelCount);
-			this.enqueueTaskAndNotifyAll(task);
+			this.enqueueLoadTaskAndNotifyAll(task);
 			return task;
 		}
 
@@ -487,11 +737,69 @@ public interface StorageTaskBroker
 
 		public final class Default implements Creator
 		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final boolean concurrentLoading    ;
+			private final long    groupCommitWindowNs  ;
+			private final long    groupCommitByteBudget;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
 			public Default()
+			{
+				this(false);
+			}
+			
+			/**
+			 * If concurrent loading is enabled, a load request arriving while a store is pending is attached to
+			 * that store instead of being queued behind it. Every channel serves the attached loads before it
+			 * writes its part of the store, between writing slices of it (see
+			 * {@link StorageFileManager.Default#storeSliceLength()}) and while it waits for the other channels.
+			 * <p>
+			 * The loads are always served from the state before the store, i.e. they see all preceding stores
+			 * but not the pending one. So a load's latency does not grow with the size of the pending store, but
+			 * it still waits for the slice currently being written and for all other kinds of tasks in progress.
+			 * 
+			 * @param concurrentLoading whether load requests may be served by the channels while a store is still
+			 *        being written instead of being queued behind it.
+			 */
+			public Default(final boolean concurrentLoading)
+			{
+				this(concurrentLoading, 0, 0);
+			}
+			
+			/**
+			 * @param concurrentLoading whether load requests may be served by the channels while a store is still
+			 *        being written instead of being queued behind it.
+			 * @param groupCommitWindowNs the maximum time in nanoseconds the channels wait for store requests to
+			 *        join a group commit before writing it. They only wait while other store requests are being
+			 *        enqueued. 0 means to only group store requests that queued up while the channels were busy.
+			 * @param groupCommitByteBudget the maximum byte count of a group commit's data. 0 disables group commits.
+			 */
+			public Default(
+				final boolean concurrentLoading    ,
+				final long    groupCommitWindowNs  ,
+				final long    groupCommitByteBudget
+			)
 			{
 				super();
+				this.concurrentLoading     =             concurrentLoading     ;
+				this.groupCommitWindowNs   = notNegative(groupCommitWindowNs)  ;
+				this.groupCommitByteBudget = notNegative(groupCommitByteBudget);
 			}
 			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
 			@Override
 			public StorageTaskBroker createTaskBroker(
 				final StorageSystem             storageSystem,
@@ -503,7 +811,11 @@ public interface StorageTaskBroker
 					storageSystem.operationController(),
 					storageSystem.configuration().dataFileEvaluator(),
 					storageSystem.objectIdRangeEvaluator(),
-					storageSystem.channelCountProvider().getChannelCount()
+					storageSystem.typeDictionary(),
+					storageSystem.channelCountProvider().getChannelCount(),
+					this.concurrentLoading    ,
+					this.groupCommitWindowNs  ,
+					this.groupCommitByteBudget
 				);
 			}
 
@@ -0,0 +1,461 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2021 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import one.microstream.memory.DirectBufferPool;
+
+
+/**
+ * Reads the live data of a storage file that is being dissolved ahead of its transfer to the head file
+ * in a background thread, so that the channel thread only has to write the already read data during file cleanup
+ * instead of copying it from file to file itself.
+ * <p>
+ * Only the reading is done in the background: the channel thread writes into the head file (also for stores)
+ * and the transactions file and relinks the transferred entities, so all of that remains on it.
+ * The data of a file range never changes once it has been written and a file with a pending read
+ * is registered as being used by the prefetcher, so it cannot be deleted while being read.
+ * <p>
+ * All methods except the actual reading are meant to be called by the owning channel's thread only.
+ *
+ * @see StorageFileManager
+ */
+public interface StorageTransferPrefetcher extends StorageFileUser
+{
+	/**
+	 * Starts reading the next live entity ranges of the passed file that have not been read, yet.
+	 * Ranges of other files are discarded.
+	 *
+	 * @param file the file being dissolved.
+	 * @param coldGeneration the cold generation of entities to be skipped or {@code 0}.
+	 */
+	public void prefetch(StorageLiveDataFile.Default file, int coldGeneration);
+
+	/**
+	 * Returns buffers containing the data of the passed file range, waiting for it to be read if necessary.
+	 * Read ranges before the passed one are discarded.
+	 *
+	 * @return the data of the file range or {@literal null} if it has not been (successfully) read.
+	 */
+	public ByteBuffer[] lookup(StorageLiveDataFile.Default file, long position, long length);
+
+	/**
+	 * Discards all read ranges of the passed file.
+	 */
+	public void release(StorageLiveDataFile.Default file);
+
+	/**
+	 * Discards all read ranges, waiting for pending reads to complete.
+	 */
+	public void clear();
+
+
+
+	public static StorageTransferPrefetcher New(
+		final int              channelIndex,
+		final DirectBufferPool bufferPool
+	)
+	{
+		return New(
+			channelIndex                     ,
+			bufferPool                       ,
+			Defaults.defaultChunkLength()    ,
+			Defaults.defaultPrefetchedChunks()
+		);
+	}
+
+	/**
+	 * @param channelIndex the index of the owning channel.
+	 * @param bufferPool the channel's buffer pool to acquire the reading buffers from.
+	 * @param chunkLength the maximum length of a file range read at once.
+	 * @param prefetchedChunks the number of file ranges read ahead.
+	 *
+	 * @return a new {@link StorageTransferPrefetcher} instance.
+	 */
+	public static StorageTransferPrefetcher New(
+		final int              channelIndex    ,
+		final DirectBufferPool bufferPool      ,
+		final int              chunkLength     ,
+		final int              prefetchedChunks
+	)
+	{
+		return new StorageTransferPrefetcher.Default(
+			notNegative(channelIndex)    ,
+			    notNull(bufferPool)      ,
+			   positive(chunkLength)     ,
+			   positive(prefetchedChunks)
+		);
+	}
+
+	public interface Defaults
+	{
+		/**
+		 * @return {@code 1 * 1024 * 1024} (meaning 1 MB per read).
+		 */
+		public static int defaultChunkLength()
+		{
+			return 1 * 1024 * 1024;
+		}
+
+		/**
+		 * @return {@code 4}.
+		 */
+		public static int defaultPrefetchedChunks()
+		{
+			return 4;
+		}
+	}
+
+
+
+	public final class Default implements StorageTransferPrefetcher
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final long WORKER_KEEP_ALIVE_MS = 10_000;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                 channelIndex    ;
+		private final DirectBufferPool    bufferPool      ;
+		private final int                 chunkLength     ;
+		private final int                 prefetchedChunks;
+		private final ArrayDeque<Chunk>   chunks          = new ArrayDeque<>();
+		private       ThreadPoolExecutor  worker          ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final int              channelIndex    ,
+			final DirectBufferPool bufferPool      ,
+			final int              chunkLength     ,
+			final int              prefetchedChunks
+		)
+		{
+			super();
+			this.channelIndex     = channelIndex    ;
+			this.bufferPool       = bufferPool      ;
+			this.chunkLength      = chunkLength     ;
+			this.prefetchedChunks = prefetchedChunks;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private ThreadPoolExecutor worker()
+		{
+			// created lazily and terminated when idle, as most of the time there is nothing to dissolve.
+			if(this.worker == null)
+			{
+				final String             name   = StorageTransferPrefetcher.class.getSimpleName() + "-" + this.channelIndex;
+				final ThreadPoolExecutor worker = new ThreadPoolExecutor(
+					1, 1,
+					WORKER_KEEP_ALIVE_MS,
+					TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable ->
+					{
+						final Thread thread = new Thread(runnable, name);
+						thread.setDaemon(true);
+						return thread;
+					}
+				);
+				worker.allowCoreThreadTimeOut(true);
+				this.worker = worker;
+			}
+
+			return this.worker;
+		}
+
+		@Override
+		public final void prefetch(final StorageLiveDataFile.Default file, final int coldGeneration)
+		{
+			if(!this.chunks.isEmpty() && this.chunks.peekFirst().file != file)
+			{
+				this.clear();
+			}
+			if(this.chunks.size() >= this.prefetchedChunks)
+			{
+				return;
+			}
+
+			// the entities are chained in storage order, so everything before the last read range has been read.
+			final long bound = this.chunks.isEmpty()
+				? 0
+				: this.chunks.peekLast().bound()
+			;
+
+			StorageEntity.Default entity = file.head.fileNext;
+			while(entity != file.tail && this.chunks.size() < this.prefetchedChunks)
+			{
+				if(entity.storagePosition() < bound || isSkipped(entity, coldGeneration, this.chunkLength))
+				{
+					entity = entity.fileNext;
+					continue;
+				}
+
+				// collect contiguous entities, just like a transfer chain, as long as they fit in one chunk.
+				final long start = entity.storagePosition();
+				long       end   = start + entity.length;
+				while((entity = entity.fileNext) != file.tail
+					&& entity.storagePosition() == end
+					&& end - start + entity.length <= this.chunkLength
+					&& !isSkipped(entity, coldGeneration, this.chunkLength)
+				)
+				{
+					end += entity.length;
+				}
+
+				this.submit(file, start, end - start);
+			}
+		}
+
+		private static boolean isSkipped(
+			final StorageEntity.Default entity        ,
+			final int                   coldGeneration,
+			final int                   chunkLength
+		)
+		{
+			// oversized entities are transferred directly. Cold ones are not transferred at all (see file manager).
+			return entity.length > chunkLength
+				|| coldGeneration > 0 && entity.generation + 1 >= coldGeneration
+			;
+		}
+
+		private void submit(final StorageLiveDataFile.Default file, final long position, final long length)
+		{
+			final Chunk chunk = new Chunk(file, position, length, this.bufferPool.acquire(length));
+
+			// the file may not be deleted (and closed) while it is being read.
+			file.registerUsage(this);
+			this.chunks.addLast(chunk);
+			try
+			{
+				this.worker().execute(chunk);
+			}
+			catch(final RuntimeException e)
+			{
+				// e.g. rejected: the data is just not prefetched, but transferred directly.
+				chunk.complete(false);
+			}
+		}
+
+		@Override
+		public final ByteBuffer[] lookup(
+			final StorageLiveDataFile.Default file    ,
+			final long                        position,
+			final long                        length
+		)
+		{
+			// ranges before the requested one are not needed any more.
+			while(!this.chunks.isEmpty()
+				&& this.chunks.peekFirst().file == file
+				&& this.chunks.peekFirst().bound() <= position
+			)
+			{
+				this.discard(this.chunks.pollFirst());
+			}
+
+			// the requested range is contiguous, so it must be covered by consecutive chunks starting at its position.
+			final long bound = position + length;
+			final ByteBuffer[] buffers = new ByteBuffer[this.chunks.size()];
+			int  count = 0;
+			long next  = position;
+			for(final Chunk chunk : this.chunks)
+			{
+				if(next >= bound)
+				{
+					break;
+				}
+				if(chunk.file != file || chunk.position > next || !chunk.awaitCompletion())
+				{
+					return null;
+				}
+
+				final ByteBuffer slice = chunk.buffer.duplicate();
+				slice.limit((int)(Math.min(chunk.bound(), bound) - chunk.position));
+				slice.position((int)(next - chunk.position));
+				buffers[count++] = slice;
+				next = chunk.bound();
+			}
+
+			if(next < bound)
+			{
+				return null;
+			}
+
+			return count == buffers.length
+				? buffers
+				: Arrays.copyOf(buffers, count)
+			;
+		}
+
+		@Override
+		public final void release(final StorageLiveDataFile.Default file)
+		{
+			if(!this.chunks.isEmpty() && this.chunks.peekFirst().file == file)
+			{
+				this.clear();
+			}
+		}
+
+		@Override
+		public final void clear()
+		{
+			for(Chunk chunk; (chunk = this.chunks.pollFirst()) != null;)
+			{
+				this.discard(chunk);
+			}
+		}
+
+		private void discard(final Chunk chunk)
+		{
+			// the buffer and the file may only be released once the worker does not use them any more.
+			chunk.awaitCompletion();
+			this.bufferPool.release(chunk.buffer);
+			chunk.file.unregisterUsage(this);
+		}
+
+
+
+		static final class Chunk implements Runnable
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final StorageLiveDataFile.Default file    ;
+			final long                        position;
+			final long                        length  ;
+			final ByteBuffer                  buffer  ;
+
+			private boolean isComplete;
+			private boolean isRead    ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Chunk(
+				final StorageLiveDataFile.Default file    ,
+				final long                        position,
+				final long                        length  ,
+				final ByteBuffer                  buffer
+			)
+			{
+				super();
+				this.file     = file    ;
+				this.position = position;
+				this.length   = length  ;
+				this.buffer   = buffer  ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final long bound()
+			{
+				return this.position + this.length;
+			}
+
+			@Override
+			public final void run()
+			{
+				boolean isRead = false;
+				try
+				{
+					this.buffer.clear().limit((int)this.length);
+					isRead = this.file.readBytes(this.buffer, this.position, this.length) == this.length;
+				}
+				catch(final Throwable t)
+				{
+					// a failed read is not a problem, the channel thread just transfers the range directly.
+				}
+				finally
+				{
+					this.complete(isRead);
+				}
+			}
+
+			final synchronized void complete(final boolean isRead)
+			{
+				this.isRead     = isRead;
+				this.isComplete = true;
+				this.notifyAll();
+			}
+
+			final synchronized boolean awaitCompletion()
+			{
+				boolean interrupted = false;
+				while(!this.isComplete)
+				{
+					try
+					{
+						this.wait();
+					}
+					catch(final InterruptedException e)
+					{
+						// the read is short, so it is waited for anyway. The interruption is restored afterwards.
+						interrupted = true;
+					}
+				}
+				if(interrupted)
+				{
+					Thread.currentThread().interrupt();
+				}
+
+				return this.isRead;
+			}
+
+		}
+
+	}
+
+}